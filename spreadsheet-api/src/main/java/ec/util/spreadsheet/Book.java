@@ -27,6 +27,7 @@ import java.io.*;
 import java.net.URL;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.function.ObjIntConsumer;
 
 /**
@@ -90,6 +91,30 @@ public abstract class Book implements Closeable {
         return getSheet(index).getName();
     }
 
+    /**
+     * Returns information about a sheet based on its index in this book,
+     * without loading its cells if possible.
+     *
+     * @param index a zero-based index
+     * @return a non-null information
+     * @throws IOException               if something goes wrong during loading
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     * @implSpec <p>
+     * The default implementation loads the sheet and reports its size; the
+     * content size is unknown.
+     * @since 2.7.0
+     */
+    @NonNull
+    public SheetInfo getSheetInfo(@NonNegative int index) throws IOException, IndexOutOfBoundsException {
+        Sheet sheet = getSheet(index);
+        return SheetInfo
+                .builder()
+                .name(sheet.getName())
+                .rowCount(sheet.getRowCount())
+                .columnCount(sheet.getColumnCount())
+                .build();
+    }
+
     /**
      * Performs the given action for each sheet of the book until all sheets
      * have been processed or an exception has been thrown.
@@ -127,6 +152,30 @@ public abstract class Book implements Closeable {
         forEach(action);
     }
 
+    /**
+     * Performs in parallel the given action for each sheet of the book until
+     * all sheets have been processed or an exception has been thrown, using
+     * at most the specified number of tasks of the specified executor.
+     * <p>
+     * Exceptions thrown by the action are rethrown as is.
+     *
+     * @param action         The action to be performed for each sheet
+     * @param executor       The executor of the parallel tasks
+     * @param maxParallelism The maximum number of sheets processed concurrently
+     * @throws NullPointerException     if the specified action or executor is null
+     * @throws IllegalArgumentException if maxParallelism is lower than 1
+     * @throws IOException              if something goes wrong during loading
+     * @implSpec <p>
+     * The default implementation behaves as the regular foreach.
+     * @since 2.7.0
+     */
+    public void parallelForEach(@NonNull ObjIntConsumer<? super Sheet> action, @NonNull Executor executor, int maxParallelism) throws IOException {
+        if (maxParallelism < 1) {
+            throw new IllegalArgumentException("Invalid max parallelism: " + maxParallelism);
+        }
+        forEach(action);
+    }
+
     /**
      * Closes this book and releases any resources associated with it.
      *
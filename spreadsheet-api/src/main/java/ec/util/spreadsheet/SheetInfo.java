@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.util.spreadsheet;
+
+import lombok.NonNull;
+
+/**
+ * Information about a sheet that can be obtained without loading its cells.
+ *
+ * @since 2.7.0
+ */
+@lombok.Value
+@lombok.Builder(toBuilder = true)
+public class SheetInfo {
+
+    /**
+     * Value of a size that is unknown.
+     */
+    public static final int UNKNOWN = -1;
+
+    /**
+     * Name of the sheet.
+     */
+    @NonNull
+    String name;
+
+    /**
+     * Number of rows declared by the sheet, or {@link #UNKNOWN}.
+     */
+    @lombok.Builder.Default
+    int rowCount = UNKNOWN;
+
+    /**
+     * Number of columns declared by the sheet, or {@link #UNKNOWN}.
+     */
+    @lombok.Builder.Default
+    int columnCount = UNKNOWN;
+
+    /**
+     * Uncompressed size in bytes of the sheet content, or {@link #UNKNOWN}.
+     */
+    @lombok.Builder.Default
+    long contentSize = UNKNOWN;
+}
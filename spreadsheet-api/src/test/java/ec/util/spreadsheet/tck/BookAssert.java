@@ -18,6 +18,7 @@ package ec.util.spreadsheet.tck;
 
 import ec.util.spreadsheet.Book;
 import ec.util.spreadsheet.Sheet;
+import ec.util.spreadsheet.SheetInfo;
 import static ec.util.spreadsheet.tck.Assertions.msg;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -102,6 +103,7 @@ public class BookAssert extends AbstractAssert<BookAssert, Book> {
         assertForEach(s, book);
         assertNulls(s, book);
         assertGetSheetName(s, book);
+        assertGetSheetInfo(s, book);
         for (int index = 0; index < book.getSheetCount2(); index++) {
             SheetAssert.assertCompliance(s, book.getSheet(index));
         }
@@ -151,6 +153,18 @@ public class BookAssert extends AbstractAssert<BookAssert, Book> {
         s.assertThatThrownBy(() -> book.getSheetName(book.getSheetCount2())).isInstanceOf(IndexOutOfBoundsException.class);
     }
 
+    private static void assertGetSheetInfo(SoftAssertions s, Book book) throws IOException {
+        for (int i = 0; i < book.getSheetCount2(); i++) {
+            SheetInfo info = book.getSheetInfo(i);
+            s.assertThat(info.getName()).isEqualTo(book.getSheetName(i));
+            s.assertThat(info.getRowCount()).isGreaterThanOrEqualTo(SheetInfo.UNKNOWN);
+            s.assertThat(info.getColumnCount()).isGreaterThanOrEqualTo(SheetInfo.UNKNOWN);
+            s.assertThat(info.getContentSize()).isGreaterThanOrEqualTo(SheetInfo.UNKNOWN);
+        }
+        s.assertThatThrownBy(() -> book.getSheetInfo(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+        s.assertThatThrownBy(() -> book.getSheetInfo(book.getSheetCount2())).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
     static void assertContentEquals(SoftAssertions s, Book l, Book r, boolean strict) throws IOException {
         s.assertThat(l.getSheetCount2()).isEqualTo(r.getSheetCount2());
         for (int index = 0; index < l.getSheetCount2(); index++) {
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.util.spreadsheet.od;
+
+import ec.util.spreadsheet.Cell;
+import ec.util.spreadsheet.Sheet;
+import ec.util.spreadsheet.SheetConsumer;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Sheet whose cells are stored as runs of identical values in primitive
+ * arrays. A run spans consecutive columns of a row and rows repeated in the
+ * content share a single group of runs, so that the memory scales with the
+ * number of distinct runs rather than with the size of the grid. Numbers are
+ * kept as double bits, dates as epoch millis and strings as indexes in a pool
+ * of unique values.
+ */
+@lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
+final class OdCompactSheet extends Sheet {
+
+    private static final byte NUMBER = 0;
+    private static final byte DATE = 1;
+    private static final byte STRING = 2;
+
+    private final String name;
+    private final int rowCount;
+    private final int columnCount;
+    // row groups: first row, number of rows and first run
+    private final int[] groupRows;
+    private final int[] groupLengths;
+    private final int[] groupStarts;
+    // runs: first column, number of columns and value
+    private final int[] runColumns;
+    private final int[] runLengths;
+    private final byte[] types;
+    private final long[] values;
+    private final String[] strings;
+    @Deprecated
+    private final FlyweightCell flyweightCell = new FlyweightCell();
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    @Override
+    public @Nullable Cell getCell(int rowIdx, int columnIdx) throws IndexOutOfBoundsException {
+        Object value = getCellValue(rowIdx, columnIdx);
+        return value != null ? flyweightCell.withValue(value) : null;
+    }
+
+    @Override
+    public @Nullable Object getCellValue(int rowIdx, int columnIdx) throws IndexOutOfBoundsException {
+        if (rowIdx < 0 || rowIdx >= rowCount || columnIdx < 0 || columnIdx >= columnCount) {
+            throw new IndexOutOfBoundsException();
+        }
+        int group = floorIndex(groupRows, 0, groupRows.length, rowIdx);
+        if (group < 0 || rowIdx >= groupRows[group] + groupLengths[group]) {
+            return null;
+        }
+        int run = floorIndex(runColumns, groupStarts[group], groupStarts[group + 1], columnIdx);
+        if (run < 0 || columnIdx >= runColumns[run] + runLengths[run]) {
+            return null;
+        }
+        return valueAt(run);
+    }
+
+    @Override
+    public void forEach(@org.jspecify.annotations.NonNull SheetConsumer<? super Cell> action) {
+        Objects.requireNonNull(action);
+        forEachValue((i, j, value) -> action.accept(i, j, flyweightCell.withValue(value)));
+    }
+
+    @Override
+    public void forEachValue(@org.jspecify.annotations.NonNull SheetConsumer<? super Object> action) {
+        Objects.requireNonNull(action);
+        for (int group = 0; group < groupRows.length; group++) {
+            for (int i = groupRows[group]; i < groupRows[group] + groupLengths[group]; i++) {
+                for (int run = groupStarts[group]; run < groupStarts[group + 1]; run++) {
+                    Object value = valueAt(run);
+                    for (int j = runColumns[run]; j < runColumns[run] + runLengths[run]; j++) {
+                        action.accept(i, j, value);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public @org.jspecify.annotations.NonNull String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "OdCompactSheet[" + rowCount + "x" + columnCount + "]";
+    }
+
+    int getRunCount() {
+        return runColumns.length;
+    }
+
+    private Object valueAt(int run) {
+        switch (types[run]) {
+            case NUMBER:
+                return Double.longBitsToDouble(values[run]);
+            case DATE:
+                return new Date(values[run]);
+            default:
+                return strings[(int) values[run]];
+        }
+    }
+
+    /**
+     * Returns the index of the greatest element lower than or equal to the
+     * key in a sorted range, or -1 if there is none.
+     */
+    private static int floorIndex(int[] array, int fromIndex, int toIndex, int key) {
+        int result = Arrays.binarySearch(array, fromIndex, toIndex, key);
+        return result >= 0 ? result : (fromIndex <= -result - 2 ? -result - 2 : -1);
+    }
+
+    /**
+     * Collects the runs of a sheet row by row, in ascending order.
+     */
+    static final class Builder {
+
+        private int rowCount = 0;
+        private int columnCount = 0;
+        private int groupSize = 0;
+        private int[] groupRows = new int[64];
+        private int[] groupLengths = new int[64];
+        private int[] groupStarts = new int[65];
+        private int size = 0;
+        private int[] runColumns = new int[1024];
+        private int[] runLengths = new int[1024];
+        private byte[] types = new byte[1024];
+        private long[] values = new long[1024];
+        private final Map<String, Integer> stringIndexes = new HashMap<>();
+
+        @NonNull
+        Builder number(int column, int repeat, double value) {
+            return add(column, repeat, NUMBER, Double.doubleToRawLongBits(value));
+        }
+
+        @NonNull
+        Builder date(int column, int repeat, long millis) {
+            return add(column, repeat, DATE, millis);
+        }
+
+        @NonNull
+        Builder string(int column, int repeat, @NonNull String value) {
+            Integer index = stringIndexes.computeIfAbsent(value, o -> stringIndexes.size());
+            return add(column, repeat, STRING, index);
+        }
+
+        @NonNull
+        Builder row(int row, int repeat) {
+            if (groupStarts[groupSize] == size) {
+                // no run in this row
+                return this;
+            }
+            if (groupSize + 1 == groupRows.length) {
+                int capacity = groupRows.length * 2;
+                groupRows = Arrays.copyOf(groupRows, capacity);
+                groupLengths = Arrays.copyOf(groupLengths, capacity);
+                groupStarts = Arrays.copyOf(groupStarts, capacity + 1);
+            }
+            groupRows[groupSize] = row;
+            groupLengths[groupSize] = repeat;
+            groupSize++;
+            groupStarts[groupSize] = size;
+            rowCount = row + repeat;
+            return this;
+        }
+
+        @NonNull
+        OdCompactSheet build(@NonNull String name) {
+            String[] resultStrings = new String[stringIndexes.size()];
+            stringIndexes.forEach((value, index) -> resultStrings[index] = value);
+            return new OdCompactSheet(name, rowCount, columnCount,
+                    Arrays.copyOf(groupRows, groupSize),
+                    Arrays.copyOf(groupLengths, groupSize),
+                    Arrays.copyOf(groupStarts, groupSize + 1),
+                    Arrays.copyOf(runColumns, size),
+                    Arrays.copyOf(runLengths, size),
+                    Arrays.copyOf(types, size),
+                    Arrays.copyOf(values, size),
+                    resultStrings);
+        }
+
+        private Builder add(int column, int repeat, byte type, long value) {
+            if (size == runColumns.length) {
+                int capacity = size * 2;
+                runColumns = Arrays.copyOf(runColumns, capacity);
+                runLengths = Arrays.copyOf(runLengths, capacity);
+                types = Arrays.copyOf(types, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            runColumns[size] = column;
+            runLengths[size] = repeat;
+            types[size] = type;
+            values[size] = value;
+            size++;
+            columnCount = Math.max(columnCount, column + repeat);
+            return this;
+        }
+    }
+
+    @Deprecated
+    private static final class FlyweightCell extends Cell {
+
+        private Object value = null;
+
+        @NonNull
+        FlyweightCell withValue(@NonNull Object value) {
+            this.value = value;
+            return this;
+        }
+
+        @Override
+        public boolean isDate() {
+            return value instanceof Date;
+        }
+
+        @Override
+        public boolean isNumber() {
+            return value instanceof Number;
+        }
+
+        @Override
+        public boolean isString() {
+            return value instanceof String;
+        }
+
+        @Override
+        public Date getDate() {
+            if (!isDate()) {
+                throw new UnsupportedOperationException();
+            }
+            return (Date) value;
+        }
+
+        @Override
+        public Number getNumber() {
+            if (!isNumber()) {
+                throw new UnsupportedOperationException();
+            }
+            return (Number) value;
+        }
+
+        @Override
+        public String getString() {
+            if (!isString()) {
+                throw new UnsupportedOperationException();
+            }
+            return (String) value;
+        }
+
+        @Override
+        public String toString() {
+            return value != null ? value.toString() : "Null";
+        }
+    }
+}
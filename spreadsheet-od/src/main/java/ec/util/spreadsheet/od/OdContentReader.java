@@ -0,0 +1,324 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.util.spreadsheet.od;
+
+import ec.util.spreadsheet.Book;
+import ec.util.spreadsheet.Sheet;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import nbbrd.io.function.IOSupplier;
+import nbbrd.io.xml.Sax;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Reads the cells of an OpenDocument spreadsheet by parsing its content
+ * directly. Repeated rows and columns are never expanded: empty runs are
+ * skipped and the others are stored as runs.
+ */
+@lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
+final class OdContentReader {
+
+    static final String CONTENT_ENTRY = "content.xml";
+
+    @NonNull
+    public static Book read(@NonNull File file) throws IOException {
+        try (ZipFile zip = new ZipFile(file)) {
+            ZipEntry entry = zip.getEntry(CONTENT_ENTRY);
+            if (entry == null) {
+                throw new IOException("Missing " + CONTENT_ENTRY + " in " + file.getPath());
+            }
+            try (InputStream content = zip.getInputStream(entry)) {
+                return read(content, ZoneId.systemDefault());
+            }
+        }
+    }
+
+    @NonNull
+    public static Book read(@NonNull InputStream stream) throws IOException {
+        ZipInputStream zip = new ZipInputStream(stream);
+        for (ZipEntry entry; (entry = zip.getNextEntry()) != null; ) {
+            if (CONTENT_ENTRY.equals(entry.getName())) {
+                return read(zip, ZoneId.systemDefault());
+            }
+        }
+        throw new IOException("Missing " + CONTENT_ENTRY);
+    }
+
+    @NonNull
+    static Book read(@NonNull InputStream content, @NonNull ZoneId zoneId) throws IOException {
+        ContentHandler handler = new ContentHandler(zoneId);
+        Sax.Parser.builder().contentHandler(handler).after(VOID).build().parseStream(content);
+        return new ContentBook(handler.sheets);
+    }
+
+    private static final IOSupplier<?> VOID = IOSupplier.of(null);
+
+    @lombok.AllArgsConstructor
+    private static final class ContentBook extends Book {
+
+        private final List<Sheet> sheets;
+
+        @Override
+        public int getSheetCount() {
+            return sheets.size();
+        }
+
+        @Override
+        public @NonNull Sheet getSheet(int index) throws IndexOutOfBoundsException {
+            return sheets.get(index);
+        }
+    }
+
+    private static final String OFFICE_NS = "urn:oasis:names:tc:opendocument:xmlns:office:1.0";
+    private static final String TABLE_NS = "urn:oasis:names:tc:opendocument:xmlns:table:1.0";
+    private static final String TEXT_NS = "urn:oasis:names:tc:opendocument:xmlns:text:1.0";
+
+    private static final class ContentHandler extends DefaultHandler {
+
+        private final ZoneId zoneId;
+        private final List<Sheet> sheets = new ArrayList<>();
+        private final StringBuilder text = new StringBuilder();
+
+        private OdCompactSheet.Builder sheet = null;
+        private String sheetName = null;
+        private int row = 0;
+        private int rowRepeat = 1;
+        private int column = 0;
+        private int columnRepeat = 1;
+
+        // current cell
+        private String valueType = null;
+        private String value = null;
+        private boolean collectingText = false;
+        private int paragraphCount = 0;
+        private int paragraphDepth = 0;
+        private int ignoredDepth = 0;
+
+        ContentHandler(ZoneId zoneId) {
+            this.zoneId = zoneId;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if (ignoredDepth > 0) {
+                ignoredDepth++;
+                return;
+            }
+            switch (uri) {
+                case TABLE_NS:
+                    startTableElement(localName, attributes);
+                    break;
+                case TEXT_NS:
+                    startTextElement(localName, attributes);
+                    break;
+                case OFFICE_NS:
+                    if (valueType != null && "annotation".equals(localName)) {
+                        ignoredDepth = 1;
+                    }
+                    break;
+            }
+        }
+
+        private void startTableElement(String localName, Attributes attributes) {
+            switch (localName) {
+                case "table":
+                    if (sheet == null) {
+                        sheet = new OdCompactSheet.Builder();
+                        sheetName = attributes.getValue(TABLE_NS, "name");
+                        row = 0;
+                    } else {
+                        // sub-tables are not supported
+                        ignoredDepth = 1;
+                    }
+                    break;
+                case "table-row":
+                    if (sheet != null) {
+                        rowRepeat = parseRepeat(attributes.getValue(TABLE_NS, "number-rows-repeated"));
+                        column = 0;
+                    }
+                    break;
+                case "table-cell":
+                case "covered-table-cell":
+                    if (sheet != null) {
+                        columnRepeat = parseRepeat(attributes.getValue(TABLE_NS, "number-columns-repeated"));
+                        startCell(attributes);
+                    }
+                    break;
+            }
+        }
+
+        private void startCell(Attributes attributes) {
+            valueType = attributes.getValue(OFFICE_NS, "value-type");
+            if (valueType == null) {
+                valueType = "";
+                value = null;
+                return;
+            }
+            switch (valueType) {
+                case "float":
+                case "percentage":
+                case "currency":
+                    value = attributes.getValue(OFFICE_NS, "value");
+                    break;
+                case "date":
+                    value = attributes.getValue(OFFICE_NS, "date-value");
+                    break;
+                case "string":
+                    value = attributes.getValue(OFFICE_NS, "string-value");
+                    collectingText = value == null;
+                    text.setLength(0);
+                    paragraphCount = 0;
+                    break;
+                default:
+                    // boolean, time and void are not supported
+                    value = null;
+                    break;
+            }
+        }
+
+        private void startTextElement(String localName, Attributes attributes) {
+            if (!collectingText) {
+                return;
+            }
+            switch (localName) {
+                case "p":
+                case "h":
+                    if (paragraphDepth == 0 && paragraphCount++ > 0) {
+                        text.append('\n');
+                    }
+                    paragraphDepth++;
+                    break;
+                case "s":
+                    for (int i = parseRepeat(attributes.getValue(TEXT_NS, "c")); i > 0; i--) {
+                        text.append(' ');
+                    }
+                    break;
+                case "tab":
+                    text.append('\t');
+                    break;
+                case "line-break":
+                    text.append('\n');
+                    break;
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            if (ignoredDepth > 0) {
+                ignoredDepth--;
+                return;
+            }
+            if (sheet == null) {
+                return;
+            }
+            if (TEXT_NS.equals(uri)) {
+                if (collectingText && ("p".equals(localName) || "h".equals(localName))) {
+                    paragraphDepth--;
+                }
+            } else if (TABLE_NS.equals(uri)) {
+                switch (localName) {
+                    case "table-cell":
+                    case "covered-table-cell":
+                        endCell();
+                        column += columnRepeat;
+                        break;
+                    case "table-row":
+                        sheet.row(row, rowRepeat);
+                        row += rowRepeat;
+                        break;
+                    case "table":
+                        sheets.add(sheet.build(sheetName != null ? sheetName.replace("_", " ") : ""));
+                        sheet = null;
+                        break;
+                }
+            }
+        }
+
+        private void endCell() {
+            if (collectingText) {
+                sheet.string(column, columnRepeat, text.toString());
+            } else if (value != null) {
+                switch (valueType) {
+                    case "date":
+                        Long date = parseDate(value);
+                        if (date != null) {
+                            sheet.date(column, columnRepeat, date);
+                        }
+                        break;
+                    case "string":
+                        sheet.string(column, columnRepeat, value);
+                        break;
+                    default:
+                        try {
+                            sheet.number(column, columnRepeat, Double.parseDouble(value));
+                        } catch (NumberFormatException ex) {
+                            // invalid number
+                        }
+                        break;
+                }
+            }
+            valueType = null;
+            value = null;
+            collectingText = false;
+            paragraphDepth = 0;
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collectingText && paragraphDepth > 0 && ignoredDepth == 0) {
+                text.append(ch, start, length);
+            }
+        }
+
+        private Long parseDate(String value) {
+            try {
+                return LocalDateTime.parse(value).atZone(zoneId).toInstant().toEpochMilli();
+            } catch (DateTimeParseException dateTimeEx) {
+                try {
+                    return LocalDate.parse(value).atStartOfDay(zoneId).toInstant().toEpochMilli();
+                } catch (DateTimeParseException dateEx) {
+                    return null;
+                }
+            }
+        }
+
+        private static int parseRepeat(String value) {
+            if (value != null) {
+                try {
+                    return Math.max(1, Integer.parseInt(value));
+                } catch (NumberFormatException ex) {
+                    // fall back to a single occurrence
+                }
+            }
+            return 1;
+        }
+    }
+}
@@ -16,7 +16,6 @@
  */
 package ec.util.spreadsheet.od;
 
-import com.github.miachm.sods.NotAnOdsException;
 import com.github.miachm.sods.Range;
 import com.github.miachm.sods.Sheet;
 import com.github.miachm.sods.SpreadSheet;
@@ -78,8 +77,8 @@ public class OpenDocumentBookFactory extends Book.Factory {
     public @NonNull Book load(@NonNull File file) throws IOException {
         checkFile(file);
         try {
-            return new OdBook(new SpreadSheet(file));
-        } catch (NotAnOdsException | ZipException ex) {
+            return OdContentReader.read(file);
+        } catch (ZipException ex) {
             throw new IOException(file.getPath(), ex);
         }
     }
@@ -89,11 +88,7 @@ public class OpenDocumentBookFactory extends Book.Factory {
         if (stream.available() == 0) {
             throw new EOFException();
         }
-        try {
-            return new OdBook(new SpreadSheet(stream));
-        } catch (NotAnOdsException | ZipException ex) {
-            throw new IOException(ex);
-        }
+        return OdContentReader.read(stream);
     }
 
     @Override
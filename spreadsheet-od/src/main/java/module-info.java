@@ -23,6 +23,7 @@ module nbbrd.spreadsheet.od {
     requires static lombok;
 
     requires nbbrd.spreadsheet.api;
+    requires nbbrd.io.xml;
     requires com.github.miachm.sods;
 
     provides ec.util.spreadsheet.Book.Factory with 
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.util.spreadsheet.od;
+
+import ec.util.spreadsheet.Book;
+import ec.util.spreadsheet.Sheet;
+import ec.util.spreadsheet.tck.BookAssert;
+import ec.util.spreadsheet.tck.SheetAssert;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.*;
+
+public class OdContentReaderTest {
+
+    @Test
+    public void testContent() throws IOException {
+        try (Book book = loadResource("/Top5Browsers.ods")) {
+            BookAssert.assertThat(book).hasSheetCount(3);
+            SheetAssert.assertThat(book.getSheet(0))
+                    .hasName("Top 5 Browsers - Monthly")
+                    .hasRowCount(42)
+                    .hasColumnCount(7)
+                    .hasCellValue(0, 0, null)
+                    .hasCellValue(0, 1, "IE")
+                    .hasCellValue(1, 0, toDate(LocalDateTime.of(2008, 7, 1, 0, 0)))
+                    .hasCellValue(1, 1, 68.57);
+        }
+
+        try (Book book = loadResource("/world_libre_office.ods")) {
+            BookAssert.assertThat(book).hasSheetCount(4);
+            SheetAssert.assertThat(book.getSheet(0))
+                    .hasName("Europe")
+                    .hasRowCount(382)
+                    .hasColumnCount(4)
+                    .hasCellValue(0, 0, "date")
+                    .hasCellValue(0, 1, "France")
+                    .hasCellValue(1, 0, toDate(LocalDate.of(1990, 1, 1).atStartOfDay()))
+                    .hasCellValue(1, 1, 395.8926090299);
+        }
+    }
+
+    @Test
+    public void testRepeated() throws IOException {
+        Sheet sheet = parseSheet(
+                "<table:table-row table:number-rows-repeated=\"3\"><table:table-cell table:number-columns-repeated=\"16384\"/></table:table-row>"
+                + "<table:table-row>"
+                + "<table:table-cell table:number-columns-repeated=\"2\"/>"
+                + "<table:table-cell office:value-type=\"float\" office:value=\"1.5\" table:number-columns-repeated=\"2\"/>"
+                + "<table:table-cell table:number-columns-repeated=\"16380\"/>"
+                + "</table:table-row>"
+                + "<table:table-row table:number-rows-repeated=\"2\"><table:table-cell office:value-type=\"string\"><text:p>x</text:p></table:table-cell></table:table-row>"
+                + "<table:table-row table:number-rows-repeated=\"1048000\"><table:table-cell table:number-columns-repeated=\"16384\"/></table:table-row>");
+
+        assertThat(sheet.getRowCount()).isEqualTo(6);
+        assertThat(sheet.getColumnCount()).isEqualTo(4);
+        assertThat(sheet.getCellValue(0, 0)).isNull();
+        assertThat(sheet.getCellValue(3, 1)).isNull();
+        assertThat(sheet.getCellValue(3, 2)).isEqualTo(1.5);
+        assertThat(sheet.getCellValue(3, 3)).isEqualTo(1.5);
+        assertThat(sheet.getCellValue(4, 0)).isEqualTo("x");
+        assertThat(sheet.getCellValue(5, 0)).isEqualTo("x");
+        assertThat(sheet.getCellValue(5, 1)).isNull();
+    }
+
+    @Test
+    public void testRuns() throws IOException {
+        Sheet sheet = parseSheet(
+                "<table:table-row table:number-rows-repeated=\"1000000\">"
+                + "<table:table-cell office:value-type=\"string\"><text:p>x</text:p></table:table-cell>"
+                + "<table:table-cell table:number-columns-repeated=\"2\"/>"
+                + "<table:table-cell office:value-type=\"float\" office:value=\"1\" table:number-columns-repeated=\"16381\"/>"
+                + "</table:table-row>"
+                + "<table:table-row><table:table-cell table:number-columns-repeated=\"3\"/>"
+                + "<table:table-cell office:value-type=\"float\" office:value=\"2\"/></table:table-row>");
+
+        assertThat(sheet).isInstanceOf(OdCompactSheet.class);
+        assertThat(((OdCompactSheet) sheet).getRunCount()).isEqualTo(3);
+        assertThat(sheet.getRowCount()).isEqualTo(1000001);
+        assertThat(sheet.getColumnCount()).isEqualTo(16384);
+        assertThat(sheet.getCellValue(0, 0)).isEqualTo("x");
+        assertThat(sheet.getCellValue(999999, 0)).isEqualTo("x");
+        assertThat(sheet.getCellValue(999999, 1)).isNull();
+        assertThat(sheet.getCellValue(999999, 2)).isNull();
+        assertThat(sheet.getCellValue(999999, 3)).isEqualTo(1.0);
+        assertThat(sheet.getCellValue(999999, 16383)).isEqualTo(1.0);
+        assertThat(sheet.getCellValue(1000000, 0)).isNull();
+        assertThat(sheet.getCellValue(1000000, 3)).isEqualTo(2.0);
+        assertThat(sheet.getCellValue(1000000, 4)).isNull();
+    }
+
+    @Test
+    public void testValues() throws IOException {
+        Sheet sheet = parseSheet("<table:table-row>"
+                + "<table:table-cell office:value-type=\"percentage\" office:value=\"0.25\"/>"
+                + "<table:table-cell office:value-type=\"date\" office:date-value=\"2008-07-01T12:30:00\"/>"
+                + "<table:table-cell office:value-type=\"date\" office:date-value=\"2008-07-01\"/>"
+                + "<table:table-cell office:value-type=\"boolean\" office:boolean-value=\"true\"/>"
+                + "<table:table-cell office:value-type=\"time\" office:time-value=\"PT12H\"/>"
+                + "<table:table-cell office:value-type=\"string\" office:string-value=\"attr\"><text:p>ignored</text:p></table:table-cell>"
+                + "<table:table-cell office:value-type=\"string\"><text:p>a<text:s text:c=\"2\"/><text:span>b</text:span></text:p><text:p>c<text:tab/>d</text:p>"
+                + "<office:annotation><text:p>note</text:p></office:annotation></table:table-cell>"
+                + "<table:covered-table-cell/>"
+                + "<table:table-cell office:value-type=\"float\" office:value=\"oops\"/>"
+                + "<table:table-cell office:value-type=\"float\" office:value=\"42\"/>"
+                + "</table:table-row>");
+
+        assertThat(sheet.getName()).isEqualTo("first sheet");
+        assertThat(sheet.getColumnCount()).isEqualTo(10);
+        assertThat(sheet.getCellValue(0, 0)).isEqualTo(0.25);
+        assertThat(sheet.getCellValue(0, 1)).isEqualTo(new Date(LocalDateTime.of(2008, 7, 1, 12, 30).toInstant(ZoneOffset.UTC).toEpochMilli()));
+        assertThat(sheet.getCellValue(0, 2)).isEqualTo(new Date(LocalDate.of(2008, 7, 1).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli()));
+        assertThat(sheet.getCellValue(0, 3)).isNull();
+        assertThat(sheet.getCellValue(0, 4)).isNull();
+        assertThat(sheet.getCellValue(0, 5)).isEqualTo("attr");
+        assertThat(sheet.getCellValue(0, 6)).isEqualTo("a  b\nc\td");
+        assertThat(sheet.getCellValue(0, 7)).isNull();
+        assertThat(sheet.getCellValue(0, 8)).isNull();
+        assertThat(sheet.getCellValue(0, 9)).isEqualTo(42.0);
+    }
+
+    @Test
+    public void testMissingContent() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("mimetype"));
+            zip.write("application/vnd.oasis.opendocument.spreadsheet".getBytes(StandardCharsets.US_ASCII));
+            zip.closeEntry();
+        }
+
+        assertThatIOException()
+                .isThrownBy(() -> OdContentReader.read(new ByteArrayInputStream(bytes.toByteArray())))
+                .withMessageContaining("content.xml");
+    }
+
+    private static Sheet parseSheet(String rows) throws IOException {
+        String content = "<office:document-content"
+                + " xmlns:office=\"urn:oasis:names:tc:opendocument:xmlns:office:1.0\""
+                + " xmlns:table=\"urn:oasis:names:tc:opendocument:xmlns:table:1.0\""
+                + " xmlns:text=\"urn:oasis:names:tc:opendocument:xmlns:text:1.0\">"
+                + "<office:body><office:spreadsheet>"
+                + "<table:table table:name=\"first_sheet\">"
+                + "<table:table-column table:number-columns-repeated=\"16384\"/>"
+                + rows
+                + "</table:table>"
+                + "</office:spreadsheet></office:body></office:document-content>";
+        Book book = OdContentReader.read(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), ZoneOffset.UTC);
+        assertThat(book.getSheetCount2()).isEqualTo(1);
+        return book.getSheet(0);
+    }
+
+    private static Book loadResource(String name) throws IOException {
+        try (InputStream stream = OdContentReaderTest.class.getResourceAsStream(name)) {
+            return OdContentReader.read(requireNonNull(stream));
+        }
+    }
+
+    private static Date toDate(LocalDateTime value) {
+        return Date.from(value.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -52,6 +52,13 @@ public class ExcelBookFactory extends Book.Factory {
     }
 
     //<editor-fold defaultstate="collapsed" desc="Getters/Setters">
+    /**
+     * Sets whether books are loaded through the event model of POI instead of
+     * a XSSFWorkbook. This option reduces the loading time and the memory
+     * footprint but the cells are loaded eagerly.
+     *
+     * @param fast true to use the event model; false otherwise
+     */
     public void setFast(boolean fast) {
         this.fast.set(fast);
     }
@@ -93,7 +100,7 @@ public class ExcelBookFactory extends Book.Factory {
     @Override
     public @NonNull Book load(@NonNull File file) throws IOException {
         checkFile(file);
-        return PoiBook.create(file);
+        return isFast() ? PoiBookStreamingReader.createStreaming(file) : PoiBook.create(file);
     }
 
     @Override
@@ -101,7 +108,7 @@ public class ExcelBookFactory extends Book.Factory {
         if (stream.available() == 0) {
             throw new EOFException();
         }
-        return PoiBook.create(stream);
+        return isFast() ? PoiBookStreamingReader.createStreaming(stream) : PoiBook.create(stream);
     }
 
     @Override
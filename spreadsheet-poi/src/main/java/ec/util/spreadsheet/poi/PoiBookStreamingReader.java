@@ -0,0 +1,307 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.util.spreadsheet.poi;
+
+import ec.util.spreadsheet.Book;
+import ec.util.spreadsheet.Sheet;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import org.apache.poi.EmptyFileException;
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JRuntimeException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a book through the event model of POI (XSSFReader and
+ * XSSFSheetXMLHandler) instead of building a XSSFWorkbook. The cells are
+ * loaded eagerly in compact sheets and the package is closed afterwards.
+ */
+@lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
+final class PoiBookStreamingReader {
+
+    @NonNull
+    public static Book createStreaming(@NonNull File file) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            return readBook(pkg);
+        } catch (OpenXML4JException | OpenXML4JRuntimeException | UnsupportedFileFormatException ex) {
+            throw new IOException(file.getPath(), ex);
+        } catch (EmptyFileException ex) {
+            throw new EOFException();
+        }
+    }
+
+    @NonNull
+    public static Book createStreaming(@NonNull InputStream stream) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(stream)) {
+            return readBook(pkg);
+        } catch (OpenXML4JException | OpenXML4JRuntimeException | UnsupportedFileFormatException ex) {
+            throw new IOException(ex);
+        } catch (EmptyFileException ex) {
+            throw new EOFException();
+        }
+    }
+
+    @NonNull
+    private static Book readBook(@NonNull OPCPackage pkg) throws IOException, OpenXML4JException {
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+            boolean date1904 = isDate1904(reader);
+            List<Sheet> result = new ArrayList<>();
+            XSSFReader.SheetIterator iter = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (iter.hasNext()) {
+                try (InputStream stream = iter.next()) {
+                    SheetHandler handler = new SheetHandler(styles, strings, date1904);
+                    parse(stream, handler);
+                    result.add(handler.builder.build(iter.getSheetName()));
+                }
+            }
+            return new StreamingBook(result);
+        } catch (SAXException | ParserConfigurationException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    private static boolean isDate1904(XSSFReader reader) throws IOException, OpenXML4JException, SAXException, ParserConfigurationException {
+        boolean[] result = {false};
+        try (InputStream stream = reader.getWorkbookData()) {
+            parse(stream, new DefaultHandler() {
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                    if ("workbookPr".equals(localName)) {
+                        String value = attributes.getValue("date1904");
+                        result[0] = "1".equals(value) || "true".equals(value);
+                    }
+                }
+            });
+        }
+        return result[0];
+    }
+
+    private static void parse(InputStream stream, DefaultHandler handler) throws IOException, SAXException, ParserConfigurationException {
+        XMLReader parser = XMLHelper.newXMLReader();
+        parser.setContentHandler(handler);
+        parser.parse(new InputSource(stream));
+    }
+
+    @lombok.AllArgsConstructor
+    private static final class StreamingBook extends Book {
+
+        private final List<Sheet> sheets;
+
+        @Override
+        public int getSheetCount() {
+            return sheets.size();
+        }
+
+        @Override
+        public @NonNull Sheet getSheet(int index) throws IndexOutOfBoundsException {
+            return sheets.get(index);
+        }
+    }
+
+    /**
+     * Forwards the events to a XSSFSheetXMLHandler while keeping track of the
+     * cell coordinates and types that this handler doesn't report.
+     */
+    private static final class SheetHandler extends DefaultHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final PoiCompactSheet.Builder builder = new PoiCompactSheet.Builder();
+        private final NumberCapture formatter;
+        private final XSSFSheetXMLHandler delegate;
+        private final StringBuilder formulaString = new StringBuilder();
+        private int row = -1;
+        private int column = -1;
+        private String type = null;
+        private boolean formulaStringOpen = false;
+
+        SheetHandler(StylesTable styles, ReadOnlySharedStringsTable strings, boolean date1904) {
+            this.formatter = new NumberCapture(date1904);
+            this.delegate = new XSSFSheetXMLHandler(styles, null, strings, this, formatter, false);
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+            switch (XSSFRelation.NS_SPREADSHEETML.equals(uri) ? localName : "") {
+                case "row":
+                    row = parseRow(attributes.getValue("r"), row + 1);
+                    column = -1;
+                    builder.bounds(row, -1);
+                    break;
+                case "c":
+                    column = parseColumn(attributes.getValue("r"), column + 1);
+                    type = attributes.getValue("t");
+                    formatter.captured = false;
+                    builder.bounds(row, column);
+                    if ("d".equals(type)) {
+                        // ISO 8601 dates are not supported by the handler nor by XSSFCell
+                        attributes = withType(attributes, "str");
+                    }
+                    break;
+                case "v":
+                    formulaString.setLength(0);
+                    formulaStringOpen = "str".equals(type);
+                    break;
+            }
+            delegate.startElement(uri, localName, qName, attributes);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            if (XSSFRelation.NS_SPREADSHEETML.equals(uri) && "v".equals(localName)) {
+                formulaStringOpen = false;
+            }
+            delegate.endElement(uri, localName, qName);
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            if (formulaStringOpen) {
+                formulaString.append(ch, start, length);
+            }
+            delegate.characters(ch, start, length);
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            // Rows are tracked in startElement
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            // Nothing to do
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            if (type == null || "n".equals(type)) {
+                if (formatter.captured) {
+                    if (formatter.date) {
+                        builder.date(row, column, formatter.millis);
+                    } else {
+                        builder.number(row, column, formatter.number);
+                    }
+                } else if (formattedValue != null) {
+                    try {
+                        builder.number(row, column, Double.parseDouble(formattedValue));
+                    } catch (NumberFormatException ex) {
+                        // not a number
+                    }
+                }
+                return;
+            }
+            switch (type) {
+                case "s":
+                case "inlineStr":
+                    if (formattedValue != null) {
+                        builder.string(row, column, formattedValue);
+                    }
+                    break;
+                case "str":
+                    builder.string(row, column, formulaString.toString());
+                    break;
+                default:
+                    // boolean, error and ISO 8601 date are not supported
+                    break;
+            }
+        }
+
+        private static int parseRow(String ref, int defaultValue) {
+            if (ref != null) {
+                try {
+                    return Integer.parseInt(ref) - 1;
+                } catch (NumberFormatException ex) {
+                    // fall back to the next row
+                }
+            }
+            return defaultValue;
+        }
+
+        private static int parseColumn(String ref, int defaultValue) {
+            if (ref == null) {
+                return defaultValue;
+            }
+            int result = 0;
+            int i = 0;
+            while (i < ref.length() && Character.isLetter(ref.charAt(i))) {
+                result = result * 26 + (Character.toUpperCase(ref.charAt(i)) - 'A' + 1);
+                i++;
+            }
+            return i > 0 ? result - 1 : defaultValue;
+        }
+
+        private static Attributes withType(Attributes attributes, String type) {
+            AttributesImpl result = new AttributesImpl(attributes);
+            result.setValue(result.getIndex("t"), type);
+            return result;
+        }
+    }
+
+    /**
+     * Captures the raw number of a cell and its date-ness instead of
+     * formatting it.
+     */
+    private static final class NumberCapture extends DataFormatter {
+
+        private final boolean date1904;
+        private boolean captured = false;
+        private boolean date = false;
+        private double number = 0;
+        private long millis = 0;
+
+        NumberCapture(boolean date1904) {
+            this.date1904 = date1904;
+        }
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            captured = true;
+            number = value;
+            date = DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value);
+            if (date) {
+                millis = DateUtil.getJavaDate(value, date1904).getTime();
+            }
+            return "";
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.util.spreadsheet.poi;
+
+import ec.util.spreadsheet.Cell;
+import ec.util.spreadsheet.Sheet;
+import ec.util.spreadsheet.SheetConsumer;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Sheet whose cells are stored in primitive arrays sorted by row and column.
+ * Numbers are kept as double bits, dates as epoch millis and strings as
+ * indexes in a pool of unique values.
+ */
+@lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
+final class PoiCompactSheet extends Sheet {
+
+    private static final byte NUMBER = 0;
+    private static final byte DATE = 1;
+    private static final byte STRING = 2;
+
+    private final String name;
+    private final int rowCount;
+    private final int columnCount;
+    private final long[] keys;
+    private final byte[] types;
+    private final long[] values;
+    private final String[] strings;
+    @Deprecated
+    private final FlyweightCell flyweightCell = new FlyweightCell();
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    @Override
+    public @Nullable Cell getCell(int rowIdx, int columnIdx) throws IndexOutOfBoundsException {
+        Object value = getCellValue(rowIdx, columnIdx);
+        return value != null ? flyweightCell.withValue(value) : null;
+    }
+
+    @Override
+    public @Nullable Object getCellValue(int rowIdx, int columnIdx) throws IndexOutOfBoundsException {
+        if (rowIdx < 0 || rowIdx >= rowCount || columnIdx < 0 || columnIdx >= columnCount) {
+            throw new IndexOutOfBoundsException();
+        }
+        int index = Arrays.binarySearch(keys, keyOf(rowIdx, columnIdx));
+        return index >= 0 ? valueAt(index) : null;
+    }
+
+    @Override
+    public void forEach(@org.jspecify.annotations.NonNull SheetConsumer<? super Cell> action) {
+        Objects.requireNonNull(action);
+        for (int index = 0; index < keys.length; index++) {
+            action.accept(rowOf(keys[index]), columnOf(keys[index]), flyweightCell.withValue(valueAt(index)));
+        }
+    }
+
+    @Override
+    public void forEachValue(@org.jspecify.annotations.NonNull SheetConsumer<? super Object> action) {
+        Objects.requireNonNull(action);
+        for (int index = 0; index < keys.length; index++) {
+            action.accept(rowOf(keys[index]), columnOf(keys[index]), valueAt(index));
+        }
+    }
+
+    @Override
+    public @org.jspecify.annotations.NonNull String getName() {
+        return name;
+    }
+
+    private Object valueAt(int index) {
+        switch (types[index]) {
+            case NUMBER:
+                return Double.longBitsToDouble(values[index]);
+            case DATE:
+                return new Date(values[index]);
+            default:
+                return strings[(int) values[index]];
+        }
+    }
+
+    private static long keyOf(int row, int column) {
+        return (long) row << 32 | column;
+    }
+
+    private static int rowOf(long key) {
+        return (int) (key >>> 32);
+    }
+
+    private static int columnOf(long key) {
+        return (int) key;
+    }
+
+    static final class Builder {
+
+        private int rowCount = 0;
+        private int columnCount = 0;
+        private int size = 0;
+        private long[] keys = new long[1024];
+        private byte[] types = new byte[1024];
+        private long[] values = new long[1024];
+        private boolean sorted = true;
+        private final Map<String, Integer> stringIndexes = new HashMap<>();
+
+        @NonNull
+        Builder bounds(int row, int column) {
+            rowCount = Math.max(rowCount, row + 1);
+            columnCount = Math.max(columnCount, column + 1);
+            return this;
+        }
+
+        @NonNull
+        Builder number(int row, int column, double value) {
+            return add(row, column, NUMBER, Double.doubleToRawLongBits(value));
+        }
+
+        @NonNull
+        Builder date(int row, int column, long millis) {
+            return add(row, column, DATE, millis);
+        }
+
+        @NonNull
+        Builder string(int row, int column, @NonNull String value) {
+            Integer index = stringIndexes.computeIfAbsent(value, o -> stringIndexes.size());
+            return add(row, column, STRING, index);
+        }
+
+        @NonNull
+        PoiCompactSheet build(@NonNull String name) {
+            long[] resultKeys = Arrays.copyOf(keys, size);
+            byte[] resultTypes = Arrays.copyOf(types, size);
+            long[] resultValues = Arrays.copyOf(values, size);
+            if (!sorted) {
+                sort(resultKeys, resultTypes, resultValues);
+            }
+            String[] resultStrings = new String[stringIndexes.size()];
+            stringIndexes.forEach((value, index) -> resultStrings[index] = value);
+            return new PoiCompactSheet(name, rowCount, columnCount, resultKeys, resultTypes, resultValues, resultStrings);
+        }
+
+        private Builder add(int row, int column, byte type, long value) {
+            bounds(row, column);
+            long key = keyOf(row, column);
+            if (size > 0 && keys[size - 1] >= key) {
+                sorted = false;
+            }
+            if (size == keys.length) {
+                int capacity = size * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                types = Arrays.copyOf(types, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            keys[size] = key;
+            types[size] = type;
+            values[size] = value;
+            size++;
+            return this;
+        }
+
+        private static void sort(long[] keys, byte[] types, long[] values) {
+            // cells are usually written in order; this path only handles odd files
+            Integer[] order = new Integer[keys.length];
+            Arrays.setAll(order, i -> i);
+            Arrays.sort(order, (l, r) -> Long.compare(keys[l], keys[r]));
+            long[] oldKeys = keys.clone();
+            byte[] oldTypes = types.clone();
+            long[] oldValues = values.clone();
+            for (int i = 0; i < order.length; i++) {
+                keys[i] = oldKeys[order[i]];
+                types[i] = oldTypes[order[i]];
+                values[i] = oldValues[order[i]];
+            }
+        }
+    }
+
+    @Deprecated
+    private static final class FlyweightCell extends Cell {
+
+        private Object value = null;
+
+        @NonNull
+        FlyweightCell withValue(@NonNull Object value) {
+            this.value = value;
+            return this;
+        }
+
+        @Override
+        public boolean isDate() {
+            return value instanceof Date;
+        }
+
+        @Override
+        public boolean isNumber() {
+            return value instanceof Number;
+        }
+
+        @Override
+        public boolean isString() {
+            return value instanceof String;
+        }
+
+        @Override
+        public Date getDate() {
+            if (!isDate()) {
+                throw new UnsupportedOperationException();
+            }
+            return (Date) value;
+        }
+
+        @Override
+        public Number getNumber() {
+            if (!isNumber()) {
+                throw new UnsupportedOperationException();
+            }
+            return (Number) value;
+        }
+
+        @Override
+        public String getString() {
+            if (!isString()) {
+                throw new UnsupportedOperationException();
+            }
+            return (String) value;
+        }
+    }
+}
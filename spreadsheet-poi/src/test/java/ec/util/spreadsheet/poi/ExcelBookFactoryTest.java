@@ -47,6 +47,14 @@ public class ExcelBookFactoryTest {
                 .isCompliant(XLSX_TOP5, temp);
     }
 
+    @Test
+    public void testFastCompliance(@TempDir Path temp) throws IOException {
+        ExcelBookFactory x = new ExcelBookFactory();
+        x.setFast(true);
+        BookFactoryAssert.assertThat(x)
+                .isCompliant(XLSX_TOP5, temp);
+    }
+
     @Test
     public void testContent(@TempDir Path temp) throws IOException {
         assertThat(new ExcelBookFactory())
@@ -109,6 +117,25 @@ public class ExcelBookFactoryTest {
         assertThatIOException().isThrownBy(() -> x.load(XLSX_TOP5.getMissing().path(temp)));
     }
 
+    @Test
+    public void testFastLoadFile(@TempDir Path temp) throws IOException {
+        ExcelBookFactory x = new ExcelBookFactory();
+        x.setFast(true);
+
+        try (Book book = x.load(XLSX_TOP5.getValid().path(temp))) {
+            PoiSamples.assertTop5Book(book);
+        }
+        try (Book book = x.load(XLSX_TOP5.getValidWithTail().path(temp))) {
+            PoiSamples.assertTop5Book(book);
+        }
+        try (ArrayBook book = XLSX_TOP5.getValid().loadStream(x)) {
+            PoiSamples.assertTop5Book(book);
+        }
+        assertThatIOException().isThrownBy(() -> x.load(XLSX_TOP5.getInvalidFormat().path(temp)));
+        assertThatIOException().isThrownBy(() -> x.load(XLSX_TOP5.getEmpty().path(temp)));
+        assertThatIOException().isThrownBy(() -> x.load(XLSX_TOP5.getMissing().path(temp)));
+    }
+
     @Test
     public void testLoadStream() throws IOException {
         ExcelBookFactory x = new ExcelBookFactory();
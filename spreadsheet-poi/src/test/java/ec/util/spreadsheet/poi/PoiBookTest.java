@@ -17,6 +17,7 @@
 package ec.util.spreadsheet.poi;
 
 import ec.util.spreadsheet.Book;
+import ec.util.spreadsheet.tck.BookAssert;
 import static ec.util.spreadsheet.tck.SheetAssert.assertThat;
 import java.io.InputStream;
 import java.util.concurrent.Callable;
@@ -48,6 +49,15 @@ public class PoiBookTest {
                         .hasCellValue(0, 1, "IE");
             }
         }
+        try (InputStream stream = XLSX.call()) {
+            try (Book book = PoiBookStreamingReader.createStreaming(stream)) {
+                assertThat(book.getSheet(2))
+                        .hasCellValue(0, 0, null)
+                        .hasCellValue(1, 0, DateUtil.parse("2008-07-01"))
+                        .hasCellValue(1, 2, 26.14)
+                        .hasCellValue(0, 1, "IE");
+            }
+        }
         try (InputStream stream = XLS.call()) {
             try (Book book = PoiBook.createClassic(stream)) {
                 assertThat(book.getSheet(2))
@@ -58,4 +68,13 @@ public class PoiBookTest {
             }
         }
     }
+
+    @Test
+    public void testStreamingContent() throws Exception {
+        try (InputStream dom = XLSX.call(); InputStream streaming = XLSX.call()) {
+            try (Book expected = PoiBook.create(dom); Book actual = PoiBookStreamingReader.createStreaming(streaming)) {
+                BookAssert.assertThat(actual).hasSameContentAs(expected, true);
+            }
+        }
+    }
 }
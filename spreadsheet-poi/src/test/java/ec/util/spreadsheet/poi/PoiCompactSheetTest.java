@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.util.spreadsheet.poi;
+
+import ec.util.spreadsheet.Sheet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PoiCompactSheetTest {
+
+    @Test
+    public void testBuilder() {
+        Sheet sheet = new PoiCompactSheet.Builder()
+                .string(1, 0, "b")
+                .number(0, 1, 3.14)
+                .date(0, 0, 1000L)
+                .string(2, 1, "b")
+                .bounds(3, 4)
+                .build("name");
+
+        assertThat(sheet.getName()).isEqualTo("name");
+        assertThat(sheet.getRowCount()).isEqualTo(4);
+        assertThat(sheet.getColumnCount()).isEqualTo(5);
+        assertThat(sheet.getCellValue(0, 0)).isEqualTo(new Date(1000L));
+        assertThat(sheet.getCellValue(0, 1)).isEqualTo(3.14);
+        assertThat(sheet.getCellValue(1, 0)).isEqualTo("b");
+        assertThat(sheet.getCellValue(1, 1)).isNull();
+        assertThat(sheet.getCellValue(3, 4)).isNull();
+        assertThat(sheet.getCell(2, 1).getString()).isEqualTo("b");
+        assertThat(sheet.getCell(2, 0)).isNull();
+
+        assertThatThrownBy(() -> sheet.getCellValue(-1, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> sheet.getCellValue(4, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> sheet.getCellValue(0, 5)).isInstanceOf(IndexOutOfBoundsException.class);
+
+        List<String> cells = new ArrayList<>();
+        sheet.forEachValue((i, j, value) -> cells.add(i + "," + j));
+        assertThat(cells).containsExactly("0,0", "0,1", "1,0", "2,1");
+    }
+
+    @Test
+    public void testEmpty() {
+        Sheet sheet = new PoiCompactSheet.Builder().build("empty");
+
+        assertThat(sheet.getRowCount()).isZero();
+        assertThat(sheet.getColumnCount()).isZero();
+        assertThatThrownBy(() -> sheet.getCellValue(0, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
@@ -28,5 +28,7 @@ module nbbrd.spreadsheet.xl {
     requires java.logging;
 
     provides ec.util.spreadsheet.Book.Factory with
-            spreadsheet.xlsx.XlsxBookFactory;
+            spreadsheet.xlsx.XlsxBookFactory,
+            spreadsheet.xlsx.XlsbBookFactory,
+            spreadsheet.xlsx.XlsBookFactory;
 }
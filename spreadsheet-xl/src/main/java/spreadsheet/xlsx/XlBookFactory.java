@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx;
+
+import ec.util.spreadsheet.Book;
+import ec.util.spreadsheet.helpers.FileHelper;
+import lombok.NonNull;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Collection;
+
+/**
+ * Base factory of the workbook formats that are read by {@link XlsxReader}.
+ * Files are accepted by their extensions and their magic number; reading
+ * only differs by the reader of each format.
+ */
+abstract class XlBookFactory extends Book.Factory {
+
+    /**
+     * Creates the reader of this format.
+     *
+     * @return a non-null reader
+     */
+    @NonNull
+    abstract XlsxReader newReader();
+
+    /**
+     * Returns the first bytes of the files of this format.
+     *
+     * @return a non-null array of bytes
+     */
+    @NonNull
+    abstract byte[] getMagicNumber();
+
+    @Override
+    public int getRank() {
+        return NATIVE_RANK;
+    }
+
+    @Override
+    public boolean accept(File file) {
+        return FileHelper.accept(file, this);
+    }
+
+    @Override
+    public boolean accept(Path file) throws IOException {
+        return FileHelper.hasExtension(file, getExtensions())
+                && (!Files.exists(file) || FileHelper.hasMagicNumber(file, getMagicNumber()));
+    }
+
+    @Override
+    public @NonNull Book load(@NonNull File file) throws IOException {
+        checkFile(file);
+        return newReader().read(file.toPath());
+    }
+
+    @Override
+    public @NonNull Book load(@NonNull InputStream stream) throws IOException {
+        if (stream.available() == 0) {
+            throw new EOFException();
+        }
+        return newReader().read(stream);
+    }
+
+    @Override
+    public boolean canStore() {
+        return false;
+    }
+
+    @Override
+    public void store(@NonNull OutputStream stream, @NonNull Book book) throws IOException {
+        throw new UnsupportedOperationException("Not supported");
+    }
+
+    private String[] getExtensions() {
+        return getExtensionsByMediaType()
+                .values()
+                .stream()
+                .flatMap(Collection::stream)
+                .toArray(String[]::new);
+    }
+
+    @NonNull
+    private static File checkFile(@NonNull File file) throws IOException {
+        if (!file.exists()) {
+            throw new NoSuchFileException(file.getPath());
+        }
+        if (!file.canRead() || file.isDirectory()) {
+            throw new AccessDeniedException(file.getPath());
+        }
+        if (file.length() == 0) {
+            throw new EOFException(file.getPath());
+        }
+        return file;
+    }
+}
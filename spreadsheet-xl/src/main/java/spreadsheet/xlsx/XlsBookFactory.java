@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx;
+
+import ec.util.spreadsheet.Book;
+import ec.util.spreadsheet.BookFactoryLoader;
+import lombok.NonNull;
+import nbbrd.io.function.IOFunction;
+import nbbrd.service.ServiceProvider;
+import spreadsheet.xlsx.internal.BiffEntryParser;
+import spreadsheet.xlsx.internal.BiffFormatException;
+import spreadsheet.xlsx.internal.BiffPackage;
+import spreadsheet.xlsx.internal.IOHelper;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+
+/**
+ * Factory of legacy workbooks (xls) that shares the reader of xlsx. Only the
+ * BIFF8 format of Excel 97 and later is supported, unencrypted or encrypted
+ * with the default password; other workbooks are loaded by the next factory
+ * of xls files, if any.
+ *
+ * @since 2.7.0
+ */
+@ServiceProvider(Book.Factory.class)
+public final class XlsBookFactory extends XlBookFactory {
+
+    private static final String XLS_TYPE = "application/vnd.ms-excel";
+
+    @Override
+    public @NonNull String getName() {
+        return "Xls";
+    }
+
+    @Override
+    public @NonNull Map<String, List<String>> getExtensionsByMediaType() {
+        return singletonMap(XLS_TYPE, singletonList(".xls"));
+    }
+
+    @Override
+    public @NonNull Book load(@NonNull File file) throws IOException {
+        try {
+            return super.load(file);
+        } catch (BiffFormatException ex) {
+            return loadWithFallback(ex, fallback -> fallback.load(file));
+        }
+    }
+
+    @Override
+    public @NonNull Book load(@NonNull InputStream stream) throws IOException {
+        // kept in memory for the fallback; the package reads it all anyway
+        byte[] content = IOHelper.readAllBytes(stream);
+        try {
+            return super.load(new ByteArrayInputStream(content));
+        } catch (BiffFormatException ex) {
+            return loadWithFallback(ex, fallback -> fallback.load(new ByteArrayInputStream(content)));
+        }
+    }
+
+    private Book loadWithFallback(BiffFormatException ex, IOFunction<Book.Factory, Book> loader) throws IOException {
+        Book.Factory fallback = getFallback().orElseThrow(() -> ex);
+        try {
+            return loader.applyWithIO(fallback);
+        } catch (IOException | RuntimeException other) {
+            other.addSuppressed(ex);
+            throw other;
+        }
+    }
+
+    private Optional<Book.Factory> getFallback() {
+        return BookFactoryLoader.load()
+                .stream()
+                .filter(o -> o.getRank() < getRank() && o.canLoad() && o.getExtensionsByMediaType().containsKey(XLS_TYPE))
+                .findFirst();
+    }
+
+    @Override
+    XlsxReader newReader() {
+        return new XlsxReader()
+                .withPackager(BiffPackage.FACTORY)
+                .withEntryParser(BiffEntryParser.FACTORY);
+    }
+
+    @Override
+    byte[] getMagicNumber() {
+        return XLS_HEADER;
+    }
+
+    // https://en.wikipedia.org/wiki/List_of_file_signatures
+    private static final byte[] XLS_HEADER = {(byte) 0xD0, (byte) 0xCF, (byte) 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, (byte) 0x1A, (byte) 0xE1};
+}
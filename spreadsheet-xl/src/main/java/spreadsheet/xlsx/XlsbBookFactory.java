@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx;
+
+import ec.util.spreadsheet.Book;
+import lombok.NonNull;
+import nbbrd.service.ServiceProvider;
+import spreadsheet.xlsx.internal.BinaryEntryParser;
+import spreadsheet.xlsx.internal.ZipPackage;
+
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+
+/**
+ * Factory of binary workbooks (xlsb) that shares the reader of xlsx.
+ *
+ * @since 2.7.0
+ */
+@ServiceProvider(Book.Factory.class)
+public final class XlsbBookFactory extends XlBookFactory {
+
+    private static final String XLSB_TYPE = "application/vnd.ms-excel.sheet.binary.macroEnabled.12";
+
+    @Override
+    public @NonNull String getName() {
+        return "Xlsb";
+    }
+
+    @Override
+    public @NonNull Map<String, List<String>> getExtensionsByMediaType() {
+        return singletonMap(XLSB_TYPE, singletonList(".xlsb"));
+    }
+
+    @Override
+    XlsxReader newReader() {
+        return new XlsxReader()
+                .withPackager(ZipPackage.BINARY_FACTORY)
+                .withEntryParser(BinaryEntryParser.FACTORY);
+    }
+
+    @Override
+    byte[] getMagicNumber() {
+        return ZIP_HEADER;
+    }
+
+    // https://en.wikipedia.org/wiki/List_of_file_signatures
+    private static final byte[] ZIP_HEADER = {(byte) 0x50, (byte) 0x4B};
+}
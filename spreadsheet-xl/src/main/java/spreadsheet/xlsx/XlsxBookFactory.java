@@ -17,16 +17,11 @@
 package spreadsheet.xlsx;
 
 import ec.util.spreadsheet.Book;
-import ec.util.spreadsheet.helpers.FileHelper;
 import nbbrd.service.ServiceProvider;
 import lombok.NonNull;
+import spreadsheet.xlsx.internal.XlsxBookWriter;
 
 import java.io.*;
-import java.nio.file.AccessDeniedException;
-import java.nio.file.Files;
-import java.nio.file.NoSuchFileException;
-import java.nio.file.Path;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,7 +32,7 @@ import static java.util.Collections.singletonList;
  * @author Philippe Charles
  */
 @ServiceProvider(Book.Factory.class)
-public final class XlsxBookFactory extends Book.Factory {
+public final class XlsxBookFactory extends XlBookFactory {
 
     private static final String XLSX_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
     private static final String XLSM_TYPE = "application/vnd.ms-excel.sheet.macroEnabled.12";
@@ -47,11 +42,6 @@ public final class XlsxBookFactory extends Book.Factory {
         return "Xlsx";
     }
 
-    @Override
-    public int getRank() {
-        return NATIVE_RANK;
-    }
-
     @Override
     public @NonNull Map<String, List<String>> getExtensionsByMediaType() {
         Map<String, List<String>> result = new HashMap<>();
@@ -61,52 +51,23 @@ public final class XlsxBookFactory extends Book.Factory {
     }
 
     @Override
-    public boolean accept(File file) {
-        return FileHelper.accept(file, this);
-    }
-
-    @Override
-    public boolean accept(Path file) throws IOException {
-        return FileHelper.hasExtension(file, ".xlsx", ".xlsm")
-                && (!Files.exists(file) || FileHelper.hasMagicNumber(file, ZIP_HEADER));
-    }
-
-    @Override
-    public @NonNull Book load(@NonNull File file) throws IOException {
-        checkFile(file);
-        return new XlsxReader().read(file.toPath());
+    public boolean canStore() {
+        return true;
     }
 
     @Override
-    public @NonNull Book load(@NonNull InputStream stream) throws IOException {
-        if (stream.available() == 0) {
-            throw new EOFException();
-        }
-        return new XlsxReader().read(stream);
+    public void store(@NonNull OutputStream stream, @NonNull Book book) throws IOException {
+        XlsxBookWriter.write(book, stream);
     }
 
     @Override
-    public boolean canStore() {
-        return false;
+    XlsxReader newReader() {
+        return new XlsxReader();
     }
 
     @Override
-    public void store(@NonNull OutputStream stream, @NonNull Book book) throws IOException {
-        throw new UnsupportedOperationException("Not supported");
-    }
-
-    @NonNull
-    private static File checkFile(@NonNull File file) throws IOException {
-        if (!file.exists()) {
-            throw new NoSuchFileException(file.getPath());
-        }
-        if (!file.canRead() || file.isDirectory()) {
-            throw new AccessDeniedException(file.getPath());
-        }
-        if (file.length() == 0) {
-            throw new EOFException(file.getPath());
-        }
-        return file;
+    byte[] getMagicNumber() {
+        return ZIP_HEADER;
     }
 
     // https://en.wikipedia.org/wiki/List_of_file_signatures
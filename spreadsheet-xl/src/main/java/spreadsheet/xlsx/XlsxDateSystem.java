@@ -16,8 +16,11 @@
  */
 package spreadsheet.xlsx;
 
+import java.time.ZoneId;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
 import lombok.NonNull;
 
 /**
@@ -57,6 +60,22 @@ public interface XlsxDateSystem {
      */
     long getJavaDateInMillis(@NonNull Calendar calendar, double date);
 
+    /**
+     * Convert an Excel date to java date without requiring a calendar.
+     *
+     * @param zoneId the time zone used to compute the java date
+     * @param date an Excel date
+     * @return a java date in millis
+     * @implSpec <p>
+     * The default implementation uses a new Gregorian calendar on each call.
+     * Implementations are encouraged to override it with a thread-safe
+     * version that does not allocate a calendar.
+     * @since 2.7.0
+     */
+    default long getJavaDateInMillis(@NonNull ZoneId zoneId, double date) {
+        return getJavaDateInMillis(new GregorianCalendar(TimeZone.getTimeZone(zoneId)), date);
+    }
+
     /**
      * Factory for an XlsxDateSystem.
      */
@@ -20,6 +20,8 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 
+import ec.util.spreadsheet.helpers.CellRefHelper;
+import nbbrd.design.NonNegative;
 import nbbrd.design.ThreadSafe;
 import lombok.NonNull;
 import org.jspecify.annotations.Nullable;
@@ -63,11 +65,68 @@ public interface XlsxEntryParser extends Closeable {
 
         void onSheetData(@Nullable String sheetBounds) throws IllegalStateException;
 
+        /**
+         * Visits a cell value.
+         * Note that the value might be a reused buffer that is only valid during this call.
+         *
+         * @param ref        the cell reference
+         * @param value      the raw cell value
+         * @param dataType   the cell data type
+         * @param styleIndex the cell style index
+         * @throws IllegalStateException if called outside sheet data
+         */
         void onCell(
                 @NonNull String ref,
                 @NonNull CharSequence value,
                 @NonNull XlsxDataType dataType,
                 int styleIndex) throws IllegalStateException;
+
+        /**
+         * Visits a cell value whose reference has already been decoded.
+         * Note that the value might be a reused buffer that is only valid during this call.
+         *
+         * @param row        a zero-based row index
+         * @param column     a zero-based column index
+         * @param value      the raw cell value
+         * @param dataType   the cell data type
+         * @param styleIndex the cell style index
+         * @throws IllegalStateException if called outside sheet data
+         * @since 2.7.0
+         */
+        default void onCell(
+                @NonNegative int row,
+                @NonNegative int column,
+                @NonNull CharSequence value,
+                @NonNull XlsxDataType dataType,
+                int styleIndex) throws IllegalStateException {
+            onCell(CellRefHelper.getCellRef(row, column), value, dataType, styleIndex);
+        }
+
+        /**
+         * Checks if the value of a cell is required. Parsers may skip the
+         * value of the cells that are not required.
+         *
+         * @param row    a zero-based row index
+         * @param column a zero-based column index
+         * @return true if the cell is required, false otherwise
+         * @since 2.7.0
+         */
+        default boolean isCellRequired(@NonNegative int row, @NonNegative int column) {
+            return true;
+        }
+
+        /**
+         * Checks if a row and all the following ones are no longer required.
+         * Parsers may stop reading the entry as soon as it returns true since
+         * rows are stored in ascending order.
+         *
+         * @param row a zero-based row index
+         * @return true if the parsing can stop, false otherwise
+         * @since 2.7.0
+         */
+        default boolean isAfterLastRow(@NonNegative int row) {
+            return false;
+        }
     }
 
     @ThreadSafe
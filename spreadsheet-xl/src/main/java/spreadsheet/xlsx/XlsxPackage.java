@@ -72,6 +72,18 @@ public interface XlsxPackage extends Closeable {
     @NonNull
     InputStream getSheet(@NonNull String relationId) throws IOException;
 
+    /**
+     * Returns the uncompressed size of the content of the specified Sheet.
+     *
+     * @param relationId the non-null id of a sheet
+     * @return a number of bytes or -1 if unknown
+     * @throws IOException if the sheet is missing or something went wrong
+     * @since 2.7.0
+     */
+    default long getSheetSize(@NonNull String relationId) throws IOException {
+        return -1;
+    }
+
     /**
      * Factory for an XlsxPackage.
      */
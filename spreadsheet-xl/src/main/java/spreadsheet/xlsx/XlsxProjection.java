@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx;
+
+import lombok.AccessLevel;
+import lombok.NonNull;
+import nbbrd.design.NonNegative;
+
+import java.util.BitSet;
+
+/**
+ * Subset of the cells of a sheet that must be read: a window of rows and an
+ * optional set of columns. Cells keep their position in the sheet; the size of
+ * the sheet is clipped to the last required row and column.
+ *
+ * @since 2.7.0
+ */
+@lombok.EqualsAndHashCode
+@lombok.ToString
+@lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class XlsxProjection {
+
+    /**
+     * Projection that keeps all the cells.
+     */
+    public static final XlsxProjection ALL = new XlsxProjection(0, Integer.MAX_VALUE, null);
+
+    /**
+     * Creates a projection that keeps all the columns of a window of rows.
+     *
+     * @param firstRow the zero-based index of the first row
+     * @param rowCount the number of rows
+     * @return a non-null projection
+     * @throws IllegalArgumentException if firstRow is negative or rowCount is
+     *                                  lower than 1
+     */
+    @NonNull
+    public static XlsxProjection ofRows(@NonNegative int firstRow, int rowCount) throws IllegalArgumentException {
+        if (firstRow < 0 || rowCount < 1) {
+            throw new IllegalArgumentException("Invalid row window: " + firstRow + "+" + rowCount);
+        }
+        return new XlsxProjection(firstRow, (int) Math.min(Integer.MAX_VALUE, (long) firstRow + rowCount), null);
+    }
+
+    private final int rowStart;
+    private final int rowEnd;
+    private final BitSet columns;
+
+    /**
+     * Creates a copy of this projection that only keeps some columns.
+     *
+     * @param columns the zero-based indexes of the columns
+     * @return a non-null projection
+     * @throws IllegalArgumentException if there are no columns or if an index
+     *                                  is negative
+     */
+    @NonNull
+    public XlsxProjection withColumns(@NonNull int... columns) throws IllegalArgumentException {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("Missing columns");
+        }
+        BitSet result = new BitSet();
+        for (int column : columns) {
+            if (column < 0) {
+                throw new IllegalArgumentException("Invalid column: " + column);
+            }
+            result.set(column);
+        }
+        return new XlsxProjection(rowStart, rowEnd, result);
+    }
+
+    /**
+     * Checks if this projection keeps all the cells.
+     *
+     * @return true if all the cells are kept, false otherwise
+     */
+    public boolean isAll() {
+        return rowStart == 0 && rowEnd == Integer.MAX_VALUE && columns == null;
+    }
+
+    /**
+     * Checks if a cell is kept by this projection.
+     *
+     * @param row    a zero-based row index
+     * @param column a zero-based column index
+     * @return true if the cell is kept, false otherwise
+     */
+    public boolean contains(@NonNegative int row, @NonNegative int column) {
+        return row >= rowStart && row < rowEnd && (columns == null || columns.get(column));
+    }
+
+    /**
+     * Checks if a row is after the last row kept by this projection.
+     *
+     * @param row a zero-based row index
+     * @return true if the row and the following ones are not kept, false
+     * otherwise
+     */
+    public boolean isAfterLastRow(@NonNegative int row) {
+        return row >= rowEnd;
+    }
+
+    /**
+     * Returns the exclusive end of the rows kept by this projection.
+     *
+     * @return a positive number of rows
+     */
+    public int getRowEnd() {
+        return rowEnd;
+    }
+
+    /**
+     * Returns the exclusive end of the columns kept by this projection.
+     *
+     * @return a positive number of columns
+     */
+    public int getColumnEnd() {
+        return columns != null ? columns.length() : Integer.MAX_VALUE;
+    }
+}
@@ -25,6 +25,9 @@ import spreadsheet.xlsx.internal.*;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * @author Philippe Charles
@@ -34,12 +37,104 @@ import java.nio.file.Path;
 @lombok.AllArgsConstructor(access = AccessLevel.PRIVATE)
 public final class XlsxReader {
 
+    @lombok.With
     private final XlsxPackage.Factory packager;
+    @lombok.With
     private final XlsxEntryParser.Factory entryParser;
     private final XlsxNumberingFormat.Factory numberingFormat;
     private final XlsxDateSystem.Factory dateSystem;
     @lombok.With
     private final XlsxSheetBuilder.Factory sheetBuilder;
+    /**
+     * Number of threads used to parse a single sheet; values lower than 2
+     * disable intra-sheet parallelism.
+     *
+     * @since 2.7.0
+     */
+    @lombok.With
+    private final int sheetParallelism;
+    /**
+     * Parses shared strings on demand instead of parsing them all before the
+     * first sheet.
+     *
+     * @since 2.7.0
+     */
+    @lombok.With
+    private final boolean lazySharedStrings;
+    /**
+     * Number of recently used shared strings kept decoded when shared strings
+     * are parsed before the first sheet; zero disables the cache.
+     *
+     * @since 2.7.0
+     */
+    @lombok.With
+    private final int sharedStringsCacheSize;
+    /**
+     * Maximum estimated size in bytes of the parsed sheets kept by a book
+     * for subsequent calls; zero disables the cache.
+     *
+     * @since 2.7.0
+     */
+    @lombok.With
+    private final long sheetCacheSize;
+    /**
+     * Holds cached sheets by soft references so that they can be reclaimed
+     * under memory pressure.
+     *
+     * @since 2.7.0
+     */
+    @lombok.With
+    private final boolean softSheetCache;
+    /**
+     * Executor of the tasks used by {@link Book#parallelForEach(java.util.function.ObjIntConsumer)}.
+     *
+     * @see #getVirtualThreadExecutor()
+     * @since 2.7.0
+     */
+    @lombok.With
+    @lombok.NonNull
+    private final Executor parallelExecutor;
+    /**
+     * Maximum number of sheets processed concurrently by
+     * {@link Book#parallelForEach(java.util.function.ObjIntConsumer)}.
+     *
+     * @since 2.7.0
+     */
+    @lombok.With
+    private final int maxParallelism;
+    /**
+     * Loads shared strings, styles and relationships on a small pool of
+     * threads as soon as the package is opened instead of on the first sheet.
+     * The package must support concurrent reads.
+     *
+     * @see XlsxBook#getMetadataTimings()
+     * @since 2.7.0
+     */
+    @lombok.With
+    private final boolean concurrentMetadata;
+    /**
+     * Cells read from each sheet; the other cells are skipped by the entry
+     * parser before their values are parsed and the parsing of a sheet stops
+     * after its last required row. Intra-sheet parallelism is disabled when
+     * cells are skipped.
+     *
+     * @since 2.7.0
+     */
+    @lombok.With
+    @lombok.NonNull
+    private final XlsxProjection projection;
+    /**
+     * Maximum number of bytes of a dense sheet stored on the heap; bigger
+     * sheets are stored in memory-mapped temporary files that are deleted
+     * when the book is closed. Applies to the default sheet builder, to
+     * {@link Book#parallelForEach(java.util.function.ObjIntConsumer)} and to
+     * intra-sheet parallelism.
+     *
+     * @see SheetMemory
+     * @since 2.7.0
+     */
+    @lombok.With
+    private final long sheetHeapBudget;
 
     public XlsxReader() {
         this(
@@ -47,10 +142,32 @@ public final class XlsxReader {
                 SaxEntryParser.FACTORY,
                 DefaultNumberingFormat.FACTORY,
                 DefaultDateSystem.FACTORY,
-                MULTI_CORE ? MultiSheetBuilder::of : DefaultSheetBuilder::of
+                XlsxBook.DEFAULT_SHEET_BUILDER,
+                1,
+                false,
+                XlsxBook.DEFAULT_SHARED_STRINGS_CACHE_SIZE,
+                0,
+                false,
+                ForkJoinPool.commonPool(),
+                Runtime.getRuntime().availableProcessors(),
+                false,
+                XlsxProjection.ALL,
+                SheetMemory.DEFAULT_HEAP_BUDGET
         );
     }
 
+    /**
+     * Gets an executor that starts a virtual thread per task, if the runtime
+     * supports virtual threads (JDK 21+).
+     *
+     * @return an optional executor
+     * @since 2.7.0
+     */
+    @NonNull
+    public static Optional<Executor> getVirtualThreadExecutor() {
+        return ParallelForEach.getVirtualThreadExecutor();
+    }
+
     @NonNull
     public Book read(@NonNull Path file) throws IOException {
         return createBookOrClose(packager.open(file));
@@ -61,6 +178,24 @@ public final class XlsxReader {
         return createBookOrClose(packager.open(stream));
     }
 
+    /**
+     * Reads all the rows of a workbook in a single pass over a stream.
+     * <p>
+     * Worksheets are parsed while they are inflated if the workbook, its
+     * relationships, its styles and its shared strings come before them in the
+     * package, as written by most producers. Worksheets that come earlier are
+     * spooled to temporary files and parsed at the end of the stream.
+     * The packager of this reader is not used.
+     *
+     * @param stream   a non-null stream of a package
+     * @param consumer a non-null consumer of rows
+     * @throws IOException if the package cannot be read
+     * @since 2.7.0
+     */
+    public void readRows(@NonNull InputStream stream, @NonNull XlsxRowConsumer consumer) throws IOException {
+        RowStreamer.stream(stream, this, consumer);
+    }
+
     private Book createBookOrClose(XlsxPackage pkg) throws IOException {
         try {
             return XlsxBook.create(pkg, this);
@@ -69,6 +204,4 @@ public final class XlsxReader {
             throw ex;
         }
     }
-
-    private static final boolean MULTI_CORE = Runtime.getRuntime().availableProcessors() > 1;
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx;
+
+import lombok.NonNull;
+import nbbrd.design.NonNegative;
+
+/**
+ * Receives the rows of a workbook while it is read in a single pass.
+ *
+ * @see XlsxReader#readRows(java.io.InputStream, XlsxRowConsumer)
+ * @since 2.7.0
+ */
+public interface XlsxRowConsumer {
+
+    /**
+     * Starts a sheet. Sheets are visited in the order of the package entries,
+     * which may differ from the order of the workbook.
+     *
+     * @param index the zero-based index of the sheet in the workbook
+     * @param name  the name of the sheet
+     */
+    void onSheet(@NonNegative int index, @NonNull String name);
+
+    /**
+     * Visits a row of the current sheet. Rows are visited in document order
+     * and only if they contain at least one value.
+     *
+     * @param row    the zero-based row index
+     * @param values the cell values indexed by column, null for empty cells
+     */
+    void onRow(@NonNegative int row, @NonNull Object[] values);
+}
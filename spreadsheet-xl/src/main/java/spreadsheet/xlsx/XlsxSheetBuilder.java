@@ -17,10 +17,12 @@
 package spreadsheet.xlsx;
 
 import ec.util.spreadsheet.Sheet;
+import ec.util.spreadsheet.helpers.CellRefHelper;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.List;
 import lombok.NonNull;
+import nbbrd.design.NonNegative;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -33,9 +35,36 @@ public interface XlsxSheetBuilder extends Closeable {
     @NonNull
     XlsxSheetBuilder reset(@NonNull String sheetName, @Nullable String sheetBounds);
 
+    /**
+     * Puts a raw cell value in the current sheet.
+     * The value is an immutable string that can be kept.
+     *
+     * @param ref        the cell reference
+     * @param value      the raw cell value
+     * @param dataType   the cell data type
+     * @param styleIndex the cell style index
+     * @return this builder
+     */
     @NonNull
     XlsxSheetBuilder put(@NonNull String ref, @NonNull CharSequence value, @NonNull XlsxDataType dataType, int styleIndex);
 
+    /**
+     * Puts a raw cell value in the current sheet at an already decoded position.
+     * The value is an immutable string that can be kept.
+     *
+     * @param row        a zero-based row index
+     * @param column     a zero-based column index
+     * @param value      the raw cell value
+     * @param dataType   the cell data type
+     * @param styleIndex the cell style index
+     * @return this builder
+     * @since 2.7.0
+     */
+    @NonNull
+    default XlsxSheetBuilder put(@NonNegative int row, @NonNegative int column, @NonNull CharSequence value, @NonNull XlsxDataType dataType, int styleIndex) {
+        return put(CellRefHelper.getCellRef(row, column), value, dataType, styleIndex);
+    }
+
     @NonNull
     Sheet build();
 
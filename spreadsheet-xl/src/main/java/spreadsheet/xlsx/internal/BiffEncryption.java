@@ -0,0 +1,335 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Decryption of the legacy workbooks (xls) that Excel encrypts with its
+ * default password, such as the workbooks that are only protected against
+ * modification. RC4 encryption and RC4 CryptoAPI encryption are supported,
+ * as described in [MS-XLS] 2.2.10 and [MS-OFFCRYPTO] 2.3.5 and 2.3.6.
+ * <p>
+ * Record headers are never encrypted but the key stream runs over them: it
+ * depends on the offset in the workbook stream and the key changes every
+ * {@link #BLOCK_SIZE} bytes.
+ */
+@lombok.experimental.UtilityClass
+class BiffEncryption {
+
+    static final String DEFAULT_PASSWORD = "VelvetSweatshop";
+
+    static final int BLOCK_SIZE = 1024;
+
+    /**
+     * Decrypts a workbook stream in place if its globals substream has a
+     * FILEPASS record.
+     *
+     * @param stream the content of a workbook stream
+     * @throws BiffFormatException if the workbook is encrypted with another
+     *                             password or method
+     * @throws IOException         if the FILEPASS record is truncated
+     */
+    void decrypt(byte[] stream) throws IOException {
+        int offset = 0;
+        while (offset + HEADER_SIZE <= stream.length) {
+            int type = getUnsignedShort(stream, offset);
+            int dataStart = offset + HEADER_SIZE;
+            int dataEnd = Math.min(dataStart + getUnsignedShort(stream, offset + 2), stream.length);
+            switch (type) {
+                case FILE_PASS:
+                    decryptRecords(stream, dataEnd, parseFilePass(stream, dataStart, dataEnd));
+                    return;
+                case EOF:
+                    // end of the globals substream
+                    return;
+            }
+            offset = dataEnd;
+        }
+    }
+
+    private void decryptRecords(byte[] stream, int from, KeyStream keyStream) {
+        int offset = from;
+        while (offset + HEADER_SIZE <= stream.length) {
+            int type = getUnsignedShort(stream, offset);
+            int dataStart = offset + HEADER_SIZE;
+            int dataEnd = Math.min(dataStart + getUnsignedShort(stream, offset + 2), stream.length);
+            keyStream.apply(stream, getEncryptedStart(type, dataStart, dataEnd), dataEnd);
+            offset = dataEnd;
+        }
+    }
+
+    private int getEncryptedStart(int type, int dataStart, int dataEnd) {
+        switch (type) {
+            case BOF:
+            case FILE_PASS:
+            case INTERFACE_HDR:
+            case RRD_HEAD:
+            case USR_EXCL:
+            case FILE_LOCK:
+            case RRD_INFO:
+                return dataEnd;
+            case BOUND_SHEET:
+                // the offset of the sheet substream
+                return Math.min(dataStart + 4, dataEnd);
+            default:
+                return dataStart;
+        }
+    }
+
+    private KeyStream parseFilePass(byte[] stream, int from, int to) throws IOException {
+        Input input = new Input(stream, from, to);
+        if (input.readUnsignedShort() != RC4_ENCRYPTION) {
+            throw new BiffFormatException("XOR obfuscated workbooks are not supported");
+        }
+        int major = input.readUnsignedShort();
+        int minor = input.readUnsignedShort();
+        if (major == 1 && minor == 1) {
+            return parseRc4(input);
+        }
+        if (major >= 2 && major <= 4 && minor == 2) {
+            return parseCryptoApi(input);
+        }
+        throw new BiffFormatException("Unsupported encryption version " + major + "." + minor);
+    }
+
+    // [MS-OFFCRYPTO] 2.3.6 Office Binary Document RC4 Encryption
+    private KeyStream parseRc4(Input input) throws IOException {
+        byte[] salt = input.readBytes(16);
+        byte[] verifier = input.readBytes(16);
+        byte[] verifierHash = input.readBytes(16);
+
+        MessageDigest md5 = getMessageDigest("MD5");
+        byte[] passwordHash = Arrays.copyOf(md5.digest(DEFAULT_PASSWORD.getBytes(StandardCharsets.UTF_16LE)), 5);
+        for (int i = 0; i < 16; i++) {
+            md5.update(passwordHash);
+            md5.update(salt);
+        }
+        KeyStream result = new KeyStream(md5, Arrays.copyOf(md5.digest(), 5), 16);
+        checkVerifier(result, md5, verifier, verifierHash);
+        return result;
+    }
+
+    // [MS-OFFCRYPTO] 2.3.5 Office Binary Document RC4 CryptoAPI Encryption
+    private KeyStream parseCryptoApi(Input input) throws IOException {
+        input.skip(4);
+        int headerSize = input.readInt();
+        Input header = input.slice(headerSize);
+        header.skip(16);
+        int keyBits = header.readInt();
+        int saltSize = input.readInt();
+        byte[] salt = input.readBytes(saltSize);
+        byte[] verifier = input.readBytes(16);
+        int verifierHashSize = input.readInt();
+        byte[] verifierHash = input.readBytes(verifierHashSize);
+
+        if (keyBits == 0) {
+            keyBits = 40;
+        }
+        if (keyBits % 8 != 0 || keyBits < 40 || keyBits > 128) {
+            throw new BiffFormatException("Unsupported key size " + keyBits);
+        }
+        MessageDigest sha1 = getMessageDigest("SHA-1");
+        sha1.update(salt);
+        KeyStream result = new KeyStream(sha1, sha1.digest(DEFAULT_PASSWORD.getBytes(StandardCharsets.UTF_16LE)), keyBits / 8);
+        checkVerifier(result, sha1, verifier, verifierHash);
+        return result;
+    }
+
+    private void checkVerifier(KeyStream keyStream, MessageDigest digest, byte[] verifier, byte[] verifierHash) throws BiffFormatException {
+        keyStream.apply(verifier, verifier.length);
+        keyStream.apply(verifierHash, verifierHash.length);
+        if (!MessageDigest.isEqual(digest.digest(verifier), verifierHash)) {
+            throw new BiffFormatException("Workbooks encrypted with a password are not supported");
+        }
+    }
+
+    private MessageDigest getMessageDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException ex) {
+            // every Java platform supports MD5 and SHA-1
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private int getUnsignedShort(byte[] bytes, int index) {
+        return (bytes[index] & 0xFF) | (bytes[index + 1] & 0xFF) << 8;
+    }
+
+    /**
+     * RC4 key stream of the workbook stream. The key of a block is the hash
+     * of the base key and of the block number, truncated to the key size;
+     * 40-bit keys are padded with zeros.
+     */
+    private static final class KeyStream {
+
+        private final MessageDigest digest;
+        private final byte[] baseKey;
+        private final int keySize;
+        private final byte[] state = new byte[256];
+        private int i;
+        private int j;
+        private int block = -1;
+        private int position;
+
+        KeyStream(MessageDigest digest, byte[] baseKey, int keySize) {
+            this.digest = digest;
+            this.baseKey = baseKey;
+            this.keySize = keySize;
+        }
+
+        /**
+         * Decrypts the first bytes of an array from the start of the stream;
+         * used to check the password.
+         */
+        void apply(byte[] bytes, int length) {
+            if (block != 0) {
+                reset(0);
+            }
+            for (int k = 0; k < length; k++) {
+                bytes[k] ^= next();
+            }
+        }
+
+        /**
+         * Decrypts a range of the workbook stream; ranges must be applied in
+         * increasing order.
+         */
+        void apply(byte[] stream, int from, int to) {
+            for (int offset = from; offset < to; offset++) {
+                seek(offset);
+                stream[offset] ^= next();
+            }
+        }
+
+        private void seek(int offset) {
+            int targetBlock = offset / BLOCK_SIZE;
+            int targetPosition = offset % BLOCK_SIZE;
+            if (targetBlock != block || targetPosition < position) {
+                reset(targetBlock);
+            }
+            while (position < targetPosition) {
+                next();
+            }
+        }
+
+        private void reset(int newBlock) {
+            digest.update(baseKey);
+            digest.update((byte) newBlock);
+            digest.update((byte) (newBlock >>> 8));
+            digest.update((byte) (newBlock >>> 16));
+            digest.update((byte) (newBlock >>> 24));
+            byte[] key = Arrays.copyOf(digest.digest(), keySize);
+            if (keySize == 5) {
+                key = Arrays.copyOf(key, 16);
+            }
+            for (int k = 0; k < 256; k++) {
+                state[k] = (byte) k;
+            }
+            for (int k = 0, l = 0; k < 256; k++) {
+                l = (l + state[k] + key[k % key.length]) & 0xFF;
+                swap(k, l);
+            }
+            i = 0;
+            j = 0;
+            block = newBlock;
+            position = 0;
+        }
+
+        private byte next() {
+            i = (i + 1) & 0xFF;
+            j = (j + state[i]) & 0xFF;
+            swap(i, j);
+            position++;
+            return state[(state[i] + state[j]) & 0xFF];
+        }
+
+        private void swap(int x, int y) {
+            byte tmp = state[x];
+            state[x] = state[y];
+            state[y] = tmp;
+        }
+    }
+
+    /**
+     * Little-endian reader of the FILEPASS record.
+     */
+    @lombok.AllArgsConstructor
+    private static final class Input {
+
+        private final byte[] bytes;
+        private int offset;
+        private final int end;
+
+        int readUnsignedShort() throws EOFException {
+            require(2);
+            int result = getUnsignedShort(bytes, offset);
+            offset += 2;
+            return result;
+        }
+
+        int readInt() throws EOFException {
+            int low = readUnsignedShort();
+            return low | readUnsignedShort() << 16;
+        }
+
+        byte[] readBytes(int count) throws EOFException {
+            require(count);
+            byte[] result = Arrays.copyOfRange(bytes, offset, offset + count);
+            offset += count;
+            return result;
+        }
+
+        void skip(int count) throws EOFException {
+            require(count);
+            offset += count;
+        }
+
+        Input slice(int count) throws EOFException {
+            require(count);
+            Input result = new Input(bytes, offset, offset + count);
+            offset += count;
+            return result;
+        }
+
+        private void require(int count) throws EOFException {
+            if (count < 0 || offset + count > end) {
+                throw new EOFException("Unexpected end of FILEPASS record");
+            }
+        }
+    }
+
+    // [MS-XLS] 2.3 Record Enumeration
+    private static final int EOF = 0x000A;
+    private static final int FILE_PASS = 0x002F;
+    private static final int BOUND_SHEET = 0x0085;
+    private static final int RRD_HEAD = 0x0138;
+    private static final int USR_EXCL = 0x0194;
+    private static final int FILE_LOCK = 0x0195;
+    private static final int RRD_INFO = 0x0196;
+    private static final int INTERFACE_HDR = 0x00E1;
+    private static final int BOF = 0x0809;
+
+    private static final int HEADER_SIZE = 4;
+    private static final int RC4_ENCRYPTION = 1;
+}
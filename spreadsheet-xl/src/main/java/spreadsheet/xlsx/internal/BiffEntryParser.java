@@ -0,0 +1,594 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import ec.util.spreadsheet.helpers.CellRefHelper;
+import spreadsheet.xlsx.XlsxDataType;
+import spreadsheet.xlsx.XlsxEntryParser;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Parser of the substreams of legacy workbooks (xls), which are sequences of
+ * BIFF8 records as described in [MS-XLS].
+ * <p>
+ * The workbook, shared strings and styles are read from the globals
+ * substream; a sheet is read from its BOF record to its EOF record. Like
+ * {@link BinaryEntryParser}, cell values are passed to the visitors as text
+ * so that the rest of the reader is shared with xlsx. Encrypted workbooks
+ * are expected to be decrypted by the package.
+ *
+ * @see BiffPackage
+ */
+public final class BiffEntryParser implements XlsxEntryParser {
+
+    public static final XlsxEntryParser.Factory FACTORY = BiffEntryParser::new;
+
+    private final RecordReader reader = new RecordReader();
+    private final CharSlice text = new CharSlice();
+
+    @Override
+    public void visitWorkbook(InputStream stream, WorkbookVisitor visitor) throws IOException {
+        reader.open(stream);
+        try {
+            while (reader.next()) {
+                switch (reader.getType()) {
+                    case DATE_MODE:
+                        visitor.onDate1904(reader.readUnsignedShort() == 1);
+                        break;
+                    case BOUND_SHEET:
+                        int offset = reader.readInt();
+                        reader.skip(1);
+                        int sheetType = reader.readUnsignedByte();
+                        reader.readString(text, reader.readUnsignedByte());
+                        // chart, macro and module sheets have no cells
+                        if (sheetType == WORKSHEET) {
+                            visitor.onSheet(Integer.toString(offset), text.toString());
+                        }
+                        break;
+                    case EOF:
+                        return;
+                }
+            }
+        } finally {
+            reader.detach();
+        }
+    }
+
+    @Override
+    public void visitSharedStrings(InputStream stream, SharedStringsVisitor visitor) throws IOException {
+        reader.open(stream);
+        try {
+            while (reader.next()) {
+                switch (reader.getType()) {
+                    case SST:
+                        reader.skip(4);
+                        int count = reader.readInt();
+                        for (int i = 0; i < count && reader.hasRemaining(); i++) {
+                            reader.readString(text, reader.readUnsignedShort());
+                            visitor.onSharedString(text.toString());
+                        }
+                        return;
+                    case EOF:
+                        return;
+                }
+            }
+        } finally {
+            reader.detach();
+        }
+    }
+
+    @Override
+    public void visitStyles(InputStream stream, StylesVisitor visitor) throws IOException {
+        reader.open(stream);
+        try {
+            while (reader.next()) {
+                switch (reader.getType()) {
+                    case FORMAT:
+                        int formatId = reader.readUnsignedShort();
+                        reader.readString(text, reader.readUnsignedShort());
+                        visitor.onNumberFormat(formatId, text.toString());
+                        break;
+                    case XF:
+                        // cells refer to all the formats, including the ones of styles
+                        reader.skip(2);
+                        visitor.onCellFormat(reader.readUnsignedShort());
+                        break;
+                    case EOF:
+                        return;
+                }
+            }
+        } finally {
+            reader.detach();
+        }
+    }
+
+    @Override
+    public void visitSheet(InputStream stream, SheetVisitor visitor) throws IOException {
+        reader.open(stream);
+        try {
+            visitSheet(visitor);
+        } finally {
+            reader.detach();
+        }
+    }
+
+    private void visitSheet(SheetVisitor visitor) throws IOException {
+        boolean inData = false;
+        int lastRow = -1;
+        // a formula string is in the next STRING record
+        int formulaRow = -1;
+        int formulaColumn = -1;
+        while (reader.next()) {
+            int type = reader.getType();
+            switch (type) {
+                case DIMENSIONS:
+                    if (!inData) {
+                        visitor.onSheetData(parseSheetBounds());
+                        inData = true;
+                    }
+                    continue;
+                case EOF:
+                    if (!inData) {
+                        visitor.onSheetData(null);
+                    }
+                    return;
+                case STRING:
+                    if (formulaRow != -1) {
+                        reader.readString(text, reader.readUnsignedShort());
+                        visitor.onCell(formulaRow, formulaColumn, text, XlsxDataType.STRING, XlsxValueFactory.NULL_STYLE_INDEX);
+                        formulaRow = -1;
+                    }
+                    continue;
+                case NUMBER:
+                case RK:
+                case MUL_RK:
+                case LABEL_SST:
+                case LABEL:
+                case RSTRING:
+                case BOOL_ERR:
+                case FORMULA:
+                    break;
+                default:
+                    continue;
+            }
+            if (!inData) {
+                visitor.onSheetData(null);
+                inData = true;
+            }
+            formulaRow = -1;
+            int row = reader.readUnsignedShort();
+            if (row != lastRow) {
+                if (visitor.isAfterLastRow(row)) {
+                    return;
+                }
+                lastRow = row;
+            }
+            int column = reader.readUnsignedShort();
+            if (type == MUL_RK) {
+                visitMulRk(visitor, row, column);
+            } else if (visitor.isCellRequired(row, column)) {
+                if (type == FORMULA && visitFormula(visitor, row, column)) {
+                    formulaRow = row;
+                    formulaColumn = column;
+                } else if (type != FORMULA) {
+                    visitCell(visitor, type, row, column);
+                }
+            }
+        }
+        throw new EOFException("Missing EOF record");
+    }
+
+    private String parseSheetBounds() throws IOException {
+        int firstRow = reader.readInt();
+        int rowEnd = reader.readInt();
+        int firstColumn = reader.readUnsignedShort();
+        int columnEnd = reader.readUnsignedShort();
+        if (rowEnd <= firstRow || columnEnd <= firstColumn) {
+            // empty sheet -> same as xlsx
+            return "A1";
+        }
+        String first = CellRefHelper.getCellRef(firstRow, firstColumn);
+        // same as xlsx: a single reference if the sheet has at most one cell
+        return rowEnd - firstRow == 1 && columnEnd - firstColumn == 1
+                ? first
+                : first + ":" + CellRefHelper.getCellRef(rowEnd - 1, columnEnd - 1);
+    }
+
+    private void visitCell(SheetVisitor visitor, int type, int row, int column) throws IOException {
+        int styleIndex = reader.readUnsignedShort();
+        XlsxDataType dataType;
+        text.clear();
+        switch (type) {
+            case NUMBER:
+                text.appendDouble(reader.readDouble());
+                dataType = XlsxDataType.NUMBER;
+                break;
+            case RK:
+                text.appendRk(reader.readInt());
+                dataType = XlsxDataType.NUMBER;
+                break;
+            case LABEL_SST:
+                text.appendInt(reader.readInt());
+                dataType = XlsxDataType.SHARED_STRING;
+                break;
+            case LABEL:
+            case RSTRING:
+                // the formatting runs of RSTRING follow the string
+                reader.readString(text, reader.readUnsignedShort());
+                dataType = XlsxDataType.INLINE_STRING;
+                break;
+            default:
+                int value = reader.readUnsignedByte();
+                dataType = reader.readUnsignedByte() == 0 ? XlsxDataType.BOOLEAN : XlsxDataType.ERROR;
+                text.appendInt(value);
+                break;
+        }
+        visitor.onCell(row, column, text, dataType,
+                XlsxValueFactory.isStyleRequired(dataType) ? styleIndex : XlsxValueFactory.NULL_STYLE_INDEX);
+    }
+
+    private void visitMulRk(SheetVisitor visitor, int row, int firstColumn) throws IOException {
+        int count = (reader.getSize() - 6) / 6;
+        for (int i = 0; i < count; i++) {
+            int column = firstColumn + i;
+            if (visitor.isCellRequired(row, column)) {
+                int styleIndex = reader.readUnsignedShort();
+                text.clear();
+                text.appendRk(reader.readInt());
+                visitor.onCell(row, column, text, XlsxDataType.NUMBER, styleIndex);
+            } else {
+                reader.skip(6);
+            }
+        }
+    }
+
+    /**
+     * Visits the cached result of a formula.
+     *
+     * @return true if the result is a string stored in the next STRING record
+     */
+    private boolean visitFormula(SheetVisitor visitor, int row, int column) throws IOException {
+        int styleIndex = reader.readUnsignedShort();
+        if (reader.readUnsignedShort(FORMULA_VALUE_MARKER_OFFSET) != 0xFFFF) {
+            text.clear();
+            text.appendDouble(reader.readDouble());
+            visitor.onCell(row, column, text, XlsxDataType.NUMBER, styleIndex);
+            return false;
+        }
+        int resultType = reader.readUnsignedByte();
+        reader.skip(1);
+        int value = reader.readUnsignedByte();
+        text.clear();
+        switch (resultType) {
+            case FORMULA_STRING:
+                return true;
+            case FORMULA_BOOLEAN:
+                text.appendInt(value);
+                visitor.onCell(row, column, text, XlsxDataType.BOOLEAN, XlsxValueFactory.NULL_STYLE_INDEX);
+                return false;
+            case FORMULA_ERROR:
+                text.appendInt(value);
+                visitor.onCell(row, column, text, XlsxDataType.ERROR, XlsxValueFactory.NULL_STYLE_INDEX);
+                return false;
+            case FORMULA_EMPTY_STRING:
+                visitor.onCell(row, column, text, XlsxDataType.STRING, XlsxValueFactory.NULL_STYLE_INDEX);
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+
+    // [MS-XLS] 2.3 Record Enumeration
+    private static final int FORMULA = 0x0006;
+    private static final int EOF = 0x000A;
+    private static final int DATE_MODE = 0x0022;
+    private static final int CONTINUE = 0x003C;
+    private static final int BOUND_SHEET = 0x0085;
+    private static final int MUL_RK = 0x00BD;
+    private static final int RSTRING = 0x00D6;
+    private static final int XF = 0x00E0;
+    private static final int SST = 0x00FC;
+    private static final int LABEL_SST = 0x00FD;
+    private static final int DIMENSIONS = 0x0200;
+    private static final int NUMBER = 0x0203;
+    private static final int LABEL = 0x0204;
+    private static final int BOOL_ERR = 0x0205;
+    private static final int STRING = 0x0207;
+    private static final int RK = 0x027E;
+    private static final int BOF = 0x0809;
+    private static final int FORMAT = 0x041E;
+
+    private static final int BIFF8_VERSION = 0x0600;
+    private static final int WORKSHEET = 0;
+
+    // FormulaValue: the last two bytes are 0xFFFF if the result is not a number
+    private static final int FORMULA_VALUE_MARKER_OFFSET = 6;
+    private static final int FORMULA_STRING = 0;
+    private static final int FORMULA_BOOLEAN = 1;
+    private static final int FORMULA_ERROR = 2;
+    private static final int FORMULA_EMPTY_STRING = 3;
+
+    /**
+     * Buffered reader of records. The payload of the current record and of
+     * its CONTINUE records is copied in a reused array and read in
+     * little-endian order.
+     */
+    static final class RecordReader {
+
+        private static final int BUFFER_SIZE = 64 * 1024;
+        private static final int HEADER_SIZE = 4;
+
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position = 0;
+        private int limit = 0;
+        private InputStream input = null;
+
+        private byte[] record = new byte[256];
+        private int recordType = -1;
+        private int recordSize = 0;
+        private int offset = 0;
+        // end offsets of the record and of its CONTINUE records
+        private int[] segments = new int[4];
+        private int segmentCount = 0;
+
+        /**
+         * Opens a substream, which must start with a BIFF8 BOF record.
+         */
+        void open(InputStream stream) throws IOException {
+            this.input = stream;
+            this.position = 0;
+            this.limit = 0;
+            this.recordType = -1;
+            this.recordSize = 0;
+            this.offset = 0;
+            this.segmentCount = 0;
+            if (!ensure(1)) {
+                throw new EOFException("Empty entry");
+            }
+            if (!next() || recordType != BOF || recordSize < 2) {
+                throw new IOException("Missing BOF record");
+            }
+            int version = readUnsignedShort();
+            if (version != BIFF8_VERSION) {
+                throw new BiffFormatException("Unsupported BIFF version 0x" + Integer.toHexString(version) + ", only BIFF8 (Excel 97 and later) is supported");
+            }
+        }
+
+        void detach() {
+            input = null;
+            position = 0;
+            limit = 0;
+        }
+
+        int getType() {
+            return recordType;
+        }
+
+        int getSize() {
+            return recordSize;
+        }
+
+        boolean hasRemaining() {
+            return offset < recordSize;
+        }
+
+        /**
+         * Reads the next record and its CONTINUE records.
+         *
+         * @return false at the end of the stream
+         * @throws IOException if the stream ends inside a record
+         */
+        boolean next() throws IOException {
+            if (!ensure(HEADER_SIZE)) {
+                if (position == limit) {
+                    return false;
+                }
+                throw new EOFException("Unexpected end of record header");
+            }
+            recordType = getUnsignedShort(buffer, position);
+            int size = getUnsignedShort(buffer, position + 2);
+            position += HEADER_SIZE;
+            recordSize = 0;
+            segmentCount = 0;
+            append(size);
+            while (ensure(HEADER_SIZE) && getUnsignedShort(buffer, position) == CONTINUE) {
+                size = getUnsignedShort(buffer, position + 2);
+                position += HEADER_SIZE;
+                append(size);
+            }
+            offset = 0;
+            return true;
+        }
+
+        void skip(int count) throws EOFException {
+            require(count);
+            offset += count;
+        }
+
+        int readUnsignedByte() throws EOFException {
+            require(1);
+            return record[offset++] & 0xFF;
+        }
+
+        int readUnsignedShort() throws EOFException {
+            require(2);
+            int result = getUnsignedShort(record, offset);
+            offset += 2;
+            return result;
+        }
+
+        /**
+         * Reads an unsigned short at a position relative to the current one,
+         * without moving.
+         */
+        int readUnsignedShort(int relativeOffset) throws EOFException {
+            if (offset + relativeOffset + 2 > recordSize) {
+                throw new EOFException("Unexpected end of record " + recordType);
+            }
+            return getUnsignedShort(record, offset + relativeOffset);
+        }
+
+        int readInt() throws EOFException {
+            require(4);
+            int result = (record[offset] & 0xFF)
+                    | (record[offset + 1] & 0xFF) << 8
+                    | (record[offset + 2] & 0xFF) << 16
+                    | (record[offset + 3] & 0xFF) << 24;
+            offset += 4;
+            return result;
+        }
+
+        double readDouble() throws EOFException {
+            long low = readInt() & 0xFFFFFFFFL;
+            long high = readInt() & 0xFFFFFFFFL;
+            return Double.longBitsToDouble(high << 32 | low);
+        }
+
+        /**
+         * Reads the rest of a XLUnicodeString or XLUnicodeRichExtendedString
+         * after its count of characters: the option flags, the optional
+         * counts of formatting runs and phonetic bytes, the characters and
+         * the skipped formatting data.
+         * <p>
+         * Characters are either 8-bit (the low byte of UTF-16 code units) or
+         * UTF-16LE. If they continue in a CONTINUE record, this record
+         * starts with new option flags.
+         */
+        void readString(CharSlice target, int count) throws EOFException {
+            int flags = readUnsignedByte();
+            int runCount = (flags & RICH_STRING) != 0 ? readUnsignedShort() : 0;
+            int extSize = (flags & EXT_STRING) != 0 ? readInt() : 0;
+            target.clear();
+            target.ensureCapacity(count);
+            boolean wide = (flags & HIGH_BYTE) != 0;
+            int segmentEnd = getSegmentEnd();
+            while (count > 0) {
+                if (offset == segmentEnd) {
+                    if (offset == recordSize) {
+                        throw new EOFException("Unexpected end of string in record " + recordType);
+                    }
+                    wide = (readUnsignedByte() & HIGH_BYTE) != 0;
+                    segmentEnd = getSegmentEnd();
+                }
+                int n = Math.min(count, wide ? (segmentEnd - offset) / 2 : segmentEnd - offset);
+                if (n == 0) {
+                    throw new EOFException("Invalid string in record " + recordType);
+                }
+                if (wide) {
+                    for (int i = 0; i < n; i++) {
+                        target.append((char) getUnsignedShort(record, offset));
+                        offset += 2;
+                    }
+                } else {
+                    for (int i = 0; i < n; i++) {
+                        target.append((char) (record[offset++] & 0xFF));
+                    }
+                }
+                count -= n;
+            }
+            skip(runCount * 4 + extSize);
+        }
+
+        private int getSegmentEnd() {
+            for (int i = 0; i < segmentCount; i++) {
+                if (segments[i] >= offset) {
+                    return segments[i];
+                }
+            }
+            return recordSize;
+        }
+
+        private void require(int count) throws EOFException {
+            if (count < 0 || offset + count > recordSize) {
+                throw new EOFException("Unexpected end of record " + recordType);
+            }
+        }
+
+        private void append(int size) throws IOException {
+            if (recordSize + size > record.length) {
+                record = Arrays.copyOf(record, Math.max(recordSize + size, record.length * 2));
+            }
+            readFully(record, recordSize, size);
+            recordSize += size;
+            if (segmentCount == segments.length) {
+                segments = Arrays.copyOf(segments, segmentCount * 2);
+            }
+            segments[segmentCount++] = recordSize;
+        }
+
+        private void readFully(byte[] target, int targetOffset, int length) throws IOException {
+            int count = 0;
+            while (count < length) {
+                if (position == limit && !fill()) {
+                    throw new EOFException("Unexpected end of record " + recordType);
+                }
+                int n = Math.min(length - count, limit - position);
+                System.arraycopy(buffer, position, target, targetOffset + count, n);
+                position += n;
+                count += n;
+            }
+        }
+
+        /**
+         * Ensures that some bytes are buffered.
+         *
+         * @return false if the stream ends before
+         */
+        private boolean ensure(int count) throws IOException {
+            if (limit - position >= count) {
+                return true;
+            }
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+            while (limit < count) {
+                int n = input.read(buffer, limit, buffer.length - limit);
+                if (n <= 0) {
+                    return false;
+                }
+                limit += n;
+            }
+            return true;
+        }
+
+        private boolean fill() throws IOException {
+            int n = input.read(buffer, 0, buffer.length);
+            if (n <= 0) {
+                return false;
+            }
+            position = 0;
+            limit = n;
+            return true;
+        }
+
+        private static int getUnsignedShort(byte[] bytes, int index) {
+            return (bytes[index] & 0xFF) | (bytes[index + 1] & 0xFF) << 8;
+        }
+
+        private static final int HIGH_BYTE = 0x1;
+        private static final int EXT_STRING = 0x4;
+        private static final int RICH_STRING = 0x8;
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import java.io.IOException;
+
+/**
+ * Signals a legacy workbook (xls) that is valid but not supported, such as a
+ * workbook of an older BIFF version or a workbook encrypted with a password.
+ *
+ * @since 2.7.0
+ */
+public final class BiffFormatException extends IOException {
+
+    public BiffFormatException(String message) {
+        super(message);
+    }
+}
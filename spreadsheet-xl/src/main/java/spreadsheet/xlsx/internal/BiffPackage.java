@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import lombok.AccessLevel;
+import lombok.NonNull;
+import spreadsheet.xlsx.XlsxPackage;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Package of legacy workbooks (xls), whose content is a single stream of
+ * BIFF8 records in a compound file.
+ * <p>
+ * The workbook, shared strings and styles are all read from the globals
+ * substream at the start of the stream; sheets are identified by the offset
+ * of their substream, as declared in the workbook, so that they can be
+ * loaded independently. Workbooks encrypted with the default password are
+ * decrypted when the package is opened.
+ *
+ * @see BiffEntryParser
+ */
+@lombok.RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BiffPackage implements XlsxPackage {
+
+    private final byte[] content;
+
+    @Override
+    public @NonNull InputStream getWorkbook() {
+        return new ByteArrayInputStream(content);
+    }
+
+    @Override
+    public @NonNull InputStream getSharedStrings() {
+        return new ByteArrayInputStream(content);
+    }
+
+    @Override
+    public @NonNull InputStream getStyles() {
+        return new ByteArrayInputStream(content);
+    }
+
+    @Override
+    public @NonNull InputStream getSheet(@NonNull String relationId) throws IOException {
+        int offset = parseOffset(relationId);
+        return new ByteArrayInputStream(content, offset, content.length - offset);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private int parseOffset(String relationId) throws IOException {
+        int result;
+        try {
+            result = Integer.parseInt(relationId);
+        } catch (NumberFormatException ex) {
+            throw new IOException("Invalid sheet offset: " + relationId, ex);
+        }
+        if (result < 0 || result >= content.length) {
+            throw new IOException("Sheet offset out of bounds: " + relationId);
+        }
+        return result;
+    }
+
+    public static final XlsxPackage.Factory FACTORY = BiffPackageFactory.INSTANCE;
+
+    private enum BiffPackageFactory implements XlsxPackage.Factory {
+
+        INSTANCE;
+
+        @Override
+        public @NonNull XlsxPackage open(@NonNull InputStream stream) throws IOException {
+            return of(ByteBuffer.wrap(IOHelper.readAllBytes(stream)));
+        }
+
+        @Override
+        public @NonNull XlsxPackage open(@NonNull Path path) throws IOException {
+            ByteBuffer data;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size > Integer.MAX_VALUE) {
+                    throw new IOException("File too large: " + path);
+                }
+                // only the sectors of the workbook stream are copied on the heap
+                data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } catch (UnsupportedOperationException ex) {
+                // if this Path is not associated with the default provider
+                data = ByteBuffer.wrap(Files.readAllBytes(path));
+            }
+            return of(data);
+        }
+
+        @Override
+        public @NonNull XlsxPackage open(@NonNull File file) throws IOException {
+            return open(file.toPath());
+        }
+
+        private static BiffPackage of(ByteBuffer data) throws IOException {
+            byte[] content = CompoundFile.readStream(data, WORKBOOK_STREAM_NAME);
+            BiffEncryption.decrypt(content);
+            return new BiffPackage(content);
+        }
+    }
+
+    // BIFF5 workbooks are stored in a stream named "Book" and are not supported
+    private static final String WORKBOOK_STREAM_NAME = "Workbook";
+}
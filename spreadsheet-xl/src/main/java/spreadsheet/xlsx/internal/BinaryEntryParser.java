@@ -0,0 +1,434 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import ec.util.spreadsheet.helpers.CellRefHelper;
+import spreadsheet.xlsx.XlsxDataType;
+import spreadsheet.xlsx.XlsxEntryParser;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Parser of the entries of binary workbooks (xlsb), which are sequences of
+ * BIFF12 records as described in [MS-XLSB].
+ * <p>
+ * Cell values are passed to the visitors as text, like the values of XML
+ * entries, so that the rest of the reader is shared with xlsx. Numbers are
+ * written in a reused buffer and integers, which are the most common
+ * values, are written without allocation.
+ */
+public final class BinaryEntryParser implements XlsxEntryParser {
+
+    public static final XlsxEntryParser.Factory FACTORY = BinaryEntryParser::new;
+
+    private final RecordReader reader = new RecordReader();
+    private final CharSlice text = new CharSlice();
+
+    @Override
+    public void visitWorkbook(InputStream stream, WorkbookVisitor visitor) throws IOException {
+        reader.open(stream);
+        try {
+            while (reader.next()) {
+                switch (reader.getType()) {
+                    case BRT_WB_PROP:
+                        visitor.onDate1904((reader.readInt() & 0x1) != 0);
+                        break;
+                    case BRT_BUNDLE_SH:
+                        reader.skip(8);
+                        String relationId = reader.readNullableString(text) ? text.toString() : null;
+                        reader.readString(text);
+                        visitor.onSheet(relationId, text.toString());
+                        break;
+                }
+            }
+        } finally {
+            reader.detach();
+        }
+    }
+
+    @Override
+    public void visitSharedStrings(InputStream stream, SharedStringsVisitor visitor) throws IOException {
+        reader.open(stream);
+        try {
+            while (reader.next()) {
+                if (reader.getType() == BRT_SST_ITEM) {
+                    // rich text runs and phonetic data follow the string
+                    reader.skip(1);
+                    reader.readString(text);
+                    visitor.onSharedString(text.toString());
+                }
+            }
+        } finally {
+            reader.detach();
+        }
+    }
+
+    @Override
+    public void visitStyles(InputStream stream, StylesVisitor visitor) throws IOException {
+        reader.open(stream);
+        try {
+            boolean insideCellFormats = false;
+            while (reader.next()) {
+                switch (reader.getType()) {
+                    case BRT_FMT:
+                        int formatId = reader.readUnsignedShort();
+                        reader.readString(text);
+                        visitor.onNumberFormat(formatId, text.toString());
+                        break;
+                    case BRT_BEGIN_CELL_XFS:
+                        insideCellFormats = true;
+                        break;
+                    case BRT_END_CELL_XFS:
+                        insideCellFormats = false;
+                        break;
+                    case BRT_XF:
+                        if (insideCellFormats) {
+                            reader.skip(2);
+                            visitor.onCellFormat(reader.readUnsignedShort());
+                        }
+                        break;
+                }
+            }
+        } finally {
+            reader.detach();
+        }
+    }
+
+    @Override
+    public void visitSheet(InputStream stream, SheetVisitor visitor) throws IOException {
+        reader.open(stream);
+        try {
+            visitSheet(visitor);
+        } finally {
+            reader.detach();
+        }
+    }
+
+    private void visitSheet(SheetVisitor visitor) throws IOException {
+        String sheetBounds = null;
+        boolean inData = false;
+        int row = -1;
+        while (reader.next()) {
+            int type = reader.getType();
+            if (!inData) {
+                switch (type) {
+                    case BRT_WS_DIM:
+                        sheetBounds = parseSheetBounds();
+                        break;
+                    case BRT_BEGIN_SHEET_DATA:
+                        visitor.onSheetData(sheetBounds);
+                        inData = true;
+                        break;
+                }
+                continue;
+            }
+            switch (type) {
+                case BRT_ROW_HDR:
+                    row = reader.readInt();
+                    if (visitor.isAfterLastRow(row)) {
+                        return;
+                    }
+                    break;
+                case BRT_END_SHEET_DATA:
+                    return;
+                default:
+                    if (type >= BRT_CELL_BLANK && type <= BRT_FMLA_ERROR || type == BRT_CELL_R_STRING) {
+                        visitCell(visitor, type, row);
+                    }
+                    break;
+            }
+        }
+    }
+
+    private String parseSheetBounds() throws IOException {
+        int firstRow = reader.readInt();
+        int lastRow = reader.readInt();
+        int firstColumn = reader.readInt();
+        int lastColumn = reader.readInt();
+        String first = CellRefHelper.getCellRef(firstRow, firstColumn);
+        // same as xlsx: a single reference if the sheet has at most one cell
+        return firstRow == lastRow && firstColumn == lastColumn
+                ? first
+                : first + ":" + CellRefHelper.getCellRef(lastRow, lastColumn);
+    }
+
+    private void visitCell(SheetVisitor visitor, int type, int row) throws IOException {
+        int column = reader.readInt();
+        if (row < 0 || !visitor.isCellRequired(row, column)) {
+            return;
+        }
+        int styleIndex = reader.readInt() & STYLE_INDEX_MASK;
+        XlsxDataType dataType;
+        text.clear();
+        switch (type) {
+            case BRT_CELL_RK:
+                text.appendRk(reader.readInt());
+                dataType = XlsxDataType.NUMBER;
+                break;
+            case BRT_CELL_REAL:
+            case BRT_FMLA_NUM:
+                text.appendDouble(reader.readDouble());
+                dataType = XlsxDataType.NUMBER;
+                break;
+            case BRT_CELL_ISST:
+                text.appendInt(reader.readInt());
+                dataType = XlsxDataType.SHARED_STRING;
+                break;
+            case BRT_CELL_ST:
+            case BRT_FMLA_STRING:
+                reader.readString(text);
+                dataType = type == BRT_CELL_ST ? XlsxDataType.INLINE_STRING : XlsxDataType.STRING;
+                break;
+            case BRT_CELL_R_STRING:
+                reader.skip(1);
+                reader.readString(text);
+                dataType = XlsxDataType.INLINE_STRING;
+                break;
+            case BRT_CELL_BOOL:
+            case BRT_FMLA_BOOL:
+                text.appendInt(reader.readUnsignedByte());
+                dataType = XlsxDataType.BOOLEAN;
+                break;
+            case BRT_CELL_ERROR:
+            case BRT_FMLA_ERROR:
+                text.appendInt(reader.readUnsignedByte());
+                dataType = XlsxDataType.ERROR;
+                break;
+            default:
+                // blank cell -> no value, as in xlsx
+                return;
+        }
+        visitor.onCell(row, column, text, dataType,
+                XlsxValueFactory.isStyleRequired(dataType) ? styleIndex : XlsxValueFactory.NULL_STYLE_INDEX);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private static final int STYLE_INDEX_MASK = 0xFFFFFF;
+
+    // [MS-XLSB] 2.3.2 Record Enumeration
+    private static final int BRT_ROW_HDR = 0;
+    private static final int BRT_CELL_BLANK = 1;
+    private static final int BRT_CELL_RK = 2;
+    private static final int BRT_CELL_ERROR = 3;
+    private static final int BRT_CELL_BOOL = 4;
+    private static final int BRT_CELL_REAL = 5;
+    private static final int BRT_CELL_ST = 6;
+    private static final int BRT_CELL_ISST = 7;
+    private static final int BRT_FMLA_STRING = 8;
+    private static final int BRT_FMLA_NUM = 9;
+    private static final int BRT_FMLA_BOOL = 10;
+    private static final int BRT_FMLA_ERROR = 11;
+    private static final int BRT_SST_ITEM = 19;
+    private static final int BRT_FMT = 44;
+    private static final int BRT_XF = 47;
+    private static final int BRT_CELL_R_STRING = 62;
+    private static final int BRT_BEGIN_SHEET_DATA = 145;
+    private static final int BRT_END_SHEET_DATA = 146;
+    private static final int BRT_WS_DIM = 148;
+    private static final int BRT_WB_PROP = 153;
+    private static final int BRT_BUNDLE_SH = 156;
+    private static final int BRT_BEGIN_CELL_XFS = 617;
+    private static final int BRT_END_CELL_XFS = 618;
+
+    /**
+     * Buffered reader of records. The payload of the current record is
+     * copied in a reused array and read in little-endian order.
+     */
+    static final class RecordReader {
+
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position = 0;
+        private int limit = 0;
+        private InputStream input = null;
+
+        private byte[] record = new byte[256];
+        private int recordType = -1;
+        private int recordSize = 0;
+        private int offset = 0;
+
+        void open(InputStream stream) throws IOException {
+            this.input = stream;
+            this.position = 0;
+            this.limit = 0;
+            this.recordType = -1;
+            this.recordSize = 0;
+            this.offset = 0;
+            if (!fill()) {
+                throw new EOFException("Empty entry");
+            }
+        }
+
+        void detach() {
+            input = null;
+            position = 0;
+            limit = 0;
+        }
+
+        int getType() {
+            return recordType;
+        }
+
+        /**
+         * Reads the next record.
+         *
+         * @return false at the end of the stream
+         * @throws IOException if the stream ends inside a record
+         */
+        boolean next() throws IOException {
+            int first = readByte();
+            if (first == -1) {
+                return false;
+            }
+            recordType = first & 0x7F;
+            if ((first & 0x80) != 0) {
+                recordType |= (readRequiredByte() & 0x7F) << 7;
+            }
+            recordSize = 0;
+            for (int i = 0; i < 4; i++) {
+                int b = readRequiredByte();
+                recordSize |= (b & 0x7F) << (7 * i);
+                if ((b & 0x80) == 0) {
+                    break;
+                }
+            }
+            if (recordSize > record.length) {
+                record = new byte[Math.max(recordSize, record.length * 2)];
+            }
+            readFully(record, recordSize);
+            offset = 0;
+            return true;
+        }
+
+        void skip(int count) throws EOFException {
+            require(count);
+            offset += count;
+        }
+
+        int readUnsignedByte() throws EOFException {
+            require(1);
+            return record[offset++] & 0xFF;
+        }
+
+        int readUnsignedShort() throws EOFException {
+            require(2);
+            int result = (record[offset] & 0xFF) | (record[offset + 1] & 0xFF) << 8;
+            offset += 2;
+            return result;
+        }
+
+        int readInt() throws EOFException {
+            require(4);
+            int result = (record[offset] & 0xFF)
+                    | (record[offset + 1] & 0xFF) << 8
+                    | (record[offset + 2] & 0xFF) << 16
+                    | (record[offset + 3] & 0xFF) << 24;
+            offset += 4;
+            return result;
+        }
+
+        double readDouble() throws EOFException {
+            long low = readInt() & 0xFFFFFFFFL;
+            long high = readInt() & 0xFFFFFFFFL;
+            return Double.longBitsToDouble(high << 32 | low);
+        }
+
+        /**
+         * Reads a XLWideString: a count of characters followed by UTF-16LE
+         * characters.
+         */
+        void readString(CharSlice target) throws EOFException {
+            if (!readNullableString(target)) {
+                throw new EOFException("Unexpected null string in record " + recordType);
+            }
+        }
+
+        /**
+         * Reads a XLNullableWideString.
+         *
+         * @return false if the string is null
+         */
+        boolean readNullableString(CharSlice target) throws EOFException {
+            int count = readInt();
+            if (count == NULL_STRING) {
+                return false;
+            }
+            if (count < 0 || count > (recordSize - offset) / 2) {
+                throw new EOFException("Invalid string length in record " + recordType);
+            }
+            target.clear();
+            target.ensureCapacity(count);
+            for (int i = 0; i < count; i++) {
+                target.append((char) ((record[offset] & 0xFF) | (record[offset + 1] & 0xFF) << 8));
+                offset += 2;
+            }
+            return true;
+        }
+
+        private void require(int count) throws EOFException {
+            if (offset + count > recordSize) {
+                throw new EOFException("Unexpected end of record " + recordType);
+            }
+        }
+
+        private int readByte() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        private int readRequiredByte() throws IOException {
+            int result = readByte();
+            if (result == -1) {
+                throw new EOFException("Unexpected end of record header");
+            }
+            return result;
+        }
+
+        private void readFully(byte[] target, int length) throws IOException {
+            int count = 0;
+            while (count < length) {
+                if (position == limit && !fill()) {
+                    throw new EOFException("Unexpected end of record " + recordType);
+                }
+                int n = Math.min(length - count, limit - position);
+                System.arraycopy(buffer, position, target, count, n);
+                position += n;
+                count += n;
+            }
+        }
+
+        private boolean fill() throws IOException {
+            int n = input.read(buffer, 0, buffer.length);
+            if (n <= 0) {
+                return false;
+            }
+            position = 0;
+            limit = n;
+            return true;
+        }
+
+        private static final int NULL_STRING = 0xFFFFFFFF;
+    }
+}
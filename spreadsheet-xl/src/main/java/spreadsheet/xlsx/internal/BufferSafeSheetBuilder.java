@@ -0,0 +1,28 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import spreadsheet.xlsx.XlsxSheetBuilder;
+
+/**
+ * Sheet builder that doesn't keep the values it receives beyond each call.
+ * <p>
+ * Entry parsers may pass reused buffers as cell values; these buffers are only
+ * passed as-is to such builders while other builders receive immutable strings.
+ */
+interface BufferSafeSheetBuilder extends XlsxSheetBuilder {
+}
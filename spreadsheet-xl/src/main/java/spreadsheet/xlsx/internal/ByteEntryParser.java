@@ -0,0 +1,836 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import ec.util.spreadsheet.helpers.CellRefHelper;
+import lombok.NonNull;
+import spreadsheet.xlsx.XlsxDataType;
+import spreadsheet.xlsx.XlsxEntryParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Arrays;
+
+/**
+ * Parser that scans the raw UTF-8 bytes of worksheets instead of going
+ * through SAX. Other entries are small and are delegated to another parser.
+ */
+public final class ByteEntryParser implements XlsxEntryParser {
+
+    @lombok.NonNull
+    private final XlsxEntryParser delegate;
+    private final SheetScanner scanner;
+
+    public ByteEntryParser(@NonNull XlsxEntryParser delegate) {
+        this.delegate = delegate;
+        this.scanner = new SheetScanner();
+    }
+
+    @Override
+    public void visitWorkbook(InputStream stream, WorkbookVisitor visitor) throws IOException {
+        delegate.visitWorkbook(stream, visitor);
+    }
+
+    @Override
+    public void visitSharedStrings(InputStream stream, SharedStringsVisitor visitor) throws IOException {
+        delegate.visitSharedStrings(stream, visitor);
+    }
+
+    @Override
+    public void visitStyles(InputStream stream, StylesVisitor visitor) throws IOException {
+        delegate.visitStyles(stream, visitor);
+    }
+
+    @Override
+    public void visitSheet(InputStream stream, SheetVisitor visitor) throws IOException {
+        if (!scanner.open(stream)) {
+            // not UTF-8 -> let the delegate deal with the encoding
+            delegate.visitSheet(scanner.release(), visitor);
+            return;
+        }
+        try {
+            scanner.scan(visitor);
+        } finally {
+            scanner.detach();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    public static final XlsxEntryParser.Factory FACTORY = () -> new ByteEntryParser(SaxEntryParser.FACTORY.create());
+
+    /**
+     * Minimal XML scanner that mimics {@code SaxEntryParser.SheetSaxEventHandler}:
+     * same element levels, same text accumulation, same data type and style
+     * decoding.
+     */
+    static final class SheetScanner {
+
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        private static final int END_OF_TAG = 0;
+        private static final int END_OF_EMPTY_TAG = 1;
+        private static final int ATTRIBUTE = 2;
+
+        private static final int END_OF_INPUT = 0;
+        private static final int END_OF_ROOT = 1;
+        private static final int START_OF_SHEET_DATA = 2;
+        private static final int END_OF_SHEET_DATA = 3;
+        private static final int END_OF_REQUIRED_ROWS = 4;
+
+        private static final int ROOT_LEVEL = 0;
+        private static final int ROW_LEVEL = 2;
+
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position = 0;
+        private int limit = 0;
+        private long consumed = 0;
+        private InputStream input = null;
+        private boolean started;
+        private boolean stopped;
+        private int level;
+
+        private byte[] name = new byte[32];
+        private int nameLength = 0;
+
+        private byte[] attributeName = new byte[32];
+        private int attributeNameLength = 0;
+        private final CharSlice attributeValue = new CharSlice();
+
+        private final CharSlice text = new CharSlice();
+        private final CellRefHelper refHelper = new CellRefHelper();
+
+        private String sheetBounds;
+        private boolean hasRef;
+        private int row;
+        private int column;
+        private String invalidRef;
+        private XlsxDataType dataType;
+        private int rawStyleIndex;
+
+        boolean open(InputStream stream) throws IOException {
+            this.input = stream;
+            this.position = 0;
+            this.limit = 0;
+            this.consumed = 0;
+            fillAtLeast(4);
+            if (startsWith(UTF8_BOM)) {
+                position += UTF8_BOM.length;
+                return true;
+            }
+            if (startsWith(UTF16BE_BOM) || startsWith(UTF16LE_BOM)) {
+                return false;
+            }
+            return !startsWith(XML_DECLARATION) || isUtf8Declaration();
+        }
+
+        void detach() {
+            input = null;
+            position = 0;
+            limit = 0;
+        }
+
+        InputStream release() {
+            InputStream result = position < limit
+                    ? new SequenceInputStream(new ByteArrayInputStream(Arrays.copyOfRange(buffer, position, limit)), input)
+                    : input;
+            input = null;
+            position = 0;
+            limit = 0;
+            return result;
+        }
+
+        void scan(SheetVisitor visitor) throws IOException {
+            if (scanElements(visitor, ROOT_LEVEL, false) == END_OF_INPUT) {
+                throw started ? new EOFException("Unexpected end of sheet") : new EOFException();
+            }
+        }
+
+        /**
+         * Scans the beginning of a sheet and stops right after the start of
+         * its sheet data.
+         *
+         * @return true if the sheet data has some content, false otherwise
+         */
+        boolean scanHeader(SheetVisitor visitor) throws IOException {
+            switch (scanElements(visitor, ROOT_LEVEL, true)) {
+                case END_OF_INPUT:
+                    throw started ? new EOFException("Unexpected end of sheet") : new EOFException();
+                case START_OF_SHEET_DATA:
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        /**
+         * Scans a sequence of rows that is not wrapped in a sheet data element.
+         */
+        void scanRows(SheetVisitor visitor) throws IOException {
+            scanElements(visitor, ROW_LEVEL, false);
+        }
+
+        /**
+         * Returns the number of bytes consumed since the stream was opened.
+         */
+        long getOffset() {
+            return consumed + position;
+        }
+
+        private int scanElements(SheetVisitor visitor, int initialLevel, boolean headerOnly) throws IOException {
+            sheetBounds = null;
+            hasRef = false;
+            started = false;
+            stopped = false;
+            level = initialLevel;
+            int c;
+            while ((c = read()) != -1) {
+                if (c != '<') {
+                    continue;
+                }
+                c = readOrFail();
+                switch (c) {
+                    case '?':
+                        skipUntil(PI_END_BYTES);
+                        break;
+                    case '!':
+                        skipMarkup();
+                        break;
+                    case '/':
+                        readName(readOrFail());
+                        skipUntilEndOfTag();
+                        level--;
+                        if (level == ROOT_LEVEL) {
+                            return END_OF_ROOT;
+                        }
+                        break;
+                    default:
+                        started = true;
+                        readName(c);
+                        boolean sheetData = level == 1 && isName(SHEET_DATA_TAG);
+                        boolean hasContent = onStartElement(visitor, level);
+                        if (stopped) {
+                            return END_OF_REQUIRED_ROWS;
+                        }
+                        if (hasContent) {
+                            level++;
+                        }
+                        if (headerOnly && sheetData) {
+                            return hasContent ? START_OF_SHEET_DATA : END_OF_SHEET_DATA;
+                        }
+                        break;
+                }
+            }
+            return END_OF_INPUT;
+        }
+
+        private boolean onStartElement(SheetVisitor visitor, int level) throws IOException {
+            switch (level) {
+                case 1:
+                    if (isName(SHEET_DIMENSIONS_TAG)) {
+                        return parseDimensionAttributes();
+                    }
+                    if (isName(SHEET_DATA_TAG)) {
+                        visitor.onSheetData(sheetBounds);
+                    }
+                    return skipAttributes();
+                case 3:
+                    if (isName(CELL_TAG)) {
+                        boolean result = parseCellAttributes();
+                        if (hasRef && invalidRef == null) {
+                            if (visitor.isAfterLastRow(row)) {
+                                stopped = true;
+                            } else if (!visitor.isCellRequired(row, column)) {
+                                // skipped cell -> its content is scanned as regular elements
+                                hasRef = false;
+                            }
+                        }
+                        return result;
+                    }
+                    return skipAttributes();
+                case 4:
+                    if (hasRef && (isName(CELL_VALUE_TAG) || isName(INLINE_STRING_TAG))) {
+                        text.clear();
+                        if (skipAttributes()) {
+                            readText();
+                        }
+                        pushCellValue(visitor);
+                        return false;
+                    }
+                    return skipAttributes();
+                default:
+                    return skipAttributes();
+            }
+        }
+
+        private void pushCellValue(SheetVisitor visitor) {
+            if (hasRef) {
+                int styleIndex = XlsxValueFactory.isStyleRequired(dataType)
+                        ? rawStyleIndex
+                        : XlsxValueFactory.NULL_STYLE_INDEX;
+                CharSequence value = SaxEntryParser.decodeEscapes(text, dataType);
+                if (invalidRef == null) {
+                    visitor.onCell(row, column, value, dataType, styleIndex);
+                } else {
+                    visitor.onCell(invalidRef, value, dataType, styleIndex);
+                }
+            }
+        }
+
+        private boolean parseDimensionAttributes() throws IOException {
+            int next;
+            while ((next = nextAttribute()) == ATTRIBUTE) {
+                if (isAttributeName(SHEET_BOUNDS_ATTRIBUTE)) {
+                    sheetBounds = attributeValue.toString();
+                }
+            }
+            return next == END_OF_TAG;
+        }
+
+        private boolean parseCellAttributes() throws IOException {
+            hasRef = false;
+            dataType = XlsxDataType.UNDEFINED;
+            rawStyleIndex = XlsxValueFactory.NULL_STYLE_INDEX;
+            int next;
+            while ((next = nextAttribute()) == ATTRIBUTE) {
+                if (attributeNameLength == 1) {
+                    switch (attributeName[0]) {
+                        case REFERENCE_ATTRIBUTE:
+                            parseRef();
+                            break;
+                        case CELL_DATA_TYPE_ATTRIBUTE:
+                            dataType = parseDataType(attributeValue);
+                            break;
+                        case STYLE_INDEX_ATTRIBUTE:
+                            rawStyleIndex = parseStyleIndex(attributeValue);
+                            break;
+                    }
+                }
+            }
+            return next == END_OF_TAG;
+        }
+
+        private void parseRef() {
+            hasRef = true;
+            if (refHelper.parse(attributeValue)) {
+                row = refHelper.getRowIndex();
+                column = refHelper.getColumnIndex();
+                invalidRef = null;
+            } else {
+                invalidRef = attributeValue.toString();
+            }
+        }
+
+        private boolean skipAttributes() throws IOException {
+            int next;
+            while ((next = nextAttribute()) == ATTRIBUTE) {
+            }
+            return next == END_OF_TAG;
+        }
+
+        /**
+         * Reads all the character data until the end of the current element,
+         * including the content of nested elements.
+         */
+        private void readText() throws IOException {
+            int depth = 0;
+            while (true) {
+                int c = readOrFail();
+                switch (c) {
+                    case '<':
+                        c = readOrFail();
+                        switch (c) {
+                            case '/':
+                                skipUntilEndOfTag();
+                                if (depth == 0) {
+                                    return;
+                                }
+                                depth--;
+                                break;
+                            case '!':
+                                if (!readCData()) {
+                                    skipMarkup();
+                                }
+                                break;
+                            case '?':
+                                skipUntil(PI_END_BYTES);
+                                break;
+                            default:
+                                readName(c);
+                                if (skipAttributes()) {
+                                    depth++;
+                                }
+                                break;
+                        }
+                        break;
+                    case '&':
+                        readEntity(text);
+                        break;
+                    case '\r':
+                        skipIfNext('\n');
+                        text.append('\n');
+                        break;
+                    default:
+                        readChar(c, text);
+                        break;
+                }
+            }
+        }
+
+        private int nextAttribute() throws IOException {
+            int c = skipWhitespaces();
+            switch (c) {
+                case '>':
+                    return END_OF_TAG;
+                case '/':
+                    expect('>');
+                    return END_OF_EMPTY_TAG;
+            }
+            attributeNameLength = 0;
+            while (c != '=' && !isWhitespace(c)) {
+                if (attributeNameLength == attributeName.length) {
+                    attributeName = Arrays.copyOf(attributeName, attributeNameLength * 2);
+                }
+                attributeName[attributeNameLength++] = (byte) c;
+                c = readOrFail();
+            }
+            if (c != '=') {
+                c = skipWhitespaces();
+                if (c != '=') {
+                    throw new IOException("Expected '=' after attribute");
+                }
+            }
+            int quote = skipWhitespaces();
+            if (quote != '"' && quote != '\'') {
+                throw new IOException("Expected quoted attribute value");
+            }
+            attributeValue.clear();
+            while ((c = readOrFail()) != quote) {
+                switch (c) {
+                    case '&':
+                        readEntity(attributeValue);
+                        break;
+                    case '\r':
+                        skipIfNext('\n');
+                        attributeValue.append(' ');
+                        break;
+                    case '\n':
+                    case '\t':
+                        attributeValue.append(' ');
+                        break;
+                    default:
+                        readChar(c, attributeValue);
+                        break;
+                }
+            }
+            return ATTRIBUTE;
+        }
+
+        private void readName(int first) throws IOException {
+            nameLength = 0;
+            int c = first;
+            while (!isWhitespace(c) && c != '>' && c != '/') {
+                if (nameLength == name.length) {
+                    name = Arrays.copyOf(name, nameLength * 2);
+                }
+                name[nameLength++] = (byte) c;
+                c = readOrFail();
+            }
+            position--;
+        }
+
+        private void readChar(int c, CharSlice target) throws IOException {
+            if (c < 0x80) {
+                target.append((char) c);
+            } else if (c < 0xC0) {
+                throw new IOException("Invalid UTF-8 sequence");
+            } else if (c < 0xE0) {
+                target.append((char) (((c & 0x1F) << 6) | readContinuation()));
+            } else if (c < 0xF0) {
+                target.append((char) (((c & 0x0F) << 12) | (readContinuation() << 6) | readContinuation()));
+            } else {
+                int codePoint = ((c & 0x07) << 18) | (readContinuation() << 12) | (readContinuation() << 6) | readContinuation();
+                target.append(Character.highSurrogate(codePoint));
+                target.append(Character.lowSurrogate(codePoint));
+            }
+        }
+
+        private int readContinuation() throws IOException {
+            int c = readOrFail();
+            if ((c & 0xC0) != 0x80) {
+                throw new IOException("Invalid UTF-8 sequence");
+            }
+            return c & 0x3F;
+        }
+
+        private void readEntity(CharSlice target) throws IOException {
+            int c = readOrFail();
+            if (c == '#') {
+                int radix = 10;
+                c = readOrFail();
+                if (c == 'x') {
+                    radix = 16;
+                    c = readOrFail();
+                }
+                int codePoint = 0;
+                while (c != ';') {
+                    int digit = Character.digit(c, radix);
+                    if (digit < 0 || codePoint > Character.MAX_CODE_POINT) {
+                        throw new IOException("Invalid character reference");
+                    }
+                    codePoint = codePoint * radix + digit;
+                    c = readOrFail();
+                }
+                if (!Character.isValidCodePoint(codePoint)) {
+                    throw new IOException("Invalid character reference");
+                }
+                if (Character.isBmpCodePoint(codePoint)) {
+                    target.append((char) codePoint);
+                } else {
+                    target.append(Character.highSurrogate(codePoint));
+                    target.append(Character.lowSurrogate(codePoint));
+                }
+                return;
+            }
+            int first = c;
+            int second = readOrFail();
+            int third = readOrFail();
+            switch (first) {
+                case 'l':
+                    expectEntity(second == 't' && third == ';');
+                    target.append('<');
+                    return;
+                case 'g':
+                    expectEntity(second == 't' && third == ';');
+                    target.append('>');
+                    return;
+                case 'a':
+                    if (second == 'm') {
+                        expectEntity(third == 'p' && readOrFail() == ';');
+                        target.append('&');
+                    } else {
+                        expectEntity(second == 'p' && third == 'o' && readOrFail() == 's' && readOrFail() == ';');
+                        target.append('\'');
+                    }
+                    return;
+                case 'q':
+                    expectEntity(second == 'u' && third == 'o' && readOrFail() == 't' && readOrFail() == ';');
+                    target.append('"');
+                    return;
+                default:
+                    expectEntity(false);
+            }
+        }
+
+        private void expectEntity(boolean condition) throws IOException {
+            if (!condition) {
+                throw new IOException("Invalid entity reference");
+            }
+        }
+
+        private boolean readCData() throws IOException {
+            if (!peekSequence(CDATA_START)) {
+                return false;
+            }
+            position += CDATA_START.length;
+            int brackets = 0;
+            while (true) {
+                int c = readOrFail();
+                if (c == '>' && brackets >= 2) {
+                    text.setLength(text.length() - 2);
+                    return true;
+                }
+                brackets = c == ']' ? brackets + 1 : 0;
+                if (c == '\r') {
+                    skipIfNext('\n');
+                    text.append('\n');
+                } else {
+                    readChar(c, text);
+                }
+            }
+        }
+
+        private void skipMarkup() throws IOException {
+            if (peekSequence(COMMENT_START)) {
+                position += COMMENT_START.length;
+                skipUntil(COMMENT_END_BYTES);
+            } else if (peekSequence(CDATA_START)) {
+                position += CDATA_START.length;
+                skipUntil(CDATA_END_BYTES);
+            } else {
+                skipUntilEndOfTag();
+            }
+        }
+
+        private void skipUntilEndOfTag() throws IOException {
+            int quote = 0;
+            int c;
+            while ((c = readOrFail()) != '>' || quote != 0) {
+                if (c == '"' || c == '\'') {
+                    quote = quote == 0 ? c : quote == c ? 0 : quote;
+                }
+            }
+        }
+
+        private void skipUntil(int end) throws IOException {
+            int mask = end > 0xFFFF ? 0xFFFFFF : 0xFFFF;
+            int window = 0;
+            while (window != end) {
+                window = ((window << 8) | readOrFail()) & mask;
+            }
+        }
+
+        private int skipWhitespaces() throws IOException {
+            int c;
+            do {
+                c = readOrFail();
+            } while (isWhitespace(c));
+            return c;
+        }
+
+        private void skipIfNext(int expected) throws IOException {
+            if ((position < limit || fill()) && buffer[position] == expected) {
+                position++;
+            }
+        }
+
+        private void expect(int expected) throws IOException {
+            if (readOrFail() != expected) {
+                throw new IOException("Expected '" + (char) expected + "'");
+            }
+        }
+
+        private boolean isName(byte[] expected) {
+            return equals(name, nameLength, expected);
+        }
+
+        private boolean isAttributeName(byte[] expected) {
+            return equals(attributeName, attributeNameLength, expected);
+        }
+
+        private boolean isUtf8Declaration() throws IOException {
+            int end = indexOf(PI_END);
+            if (end == -1) {
+                return true;
+            }
+            String declaration = new String(buffer, position, end - position, java.nio.charset.StandardCharsets.US_ASCII);
+            int index = declaration.indexOf("encoding");
+            if (index == -1) {
+                return true;
+            }
+            String rest = declaration.substring(index + "encoding".length()).replace('\'', '"');
+            int start = rest.indexOf('"');
+            int stop = start != -1 ? rest.indexOf('"', start + 1) : -1;
+            return stop == -1 || rest.substring(start + 1, stop).trim().equalsIgnoreCase("UTF-8");
+        }
+
+        private int indexOf(byte[] sequence) throws IOException {
+            fillAtLeast(256);
+            outer:
+            for (int i = position; i <= limit - sequence.length; i++) {
+                for (int j = 0; j < sequence.length; j++) {
+                    if (buffer[i + j] != sequence[j]) {
+                        continue outer;
+                    }
+                }
+                return i;
+            }
+            return -1;
+        }
+
+        private boolean startsWith(byte[] prefix) {
+            if (limit - position < prefix.length) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length; i++) {
+                if (buffer[position + i] != prefix[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean peekSequence(byte[] sequence) throws IOException {
+            fillAtLeast(sequence.length);
+            return startsWith(sequence);
+        }
+
+        private int read() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        private int readOrFail() throws IOException {
+            if (position == limit && !fill()) {
+                throw new EOFException("Unexpected end of sheet");
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        private boolean fill() throws IOException {
+            consumed += limit;
+            position = 0;
+            limit = 0;
+            int n = input.read(buffer, 0, buffer.length);
+            if (n <= 0) {
+                return false;
+            }
+            limit = n;
+            return true;
+        }
+
+        private void fillAtLeast(int length) throws IOException {
+            if (limit - position >= length) {
+                return;
+            }
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            consumed += position;
+            limit -= position;
+            position = 0;
+            int n;
+            while (limit < length && (n = input.read(buffer, limit, buffer.length - limit)) > 0) {
+                limit += n;
+            }
+        }
+
+        private static boolean isWhitespace(int c) {
+            return c == ' ' || c == '\n' || c == '\t' || c == '\r';
+        }
+
+        private static boolean equals(byte[] array, int length, byte[] expected) {
+            if (length != expected.length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (array[i] != expected[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static XlsxDataType parseDataType(CharSequence rawDataType) {
+            if (rawDataType.length() == 1) {
+                switch (rawDataType.charAt(0)) {
+                    case NUMBER_TYPE:
+                        return XlsxDataType.NUMBER;
+                    case SHARED_STRING_TYPE:
+                        return XlsxDataType.SHARED_STRING;
+                    case DATE_TYPE:
+                        return XlsxDataType.DATE;
+                    case BOOLEAN_TYPE:
+                        return XlsxDataType.BOOLEAN;
+                    case ERROR_TYPE:
+                        return XlsxDataType.ERROR;
+                    default:
+                        return XlsxDataType.UNKNOWN;
+                }
+            }
+            if (contentEquals(rawDataType, STRING_TYPE)) {
+                return XlsxDataType.STRING;
+            }
+            if (contentEquals(rawDataType, INLINE_STRING_TYPE)) {
+                return XlsxDataType.INLINE_STRING;
+            }
+            return XlsxDataType.UNKNOWN;
+        }
+
+        private static int parseStyleIndex(CharSequence rawStyleIndex) {
+            int length = rawStyleIndex.length();
+            if (length == 0) {
+                return XlsxValueFactory.INVALID_STYLE_INDEX;
+            }
+            int i = 0;
+            boolean negative = false;
+            char first = rawStyleIndex.charAt(0);
+            if (first == '-' || first == '+') {
+                if (length == 1) {
+                    return XlsxValueFactory.INVALID_STYLE_INDEX;
+                }
+                negative = first == '-';
+                i++;
+            }
+            long result = 0;
+            for (; i < length; i++) {
+                char c = rawStyleIndex.charAt(i);
+                if (c < '0' || c > '9') {
+                    return XlsxValueFactory.INVALID_STYLE_INDEX;
+                }
+                result = result * 10 + (c - '0');
+                if (result > (long) Integer.MAX_VALUE + 1) {
+                    return XlsxValueFactory.INVALID_STYLE_INDEX;
+                }
+            }
+            result = negative ? -result : result;
+            return result > Integer.MAX_VALUE ? XlsxValueFactory.INVALID_STYLE_INDEX : (int) result;
+        }
+
+        private static boolean contentEquals(CharSequence left, String right) {
+            if (left.length() != right.length()) {
+                return false;
+            }
+            for (int i = 0; i < right.length(); i++) {
+                if (left.charAt(i) != right.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static byte[] ascii(String text) {
+            return text.getBytes(java.nio.charset.StandardCharsets.US_ASCII);
+        }
+
+        private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+        private static final byte[] UTF16BE_BOM = {(byte) 0xFE, (byte) 0xFF};
+        private static final byte[] UTF16LE_BOM = {(byte) 0xFF, (byte) 0xFE};
+        private static final byte[] XML_DECLARATION = ascii("<?xml");
+        private static final byte[] PI_END = ascii("?>");
+        private static final int PI_END_BYTES = ('?' << 8) | '>';
+        private static final byte[] COMMENT_START = ascii("--");
+        private static final int COMMENT_END_BYTES = ('-' << 16) | ('-' << 8) | '>';
+        private static final byte[] CDATA_START = ascii("[CDATA[");
+        private static final int CDATA_END_BYTES = (']' << 16) | (']' << 8) | '>';
+
+        private static final byte[] CELL_TAG = ascii("c");
+        private static final byte REFERENCE_ATTRIBUTE = 'r';
+        private static final byte STYLE_INDEX_ATTRIBUTE = 's';
+        private static final byte CELL_DATA_TYPE_ATTRIBUTE = 't';
+        private static final byte[] CELL_VALUE_TAG = ascii("v");
+        private static final byte[] SHEET_DIMENSIONS_TAG = ascii("dimension");
+        private static final byte[] SHEET_BOUNDS_ATTRIBUTE = ascii("ref");
+        private static final byte[] SHEET_DATA_TAG = ascii("sheetData");
+        private static final byte[] INLINE_STRING_TAG = ascii("is");
+
+        // http://msdn.microsoft.com/en-us/library/documentformat.openxml.spreadsheet.cellvalues.aspx
+        private static final char BOOLEAN_TYPE = 'b';
+        private static final char NUMBER_TYPE = 'n';
+        private static final char ERROR_TYPE = 'e';
+        private static final char SHARED_STRING_TYPE = 's';
+        private static final String STRING_TYPE = "str";
+        private static final String INLINE_STRING_TYPE = "inlineStr";
+        private static final char DATE_TYPE = 'd';
+    }
+}
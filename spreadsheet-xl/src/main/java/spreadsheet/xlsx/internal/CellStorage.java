@@ -0,0 +1,217 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fixed-size storage of compact sheet cells, addressed by a long cell index.
+ * <p>
+ * Cells are stored in pages of byte buffers; a page always holds a whole
+ * number of cells so that a cell never straddles two pages. Heap storage uses
+ * a single page while file storage maps a temporary file page by page, which
+ * allows more than 2<sup>31</sup> bytes of cells.
+ * <p>
+ * File storage must be closed to unmap its pages and delete its file; cells
+ * cannot be accessed afterward. Closing is not synchronized with cell access:
+ * a storage must not be closed while other threads still access its cells.
+ */
+final class CellStorage implements Closeable {
+
+    static final int CELL_BYTES = Byte.BYTES + Double.BYTES;
+
+    private static final int VALUE_OFFSET = Byte.BYTES;
+    private static final int HEAP_PAGE_SHIFT = 31;
+    private static final int FILE_PAGE_SHIFT = 26;
+
+    /**
+     * Allocates a storage on the heap.
+     *
+     * @param cellCount the number of cells
+     * @return a non-null storage
+     * @throws IllegalArgumentException if the cells don't fit in a byte array
+     */
+    static CellStorage onHeap(long cellCount) throws IllegalArgumentException {
+        long size = cellCount * CELL_BYTES;
+        if (cellCount < 0 || (int) size != size) {
+            throw new IllegalArgumentException("Invalid cell count: " + cellCount);
+        }
+        return new CellStorage(new ByteBuffer[]{ByteBuffer.allocate((int) size)}, HEAP_PAGE_SHIFT, null);
+    }
+
+    /**
+     * Allocates a storage in a memory-mapped temporary file.
+     *
+     * @param cellCount the number of cells
+     * @return a non-null storage
+     * @throws IOException if the file cannot be created or mapped
+     */
+    static CellStorage inTempFile(long cellCount) throws IOException {
+        if (cellCount < 0) {
+            throw new IllegalArgumentException("Invalid cell count: " + cellCount);
+        }
+        Path file = Files.createTempFile("spreadsheet-xl", ".cells");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long pageCells = 1L << FILE_PAGE_SHIFT;
+            ByteBuffer[] pages = new ByteBuffer[(int) ((cellCount + pageCells - 1) >>> FILE_PAGE_SHIFT)];
+            for (int i = 0; i < pages.length; i++) {
+                long cells = Math.min(pageCells, cellCount - i * pageCells);
+                pages[i] = channel.map(FileChannel.MapMode.READ_WRITE, i * pageCells * CELL_BYTES, cells * CELL_BYTES);
+            }
+            // the mapping remains valid after the channel is closed
+            return new CellStorage(pages, FILE_PAGE_SHIFT, file);
+        } catch (IOException | RuntimeException ex) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException other) {
+                ex.addSuppressed(other);
+            }
+            throw ex;
+        }
+    }
+
+    private ByteBuffer[] pages;
+    private ByteBuffer singlePage;
+    private final int pageShift;
+    private final long pageMask;
+    private final Path file;
+
+    private CellStorage(ByteBuffer[] pages, int pageShift, Path file) {
+        this.pages = pages;
+        this.singlePage = pages.length == 1 ? pages[0] : null;
+        this.pageShift = pageShift;
+        this.pageMask = (1L << pageShift) - 1;
+        this.file = file;
+    }
+
+    boolean isMapped() {
+        return file != null;
+    }
+
+    byte getType(long cell) {
+        return getPage(cell).get(getOffset(cell));
+    }
+
+    long getLong(long cell) {
+        return getPage(cell).getLong(getOffset(cell) + VALUE_OFFSET);
+    }
+
+    double getDouble(long cell) {
+        return getPage(cell).getDouble(getOffset(cell) + VALUE_OFFSET);
+    }
+
+    int getInt(long cell) {
+        return getPage(cell).getInt(getOffset(cell) + VALUE_OFFSET);
+    }
+
+    void putType(long cell, byte type) {
+        getPage(cell).put(getOffset(cell), type);
+    }
+
+    void putLong(long cell, byte type, long value) {
+        ByteBuffer page = getPage(cell);
+        int offset = getOffset(cell);
+        page.put(offset, type);
+        page.putLong(offset + VALUE_OFFSET, value);
+    }
+
+    void putDouble(long cell, byte type, double value) {
+        ByteBuffer page = getPage(cell);
+        int offset = getOffset(cell);
+        page.put(offset, type);
+        page.putDouble(offset + VALUE_OFFSET, value);
+    }
+
+    void putInt(long cell, byte type, int value) {
+        ByteBuffer page = getPage(cell);
+        int offset = getOffset(cell);
+        page.put(offset, type);
+        page.putInt(offset + VALUE_OFFSET, value);
+    }
+
+    private ByteBuffer getPage(long cell) {
+        if (singlePage != null) {
+            return singlePage;
+        }
+        ByteBuffer[] result = pages;
+        if (result == null) {
+            throw new IllegalStateException("Cell storage closed");
+        }
+        return result[(int) (cell >>> pageShift)];
+    }
+
+    private int getOffset(long cell) {
+        return (int) (cell & pageMask) * CELL_BYTES;
+    }
+
+    @Override
+    public void close() throws IOException {
+        ByteBuffer[] closed = pages;
+        pages = null;
+        singlePage = null;
+        if (closed != null && file != null) {
+            for (ByteBuffer page : closed) {
+                unmap(page);
+            }
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                // still mapped on platforms that lock mapped files
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    private static final Method INVOKE_CLEANER;
+    private static final Object UNSAFE;
+
+    static {
+        Method invokeCleaner = null;
+        Object unsafe = null;
+        try {
+            Class<?> type = Class.forName("sun.misc.Unsafe");
+            invokeCleaner = type.getMethod("invokeCleaner", ByteBuffer.class);
+            Field field = type.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            // Java 8 or restricted runtime -> pages are unmapped by the garbage collector
+            invokeCleaner = null;
+            unsafe = null;
+        }
+        INVOKE_CLEANER = invokeCleaner;
+        UNSAFE = unsafe;
+    }
+
+    private static void unmap(ByteBuffer page) throws IOException {
+        if (INVOKE_CLEANER != null && page.isDirect()) {
+            try {
+                INVOKE_CLEANER.invoke(UNSAFE, page);
+            } catch (ReflectiveOperationException ex) {
+                throw new IOException("Failed to unmap cell storage", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import java.util.Arrays;
+
+/**
+ * Reusable character buffer exposed as a CharSequence, in which the byte and
+ * binary entry parsers write cell values. Numbers are written without allocation
+ * when they are integers, which are the most common values.
+ */
+final class CharSlice implements CharSequence {
+
+    private char[] chars = new char[64];
+    private int length = 0;
+
+    void clear() {
+        length = 0;
+    }
+
+    void setLength(int length) {
+        this.length = length;
+    }
+
+    void ensureCapacity(int capacity) {
+        if (capacity > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(capacity, chars.length * 2));
+        }
+    }
+
+    void append(char c) {
+        if (length == chars.length) {
+            chars = Arrays.copyOf(chars, length * 2);
+        }
+        chars[length++] = c;
+    }
+
+    void append(String value) {
+        ensureCapacity(length + value.length());
+        value.getChars(0, value.length(), chars, length);
+        length += value.length();
+    }
+
+    void appendInt(int value) {
+        appendLong(value);
+    }
+
+    void appendLong(long value) {
+        if (value < 0) {
+            if (value == Long.MIN_VALUE) {
+                append(Long.toString(value));
+                return;
+            }
+            append('-');
+            value = -value;
+        }
+        int start = length;
+        do {
+            append((char) ('0' + value % 10));
+            value /= 10;
+        } while (value != 0);
+        // digits were written backwards
+        for (int i = start, j = length - 1; i < j; i++, j--) {
+            char tmp = chars[i];
+            chars[i] = chars[j];
+            chars[j] = tmp;
+        }
+    }
+
+    /**
+     * Writes a RK number: a 30-bit integer or the 30 most significant bits of
+     * a double, optionally multiplied by 100. This encoding is shared by BIFF8
+     * and BIFF12.
+     */
+    void appendRk(int rk) {
+        boolean divideBy100 = (rk & 0x1) != 0;
+        if ((rk & 0x2) != 0) {
+            int value = rk >> 2;
+            if (divideBy100) {
+                // exact decimal -> parsed as the nearest double of value / 100
+                if (value < 0) {
+                    append('-');
+                }
+                int abs = Math.abs(value);
+                appendInt(abs / 100);
+                append('.');
+                append((char) ('0' + abs % 100 / 10));
+                append((char) ('0' + abs % 10));
+            } else {
+                appendInt(value);
+            }
+            return;
+        }
+        double value = Double.longBitsToDouble(((long) (rk & 0xFFFFFFFC)) << 32);
+        appendDouble(divideBy100 ? value / 100 : value);
+    }
+
+    void appendDouble(double value) {
+        long integer = (long) value;
+        if (integer == value && Math.abs(integer) < MAX_EXACT_INTEGER && (integer != 0 || 1 / value > 0)) {
+            appendLong(integer);
+        } else {
+            append(Double.toString(value));
+        }
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index >= length) {
+            throw new IndexOutOfBoundsException();
+        }
+        return chars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new String(chars, start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+
+    private static final long MAX_EXACT_INTEGER = 1L << 53;
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import ec.util.spreadsheet.Cell;
+import ec.util.spreadsheet.Sheet;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import nbbrd.design.NonNegative;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Sheet that stores its cells by column: each column has a type vector and a
+ * payload vector holding either the number bits, the date or the string
+ * index. Columns without values are not allocated.
+ */
+@lombok.RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ColumnarSheet extends Sheet {
+
+    private static final byte NULL = 0;
+    private static final byte NUMBER = 1;
+    private static final byte DATE = 2;
+    private static final byte SHARED_STRING = 3;
+    private static final byte LOCAL_STRING = 4;
+
+    private final int rowCount;
+    private final int columnCount;
+    private final String name;
+    private final byte[][] types;
+    private final long[][] values;
+    private final List<String> sharedStrings;
+    private final List<String> localStrings;
+
+    @Deprecated
+    private final FlyweightCell flyweightCell = new FlyweightCell();
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    @Override
+    public Cell getCell(int rowIdx, int columnIdx) throws IndexOutOfBoundsException {
+        Object value = getCellValue(rowIdx, columnIdx);
+        return value != null ? flyweightCell.withValue(value) : null;
+    }
+
+    @Override
+    public Object getCellValue(int rowIdx, int columnIdx) throws IndexOutOfBoundsException {
+        checkRowIndex(rowIdx);
+        byte[] columnTypes = types[columnIdx];
+        return columnTypes != null ? getValue(columnTypes[rowIdx], values[columnIdx][rowIdx]) : null;
+    }
+
+    @Override
+    public @org.jspecify.annotations.NonNull String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnarSheet[" + rowCount + "x" + columnCount + "]";
+    }
+
+    /**
+     * Copies the values of a column.
+     *
+     * @param columnIdx a zero-based column index
+     * @return a non-null array of size {@link #getRowCount()}
+     * @throws IndexOutOfBoundsException if the column is out of bounds
+     */
+    @NonNull
+    public Object[] getColumnValues(@NonNegative int columnIdx) throws IndexOutOfBoundsException {
+        Object[] result = new Object[rowCount];
+        byte[] columnTypes = types[columnIdx];
+        if (columnTypes != null) {
+            long[] columnValues = values[columnIdx];
+            for (int i = 0; i < rowCount; i++) {
+                result[i] = getValue(columnTypes[i], columnValues[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Copies the numbers of a column.
+     *
+     * @param columnIdx    a zero-based column index
+     * @param defaultValue the value of cells that are not numbers
+     * @return a non-null array of size {@link #getRowCount()}
+     * @throws IndexOutOfBoundsException if the column is out of bounds
+     */
+    @NonNull
+    public double[] getColumnNumbers(@NonNegative int columnIdx, double defaultValue) throws IndexOutOfBoundsException {
+        double[] result = new double[rowCount];
+        byte[] columnTypes = types[columnIdx];
+        if (columnTypes == null) {
+            Arrays.fill(result, defaultValue);
+            return result;
+        }
+        long[] columnValues = values[columnIdx];
+        for (int i = 0; i < rowCount; i++) {
+            result[i] = columnTypes[i] == NUMBER ? Double.longBitsToDouble(columnValues[i]) : defaultValue;
+        }
+        return result;
+    }
+
+    /**
+     * Estimates the number of heap bytes used by this sheet.
+     */
+    long estimateSize() {
+        long result = SheetCache.estimateSize(localStrings);
+        for (byte[] columnTypes : types) {
+            if (columnTypes != null) {
+                result += (long) rowCount * (Byte.BYTES + Long.BYTES);
+            }
+        }
+        return result;
+    }
+
+    private void checkRowIndex(int rowIdx) {
+        if (rowIdx < 0 || rowIdx >= rowCount) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    private Object getValue(byte type, long value) {
+        switch (type) {
+            case NULL:
+                return null;
+            case NUMBER:
+                return Double.longBitsToDouble(value);
+            case DATE:
+                return new Date(value);
+            case SHARED_STRING:
+                return sharedStrings.get((int) value);
+            case LOCAL_STRING:
+                return localStrings.get((int) value);
+            default:
+                throw new RuntimeException();
+        }
+    }
+
+    @NonNull
+    public static Builder builder(
+            @NonNegative int rowCount, @NonNegative int columnCount,
+            @NonNull String name, @NonNull List<String> sharedStrings) {
+        return new Builder(rowCount, columnCount, name, sharedStrings);
+    }
+
+    @Deprecated
+    private static final class FlyweightCell extends Cell implements Serializable {
+
+        private Object value = null;
+
+        @NonNull
+        FlyweightCell withValue(@NonNull Object value) {
+            this.value = value;
+            return this;
+        }
+
+        @Override
+        public boolean isDate() {
+            return value instanceof Date;
+        }
+
+        @Override
+        public boolean isNumber() {
+            return value instanceof Number;
+        }
+
+        @Override
+        public boolean isString() {
+            return value instanceof String;
+        }
+
+        @Override
+        public Date getDate() {
+            if (!isDate()) {
+                throw new UnsupportedOperationException();
+            }
+            return (Date) value;
+        }
+
+        @Override
+        public Number getNumber() {
+            if (!isNumber()) {
+                throw new UnsupportedOperationException();
+            }
+            return (Number) value;
+        }
+
+        @Override
+        public String getString() {
+            if (!isString()) {
+                throw new UnsupportedOperationException();
+            }
+            return (String) value;
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(value);
+        }
+    }
+
+    public static final class Builder {
+
+        private final int rowCount;
+        private final int columnCount;
+        private final String name;
+        private final byte[][] types;
+        private final long[][] values;
+        private final List<String> sharedStrings;
+        private List<String> localStrings;
+
+        private Builder(int rowCount, int columnCount, String name, List<String> sharedStrings) {
+            this.rowCount = rowCount;
+            this.columnCount = columnCount;
+            this.name = Objects.requireNonNull(name);
+            this.sharedStrings = Objects.requireNonNull(sharedStrings);
+            this.types = new byte[columnCount][];
+            this.values = new long[columnCount][];
+            this.localStrings = null;
+        }
+
+        private void checkRowIndex(int i) {
+            if (i < 0 || i >= rowCount) {
+                throw new IndexOutOfBoundsException();
+            }
+        }
+
+        private void put(int i, int j, byte type, long value) {
+            checkRowIndex(i);
+            byte[] columnTypes = types[j];
+            if (columnTypes == null) {
+                columnTypes = types[j] = new byte[rowCount];
+                values[j] = new long[rowCount];
+            }
+            columnTypes[i] = type;
+            values[j][i] = value;
+        }
+
+        public Builder putNull(int i, int j) {
+            checkRowIndex(i);
+            if (types[j] != null) {
+                put(i, j, NULL, 0);
+            }
+            return this;
+        }
+
+        public Builder putNumber(int i, int j, double number) {
+            put(i, j, NUMBER, Double.doubleToRawLongBits(number));
+            return this;
+        }
+
+        public Builder putDate(int i, int j, long date) {
+            put(i, j, DATE, date);
+            return this;
+        }
+
+        public Builder putSharedString(int i, int j, int stringIndex) {
+            put(i, j, SHARED_STRING, stringIndex);
+            return this;
+        }
+
+        public Builder putString(int i, int j, String string) {
+            if (localStrings == null) {
+                localStrings = new ArrayList<>();
+            }
+            put(i, j, LOCAL_STRING, localStrings.size());
+            localStrings.add(string);
+            return this;
+        }
+
+        public ColumnarSheet build() {
+            return new ColumnarSheet(rowCount, columnCount, name, types, values,
+                    sharedStrings, localStrings != null ? localStrings : Collections.emptyList());
+        }
+    }
+}
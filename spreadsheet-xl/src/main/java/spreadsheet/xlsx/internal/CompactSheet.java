@@ -19,7 +19,6 @@ package spreadsheet.xlsx.internal;
 import ec.util.spreadsheet.Cell;
 import ec.util.spreadsheet.Sheet;
 import java.io.Serializable;
-import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
@@ -32,17 +31,15 @@ import lombok.NonNull;
 /**
  *
  * @author Philippe Charles
+ * @see SheetMemory
  */
 @lombok.RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public final class CompactSheet extends Sheet {
 
-    private static final int CELL_BYTES = Byte.BYTES + Double.BYTES;
-    private static final int VALUE_OFFSET = Byte.BYTES;
-
     private final int rowCount;
     private final int columnCount;
     private final String name;
-    private final ByteBuffer data;
+    private final CellStorage data;
     private final List<String> sharedStrings;
     private final List<String> localStrings;
 
@@ -61,13 +58,13 @@ public final class CompactSheet extends Sheet {
 
     @Override
     public Cell getCell(int rowIdx, int columnIdx) throws IndexOutOfBoundsException {
-        int index = getIndex(rowIdx, columnIdx);
+        long index = getIndex(rowIdx, columnIdx);
         return getTypeAt(index) != Type.NULL ? flyweightCell.withValue(index) : null;
     }
 
     @Override
     public Object getCellValue(int rowIdx, int columnIdx) throws IndexOutOfBoundsException {
-        int index = getIndex(rowIdx, columnIdx);
+        long index = getIndex(rowIdx, columnIdx);
         return getValueAt(index);
     }
 
@@ -81,18 +78,26 @@ public final class CompactSheet extends Sheet {
         return "CompactSheet[" + rowCount + "x" + columnCount + "]";
     }
 
-    private int getIndex(int rowIdx, int columnIdx) {
-        if (columnIdx >= columnCount) {
+    /**
+     * Estimates the number of heap bytes used by this sheet.
+     */
+    long estimateSize() {
+        long cells = data.isMapped() ? 0 : (long) rowCount * columnCount * CellStorage.CELL_BYTES;
+        return cells + SheetCache.estimateSize(localStrings);
+    }
+
+    private long getIndex(int rowIdx, int columnIdx) {
+        if (rowIdx < 0 || rowIdx >= rowCount || columnIdx < 0 || columnIdx >= columnCount) {
             throw new IndexOutOfBoundsException();
         }
-        return (rowIdx * columnCount + columnIdx) * CELL_BYTES;
+        return (long) rowIdx * columnCount + columnIdx;
     }
 
-    private Type getTypeAt(int index) {
-        return Type.of(data.get(index));
+    private Type getTypeAt(long index) {
+        return Type.of(data.getType(index));
     }
 
-    private Object getValueAt(int index) {
+    private Object getValueAt(long index) {
         switch (getTypeAt(index)) {
             case DATE:
                 return getDateAt(index);
@@ -109,20 +114,20 @@ public final class CompactSheet extends Sheet {
         }
     }
 
-    private Date getDateAt(int index) {
-        return new Date(data.getLong(index + VALUE_OFFSET));
+    private Date getDateAt(long index) {
+        return new Date(data.getLong(index));
     }
 
-    private double getNumberAt(int index) {
-        return data.getDouble(index + VALUE_OFFSET);
+    private double getNumberAt(long index) {
+        return data.getDouble(index);
     }
 
-    private String getSharedStringAt(int index) {
-        return sharedStrings.get(data.getInt(index + VALUE_OFFSET));
+    private String getSharedStringAt(long index) {
+        return sharedStrings.get(data.getInt(index));
     }
 
-    private String getLocalStringAt(int index) {
-        return localStrings.get(data.getInt(index + VALUE_OFFSET));
+    private String getLocalStringAt(long index) {
+        return localStrings.get(data.getInt(index));
     }
 
     private enum Type {
@@ -139,17 +144,40 @@ public final class CompactSheet extends Sheet {
     public static Builder builder(
             @NonNegative int rowCount, @NonNegative int columnCount,
             @NonNull String name, @NonNull List<String> sharedStrings) {
-        return new Builder(rowCount, columnCount, name, sharedStrings);
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(sharedStrings);
+        return new Builder(rowCount, columnCount, name, sharedStrings, CellStorage.onHeap((long) rowCount * columnCount));
+    }
+
+    /**
+     * Creates a builder whose cells are allocated by a sheet memory. The sheet
+     * must not be used after the memory is closed.
+     *
+     * @param rowCount      the number of rows
+     * @param columnCount   the number of columns
+     * @param name          the sheet name
+     * @param sharedStrings the shared strings
+     * @param memory        the allocator of cells
+     * @return a non-null builder
+     * @since 2.7.0
+     */
+    @NonNull
+    public static Builder builder(
+            @NonNegative int rowCount, @NonNegative int columnCount,
+            @NonNull String name, @NonNull List<String> sharedStrings, @NonNull SheetMemory memory) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(sharedStrings);
+        return new Builder(rowCount, columnCount, name, sharedStrings, memory.allocate((long) rowCount * columnCount));
     }
 
     @Deprecated
     private final class FlyweightCell extends Cell implements Serializable {
 
-        private int index = -1;
+        private long index = -1;
         private CompactSheet.Type type = CompactSheet.Type.NULL;
 
         @NonNull
-        FlyweightCell withValue(int index) {
+        FlyweightCell withValue(long index) {
             this.index = index;
             this.type = getTypeAt(index);
             return this;
@@ -230,59 +258,56 @@ public final class CompactSheet extends Sheet {
     }
 
     public static boolean isOverflow(int rowCount, int columnCount) {
-        long result = (long) rowCount * (long) columnCount * CELL_BYTES;
+        long result = (long) rowCount * (long) columnCount * CellStorage.CELL_BYTES;
         return (int) result != result;
     }
 
+    /**
+     * Builder of compact sheets. All methods except {@link #putString(int, int, String)}
+     * may be called concurrently as long as they target distinct cells.
+     */
     public static final class Builder {
 
         private final int rowCount;
         private final int columnCount;
         private final String name;
-        private final ByteBuffer data;
+        private final CellStorage data;
         private final List<String> sharedStrings;
         private List<String> localStrings;
 
-        private Builder(int rowCount, int columnCount, String name, List<String> sharedStrings) {
+        private Builder(int rowCount, int columnCount, String name, List<String> sharedStrings, CellStorage data) {
             this.rowCount = rowCount;
             this.columnCount = columnCount;
-            this.name = Objects.requireNonNull(name);
-            this.sharedStrings = Objects.requireNonNull(sharedStrings);
-            this.data = ByteBuffer.allocate(rowCount * columnCount * CELL_BYTES);
+            this.name = name;
+            this.sharedStrings = sharedStrings;
+            this.data = data;
             this.localStrings = null;
         }
 
-        private int getIndex(int i, int j) {
-            if (j >= columnCount) {
+        private long getIndex(int i, int j) {
+            if (i < 0 || i >= rowCount || j < 0 || j >= columnCount) {
                 throw new IndexOutOfBoundsException();
             }
-            return (i * columnCount + j) * CELL_BYTES;
+            return (long) i * columnCount + j;
         }
 
         public Builder putNull(int i, int j) {
-            int index = getIndex(i, j);
-            data.put(index, (byte) Type.NULL.ordinal());
+            data.putType(getIndex(i, j), (byte) Type.NULL.ordinal());
             return this;
         }
 
         public Builder putNumber(int i, int j, double number) {
-            int index = getIndex(i, j);
-            data.put(index, (byte) Type.NUMBER.ordinal());
-            data.putDouble(index + VALUE_OFFSET, number);
+            data.putDouble(getIndex(i, j), (byte) Type.NUMBER.ordinal(), number);
             return this;
         }
 
         public Builder putDate(int i, int j, long date) {
-            int index = getIndex(i, j);
-            data.put(index, (byte) Type.DATE.ordinal());
-            data.putLong(index + VALUE_OFFSET, date);
+            data.putLong(getIndex(i, j), (byte) Type.DATE.ordinal(), date);
             return this;
         }
 
         public Builder putSharedString(int i, int j, int stringIndex) {
-            int index = getIndex(i, j);
-            data.put(index, (byte) Type.SHARED_STRING.ordinal());
-            data.putInt(index + VALUE_OFFSET, stringIndex);
+            data.putInt(getIndex(i, j), (byte) Type.SHARED_STRING.ordinal(), stringIndex);
             return this;
         }
 
@@ -290,9 +315,7 @@ public final class CompactSheet extends Sheet {
             if (localStrings == null) {
                 localStrings = new ArrayList<>();
             }
-            int index = getIndex(i, j);
-            data.put(index, (byte) Type.LOCAL_STRING.ordinal());
-            data.putInt(index + VALUE_OFFSET, localStrings.size());
+            data.putInt(getIndex(i, j), (byte) Type.LOCAL_STRING.ordinal(), localStrings.size());
             localStrings.add(string);
             return this;
         }
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import lombok.AccessLevel;
+import lombok.NonNull;
+import nbbrd.design.NonNegative;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list of strings packed as UTF-8 in a single byte array.
+ * <p>
+ * Lone surrogates are stored as three-byte sequences, as in CESU-8, so that
+ * strings are restored unchanged. Strings that no longer fit in the array
+ * (about 2 GB of content) are kept as is in an overflow list.
+ * <p>
+ * Strings are decoded on each access; an optional cache keeps the most
+ * recently decoded strings. Each cache slot holds the last string decoded at
+ * an index that maps to it, so that a hot subset of strings is decoded once.
+ * This list is thread-safe.
+ */
+@lombok.RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CompactStringList extends AbstractList<String> implements RandomAccess {
+
+    private final byte[] arena;
+    private final int[] offsets;
+    private final int packedSize;
+    private final boolean loneSurrogates;
+    private final String[] overflow;
+    private final CachedString[] cache;
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        if (index >= packedSize) {
+            return overflow[index - packedSize];
+        }
+        if (cache == null) {
+            return decode(index);
+        }
+        int slot = index & (cache.length - 1);
+        CachedString cached = cache[slot];
+        if (cached != null && cached.index == index) {
+            return cached.value;
+        }
+        String result = decode(index);
+        cache[slot] = new CachedString(index, result);
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return packedSize + overflow.length;
+    }
+
+    /**
+     * Returns the number of bytes used by the packed content.
+     *
+     * @return a non-negative number of bytes
+     */
+    public int getContentSize() {
+        return offsets[packedSize];
+    }
+
+    private String decode(int index) {
+        int offset = offsets[index];
+        return loneSurrogates
+                ? decodeCesu8(arena, offset, offsets[index + 1])
+                : new String(arena, offset, offsets[index + 1] - offset, StandardCharsets.UTF_8);
+    }
+
+    private static String decodeCesu8(byte[] bytes, int start, int end) {
+        char[] result = new char[end - start];
+        int length = 0;
+        int i = start;
+        while (i < end) {
+            int b = bytes[i++];
+            if (b >= 0) {
+                result[length++] = (char) b;
+            } else if ((b & 0xE0) == 0xC0) {
+                result[length++] = (char) (((b & 0x1F) << 6) | (bytes[i++] & 0x3F));
+            } else if ((b & 0xF0) == 0xE0) {
+                result[length++] = (char) (((b & 0x0F) << 12) | ((bytes[i++] & 0x3F) << 6) | (bytes[i++] & 0x3F));
+            } else {
+                int codePoint = ((b & 0x07) << 18) | ((bytes[i++] & 0x3F) << 12) | ((bytes[i++] & 0x3F) << 6) | (bytes[i++] & 0x3F);
+                result[length++] = Character.highSurrogate(codePoint);
+                result[length++] = Character.lowSurrogate(codePoint);
+            }
+        }
+        return new String(result, 0, length);
+    }
+
+    private static final int MAX_CONTENT_SIZE = Integer.MAX_VALUE - 8;
+
+    @NonNull
+    public static Builder builder() {
+        return new Builder(MAX_CONTENT_SIZE);
+    }
+
+    @lombok.AllArgsConstructor
+    private static final class CachedString {
+
+        final int index;
+        final String value;
+    }
+
+    public static final class Builder {
+
+        private final int maxContentSize;
+        private byte[] arena = new byte[1024];
+        private int[] offsets = new int[64];
+        private int size = 0;
+        private int length = 0;
+        private boolean loneSurrogates = false;
+        private List<String> overflow = null;
+        private int cacheSize = 0;
+
+        Builder(int maxContentSize) {
+            this.maxContentSize = maxContentSize;
+        }
+
+        /**
+         * Sets the number of cached strings, rounded up to a power of two. Zero
+         * disables the cache.
+         *
+         * @param cacheSize a non-negative number of strings
+         * @return this builder
+         */
+        @NonNull
+        public Builder cacheSize(@NonNegative int cacheSize) {
+            if (cacheSize < 0 || cacheSize > 1 << 30) {
+                throw new IllegalArgumentException("Invalid cache size: " + cacheSize);
+            }
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        @NonNull
+        public Builder add(@NonNull CharSequence value) {
+            int n = value.length();
+            // at most 3 bytes per char
+            if (overflow != null || length + 3L * n > maxContentSize) {
+                if (overflow == null) {
+                    overflow = new ArrayList<>();
+                }
+                overflow.add(value.toString());
+                return this;
+            }
+            ensureCapacity(3 * n);
+            for (int i = 0; i < n; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    arena[length++] = (byte) c;
+                } else if (c < 0x800) {
+                    arena[length++] = (byte) (0xC0 | (c >> 6));
+                    arena[length++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    arena[length++] = (byte) (0xF0 | (codePoint >> 18));
+                    arena[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    arena[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    arena[length++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    // lone surrogates are encoded like other chars
+                    loneSurrogates |= Character.isSurrogate(c);
+                    arena[length++] = (byte) (0xE0 | (c >> 12));
+                    arena[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    arena[length++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            if (size + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[++size] = length;
+            return this;
+        }
+
+        @NonNull
+        public CompactStringList build() {
+            return new CompactStringList(
+                    Arrays.copyOf(arena, length),
+                    Arrays.copyOf(offsets, size + 1),
+                    size,
+                    loneSurrogates,
+                    overflow != null ? overflow.toArray(new String[0]) : new String[0],
+                    cacheSize > 0 ? new CachedString[ceilPowerOfTwo(cacheSize)] : null);
+        }
+
+        private static int ceilPowerOfTwo(int value) {
+            return value == 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (length + extra > arena.length) {
+                arena = Arrays.copyOf(arena, (int) Math.min(maxContentSize, Math.max((long) arena.length * 2, length + extra)));
+            }
+        }
+    }
+}
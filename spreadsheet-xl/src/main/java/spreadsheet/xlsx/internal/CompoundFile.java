@@ -0,0 +1,279 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import lombok.NonNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Reader of the streams of a compound file (OLE2), the container of legacy
+ * Excel workbooks, as described in [MS-CFB].
+ * <p>
+ * The sectors of a stream are copied in a single array by following the
+ * chain of the file allocation table; the rest of the file is not read.
+ */
+final class CompoundFile {
+
+    /**
+     * Checks if some bytes start with the signature of compound files.
+     *
+     * @param data the content of a file
+     * @return true if the signature is found
+     */
+    static boolean hasSignature(@NonNull ByteBuffer data) {
+        return data.limit() >= HEADER_SIZE && data.duplicate().order(ByteOrder.LITTLE_ENDIAN).getLong(0) == SIGNATURE;
+    }
+
+    /**
+     * Reads the content of a stream of the root storage.
+     *
+     * @param data  the content of a file
+     * @param names the accepted names of the stream, in order of preference
+     * @return a non-null array
+     * @throws IOException if the stream is missing or the file is malformed
+     */
+    @NonNull
+    static byte[] readStream(@NonNull ByteBuffer data, @NonNull String... names) throws IOException {
+        return new CompoundFile(data.duplicate().order(ByteOrder.LITTLE_ENDIAN)).readStream(names);
+    }
+
+    private final ByteBuffer data;
+    private final int sectorShift;
+    private final int miniSectorShift;
+    private final long miniStreamCutoff;
+    private final int[] fat;
+
+    private CompoundFile(ByteBuffer data) throws IOException {
+        if (data.limit() == 0) {
+            throw new EOFException();
+        }
+        if (!hasSignature(data)) {
+            throw new IOException("Invalid compound file signature");
+        }
+        this.data = data;
+        this.sectorShift = data.getShort(0x1E) & 0xFFFF;
+        this.miniSectorShift = data.getShort(0x20) & 0xFFFF;
+        this.miniStreamCutoff = data.getInt(0x38) & 0xFFFFFFFFL;
+        if (sectorShift != 9 && sectorShift != 12 || miniSectorShift != 6) {
+            throw new IOException("Invalid compound file sector size");
+        }
+        this.fat = readFat();
+    }
+
+    private byte[] readStream(String[] names) throws IOException {
+        int[] directory = readChain(data.getInt(0x30));
+        int entryCount = directory.length * (getSectorSize() / DIRECTORY_ENTRY_SIZE);
+        int rootEntry = getEntryOffset(directory, 0);
+        if (data.get(rootEntry + 66) != ROOT_STORAGE) {
+            throw new IOException("Missing root entry");
+        }
+        // direct children of the root are stored in a red-black tree of siblings
+        int[] entries = new int[names.length];
+        Arrays.fill(entries, -1);
+        BitSet visited = new BitSet(entryCount);
+        int[] stack = new int[16];
+        int size = 0;
+        stack[size++] = data.getInt(rootEntry + 76);
+        while (size > 0) {
+            int id = stack[--size];
+            if (id < 0 || id >= entryCount) {
+                continue;
+            }
+            if (visited.get(id)) {
+                throw new IOException("Invalid directory tree");
+            }
+            visited.set(id);
+            int offset = getEntryOffset(directory, id);
+            if (data.get(offset + 66) == STREAM) {
+                String name = readEntryName(offset);
+                for (int j = 0; j < names.length; j++) {
+                    if (names[j].equalsIgnoreCase(name) && entries[j] == -1) {
+                        entries[j] = offset;
+                    }
+                }
+            }
+            if (size + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[size++] = data.getInt(offset + 68);
+            stack[size++] = data.getInt(offset + 72);
+        }
+        for (int entry : entries) {
+            if (entry != -1) {
+                return readEntry(entry, rootEntry);
+            }
+        }
+        throw new IOException("Missing stream " + Arrays.toString(names));
+    }
+
+    private int getEntryOffset(int[] directory, int id) throws IOException {
+        int entriesPerSector = getSectorSize() / DIRECTORY_ENTRY_SIZE;
+        return getSectorOffset(directory[id / entriesPerSector]) + (id % entriesPerSector) * DIRECTORY_ENTRY_SIZE;
+    }
+
+    private byte[] readEntry(int entry, int rootEntry) throws IOException {
+        int start = data.getInt(entry + 116);
+        long size = getEntrySize(entry);
+        if (size >= miniStreamCutoff) {
+            return readSectors(start, size);
+        }
+        // small stream -> stored in the mini stream of the root entry
+        byte[] miniStream = readSectors(data.getInt(rootEntry + 116), getEntrySize(rootEntry));
+        byte[] miniFat = readSectors(data.getInt(0x3C), (long) (data.getInt(0x40) & 0x7FFFFFFF) << sectorShift);
+        byte[] result = newArray(size);
+        copyChain(start, toInts(miniFat), miniSectorShift, ByteBuffer.wrap(miniStream), 0, result);
+        return result;
+    }
+
+    private byte[] readSectors(int start, long size) throws IOException {
+        byte[] result = newArray(size);
+        copyChain(start, fat, sectorShift, data, getSectorSize(), result);
+        return result;
+    }
+
+    private static byte[] newArray(long size) throws IOException {
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IOException("Stream too large: " + size);
+        }
+        return new byte[(int) size];
+    }
+
+    private long getEntrySize(int entry) {
+        long result = data.getLong(entry + 120);
+        // version 3 files may have garbage in the high bits
+        return sectorShift == 9 ? result & 0xFFFFFFFFL : result;
+    }
+
+    private String readEntryName(int entry) {
+        int length = Math.min(data.getShort(entry + 64) & 0xFFFF, 64) / 2 - 1;
+        char[] result = new char[Math.max(length, 0)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = data.getChar(entry + i * 2);
+        }
+        return new String(result);
+    }
+
+    private int[] readFat() throws IOException {
+        int count = data.getInt(0x2C);
+        int[] fatSectors = new int[Math.max(count, 0)];
+        int size = 0;
+        for (int i = 0; i < HEADER_DIFAT_SIZE && size < fatSectors.length; i++) {
+            fatSectors[size++] = data.getInt(0x4C + i * 4);
+        }
+        int perSector = getSectorSize() / 4 - 1;
+        int next = data.getInt(0x44);
+        for (int visited = 0; size < fatSectors.length && next >= 0; visited++) {
+            if (visited > fatSectors.length) {
+                throw new IOException("Invalid DIFAT chain");
+            }
+            int offset = getSectorOffset(next);
+            for (int i = 0; i < perSector && size < fatSectors.length; i++) {
+                fatSectors[size++] = data.getInt(offset + i * 4);
+            }
+            next = data.getInt(offset + perSector * 4);
+        }
+        if (size < fatSectors.length) {
+            throw new IOException("Truncated DIFAT");
+        }
+        int perFatSector = getSectorSize() / 4;
+        int[] result = new int[fatSectors.length * perFatSector];
+        for (int i = 0; i < fatSectors.length; i++) {
+            int offset = getSectorOffset(fatSectors[i]);
+            for (int j = 0; j < perFatSector; j++) {
+                result[i * perFatSector + j] = data.getInt(offset + j * 4);
+            }
+        }
+        return result;
+    }
+
+    private int[] readChain(int start) throws IOException {
+        int[] result = new int[16];
+        int size = 0;
+        for (int sector = start; sector >= 0; sector = next(fat, sector)) {
+            if (size == result.length) {
+                result = Arrays.copyOf(result, size * 2);
+            }
+            result[size++] = sector;
+            if (size > fat.length) {
+                throw new IOException("Invalid sector chain");
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static void copyChain(int start, int[] table, int shift, ByteBuffer source, int base, byte[] target) throws IOException {
+        int sectorSize = 1 << shift;
+        int position = 0;
+        int sector = start;
+        for (int visited = 0; position < target.length; visited++) {
+            if (sector < 0 || visited > table.length) {
+                throw new EOFException("Truncated stream");
+            }
+            long offset = base + ((long) sector << shift);
+            int length = Math.min(sectorSize, target.length - position);
+            if (offset + length > source.limit()) {
+                throw new EOFException("Sector out of bounds: " + sector);
+            }
+            ByteBuffer slice = source.duplicate();
+            slice.position((int) offset);
+            slice.get(target, position, length);
+            position += length;
+            sector = next(table, sector);
+        }
+    }
+
+    private static int next(int[] table, int sector) throws IOException {
+        if (sector >= table.length) {
+            throw new IOException("Sector out of bounds: " + sector);
+        }
+        return table[sector];
+    }
+
+    private static int[] toInts(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        int[] result = new int[bytes.length / 4];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = buffer.getInt(i * 4);
+        }
+        return result;
+    }
+
+    private int getSectorSize() {
+        return 1 << sectorShift;
+    }
+
+    private int getSectorOffset(int sector) throws IOException {
+        long result = (long) (sector + 1) << sectorShift;
+        if (sector < 0 || result + getSectorSize() > data.limit()) {
+            throw new EOFException("Sector out of bounds: " + sector);
+        }
+        return (int) result;
+    }
+
+    private static final long SIGNATURE = 0xE11AB1A1E011CFD0L;
+    private static final int HEADER_SIZE = 512;
+    private static final int HEADER_DIFAT_SIZE = 109;
+    private static final int DIRECTORY_ENTRY_SIZE = 128;
+    private static final byte STREAM = 2;
+    private static final byte ROOT_STORAGE = 5;
+}
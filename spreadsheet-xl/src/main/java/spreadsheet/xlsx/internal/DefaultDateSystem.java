@@ -16,13 +16,25 @@
  */
 package spreadsheet.xlsx.internal;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jspecify.annotations.NonNull;
 import spreadsheet.xlsx.XlsxDateSystem;
 
 /**
+ * Date systems of Excel computed with java.time.
+ * <p>
+ * The start of each day is cached per time zone, so that converting a date
+ * is mostly arithmetic. The time of day is added as elapsed seconds since
+ * midnight. These implementations are thread-safe and the calendar argument
+ * of the legacy methods is only used for its time zone.
  *
  * @author Philippe Charles
  */
@@ -35,21 +47,17 @@ public enum DefaultDateSystem implements XlsxDateSystem {
         }
 
         @Override
-        public long getJavaDateInMillis(@NonNull Calendar calendar, double date) {
-            int datePart = (int) Math.floor(date);
-            int timePart = (int) Math.round((date - datePart) * NUMBER_OF_SECONDS_IN_DAY);
-            calendar.clear();
-            calendar.set(1900, 0, 1, 0, 0, 0);
-            calendar.add(Calendar.DAY_OF_MONTH, adjustLastDayOfFebruary1900(datePart) - INDEX_ORIGIN);
-            calendar.add(Calendar.SECOND, timePart);
-            return calendar.getTimeInMillis();
+        long getEpochDay(int datePart) {
+            return EPOCH_DAY_1900 + adjustLastDayOfFebruary1900(datePart) - INDEX_ORIGIN;
         }
 
         @Override
-        public @NonNull Date getJavaDate(@NonNull Calendar calendar, double date) {
-            return new Date(getJavaDateInMillis(calendar, date));
+        long getDatePart(long epochDay) {
+            long result = epochDay - EPOCH_DAY_1900 + INDEX_ORIGIN;
+            return result < 60 ? result : (result + INDEX_ORIGIN);
         }
 
+        // Excel wrongly considers 1900 as a leap year
         private int adjustLastDayOfFebruary1900(int datePart) {
             return datePart < 61 ? datePart : (datePart - INDEX_ORIGIN);
         }
@@ -63,25 +71,109 @@ public enum DefaultDateSystem implements XlsxDateSystem {
         }
 
         @Override
-        public long getJavaDateInMillis(@NonNull Calendar calendar, double date) {
-            int datePart = (int) Math.floor(date);
-            int timePart = (int) Math.round((date - datePart) * NUMBER_OF_SECONDS_IN_DAY);
-            calendar.clear();
-            calendar.set(1904, 0, 1, 0, 0, 0);
-            calendar.add(Calendar.DAY_OF_MONTH, datePart);
-            calendar.add(Calendar.SECOND, timePart);
-            return calendar.getTimeInMillis();
+        long getEpochDay(int datePart) {
+            return EPOCH_DAY_1904 + datePart;
         }
 
         @Override
-        public @NonNull Date getJavaDate(@NonNull Calendar calendar, double date) {
-            return new Date(getJavaDateInMillis(calendar, date));
+        long getDatePart(long epochDay) {
+            return epochDay - EPOCH_DAY_1904;
         }
 
         private static final int INDEX_ORIGIN = 0;
     };
 
+    abstract long getEpochDay(int datePart);
+
+    abstract long getDatePart(long epochDay);
+
+    /**
+     * Convert a java date to an Excel date. This is the inverse of
+     * {@link #getJavaDateInMillis(ZoneId, double)}.
+     *
+     * @param zoneId the time zone of the java date
+     * @param millis a java date in millis
+     * @return an Excel date
+     */
+    public double getExcelDate(@NonNull ZoneId zoneId, long millis) {
+        long epochDay = Instant.ofEpochMilli(millis).atZone(zoneId).toLocalDate().toEpochDay();
+        long timePart = millis - getStartOfDayCache(zoneId).get(epochDay);
+        return getDatePart(epochDay) + timePart / (double) (NUMBER_OF_SECONDS_IN_DAY * 1000L);
+    }
+
+    @Override
+    public long getJavaDateInMillis(@NonNull ZoneId zoneId, double date) {
+        int datePart = (int) Math.floor(date);
+        int timePart = (int) Math.round((date - datePart) * NUMBER_OF_SECONDS_IN_DAY);
+        return getStartOfDayCache(zoneId).get(getEpochDay(datePart)) + timePart * 1000L;
+    }
+
+    @Override
+    public long getJavaDateInMillis(@NonNull Calendar calendar, double date) {
+        return getJavaDateInMillis(calendar.getTimeZone().toZoneId(), date);
+    }
+
+    @Override
+    public @NonNull Date getJavaDate(@NonNull Calendar calendar, double date) {
+        return new Date(getJavaDateInMillis(calendar, date));
+    }
+
     private static final int NUMBER_OF_SECONDS_IN_DAY = 60 * 60 * 24;
+    private static final long EPOCH_DAY_1900 = LocalDate.of(1900, 1, 1).toEpochDay();
+    private static final long EPOCH_DAY_1904 = LocalDate.of(1904, 1, 1).toEpochDay();
 
     public static final XlsxDateSystem.Factory FACTORY = (date1904) -> date1904 ? DefaultDateSystem.X1904 : DefaultDateSystem.X1900;
+
+    private static final ConcurrentMap<ZoneId, StartOfDayCache> START_OF_DAY_CACHES = new ConcurrentHashMap<>();
+
+    // fast path for the last used time zone
+    private static volatile StartOfDayCache LAST_START_OF_DAY_CACHE = getStartOfDayCache(ZoneId.systemDefault());
+
+    private static StartOfDayCache getStartOfDayCache(ZoneId zoneId) {
+        StartOfDayCache result = LAST_START_OF_DAY_CACHE;
+        if (result == null || !result.zoneId.equals(zoneId)) {
+            result = START_OF_DAY_CACHES.computeIfAbsent(zoneId, StartOfDayCache::new);
+            LAST_START_OF_DAY_CACHE = result;
+        }
+        return result;
+    }
+
+    /**
+     * Direct-mapped cache of the start of days in millis. Its entries are
+     * immutable so that racy reads and writes are safe.
+     */
+    private static final class StartOfDayCache {
+
+        private static final int SIZE = 4096;
+
+        private final ZoneId zoneId;
+        private final ZoneOffset fixedOffset;
+        private final StartOfDay[] entries;
+
+        StartOfDayCache(ZoneId zoneId) {
+            this.zoneId = zoneId;
+            this.fixedOffset = zoneId.getRules().isFixedOffset() ? zoneId.getRules().getOffset(Instant.EPOCH) : null;
+            this.entries = fixedOffset == null ? new StartOfDay[SIZE] : null;
+        }
+
+        long get(long epochDay) {
+            if (fixedOffset != null) {
+                return (epochDay * NUMBER_OF_SECONDS_IN_DAY - fixedOffset.getTotalSeconds()) * 1000L;
+            }
+            int slot = (int) epochDay & (SIZE - 1);
+            StartOfDay entry = entries[slot];
+            if (entry == null || entry.epochDay != epochDay) {
+                entry = new StartOfDay(epochDay, LocalDate.ofEpochDay(epochDay).atStartOfDay(zoneId).toInstant().toEpochMilli());
+                entries[slot] = entry;
+            }
+            return entry.millis;
+        }
+    }
+
+    @lombok.AllArgsConstructor
+    private static final class StartOfDay {
+
+        final long epochDay;
+        final long millis;
+    }
 }
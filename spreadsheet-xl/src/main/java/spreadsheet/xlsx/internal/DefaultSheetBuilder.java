@@ -22,7 +22,7 @@ import spreadsheet.xlsx.XlsxSheetBuilder;
 import ec.util.spreadsheet.Sheet;
 import ec.util.spreadsheet.helpers.ArraySheet;
 import ec.util.spreadsheet.helpers.CellRefHelper;
-import java.util.Date;
+import java.io.IOException;
 import java.util.List;
 import lombok.NonNull;
 
@@ -31,20 +31,72 @@ import lombok.NonNull;
  * @author Philippe Charles
  * @since 2.2.0
  */
-public final class DefaultSheetBuilder implements XlsxSheetBuilder {
+public final class DefaultSheetBuilder implements BufferSafeSheetBuilder {
 
     public static DefaultSheetBuilder of(XlsxDateSystem dateSystem, List<String> sharedStrings, boolean[] dateFormats) {
-        return new DefaultSheetBuilder(new XlsxValueFactory(dateSystem, o -> dateFormats[o]), sharedStrings);
+        return new DefaultSheetBuilder(new XlsxValueFactory(dateSystem, o -> dateFormats[o]), sharedStrings, false, SheetMemory.of(SheetMemory.DEFAULT_HEAP_BUDGET), true);
+    }
+
+    /**
+     * Creates a sheet builder that allocates dense sheets in the specified
+     * memory. The memory is not closed by this builder.
+     *
+     * @param dateSystem    a date system
+     * @param sharedStrings a list of shared strings
+     * @param dateFormats   the date flags of cell formats
+     * @param memory        the allocator of dense sheets
+     * @return a non-null sheet builder
+     * @since 2.7.0
+     */
+    public static DefaultSheetBuilder of(XlsxDateSystem dateSystem, List<String> sharedStrings, boolean[] dateFormats, SheetMemory memory) {
+        return new DefaultSheetBuilder(new XlsxValueFactory(dateSystem, o -> dateFormats[o]), sharedStrings, false, memory, false);
+    }
+
+    /**
+     * Creates a factory of sheet builders that store dense sheets bigger than
+     * the heap budget in memory-mapped temporary files. These files are
+     * released when the builder is closed.
+     *
+     * @param heapBudget the maximum number of bytes of a sheet stored on the heap
+     * @return a non-null factory
+     * @see SheetMemory
+     * @since 2.7.0
+     */
+    public static XlsxSheetBuilder.Factory factory(long heapBudget) {
+        if (heapBudget < 0) {
+            throw new IllegalArgumentException("Invalid heap budget: " + heapBudget);
+        }
+        return (dateSystem, sharedStrings, dateFormats) -> new DefaultSheetBuilder(new XlsxValueFactory(dateSystem, o -> dateFormats[o]), sharedStrings, false, SheetMemory.of(heapBudget), true);
+    }
+
+    /**
+     * Creates a sheet builder that stores cells by column.
+     *
+     * @param dateSystem    a date system
+     * @param sharedStrings a list of shared strings
+     * @param dateFormats   the date flags of cell formats
+     * @return a non-null sheet builder
+     * @see ColumnarSheet
+     * @since 2.7.0
+     */
+    public static DefaultSheetBuilder columnar(XlsxDateSystem dateSystem, List<String> sharedStrings, boolean[] dateFormats) {
+        return new DefaultSheetBuilder(new XlsxValueFactory(dateSystem, o -> dateFormats[o]), sharedStrings, true, SheetMemory.of(SheetMemory.DEFAULT_HEAP_BUDGET), true);
     }
 
     private final XlsxValueFactory valueFactory;
     private final List<String> sharedStrings;
+    private final boolean columnar;
+    private final SheetMemory memory;
+    private final boolean ownedMemory;
     private final CellRefHelper refHelper;
     private ExtCallback callback;
 
-    private DefaultSheetBuilder(XlsxValueFactory valueFactory, List<String> sharedStrings) {
+    private DefaultSheetBuilder(XlsxValueFactory valueFactory, List<String> sharedStrings, boolean columnar, SheetMemory memory, boolean ownedMemory) {
         this.valueFactory = valueFactory;
         this.sharedStrings = sharedStrings;
+        this.columnar = columnar;
+        this.memory = memory;
+        this.ownedMemory = ownedMemory;
         this.refHelper = new CellRefHelper();
         this.callback = NoOpCallback.INSTANCE;
     }
@@ -59,16 +111,71 @@ public final class DefaultSheetBuilder implements XlsxSheetBuilder {
         if (refHelper.parseEnd(sheetBounds)) {
             int rowCount = refHelper.getRowIndex() + 1;
             int columnCount = refHelper.getColumnIndex() + 1;
-            if (!CompactSheet.isOverflow(rowCount, columnCount)) {
-                return new CompactCallback(refHelper, CompactSheet.builder(rowCount, columnCount, sheetName, sharedStrings));
+            if (columnar) {
+                return new ColumnarCallback(ColumnarSheet.builder(rowCount, columnCount, sheetName, sharedStrings));
+            }
+            if (isSmall(rowCount, columnCount)) {
+                return new CompactCallback(CompactSheet.builder(rowCount, columnCount, sheetName, sharedStrings, memory));
             }
+            // huge bounds might be mostly empty -> storage chosen from the fill ratio of the rows
+            return new AdaptiveCallback(rowCount, columnCount, sheetName, sharedStrings, memory);
         }
-        return new ArraySheetCallback(sharedStrings, refHelper, ArraySheet.builder().name(sheetName));
+        // unknown bounds -> size computed from cells
+        return new SparseCallback(SparseSheet.builder(sheetName, sharedStrings));
+    }
+
+    /**
+     * Sheets up to this number of cells are always stored densely.
+     */
+    static final int SMALL_SHEET_CELLS = 1024 * 1024;
+
+    /**
+     * Minimum number of rows whose fill ratio decides the storage of huge
+     * sheets.
+     */
+    static final int SAMPLE_ROWS = 256;
+
+    /**
+     * Fill ratio of the read rows above which a sheet is stored densely.
+     */
+    static final double DENSE_FILL_RATIO = 0.5;
+
+    /**
+     * Checks if a sheet is small enough to be stored densely whatever its
+     * content.
+     *
+     * @param rowCount    the number of rows of the sheet bounds
+     * @param columnCount the number of columns of the sheet bounds
+     * @return true if the sheet is small
+     */
+    static boolean isSmall(int rowCount, int columnCount) {
+        return (long) rowCount * columnCount <= SMALL_SHEET_CELLS;
+    }
+
+    /**
+     * Checks if some rows of a huge sheet are filled enough to store the sheet
+     * densely.
+     *
+     * @param rowCount    the number of read rows
+     * @param columnCount the number of columns of the sheet bounds
+     * @param cellCount   the number of cells in the read rows
+     * @return true if the sheet should be stored densely
+     */
+    static boolean isFilled(long rowCount, int columnCount, long cellCount) {
+        return cellCount >= rowCount * columnCount * DENSE_FILL_RATIO;
     }
 
     @Override
     public @org.jspecify.annotations.NonNull XlsxSheetBuilder put(@org.jspecify.annotations.NonNull String ref, @org.jspecify.annotations.NonNull CharSequence value, @org.jspecify.annotations.NonNull XlsxDataType dataType, int styleIndex) {
-        valueFactory.parse(callback.moveTo(ref), value, dataType, styleIndex);
+        if (refHelper.parse(ref)) {
+            put(refHelper.getRowIndex(), refHelper.getColumnIndex(), value, dataType, styleIndex);
+        }
+        return this;
+    }
+
+    @Override
+    public @org.jspecify.annotations.NonNull XlsxSheetBuilder put(int row, int column, @org.jspecify.annotations.NonNull CharSequence value, @org.jspecify.annotations.NonNull XlsxDataType dataType, int styleIndex) {
+        valueFactory.parse(callback.moveTo(row, column), value, dataType, styleIndex);
         return this;
     }
 
@@ -77,15 +184,22 @@ public final class DefaultSheetBuilder implements XlsxSheetBuilder {
         return callback.build();
     }
 
+    /**
+     * Closes this builder; if it owns its sheet memory, the sheets stored in
+     * temporary files are released and can no longer be used.
+     */
     @Override
-    public void close() {
+    public void close() throws IOException {
         callback = NoOpCallback.INSTANCE;
+        if (ownedMemory) {
+            memory.close();
+        }
     }
 
     private interface ExtCallback extends XlsxValueFactory.Callback {
 
         @NonNull
-        ExtCallback moveTo(@NonNull String ref);
+        ExtCallback moveTo(int row, int column);
 
         @NonNull
         Sheet build();
@@ -96,7 +210,7 @@ public final class DefaultSheetBuilder implements XlsxSheetBuilder {
         INSTANCE;
 
         @Override
-        public ExtCallback moveTo(String ref) {
+        public ExtCallback moveTo(int row, int column) {
             return this;
         }
 
@@ -127,16 +241,16 @@ public final class DefaultSheetBuilder implements XlsxSheetBuilder {
     }
 
     @lombok.RequiredArgsConstructor
-    private static final class ArraySheetCallback implements ExtCallback {
+    private static final class SparseCallback implements ExtCallback {
 
-        private final List<String> sharedStrings;
-        private final CellRefHelper refHelper;
-        private final ArraySheet.Builder sheet;
-        private String ref;
+        private final SparseSheet.Builder sheet;
+        private int row;
+        private int column;
 
         @Override
-        public ExtCallback moveTo(String ref) {
-            this.ref = ref;
+        public ExtCallback moveTo(int row, int column) {
+            this.row = row;
+            this.column = column;
             return this;
         }
 
@@ -147,47 +261,127 @@ public final class DefaultSheetBuilder implements XlsxSheetBuilder {
 
         @Override
         public void onNumber(double number) {
-            if (refHelper.parse(ref)) {
-                sheet.value(refHelper.getRowIndex(), refHelper.getColumnIndex(), number);
-            }
+            sheet.putNumber(row, column, number);
         }
 
         @Override
         public void onDate(long date) {
-            if (refHelper.parse(ref)) {
-                sheet.value(refHelper.getRowIndex(), refHelper.getColumnIndex(), new Date(date));
-            }
+            sheet.putDate(row, column, date);
         }
 
         @Override
         public void onSharedString(int index) {
-            if (refHelper.parse(ref)) {
-                sheet.value(refHelper.getRowIndex(), refHelper.getColumnIndex(), sharedStrings.get(index));
-            }
+            sheet.putSharedString(row, column, index);
         }
 
         @Override
         public void onString(CharSequence string) {
-            if (refHelper.parse(ref)) {
-                sheet.value(refHelper.getRowIndex(), refHelper.getColumnIndex(), string.toString());
+            sheet.putString(row, column, string.toString());
+        }
+
+        @Override
+        public void onNull() {
+        }
+    }
+
+    /**
+     * Starts with a sparse storage and checks the fill ratio of the rows read
+     * since the first non-empty one at each new row: it switches to a dense
+     * storage as soon as at least {@link #SAMPLE_ROWS} rows have been read and
+     * their fill ratio exceeds {@link #DENSE_FILL_RATIO}, and stays sparse
+     * otherwise.
+     */
+    private static final class AdaptiveCallback implements ExtCallback {
+
+        private final int rowCount;
+        private final int columnCount;
+        private final String sheetName;
+        private final List<String> sharedStrings;
+        private final SheetMemory memory;
+        private SparseSheet.Builder sparse;
+        private ExtCallback delegate;
+        private int firstRow;
+        private int lastRow;
+
+        AdaptiveCallback(int rowCount, int columnCount, String sheetName, List<String> sharedStrings, SheetMemory memory) {
+            this.rowCount = rowCount;
+            this.columnCount = columnCount;
+            this.sheetName = sheetName;
+            this.sharedStrings = sharedStrings;
+            this.memory = memory;
+            // bounds too big to be trusted -> size computed from cells while sparse
+            this.sparse = CompactSheet.isOverflow(rowCount, columnCount)
+                    ? SparseSheet.builder(sheetName, sharedStrings)
+                    : SparseSheet.builder(rowCount, columnCount, sheetName, sharedStrings);
+            this.delegate = new SparseCallback(sparse);
+            this.firstRow = -1;
+            this.lastRow = -1;
+        }
+
+        @Override
+        public ExtCallback moveTo(int row, int column) {
+            if (sparse != null && row != lastRow) {
+                onNewRow(row);
+            }
+            return delegate.moveTo(row, column);
+        }
+
+        private void onNewRow(int row) {
+            if (firstRow == -1) {
+                firstRow = row;
             }
+            lastRow = row;
+            long readRows = (long) row - firstRow;
+            if (readRows >= SAMPLE_ROWS && isFilled(readRows, columnCount, sparse.size())) {
+                CompactSheet.Builder dense = CompactSheet.builder(rowCount, columnCount, sheetName, sharedStrings, memory);
+                sparse.copyTo(dense);
+                delegate = new CompactCallback(dense);
+                sparse = null;
+            }
+        }
+
+        @Override
+        public Sheet build() {
+            return delegate.build();
+        }
+
+        @Override
+        public void onNumber(double number) {
+            delegate.onNumber(number);
+        }
+
+        @Override
+        public void onDate(long date) {
+            delegate.onDate(date);
+        }
+
+        @Override
+        public void onSharedString(int index) {
+            delegate.onSharedString(index);
+        }
+
+        @Override
+        public void onString(CharSequence string) {
+            delegate.onString(string);
         }
 
         @Override
         public void onNull() {
+            delegate.onNull();
         }
     }
 
     @lombok.RequiredArgsConstructor
     private static final class CompactCallback implements ExtCallback {
 
-        private final CellRefHelper refHelper;
         private final CompactSheet.Builder sheet;
-        private String ref;
+        private int row;
+        private int column;
 
         @Override
-        public ExtCallback moveTo(String ref) {
-            this.ref = ref;
+        public ExtCallback moveTo(int row, int column) {
+            this.row = row;
+            this.column = column;
             return this;
         }
 
@@ -198,30 +392,66 @@ public final class DefaultSheetBuilder implements XlsxSheetBuilder {
 
         @Override
         public void onNumber(double number) {
-            if (refHelper.parse(ref)) {
-                sheet.putNumber(refHelper.getRowIndex(), refHelper.getColumnIndex(), number);
-            }
+            sheet.putNumber(row, column, number);
         }
 
         @Override
         public void onDate(long date) {
-            if (refHelper.parse(ref)) {
-                sheet.putDate(refHelper.getRowIndex(), refHelper.getColumnIndex(), date);
-            }
+            sheet.putDate(row, column, date);
         }
 
         @Override
         public void onSharedString(int index) {
-            if (refHelper.parse(ref)) {
-                sheet.putSharedString(refHelper.getRowIndex(), refHelper.getColumnIndex(), index);
-            }
+            sheet.putSharedString(row, column, index);
         }
 
         @Override
         public void onString(CharSequence string) {
-            if (refHelper.parse(ref)) {
-                sheet.putString(refHelper.getRowIndex(), refHelper.getColumnIndex(), string.toString());
-            }
+            sheet.putString(row, column, string.toString());
+        }
+
+        @Override
+        public void onNull() {
+        }
+    }
+
+    @lombok.RequiredArgsConstructor
+    private static final class ColumnarCallback implements ExtCallback {
+
+        private final ColumnarSheet.Builder sheet;
+        private int row;
+        private int column;
+
+        @Override
+        public ExtCallback moveTo(int row, int column) {
+            this.row = row;
+            this.column = column;
+            return this;
+        }
+
+        @Override
+        public Sheet build() {
+            return sheet.build();
+        }
+
+        @Override
+        public void onNumber(double number) {
+            sheet.putNumber(row, column, number);
+        }
+
+        @Override
+        public void onDate(long date) {
+            sheet.putDate(row, column, date);
+        }
+
+        @Override
+        public void onSharedString(int index) {
+            sheet.putSharedString(row, column, index);
+        }
+
+        @Override
+        public void onString(CharSequence string) {
+            sheet.putString(row, column, string.toString());
         }
 
         @Override
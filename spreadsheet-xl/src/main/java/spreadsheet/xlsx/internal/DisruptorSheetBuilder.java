@@ -16,14 +16,18 @@
  */
 package spreadsheet.xlsx.internal;
 
+import com.lmax.disruptor.BlockingWaitStrategy;
 import com.lmax.disruptor.RingBuffer;
-import com.lmax.disruptor.YieldingWaitStrategy;
 import com.lmax.disruptor.dsl.Disruptor;
 import com.lmax.disruptor.dsl.ProducerType;
 import com.lmax.disruptor.util.DaemonThreadFactory;
 import ec.util.spreadsheet.Sheet;
+import ec.util.spreadsheet.helpers.CellRefHelper;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 import org.jspecify.annotations.NonNull;
 import spreadsheet.xlsx.XlsxDataType;
@@ -31,29 +35,41 @@ import spreadsheet.xlsx.XlsxDateSystem;
 import spreadsheet.xlsx.XlsxSheetBuilder;
 
 /**
+ * Sheet builder that decodes cells on a second thread through a ring buffer.
+ * <p>
+ * Both threads park when there is nothing to do: the handler uses a blocking
+ * wait strategy and the parsing thread waits for the completion of a sheet by
+ * publishing a marker event and awaiting its handling.
  *
  * @author Philippe Charles
  */
-public final class DisruptorSheetBuilder implements XlsxSheetBuilder {
+public final class DisruptorSheetBuilder implements BufferSafeSheetBuilder {
 
     public static DisruptorSheetBuilder of(XlsxDateSystem dateSystem, List<String> sharedStrings, boolean[] dateFormats) {
         return new DisruptorSheetBuilder(DefaultSheetBuilder.of(dateSystem, sharedStrings, dateFormats));
     }
 
     private final DefaultSheetBuilder delegate;
+    private final CellRefHelper refHelper;
     private final Disruptor<CustomEvent> disruptor;
     private final RingBuffer<CustomEvent> ringBuffer;
 
     private DisruptorSheetBuilder(DefaultSheetBuilder delegate) {
         this.delegate = delegate;
-        this.disruptor = new Disruptor<>(CustomEvent::new, 1024, DaemonThreadFactory.INSTANCE, ProducerType.SINGLE, new YieldingWaitStrategy());
+        this.refHelper = new CellRefHelper();
+        this.disruptor = new Disruptor<>(CustomEvent::new, 1024, DaemonThreadFactory.INSTANCE, ProducerType.SINGLE, new BlockingWaitStrategy());
         disruptor.handleEventsWith(this::handleEvent);
         this.ringBuffer = disruptor.start();
-
     }
 
     private void handleEvent(CustomEvent event, long sequence, boolean endOfBatch) {
-        delegate.put(event.ref, event.value, XlsxValueFactory.getDataTypeByOrdinal(event.dataType), event.styleIndex);
+        if (event.completion != null) {
+            // all previous events have been handled
+            event.completion.countDown();
+            event.completion = null;
+            return;
+        }
+        delegate.put(event.row, event.column, event.value, XlsxValueFactory.getDataTypeByOrdinal(event.dataType), event.styleIndex);
     }
 
     @Override
@@ -65,13 +81,24 @@ public final class DisruptorSheetBuilder implements XlsxSheetBuilder {
 
     @Override
     public @NonNull XlsxSheetBuilder put(@NonNull String ref, @NonNull CharSequence value, @NonNull XlsxDataType dataType, int styleIndex) {
+        if (refHelper.parse(ref)) {
+            put(refHelper.getRowIndex(), refHelper.getColumnIndex(), value, dataType, styleIndex);
+        }
+        return this;
+    }
+
+    @Override
+    public @NonNull XlsxSheetBuilder put(int row, int column, @NonNull CharSequence value, @NonNull XlsxDataType dataType, int styleIndex) {
         long sequence = ringBuffer.next();
         try {
             CustomEvent event = ringBuffer.get(sequence);
-            event.ref = ref;
-            event.value = value;
+            event.row = row;
+            event.column = column;
+            // value may be a reused buffer -> must be copied
+            event.value = value.toString();
             event.dataType = dataType.ordinal();
             event.styleIndex = styleIndex;
+            event.completion = null;
         } finally {
             ringBuffer.publish(sequence);
         }
@@ -91,15 +118,28 @@ public final class DisruptorSheetBuilder implements XlsxSheetBuilder {
     }
 
     private void waitForCompletion() {
-        while (ringBuffer.getCursor() - ringBuffer.getMinimumGatingSequence() != 0) {
+        CountDownLatch completion = new CountDownLatch(1);
+        long sequence = ringBuffer.next();
+        try {
+            ringBuffer.get(sequence).completion = completion;
+        } finally {
+            ringBuffer.publish(sequence);
+        }
+        try {
+            completion.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted while waiting for the sheet cells"));
         }
     }
 
     private static final class CustomEvent {
 
-        private String ref;
+        private int row;
+        private int column;
         private CharSequence value;
         private int dataType;
         private int styleIndex;
+        private CountDownLatch completion;
     }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Reading of whole entries in memory, since {@code InputStream#readAllBytes}
+ * is not available in Java 8.
+ *
+ * @since 2.7.0
+ */
+@lombok.experimental.UtilityClass
+public class IOHelper {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Reads all the bytes of a stream.
+     *
+     * @param stream the stream to read
+     * @return a non-null array
+     * @throws IOException if the stream cannot be read
+     */
+    public byte[] readAllBytes(InputStream stream) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        copy(stream, result);
+        return result.toByteArray();
+    }
+
+    /**
+     * Reads all the bytes of a stream whose size is known, in a single array
+     * when the size is right.
+     *
+     * @param stream the stream to read
+     * @param size   the expected number of bytes or -1 if unknown
+     * @return a non-null array
+     * @throws IOException if the stream cannot be read
+     */
+    byte[] readAllBytes(InputStream stream, long size) throws IOException {
+        if (size < 0 || size > Integer.MAX_VALUE - 8) {
+            return readAllBytes(stream);
+        }
+        byte[] result = new byte[(int) size];
+        int count = 0;
+        while (count < result.length) {
+            int n = stream.read(result, count, result.length - count);
+            if (n == -1) {
+                return Arrays.copyOf(result, count);
+            }
+            count += n;
+        }
+        int next = stream.read();
+        if (next == -1) {
+            return result;
+        }
+        // wrong size -> the rest is appended
+        ByteArrayOutputStream rest = new ByteArrayOutputStream(result.length * 2);
+        rest.write(result);
+        rest.write(next);
+        copy(stream, rest);
+        return rest.toByteArray();
+    }
+
+    private void copy(InputStream stream, ByteArrayOutputStream target) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int n;
+        while ((n = stream.read(buffer)) != -1) {
+            target.write(buffer, 0, n);
+        }
+    }
+}
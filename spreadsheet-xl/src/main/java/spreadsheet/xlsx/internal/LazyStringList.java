@@ -0,0 +1,488 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import lombok.NonNull;
+import nbbrd.io.function.IOSupplier;
+import spreadsheet.xlsx.XlsxEntryParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * List of shared strings that are parsed on demand.
+ * <p>
+ * The shared strings entry is kept as raw bytes and only scanned for the
+ * boundaries of its string items. An item is decoded when its index is
+ * dereferenced for the first time; a small cache keeps the most recently
+ * decoded strings.
+ * <p>
+ * Items are decoded like {@code SaxEntryParser} does, by concatenating the text
+ * of their {@code <t>} elements and decoding their {@code _xHHHH_} escapes. Decoding doesn't lock so the list can be
+ * shared by concurrent readers.
+ */
+final class LazyStringList extends AbstractList<String> implements RandomAccess {
+
+    /**
+     * Parses the shared strings lazily if the entry is encoded in UTF-8 and
+     * uses unprefixed elements, eagerly otherwise.
+     *
+     * @param byteSource    the shared strings entry
+     * @param parserFactory a factory of entry parsers
+     * @return a non-null list
+     * @throws IOException if the entry cannot be read or is malformed
+     */
+    @NonNull
+    static List<String> parse(@NonNull IOSupplier<? extends InputStream> byteSource, @NonNull XlsxEntryParser.Factory parserFactory) throws IOException {
+        byte[] content;
+        try (InputStream stream = byteSource.getWithIO()) {
+            content = IOHelper.readAllBytes(stream);
+        }
+        if (content.length == 0) {
+            throw new EOFException();
+        }
+        if (isUtf8(content)) {
+            int[] bounds = scanItems(content);
+            if (hasItemCount(content, bounds.length / 2)) {
+                return new LazyStringList(content, bounds);
+            }
+        }
+        try (XlsxEntryParser parser = parserFactory.create()) {
+            return XlsxBook.parseSharedStrings(() -> new ByteArrayInputStream(content), parser);
+        }
+    }
+
+    private static final int CACHE_SIZE = 256;
+
+    private final byte[] content;
+    private final int[] bounds;
+    private final CachedItem[] cache;
+
+    private LazyStringList(byte[] content, int[] bounds) {
+        this.content = content;
+        this.bounds = bounds;
+        this.cache = new CachedItem[CACHE_SIZE];
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        int slot = index & (CACHE_SIZE - 1);
+        CachedItem item = cache[slot];
+        if (item != null && item.index == index) {
+            return item.value;
+        }
+        String result = decode(index);
+        cache[slot] = new CachedItem(index, result);
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return bounds.length / 2;
+    }
+
+    private String decode(int index) {
+        try {
+            return new ItemDecoder(content, bounds[index * 2], bounds[index * 2 + 1]).decode();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(new IOException("Invalid shared string at index " + index, ex));
+        }
+    }
+
+    // immutable so that it can be published through the cache without locking
+    private static final class CachedItem {
+
+        private final int index;
+        private final String value;
+
+        private CachedItem(int index, String value) {
+            this.index = index;
+            this.value = value;
+        }
+    }
+
+    private static boolean isUtf8(byte[] content) throws IOException {
+        ByteEntryParser.SheetScanner scanner = new ByteEntryParser.SheetScanner();
+        try {
+            return scanner.open(new ByteArrayInputStream(content));
+        } finally {
+            scanner.detach();
+        }
+    }
+
+    private static final byte[] ITEM_START_TAG = "<si".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ITEM_END_TAG = "</si".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Finds the start and end offsets of all string items.
+     */
+    private static int[] scanItems(byte[] content) throws IOException {
+        int[] result = new int[64];
+        int size = 0;
+        int i = 0;
+        while ((i = indexOf(content, ITEM_START_TAG, i)) != -1) {
+            int next = i + ITEM_START_TAG.length;
+            if (next >= content.length) {
+                throw new EOFException("Unexpected end of shared strings");
+            }
+            switch (content[next]) {
+                case '>':
+                case '/':
+                case ' ':
+                case '\t':
+                case '\r':
+                case '\n':
+                    break;
+                default:
+                    // other element such as <sst>
+                    i = next;
+                    continue;
+            }
+            int end = indexOf(content, (byte) '>', next);
+            if (end == -1) {
+                throw new EOFException("Unexpected end of shared strings");
+            }
+            if (content[end - 1] != '/') {
+                end = indexOf(content, ITEM_END_TAG, end);
+                end = end != -1 ? indexOf(content, (byte) '>', end) : -1;
+                if (end == -1) {
+                    throw new EOFException("Unexpected end of shared strings");
+                }
+            }
+            if (size + 2 > result.length) {
+                result = Arrays.copyOf(result, result.length * 2);
+            }
+            result[size++] = i;
+            result[size++] = end + 1;
+            i = end + 1;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static final Pattern COUNT_ATTRIBUTE = Pattern.compile("\\s(uniqueCount|count)\\s*=\\s*(['\"])\\s*(\\d+)\\s*\\2");
+
+    /**
+     * Checks that the root element is an unprefixed {@code <sst>} whose item
+     * count, if any, matches the number of scanned items. Prefixed elements
+     * such as {@code <x:si>} are not scanned and therefore fail this check.
+     */
+    private static boolean hasItemCount(byte[] content, int itemCount) {
+        int start = indexOfRoot(content);
+        if (start == -1 || !hasName(content, start + 1, ROOT_TAG)) {
+            return false;
+        }
+        int end = indexOfEndOfTag(content, start);
+        if (end == -1) {
+            return false;
+        }
+        String count = null;
+        Matcher matcher = COUNT_ATTRIBUTE.matcher(new String(content, start, end - start, StandardCharsets.ISO_8859_1));
+        while (matcher.find()) {
+            if (count == null || matcher.group(1).equals("uniqueCount")) {
+                count = matcher.group(3);
+            }
+        }
+        return count == null || count.equals(Integer.toString(itemCount));
+    }
+
+    private static int indexOfRoot(byte[] content) {
+        int i = 0;
+        while ((i = indexOf(content, (byte) '<', i)) != -1 && i + 1 < content.length) {
+            switch (content[i + 1]) {
+                case '?':
+                    i = indexOf(content, PI_END, i);
+                    break;
+                case '!':
+                    i = indexOf(content, COMMENT_START, i) == i
+                            ? indexOf(content, COMMENT_END, i)
+                            : indexOfEndOfTag(content, i);
+                    break;
+                default:
+                    return i;
+            }
+            if (i == -1) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfEndOfTag(byte[] content, int from) {
+        int quote = 0;
+        for (int i = from; i < content.length; i++) {
+            byte c = content[i];
+            if (c == '>' && quote == 0) {
+                return i;
+            }
+            if (c == '"' || c == '\'') {
+                quote = quote == 0 ? c : quote == c ? 0 : quote;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean hasName(byte[] content, int from, byte[] name) {
+        int end = from + name.length;
+        if (end >= content.length) {
+            return false;
+        }
+        for (int i = 0; i < name.length; i++) {
+            if (content[from + i] != name[i]) {
+                return false;
+            }
+        }
+        return isEndOfName(content[end]);
+    }
+
+    private static boolean isEndOfName(byte c) {
+        return c == '>' || c == '/' || c == ' ' || c == '\t' || c == '\r' || c == '\n';
+    }
+
+    private static final byte[] ROOT_TAG = ascii("sst");
+    private static final byte[] TEXT_TAG = ascii("t");
+    private static final byte[] PI_START = ascii("<?");
+    private static final byte[] PI_END = ascii("?>");
+    private static final byte[] COMMENT_START = ascii("<!--");
+    private static final byte[] COMMENT_END = ascii("-->");
+    private static final byte[] CDATA_START = ascii("<![CDATA[");
+    private static final byte[] CDATA_END = ascii("]]>");
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Decodes the text of a single string item; mimics
+     * {@code SaxEntryParser.SharedStringsSaxEventHandler}.
+     */
+    private static final class ItemDecoder {
+
+        private final byte[] content;
+        private final int end;
+        private final StringBuilder text = new StringBuilder();
+        private int position;
+        private boolean enabled;
+
+        private ItemDecoder(byte[] content, int start, int end) {
+            this.content = content;
+            this.position = start;
+            this.end = end;
+        }
+
+        String decode() throws IOException {
+            while (position < end) {
+                int c = read();
+                switch (c) {
+                    case '<':
+                        position--;
+                        readMarkup();
+                        break;
+                    case '&':
+                        if (enabled) {
+                            readEntity();
+                        }
+                        break;
+                    case '\r':
+                        if (enabled) {
+                            skipIfNext('\n');
+                            text.append('\n');
+                        }
+                        break;
+                    default:
+                        if (enabled) {
+                            readChar(c);
+                        }
+                        break;
+                }
+            }
+            return SaxEntryParser.decodeEscapes(text.toString());
+        }
+
+        private void readMarkup() throws IOException {
+            if (startsWith(CDATA_START)) {
+                position += CDATA_START.length;
+                int stop = indexOfOrFail(CDATA_END);
+                while (position < stop) {
+                    int c = read();
+                    if (!enabled) {
+                        continue;
+                    }
+                    if (c == '\r') {
+                        skipIfNext('\n');
+                        text.append('\n');
+                    } else {
+                        readChar(c);
+                    }
+                }
+                position = stop + CDATA_END.length;
+            } else if (startsWith(COMMENT_START)) {
+                position = indexOfOrFail(COMMENT_END) + COMMENT_END.length;
+            } else if (startsWith(PI_START)) {
+                position = indexOfOrFail(PI_END) + PI_END.length;
+            } else {
+                int stop = indexOfEndOfTag(content, position);
+                if (stop == -1 || stop >= end) {
+                    throw new EOFException("Unexpected end of shared string");
+                }
+                if (content[position + 1] == '/') {
+                    if (hasName(content, position + 2, TEXT_TAG)) {
+                        enabled = false;
+                    }
+                } else if (hasName(content, position + 1, TEXT_TAG)) {
+                    enabled = content[stop - 1] != '/';
+                }
+                position = stop + 1;
+            }
+        }
+
+        private void readChar(int c) throws IOException {
+            if (c < 0x80) {
+                text.append((char) c);
+            } else if (c < 0xC0) {
+                throw new IOException("Invalid UTF-8 sequence");
+            } else if (c < 0xE0) {
+                text.append((char) (((c & 0x1F) << 6) | readContinuation()));
+            } else if (c < 0xF0) {
+                text.append((char) (((c & 0x0F) << 12) | (readContinuation() << 6) | readContinuation()));
+            } else {
+                text.appendCodePoint(((c & 0x07) << 18) | (readContinuation() << 12) | (readContinuation() << 6) | readContinuation());
+            }
+        }
+
+        private int readContinuation() throws IOException {
+            int c = read();
+            if ((c & 0xC0) != 0x80) {
+                throw new IOException("Invalid UTF-8 sequence");
+            }
+            return c & 0x3F;
+        }
+
+        private void readEntity() throws IOException {
+            int stop = indexOf(content, (byte) ';', position);
+            if (stop == -1 || stop >= end || stop - position > MAX_ENTITY_LENGTH) {
+                throw new IOException("Invalid entity reference");
+            }
+            String name = new String(content, position, stop - position, StandardCharsets.ISO_8859_1);
+            position = stop + 1;
+            switch (name) {
+                case "amp":
+                    text.append('&');
+                    return;
+                case "lt":
+                    text.append('<');
+                    return;
+                case "gt":
+                    text.append('>');
+                    return;
+                case "quot":
+                    text.append('"');
+                    return;
+                case "apos":
+                    text.append('\'');
+                    return;
+            }
+            int codePoint = parseCharacterReference(name);
+            if (!Character.isValidCodePoint(codePoint)) {
+                throw new IOException("Invalid character reference");
+            }
+            text.appendCodePoint(codePoint);
+        }
+
+        private void skipIfNext(int expected) {
+            if (position < end && content[position] == expected) {
+                position++;
+            }
+        }
+
+        private boolean startsWith(byte[] prefix) {
+            if (position + prefix.length > end) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length; i++) {
+                if (content[position + i] != prefix[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int indexOfOrFail(byte[] sequence) throws IOException {
+            int result = indexOf(content, sequence, position);
+            if (result == -1 || result + sequence.length > end) {
+                throw new EOFException("Unexpected end of shared string");
+            }
+            return result;
+        }
+
+        private int read() throws IOException {
+            if (position >= end) {
+                throw new EOFException("Unexpected end of shared string");
+            }
+            return content[position++] & 0xFF;
+        }
+
+        private static final int MAX_ENTITY_LENGTH = 10;
+
+        private static int parseCharacterReference(String name) {
+            if (name.length() < 2 || name.charAt(0) != '#' || name.indexOf('-') != -1 || name.indexOf('+') != -1) {
+                return -1;
+            }
+            try {
+                return name.charAt(1) == 'x'
+                        ? Integer.parseInt(name.substring(2), 16)
+                        : Integer.parseInt(name.substring(1), 10);
+            } catch (NumberFormatException ex) {
+                return -1;
+            }
+        }
+    }
+
+    private static int indexOf(byte[] content, byte[] sequence, int from) {
+        outer:
+        for (int i = from; i <= content.length - sequence.length; i++) {
+            for (int j = 0; j < sequence.length; j++) {
+                if (content[i + j] != sequence[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static int indexOf(byte[] content, byte value, int from) {
+        for (int i = from; i < content.length; i++) {
+            if (content[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import lombok.NonNull;
+import nbbrd.io.Resource;
+import org.jspecify.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Memory-mapped ZIP archive.
+ * <p>
+ * The central directory is read once; each entry is then a slice of the
+ * mapping that can be inflated independently, so that several entries can be
+ * read concurrently without any lock. ZIP64 archives and archives bigger than
+ * 2<sup>31</sup> bytes are not supported.
+ * <p>
+ * The mapping is released by the garbage collector rather than on close since
+ * unmapping it while a stream is still in use would crash the JVM.
+ */
+final class MappedZip implements Resource.Loader<String> {
+
+    /**
+     * Opens a ZIP archive.
+     *
+     * @param file   the archive
+     * @param filter the entries to index
+     * @return a loader, null if the archive is not supported
+     * @throws ZipException if the archive is malformed
+     * @throws IOException  if the file cannot be read
+     */
+    @Nullable
+    static MappedZip of(@NonNull File file, @NonNull Predicate<? super String> filter) throws IOException {
+        ByteBuffer data;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                return null;
+            }
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        Map<String, Entry> entries = readCentralDirectory(data, filter);
+        return entries != null ? new MappedZip(data, entries) : null;
+    }
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int END_SIZE = 22;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    private static final int UTF8_FLAG = 1 << 11;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+
+    private final ByteBuffer data;
+    private final Map<String, Entry> entries;
+
+    private MappedZip(ByteBuffer data, Map<String, Entry> entries) {
+        this.data = data;
+        this.entries = entries;
+    }
+
+    @Override
+    public InputStream load(String key) throws IOException {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            throw new IOException("Missing entry '" + key + "'");
+        }
+        ByteBuffer content = slice(entry.getDataOffset(data), entry.compressedSize);
+        switch (entry.method) {
+            case STORED:
+                return new ByteBufferInputStream(content);
+            case DEFLATED:
+                return new EntryInflaterInputStream(new ByteBufferInputStream(content));
+            default:
+                throw new ZipException("Unsupported compression method " + entry.method + " of entry '" + key + "'");
+        }
+    }
+
+    /**
+     * Returns the uncompressed size of an entry.
+     *
+     * @param key the name of the entry
+     * @return a number of bytes or -1 if the entry is missing
+     */
+    long getSize(String key) {
+        Entry entry = entries.get(key);
+        return entry != null ? entry.size : -1;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private ByteBuffer slice(int offset, int length) throws ZipException {
+        if (offset < 0 || length < 0 || offset > data.limit() - length) {
+            throw new ZipException("Invalid entry bounds");
+        }
+        ByteBuffer result = data.duplicate();
+        result.position(offset).limit(offset + length);
+        return result.slice();
+    }
+
+    private static Map<String, Entry> readCentralDirectory(ByteBuffer data, Predicate<? super String> filter) throws ZipException {
+        int end = findEnd(data);
+        int entryCount = Short.toUnsignedInt(data.getShort(end + 10));
+        long directorySize = Integer.toUnsignedLong(data.getInt(end + 12));
+        long directoryOffset = Integer.toUnsignedLong(data.getInt(end + 16));
+        if (entryCount == 0xFFFF || directorySize == 0xFFFFFFFFL || directoryOffset == 0xFFFFFFFFL) {
+            // ZIP64
+            return null;
+        }
+        if (directoryOffset + directorySize > end) {
+            throw new ZipException("Invalid central directory");
+        }
+
+        Map<String, Entry> result = new HashMap<>();
+        int position = (int) directoryOffset;
+        for (int i = 0; i < entryCount; i++) {
+            if (position + CENTRAL_HEADER_SIZE > end || data.getInt(position) != CENTRAL_HEADER_SIGNATURE) {
+                throw new ZipException("Invalid central directory header");
+            }
+            int flags = Short.toUnsignedInt(data.getShort(position + 8));
+            int method = Short.toUnsignedInt(data.getShort(position + 10));
+            long compressedSize = Integer.toUnsignedLong(data.getInt(position + 20));
+            long size = Integer.toUnsignedLong(data.getInt(position + 24));
+            int nameLength = Short.toUnsignedInt(data.getShort(position + 28));
+            int extraLength = Short.toUnsignedInt(data.getShort(position + 30));
+            int commentLength = Short.toUnsignedInt(data.getShort(position + 32));
+            long localHeaderOffset = Integer.toUnsignedLong(data.getInt(position + 42));
+            if (position + CENTRAL_HEADER_SIZE + nameLength > end) {
+                throw new ZipException("Invalid central directory header");
+            }
+            String name = readName(data, position + CENTRAL_HEADER_SIZE, nameLength, (flags & UTF8_FLAG) != 0);
+            if (filter.test(name)) {
+                if (compressedSize > Integer.MAX_VALUE || localHeaderOffset > end) {
+                    throw new ZipException("Invalid entry '" + name + "'");
+                }
+                result.put(name, new Entry(method, (int) compressedSize, size, (int) localHeaderOffset));
+            }
+            position += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+        }
+        return result;
+    }
+
+    private static int findEnd(ByteBuffer data) throws ZipException {
+        int last = data.limit() - END_SIZE;
+        int first = Math.max(0, last - MAX_COMMENT_SIZE);
+        for (int i = last; i >= first; i--) {
+            if (data.getInt(i) == END_SIGNATURE) {
+                return i;
+            }
+        }
+        throw new ZipException("End of central directory not found");
+    }
+
+    private static String readName(ByteBuffer data, int offset, int length, boolean utf8) {
+        byte[] result = new byte[length];
+        ByteBuffer view = data.duplicate();
+        view.position(offset);
+        view.get(result);
+        return new String(result, utf8 ? StandardCharsets.UTF_8 : StandardCharsets.ISO_8859_1);
+    }
+
+    @lombok.AllArgsConstructor
+    private static final class Entry {
+
+        final int method;
+        final int compressedSize;
+        final long size;
+        final int localHeaderOffset;
+
+        int getDataOffset(ByteBuffer data) throws ZipException {
+            if (localHeaderOffset > data.limit() - LOCAL_HEADER_SIZE || data.getInt(localHeaderOffset) != LOCAL_HEADER_SIGNATURE) {
+                throw new ZipException("Invalid local header");
+            }
+            int nameLength = Short.toUnsignedInt(data.getShort(localHeaderOffset + 26));
+            int extraLength = Short.toUnsignedInt(data.getShort(localHeaderOffset + 28));
+            return localHeaderOffset + LOCAL_HEADER_SIZE + nameLength + extraLength;
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int result = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + result);
+            return result;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    /**
+     * Raw inflater stream that releases its inflater on close.
+     */
+    private static final class EntryInflaterInputStream extends InflaterInputStream {
+
+        private static final int BUFFER_SIZE = 8192;
+
+        private boolean eof = false;
+        private boolean closed = false;
+
+        EntryInflaterInputStream(InputStream compressed) {
+            super(compressed, new Inflater(true), BUFFER_SIZE);
+        }
+
+        @Override
+        protected void fill() throws IOException {
+            if (eof) {
+                throw new EOFException("Unexpected end of ZIP entry");
+            }
+            len = in.read(buf, 0, buf.length);
+            if (len == -1) {
+                // raw inflation may need a dummy byte to finish
+                buf[0] = 0;
+                len = 1;
+                eof = true;
+            }
+            inf.setInput(buf, 0, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                inf.end();
+                super.close();
+            }
+        }
+    }
+}
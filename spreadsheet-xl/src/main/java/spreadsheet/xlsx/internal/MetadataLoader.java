@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import lombok.NonNull;
+import nbbrd.io.function.IOSupplier;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the metadata parts of a book and records their loading times.
+ * <p>
+ * In sequential mode, a part is loaded on the calling thread the first time
+ * it is requested. In concurrent mode, each part is submitted to a small pool
+ * of daemon threads as soon as it is declared and requesting it waits for its
+ * completion; this requires a package that can be read concurrently.
+ */
+final class MetadataLoader implements Closeable {
+
+    static final String WORKBOOK = "workbook";
+    static final String SHARED_STRINGS = "sharedStrings";
+    static final String STYLES = "styles";
+    static final String RELATIONSHIPS = "relationships";
+
+    private static final int MAX_THREADS = 3;
+    private static final long KEEP_ALIVE_SECONDS = 1;
+
+    @NonNull
+    static MetadataLoader sequential() {
+        return new MetadataLoader(null);
+    }
+
+    @NonNull
+    static MetadataLoader concurrent() {
+        ThreadPoolExecutor result = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS,
+                KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), MetadataLoader::newDaemonThread);
+        result.allowCoreThreadTimeOut(true);
+        return new MetadataLoader(result);
+    }
+
+    private final ExecutorService executor;
+    private final Map<String, Duration> timings = new LinkedHashMap<>();
+    private final List<Future<?>> pendingParts = new ArrayList<>();
+
+    private MetadataLoader(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    boolean isConcurrent() {
+        return executor != null;
+    }
+
+    /**
+     * Declares a part whose value is requested at most once.
+     *
+     * @param name   the name of the part
+     * @param loader the loader of the part
+     * @return a supplier of the part
+     */
+    @NonNull
+    <T> IOSupplier<T> part(@NonNull String name, @NonNull IOSupplier<T> loader) {
+        if (executor == null) {
+            return () -> load(name, loader);
+        }
+        Future<T> future = executor.submit(() -> load(name, loader));
+        synchronized (this) {
+            pendingParts.add(future);
+        }
+        return () -> {
+            synchronized (this) {
+                pendingParts.remove(future);
+            }
+            return getPart(future);
+        };
+    }
+
+    /**
+     * Loads a part on the calling thread.
+     */
+    <T> T load(@NonNull String name, @NonNull IOSupplier<T> loader) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return loader.getWithIO();
+        } finally {
+            Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            synchronized (this) {
+                timings.put(name, duration);
+            }
+        }
+    }
+
+    /**
+     * Gets the loading times of the parts loaded so far.
+     */
+    @NonNull
+    synchronized Map<String, Duration> getTimings() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(timings));
+    }
+
+    /**
+     * Waits for the parts being loaded and closes the ones that have not been
+     * requested.
+     */
+    @Override
+    public void close() throws IOException {
+        if (executor == null) {
+            return;
+        }
+        List<Future<?>> unused;
+        synchronized (this) {
+            unused = new ArrayList<>(pendingParts);
+            pendingParts.clear();
+        }
+        executor.shutdown();
+        unused.forEach(future -> future.cancel(false));
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    break;
+                }
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        List<Closeable> closeables = new ArrayList<>();
+        for (Future<?> future : unused) {
+            if (future.isDone() && !future.isCancelled()) {
+                try {
+                    Object value = future.get();
+                    if (value instanceof Closeable) {
+                        closeables.add((Closeable) value);
+                    }
+                } catch (ExecutionException | InterruptedException ex) {
+                    // failed parts have nothing to close
+                }
+            }
+        }
+        XlsxBook.closeAll(null, closeables.toArray(new Closeable[0]));
+    }
+
+    private static <T> T getPart(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while loading metadata");
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static Thread newDaemonThread(Runnable task) {
+        Thread result = new Thread(task, "spreadsheet-xl-metadata");
+        result.setDaemon(true);
+        return result;
+    }
+}
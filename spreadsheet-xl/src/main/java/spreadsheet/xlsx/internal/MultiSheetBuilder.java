@@ -17,6 +17,7 @@
 package spreadsheet.xlsx.internal;
 
 import ec.util.spreadsheet.Sheet;
+import ec.util.spreadsheet.helpers.CellRefHelper;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -34,23 +35,40 @@ import spreadsheet.xlsx.XlsxSheetBuilder;
  *
  * @author Philippe Charles
  */
-public final class MultiSheetBuilder implements XlsxSheetBuilder {
+public final class MultiSheetBuilder implements BufferSafeSheetBuilder {
 
     public static MultiSheetBuilder of(XlsxDateSystem dateSystem, List<String> sharedStrings, boolean[] dateFormats) {
         return new MultiSheetBuilder(DefaultSheetBuilder.of(dateSystem, sharedStrings, dateFormats));
     }
 
+    /**
+     * Creates a sheet builder that allocates dense sheets in the specified
+     * memory. The memory is not closed by this builder.
+     *
+     * @param dateSystem    a date system
+     * @param sharedStrings a list of shared strings
+     * @param dateFormats   the date flags of cell formats
+     * @param memory        the allocator of dense sheets
+     * @return a non-null sheet builder
+     * @since 2.7.0
+     */
+    public static MultiSheetBuilder of(XlsxDateSystem dateSystem, List<String> sharedStrings, boolean[] dateFormats, SheetMemory memory) {
+        return new MultiSheetBuilder(DefaultSheetBuilder.of(dateSystem, sharedStrings, dateFormats, memory));
+    }
+
     private static final int FIRST_BATCH_SIZE = 10;
     private static final int NEXT_BATCH_SIZE = 1000;
     private static final int QUEUE_MAX_SIZE = 10;
 
     private final DefaultSheetBuilder delegate;
+    private final CellRefHelper refHelper;
     private final ExecutorService executor;
     private final CustomQueue queue;
     private Batch nextBatch;
 
     private MultiSheetBuilder(DefaultSheetBuilder delegate) {
         this.delegate = delegate;
+        this.refHelper = new CellRefHelper();
         this.executor = Executors.newSingleThreadExecutor();
         this.queue = new CustomQueue(QUEUE_MAX_SIZE);
         this.nextBatch = new Batch(FIRST_BATCH_SIZE);
@@ -65,6 +83,14 @@ public final class MultiSheetBuilder implements XlsxSheetBuilder {
 
     @Override
     public @org.jspecify.annotations.NonNull XlsxSheetBuilder put(@org.jspecify.annotations.NonNull String ref, @org.jspecify.annotations.NonNull CharSequence value, @org.jspecify.annotations.NonNull XlsxDataType dataType, int styleIndex) {
+        if (refHelper.parse(ref)) {
+            put(refHelper.getRowIndex(), refHelper.getColumnIndex(), value, dataType, styleIndex);
+        }
+        return this;
+    }
+
+    @Override
+    public @org.jspecify.annotations.NonNull XlsxSheetBuilder put(int row, int column, @org.jspecify.annotations.NonNull CharSequence value, @org.jspecify.annotations.NonNull XlsxDataType dataType, int styleIndex) {
         if (nextBatch.isFull()) {
             if (queue.isFull()) {
                 queue.waitForCompletion();
@@ -72,7 +98,7 @@ public final class MultiSheetBuilder implements XlsxSheetBuilder {
             queue.add(executor.submit(nextBatch.asTask(delegate)));
             nextBatch = new Batch(NEXT_BATCH_SIZE);
         }
-        nextBatch.put(ref, value, dataType, styleIndex);
+        nextBatch.put(row, column, value, dataType, styleIndex);
         return this;
     }
 
@@ -129,22 +155,27 @@ public final class MultiSheetBuilder implements XlsxSheetBuilder {
 
     private static final class Batch {
 
-        private final Object[][] values;
+        private final int[] rows;
+        private final int[] columns;
+        private final String[] values;
         private final int[] dataTypes;
         private final int[] styleIndexes;
         private int size;
 
         Batch(int maxSize) {
-            this.values = new Object[maxSize][2];
+            this.rows = new int[maxSize];
+            this.columns = new int[maxSize];
+            this.values = new String[maxSize];
             this.dataTypes = new int[maxSize];
             this.styleIndexes = new int[maxSize];
             this.size = 0;
         }
 
-        void put(@NonNull String ref, @NonNull CharSequence value, @NonNull XlsxDataType dataType, int styleIndex) {
-            Object[] row = values[size];
-            row[0] = ref;
-            row[1] = value;
+        void put(int row, int column, @NonNull CharSequence value, @NonNull XlsxDataType dataType, int styleIndex) {
+            rows[size] = row;
+            columns[size] = column;
+            // value may be a reused buffer -> must be copied
+            values[size] = value.toString();
             dataTypes[size] = dataType.ordinal();
             styleIndexes[size] = styleIndex;
             size++;
@@ -160,7 +191,7 @@ public final class MultiSheetBuilder implements XlsxSheetBuilder {
 
         void process(DefaultSheetBuilder delegate) {
             for (int i = 0; i < size; i++) {
-                delegate.put((String) values[i][0], (CharSequence) values[i][1], XlsxValueFactory.getDataTypeByOrdinal(dataTypes[i]), styleIndexes[i]);
+                delegate.put(rows[i], columns[i], values[i], XlsxValueFactory.getDataTypeByOrdinal(dataTypes[i]), styleIndexes[i]);
             }
         }
 
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import lombok.NonNull;
+
+import java.math.BigInteger;
+
+/**
+ * Parsers of numbers that read a {@link CharSequence} in place instead of
+ * converting it to a string first.
+ * <p>
+ * Doubles are parsed with the Eisel-Lemire algorithm and are correctly
+ * rounded, just like {@link Double#parseDouble(String)}. Uncommon inputs such
+ * as hexadecimal notation, special values, surrounding whitespace or more
+ * than 19 significant digits fall back to the JDK parsers.
+ *
+ * @see <a href="https://arxiv.org/abs/2101.11408">Number Parsing at a Gigabyte per Second</a>
+ */
+@lombok.experimental.UtilityClass
+public class NumberParser {
+
+    /**
+     * Parses a decimal integer.
+     *
+     * @param text a non-null text
+     * @return an integer
+     * @throws NumberFormatException if the text is not a valid integer
+     * @see Integer#parseInt(String)
+     */
+    public int parseInt(@NonNull CharSequence text) throws NumberFormatException {
+        int length = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0) {
+            char first = text.charAt(0);
+            if (first == '-' || first == '+') {
+                negative = first == '-';
+                i++;
+            }
+        }
+        if (i == length || length - i > 10) {
+            return Integer.parseInt(text.toString());
+        }
+        // accumulates negatively to reach Integer.MIN_VALUE
+        long result = 0;
+        for (; i < length; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return Integer.parseInt(text.toString());
+            }
+            result = result * 10 - digit;
+        }
+        if (negative ? result < Integer.MIN_VALUE : result < -Integer.MAX_VALUE) {
+            throw new NumberFormatException("For input string: \"" + text + "\"");
+        }
+        return (int) (negative ? result : -result);
+    }
+
+    /**
+     * Parses a decimal floating-point number.
+     *
+     * @param text a non-null text
+     * @return a correctly rounded double
+     * @throws NumberFormatException if the text is not a valid number
+     * @see Double#parseDouble(String)
+     */
+    public double parseDouble(@NonNull CharSequence text) throws NumberFormatException {
+        int length = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0) {
+            char first = text.charAt(0);
+            if (first == '-' || first == '+') {
+                negative = first == '-';
+                i++;
+            }
+        }
+
+        long significand = 0;
+        int digitCount = 0;
+        int significantDigitCount = 0;
+        int exponent = 0;
+        char c = 0;
+
+        for (; i < length && isDigit(c = text.charAt(i)); i++) {
+            digitCount++;
+            if (significand != 0 || c != '0') {
+                significand = significand * 10 + (c - '0');
+                significantDigitCount++;
+            }
+        }
+        if (i < length && c == '.') {
+            for (i++; i < length && isDigit(c = text.charAt(i)); i++) {
+                digitCount++;
+                exponent--;
+                if (significand != 0 || c != '0') {
+                    significand = significand * 10 + (c - '0');
+                    significantDigitCount++;
+                }
+            }
+        }
+        if (digitCount == 0 || significantDigitCount > MAX_SIGNIFICANT_DIGITS) {
+            return Double.parseDouble(text.toString());
+        }
+        if (i < length && (c == 'e' || c == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < length && ((c = text.charAt(i)) == '-' || c == '+')) {
+                negativeExponent = c == '-';
+                i++;
+            }
+            if (i == length) {
+                return Double.parseDouble(text.toString());
+            }
+            int explicitExponent = 0;
+            for (; i < length && isDigit(c = text.charAt(i)); i++) {
+                if (explicitExponent < MAX_EXPLICIT_EXPONENT) {
+                    explicitExponent = explicitExponent * 10 + (c - '0');
+                }
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+        if (i != length) {
+            return Double.parseDouble(text.toString());
+        }
+
+        double result = toDouble(significand, exponent);
+        if (Double.isNaN(result)) {
+            return Double.parseDouble(text.toString());
+        }
+        return negative ? -result : result;
+    }
+
+    private boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private final int MAX_SIGNIFICANT_DIGITS = 19;
+    private final int MAX_EXPLICIT_EXPONENT = 100_000;
+
+    /**
+     * Computes w * 10^q for an exact decimal significand w.
+     *
+     * @return a non-negative double or NaN if it cannot be computed exactly
+     */
+    private double toDouble(long w, int q) {
+        if (w == 0 || q < SMALLEST_POWER_OF_TEN) {
+            return 0;
+        }
+        if (q > LARGEST_POWER_OF_TEN) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        // Clinger's fast path: both operands are exact doubles
+        if (-22 <= q && q <= 22 && Long.compareUnsigned(w, 1L << 53) <= 0) {
+            return q < 0 ? w / EXACT_POWERS_OF_TEN[-q] : w * EXACT_POWERS_OF_TEN[q];
+        }
+
+        // Eisel-Lemire
+        int lz = Long.numberOfLeadingZeros(w);
+        w <<= lz;
+
+        int index = 2 * (q - SMALLEST_POWER_OF_TEN);
+        long high = multiplyHigh(w, POWERS_OF_FIVE[index]);
+        long low = w * POWERS_OF_FIVE[index];
+        if ((high & 0x1FF) == 0x1FF) {
+            long secondHigh = multiplyHigh(w, POWERS_OF_FIVE[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high++;
+            }
+            if ((high & 0x1FF) == 0x1FF && low == -1L) {
+                // not enough precision to decide the rounding
+                return Double.NaN;
+            }
+        }
+
+        int upperBit = (int) (high >>> 63);
+        int shift = upperBit + 64 - MANTISSA_BITS - 3;
+        long mantissa = high >>> shift;
+        int power2 = (((152170 + 65536) * q) >> 16) + 63 + upperBit - lz + 1023;
+
+        if (power2 <= 0) {
+            // subnormal
+            if (-power2 + 1 >= 64) {
+                return 0;
+            }
+            mantissa >>>= -power2 + 1;
+            mantissa += mantissa & 1;
+            mantissa >>>= 1;
+            power2 = mantissa < (1L << MANTISSA_BITS) ? 0 : 1;
+            return Double.longBitsToDouble(mantissa | ((long) power2 << MANTISSA_BITS));
+        }
+
+        // exactly halfway between two doubles -> round to even
+        if (Long.compareUnsigned(low, 1) <= 0 && -4 <= q && q <= 23 && (mantissa & 3) == 1
+                && (mantissa << shift) == high) {
+            mantissa &= ~1L;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= (2L << MANTISSA_BITS)) {
+            mantissa = 1L << MANTISSA_BITS;
+            power2++;
+        }
+        mantissa &= ~(1L << MANTISSA_BITS);
+        if (power2 >= 0x7FF) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Double.longBitsToDouble(mantissa | ((long) power2 << MANTISSA_BITS));
+    }
+
+    /**
+     * Returns the high 64 bits of the unsigned 128-bit product of x and y.
+     */
+    private long multiplyHigh(long x, long y) {
+        long x0 = x & 0xFFFFFFFFL;
+        long x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL;
+        long y1 = y >>> 32;
+        long p11 = x1 * y1;
+        long p01 = x0 * y1;
+        long p10 = x1 * y0;
+        long p00 = x0 * y0;
+        long middle = p10 + (p00 >>> 32) + (p01 & 0xFFFFFFFFL);
+        return p11 + (middle >>> 32) + (p01 >>> 32);
+    }
+
+    private final int MANTISSA_BITS = 52;
+    private final int SMALLEST_POWER_OF_TEN = -342;
+    private final int LARGEST_POWER_OF_TEN = 308;
+
+    private final double[] EXACT_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * 128-bit approximations of 5^q for q in [-342, 308], as pairs of high
+     * and low 64-bit words, normalized so that the most significant bit is
+     * set.
+     */
+    private final long[] POWERS_OF_FIVE = computePowersOfFive();
+
+    private long[] computePowersOfFive() {
+        BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+        long[] result = new long[2 * (LARGEST_POWER_OF_TEN - SMALLEST_POWER_OF_TEN + 1)];
+        for (int q = SMALLEST_POWER_OF_TEN; q <= LARGEST_POWER_OF_TEN; q++) {
+            BigInteger value;
+            if (q < 0) {
+                BigInteger power5 = BigInteger.valueOf(5).pow(-q);
+                int z = power5.subtract(BigInteger.ONE).bitLength();
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                value = BigInteger.ONE.shiftLeft(b).divide(power5).add(BigInteger.ONE);
+                if (value.bitLength() > 128) {
+                    value = value.shiftRight(value.bitLength() - 128);
+                }
+            } else {
+                value = BigInteger.valueOf(5).pow(q);
+                int bitLength = value.bitLength();
+                value = bitLength < 128 ? value.shiftLeft(128 - bitLength) : value.shiftRight(bitLength - 128);
+            }
+            int index = 2 * (q - SMALLEST_POWER_OF_TEN);
+            result[index] = value.shiftRight(64).longValue();
+            result[index + 1] = value.mod(two128).longValue();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs an indexed task on an executor with a bounded number of concurrent
+ * workers.
+ * <p>
+ * The calling thread is one of the workers; the other ones are submitted to
+ * the executor and pull the next index until all indexes have been claimed.
+ * Workers that start after the calling thread is done do nothing, so that a
+ * saturated executor never blocks the caller.
+ * <p>
+ * The first exception thrown by a task stops the claiming of new indexes and
+ * is rethrown as is once all running tasks are done; the following ones are
+ * suppressed. Interrupting the calling thread has the same effect and ends
+ * with an {@link InterruptedIOException}.
+ */
+public final class ParallelForEach {
+
+    @FunctionalInterface
+    public interface IndexTask {
+
+        void run(int index) throws IOException;
+    }
+
+    /**
+     * Runs a task for each index in parallel.
+     *
+     * @param count          the number of indexes
+     * @param executor       a non-null executor of workers
+     * @param maxParallelism the maximum number of concurrent workers,
+     *                       including the calling thread
+     * @param task           a non-null task
+     * @throws IOException              if a task fails or if the calling
+     *                                  thread is interrupted
+     * @throws IllegalArgumentException if maxParallelism is lower than 1
+     */
+    public static void run(int count, @NonNull Executor executor, int maxParallelism, @NonNull IndexTask task) throws IOException {
+        if (maxParallelism < 1) {
+            throw new IllegalArgumentException("Invalid max parallelism: " + maxParallelism);
+        }
+        new ParallelForEach(count, task).execute(executor, Math.min(maxParallelism, count));
+    }
+
+    /**
+     * Gets an executor that starts a virtual thread per task if the runtime
+     * supports it (JDK 21+).
+     *
+     * @return an optional executor
+     */
+    @NonNull
+    public static Optional<Executor> getVirtualThreadExecutor() {
+        return Optional.ofNullable(VIRTUAL_THREAD_EXECUTOR);
+    }
+
+    private final int count;
+    private final IndexTask task;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile boolean stopped = false;
+    private Throwable failure = null;
+    private int activeWorkers = 0;
+    private boolean closed = false;
+
+    private ParallelForEach(int count, IndexTask task) {
+        this.count = count;
+        this.task = task;
+    }
+
+    private void execute(Executor executor, int workers) throws IOException {
+        if (workers <= 0) {
+            return;
+        }
+        for (int i = 1; i < workers && !stopped; i++) {
+            try {
+                executor.execute(this::runSubmittedWorker);
+            } catch (RuntimeException ex) {
+                onFailure(ex);
+            }
+        }
+        boolean interrupted = runWorker(true) | awaitWorkers();
+        throwFailure(interrupted);
+    }
+
+    private void runSubmittedWorker() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            activeWorkers++;
+        }
+        try {
+            runWorker(false);
+        } finally {
+            synchronized (this) {
+                activeWorkers--;
+                notifyAll();
+            }
+        }
+    }
+
+    private boolean runWorker(boolean caller) {
+        int index;
+        while (!stopped && (index = next.getAndIncrement()) < count) {
+            if (caller && Thread.currentThread().isInterrupted()) {
+                stopped = true;
+                return true;
+            }
+            try {
+                task.run(index);
+            } catch (Throwable ex) {
+                onFailure(ex);
+            }
+        }
+        return false;
+    }
+
+    private synchronized void onFailure(Throwable ex) {
+        stopped = true;
+        if (failure == null) {
+            failure = ex;
+        } else if (failure != ex) {
+            failure.addSuppressed(ex);
+        }
+    }
+
+    private synchronized boolean awaitWorkers() {
+        closed = true;
+        boolean interrupted = false;
+        while (activeWorkers > 0) {
+            try {
+                wait();
+            } catch (InterruptedException ex) {
+                // running tasks still use the book -> stop claiming and wait for them
+                stopped = true;
+                interrupted = true;
+            }
+        }
+        return interrupted;
+    }
+
+    private synchronized void throwFailure(boolean interrupted) throws IOException {
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw new IOException(failure);
+        }
+        if (interrupted) {
+            throw new InterruptedIOException("Interrupted while processing sheets");
+        }
+    }
+
+    private static final Executor VIRTUAL_THREAD_EXECUTOR = lookupVirtualThreadExecutor();
+
+    private static Executor lookupVirtualThreadExecutor() {
+        // Thread.ofVirtual().factory() is only available since JDK 21
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            ThreadFactory threadFactory = (ThreadFactory) factory.invoke(builder);
+            return command -> threadFactory.newThread(command).start();
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            return null;
+        }
+    }
+}
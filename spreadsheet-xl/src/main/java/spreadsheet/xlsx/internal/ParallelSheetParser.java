@@ -0,0 +1,389 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import ec.util.spreadsheet.Sheet;
+import ec.util.spreadsheet.helpers.CellRefHelper;
+import lombok.NonNull;
+import nbbrd.io.function.IOSupplier;
+import spreadsheet.xlsx.XlsxDataType;
+import spreadsheet.xlsx.XlsxDateSystem;
+import spreadsheet.xlsx.XlsxEntryParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Parses a single sheet on several threads.
+ * <p>
+ * The sheet entry is fully inflated in memory, its sheet data is split at row
+ * boundaries and each chunk is scanned by its own {@link ByteEntryParser}
+ * scanner. Cells are written directly into a shared {@link CompactSheet}
+ * builder since chunks never overlap; local strings are collected per chunk
+ * and added afterward in document order.
+ * <p>
+ * Sheets that cannot be split safely (no dimension, not UTF-8, too small) or
+ * whose first rows are too sparse for a dense storage are parsed sequentially
+ * by the fallback parser.
+ * Note that row boundaries are found by looking for <code>&lt;row</code>
+ * tags; CDATA sections or comments containing such tags are not supported.
+ */
+final class ParallelSheetParser implements Closeable {
+
+    static final int MIN_CHUNK_SIZE = 64 * 1024;
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final int parallelism;
+    private final SheetMemory memory;
+    private ForkJoinPool pool;
+
+    /**
+     * Creates a parser that allocates dense sheets in the specified memory.
+     * The memory is not closed by this parser.
+     */
+    ParallelSheetParser(int parallelism, @NonNull SheetMemory memory) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Invalid parallelism: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        this.memory = memory;
+        this.pool = null;
+    }
+
+    @NonNull
+    Sheet parse(
+            @NonNull String name,
+            @NonNull IOSupplier<? extends InputStream> byteSource,
+            long byteSize,
+            @NonNull XlsxDateSystem dateSystem,
+            @NonNull List<String> sharedStrings,
+            @NonNull boolean[] dateFormats,
+            @NonNull XlsxEntryParser fallback) throws IOException {
+
+        byte[] content;
+        try (InputStream stream = byteSource.getWithIO()) {
+            content = IOHelper.readAllBytes(stream, byteSize);
+        }
+
+        Header header = parseHeader(content);
+        if (header == null) {
+            return parseSequentially(name, content, dateSystem, sharedStrings, dateFormats, fallback);
+        }
+
+        List<Chunk> chunks = split(content, header.getDataStart(), header.getDataEnd());
+        if (chunks.size() < 2) {
+            return parseSequentially(name, content, dateSystem, sharedStrings, dateFormats, fallback);
+        }
+
+        CompactSheet.Builder result = CompactSheet.builder(header.getRowCount(), header.getColumnCount(), name, sharedStrings, memory);
+
+        List<Callable<ChunkVisitor>> tasks = new ArrayList<>(chunks.size());
+        for (Chunk chunk : chunks) {
+            tasks.add(() -> parseChunk(content, chunk, new ChunkVisitor(new XlsxValueFactory(dateSystem, o -> dateFormats[o]), result)));
+        }
+
+        for (ChunkVisitor visitor : invokeAll(tasks)) {
+            visitor.flushLocalStrings();
+        }
+
+        return result.build();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    private ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(parallelism);
+        }
+        return pool;
+    }
+
+    private List<ChunkVisitor> invokeAll(List<Callable<ChunkVisitor>> tasks) throws IOException {
+        List<ChunkVisitor> result = new ArrayList<>(tasks.size());
+        try {
+            for (Future<ChunkVisitor> future : getPool().invokeAll(tasks)) {
+                result.add(future.get());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+        return result;
+    }
+
+    private List<Chunk> split(byte[] content, int dataStart, int dataEnd) {
+        int chunkCount = Math.min(parallelism * CHUNKS_PER_THREAD, (dataEnd - dataStart) / MIN_CHUNK_SIZE);
+        List<Chunk> result = new ArrayList<>(Math.max(chunkCount, 1));
+        int from = dataStart;
+        for (int i = 1; i < chunkCount && from < dataEnd; i++) {
+            int target = Math.max(from + 1, dataStart + (int) ((long) (dataEnd - dataStart) * i / chunkCount));
+            int to = indexOfRow(content, target, dataEnd);
+            if (to == -1) {
+                break;
+            }
+            result.add(new Chunk(from, to));
+            from = to;
+        }
+        result.add(new Chunk(from, dataEnd));
+        return result;
+    }
+
+    private Sheet parseSequentially(String name, byte[] content, XlsxDateSystem dateSystem, List<String> sharedStrings, boolean[] dateFormats, XlsxEntryParser fallback) throws IOException {
+        return XlsxBook.parseSheet(name, DefaultSheetBuilder.of(dateSystem, sharedStrings, dateFormats, memory), () -> new ByteArrayInputStream(content), fallback);
+    }
+
+    private static ChunkVisitor parseChunk(byte[] content, Chunk chunk, ChunkVisitor visitor) throws IOException {
+        ByteEntryParser.SheetScanner scanner = new ByteEntryParser.SheetScanner();
+        scanner.open(new ByteArrayInputStream(content, chunk.getFrom(), chunk.getTo() - chunk.getFrom()));
+        try {
+            scanner.scanRows(visitor);
+        } finally {
+            scanner.detach();
+        }
+        return visitor;
+    }
+
+    private static Header parseHeader(byte[] content) throws IOException {
+        ByteEntryParser.SheetScanner scanner = new ByteEntryParser.SheetScanner();
+        if (!scanner.open(new ByteArrayInputStream(content))) {
+            return null;
+        }
+        HeaderVisitor visitor = new HeaderVisitor();
+        int dataStart;
+        try {
+            if (!scanner.scanHeader(visitor)) {
+                return null;
+            }
+            dataStart = (int) scanner.getOffset();
+        } finally {
+            scanner.detach();
+        }
+
+        CellRefHelper refHelper = new CellRefHelper();
+        if (!refHelper.parseEnd(visitor.sheetBounds)) {
+            return null;
+        }
+        int rowCount = refHelper.getRowIndex() + 1;
+        int columnCount = refHelper.getColumnIndex() + 1;
+
+        int dataEnd = lastIndexOf(content, SHEET_DATA_END_TAG, dataStart);
+        if (dataEnd == -1) {
+            return null;
+        }
+
+        // same storage decision as DefaultSheetBuilder on the first rows -> other sheets are parsed sequentially
+        if (!DefaultSheetBuilder.isSmall(rowCount, columnCount)
+                && !DefaultSheetBuilder.isFilled(DefaultSheetBuilder.SAMPLE_ROWS, columnCount, countSampledCells(content, dataStart, dataEnd))) {
+            return null;
+        }
+        return new Header(rowCount, columnCount, dataStart, dataEnd);
+    }
+
+    /**
+     * Counts the cells of the first {@link DefaultSheetBuilder#SAMPLE_ROWS}
+     * rows of the sheet data.
+     */
+    private static long countSampledCells(byte[] content, int dataStart, int dataEnd) {
+        long result = 0;
+        int rows = 0;
+        for (int i = dataStart; i < dataEnd - ROW_START_TAG.length; i++) {
+            if (content[i] != '<') {
+                continue;
+            }
+            if (isTag(content, i, ROW_START_TAG)) {
+                if (++rows > DefaultSheetBuilder.SAMPLE_ROWS) {
+                    break;
+                }
+            } else if (isTag(content, i, CELL_START_TAG)) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    private static final byte[] SHEET_DATA_END_TAG = "</sheetData".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ROW_START_TAG = "<row".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CELL_START_TAG = "<c".getBytes(StandardCharsets.UTF_8);
+
+    private static int indexOfRow(byte[] content, int from, int to) {
+        int last = to - ROW_START_TAG.length;
+        for (int i = from; i < last; i++) {
+            if (isTag(content, i, ROW_START_TAG)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isTag(byte[] content, int offset, byte[] prefix) {
+        if (!startsWith(content, offset, prefix)) {
+            return false;
+        }
+        switch (content[offset + prefix.length]) {
+            case ' ':
+            case '\t':
+            case '\r':
+            case '\n':
+            case '>':
+            case '/':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static int lastIndexOf(byte[] content, byte[] sequence, int from) {
+        for (int i = content.length - sequence.length; i >= from; i--) {
+            if (startsWith(content, i, sequence)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(byte[] content, int offset, byte[] prefix) {
+        for (int i = 0; i < prefix.length; i++) {
+            if (content[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @lombok.Value
+    private static class Header {
+
+        int rowCount;
+        int columnCount;
+        int dataStart;
+        int dataEnd;
+    }
+
+    @lombok.Value
+    private static class Chunk {
+
+        int from;
+        int to;
+    }
+
+    private static final class HeaderVisitor implements XlsxEntryParser.SheetVisitor {
+
+        private String sheetBounds = null;
+
+        @Override
+        public void onSheetData(String sheetBounds) {
+            this.sheetBounds = sheetBounds;
+        }
+
+        @Override
+        public void onCell(@org.jspecify.annotations.NonNull String ref, @org.jspecify.annotations.NonNull CharSequence value, @org.jspecify.annotations.NonNull XlsxDataType dataType, int styleIndex) {
+        }
+    }
+
+    @lombok.RequiredArgsConstructor
+    private static final class ChunkVisitor implements XlsxEntryParser.SheetVisitor, XlsxValueFactory.Callback {
+
+        private final XlsxValueFactory valueFactory;
+        private final CompactSheet.Builder sheet;
+        private final List<LocalString> localStrings = new ArrayList<>();
+        private int row;
+        private int column;
+
+        @Override
+        public void onSheetData(String sheetBounds) {
+        }
+
+        @Override
+        public void onCell(@org.jspecify.annotations.NonNull String ref, @org.jspecify.annotations.NonNull CharSequence value, @org.jspecify.annotations.NonNull XlsxDataType dataType, int styleIndex) {
+            // invalid reference -> ignored as in DefaultSheetBuilder
+        }
+
+        @Override
+        public void onCell(int row, int column, @org.jspecify.annotations.NonNull CharSequence value, @org.jspecify.annotations.NonNull XlsxDataType dataType, int styleIndex) {
+            this.row = row;
+            this.column = column;
+            valueFactory.parse(this, value, dataType, styleIndex);
+        }
+
+        @Override
+        public void onNumber(double number) {
+            sheet.putNumber(row, column, number);
+        }
+
+        @Override
+        public void onDate(long date) {
+            sheet.putDate(row, column, date);
+        }
+
+        @Override
+        public void onSharedString(int index) {
+            sheet.putSharedString(row, column, index);
+        }
+
+        @Override
+        public void onString(CharSequence string) {
+            // local strings are not thread-safe -> deferred
+            localStrings.add(new LocalString(row, column, string.toString()));
+        }
+
+        @Override
+        public void onNull() {
+        }
+
+        void flushLocalStrings() {
+            for (LocalString o : localStrings) {
+                sheet.putString(o.getRow(), o.getColumn(), o.getValue());
+            }
+        }
+    }
+
+    @lombok.Value
+    private static class LocalString {
+
+        int row;
+        int column;
+        String value;
+    }
+}
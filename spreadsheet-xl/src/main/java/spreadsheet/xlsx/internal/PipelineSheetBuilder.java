@@ -0,0 +1,316 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import ec.util.spreadsheet.Sheet;
+import ec.util.spreadsheet.helpers.CellRefHelper;
+import org.jspecify.annotations.NonNull;
+import spreadsheet.xlsx.XlsxDataType;
+import spreadsheet.xlsx.XlsxDateSystem;
+import spreadsheet.xlsx.XlsxSheetBuilder;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheet builder that decodes cells on a second thread.
+ * <p>
+ * The parsing thread fills batches of primitive arrays, in which the raw
+ * values are copied to a char slab, and hands them off to the decoding thread.
+ * A fixed pool of batches is recycled between both threads through blocking
+ * queues: threads park when there is nothing to do and the parsing thread
+ * waits for a free batch when the decoding thread falls behind.
+ * <p>
+ * An error of the decoding thread is rethrown on the parsing thread and
+ * skips the remaining cells of the sheet until the builder is reset.
+ */
+public final class PipelineSheetBuilder implements BufferSafeSheetBuilder {
+
+    public static PipelineSheetBuilder of(XlsxDateSystem dateSystem, List<String> sharedStrings, boolean[] dateFormats) {
+        return new PipelineSheetBuilder(DefaultSheetBuilder.of(dateSystem, sharedStrings, dateFormats));
+    }
+
+    private static final int BATCH_COUNT = 4;
+    private static final int BATCH_SIZE = 1024;
+
+    // end of decoding thread
+    private static final Batch POISON = new Batch(0);
+
+    private final DefaultSheetBuilder delegate;
+    private final CellRefHelper refHelper;
+    private final ExecutorService executor;
+    private final BlockingQueue<Batch> filledBatches;
+    private final BlockingQueue<Batch> freeBatches;
+    private volatile Throwable decodingError;
+    private Batch nextBatch;
+    private boolean closed;
+
+    PipelineSheetBuilder(DefaultSheetBuilder delegate) {
+        this.delegate = delegate;
+        this.refHelper = new CellRefHelper();
+        this.executor = Executors.newSingleThreadExecutor(PipelineSheetBuilder::newDaemonThread);
+        this.filledBatches = new ArrayBlockingQueue<>(BATCH_COUNT + 1);
+        this.freeBatches = new ArrayBlockingQueue<>(BATCH_COUNT);
+        for (int i = 1; i < BATCH_COUNT; i++) {
+            freeBatches.add(new Batch(BATCH_SIZE));
+        }
+        this.nextBatch = new Batch(BATCH_SIZE);
+        executor.execute(this::decodeBatches);
+    }
+
+    @Override
+    public @NonNull XlsxSheetBuilder reset(@NonNull String sheetName, String sheetBounds) {
+        // cells of an unfinished sheet are discarded
+        nextBatch.clear();
+        awaitBatches();
+        decodingError = null;
+        delegate.reset(sheetName, sheetBounds);
+        return this;
+    }
+
+    @Override
+    public @NonNull XlsxSheetBuilder put(@NonNull String ref, @NonNull CharSequence value, @NonNull XlsxDataType dataType, int styleIndex) {
+        if (refHelper.parse(ref)) {
+            put(refHelper.getRowIndex(), refHelper.getColumnIndex(), value, dataType, styleIndex);
+        }
+        return this;
+    }
+
+    @Override
+    public @NonNull XlsxSheetBuilder put(int row, int column, @NonNull CharSequence value, @NonNull XlsxDataType dataType, int styleIndex) {
+        if (nextBatch.isFull()) {
+            checkDecodingError();
+            filledBatches.add(nextBatch);
+            nextBatch = take(freeBatches);
+        }
+        nextBatch.put(row, column, value, dataType, styleIndex);
+        return this;
+    }
+
+    @Override
+    public @NonNull Sheet build() {
+        waitForCompletion();
+        return delegate.build();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        filledBatches.add(POISON);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(100, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("While closing executor", ex);
+        } finally {
+            delegate.close();
+        }
+    }
+
+    /**
+     * Hands off the pending cells and waits until all batches are decoded.
+     */
+    private void waitForCompletion() {
+        if (nextBatch.getSize() > 0) {
+            filledBatches.add(nextBatch);
+            nextBatch = take(freeBatches);
+        }
+        awaitBatches();
+        checkDecodingError();
+    }
+
+    /**
+     * Waits until every batch is back in the pool.
+     */
+    private void awaitBatches() {
+        List<Batch> batches = new ArrayList<>(BATCH_COUNT - 1);
+        try {
+            while (batches.size() < BATCH_COUNT - 1) {
+                batches.add(take(freeBatches));
+            }
+        } finally {
+            freeBatches.addAll(batches);
+        }
+    }
+
+    private void checkDecodingError() {
+        Throwable error = decodingError;
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        if (error != null) {
+            throw new IllegalStateException(error);
+        }
+    }
+
+    private void decodeBatches() {
+        Batch batch;
+        while ((batch = take(filledBatches)) != POISON) {
+            try {
+                if (decodingError == null) {
+                    batch.process(delegate);
+                }
+            } catch (Throwable ex) {
+                decodingError = ex;
+            } finally {
+                batch.clear();
+                freeBatches.add(batch);
+            }
+        }
+    }
+
+    private static Batch take(BlockingQueue<Batch> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted while waiting for a batch"));
+        }
+    }
+
+    private static Thread newDaemonThread(Runnable task) {
+        Thread result = new Thread(task, "xlsx-sheet-decoder");
+        result.setDaemon(true);
+        return result;
+    }
+
+    private static final class Batch {
+
+        private final int[] rows;
+        private final int[] columns;
+        private final byte[] dataTypes;
+        private final int[] styleIndexes;
+        private final int[] valueEnds;
+        private final CharSlab slab;
+        private int size;
+
+        Batch(int maxSize) {
+            this.rows = new int[maxSize];
+            this.columns = new int[maxSize];
+            this.dataTypes = new byte[maxSize];
+            this.styleIndexes = new int[maxSize];
+            this.valueEnds = new int[maxSize];
+            this.slab = new CharSlab();
+            this.size = 0;
+        }
+
+        void put(int row, int column, @NonNull CharSequence value, @NonNull XlsxDataType dataType, int styleIndex) {
+            rows[size] = row;
+            columns[size] = column;
+            // value may be a reused buffer -> must be copied
+            valueEnds[size] = slab.append(value);
+            dataTypes[size] = (byte) dataType.ordinal();
+            styleIndexes[size] = styleIndex;
+            size++;
+        }
+
+        int getSize() {
+            return size;
+        }
+
+        boolean isFull() {
+            return rows.length == size;
+        }
+
+        void clear() {
+            size = 0;
+            slab.clear();
+        }
+
+        void process(DefaultSheetBuilder delegate) {
+            for (int i = 0; i < size; i++) {
+                slab.select(i > 0 ? valueEnds[i - 1] : 0, valueEnds[i]);
+                delegate.put(rows[i], columns[i], slab, XlsxValueFactory.getDataTypeByOrdinal(dataTypes[i]), styleIndexes[i]);
+            }
+        }
+    }
+
+    /**
+     * Growable char buffer that exposes a selected range as a CharSequence.
+     */
+    private static final class CharSlab implements CharSequence {
+
+        private char[] chars = new char[4096];
+        private int length = 0;
+        private int start = 0;
+        private int end = 0;
+
+        int append(CharSequence value) {
+            int n = value.length();
+            if (length + n > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + n));
+            }
+            if (value instanceof String) {
+                ((String) value).getChars(0, n, chars, length);
+            } else {
+                for (int i = 0; i < n; i++) {
+                    chars[length + i] = value.charAt(i);
+                }
+            }
+            length += n;
+            return length;
+        }
+
+        void clear() {
+            length = 0;
+        }
+
+        void select(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException();
+            }
+            return chars[start + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(chars, this.start + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, start, end - start);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import ec.util.spreadsheet.helpers.CellRefHelper;
+import org.jspecify.annotations.NonNull;
+import spreadsheet.xlsx.XlsxDataType;
+import spreadsheet.xlsx.XlsxEntryParser;
+import spreadsheet.xlsx.XlsxReader;
+import spreadsheet.xlsx.XlsxRowConsumer;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Reads the rows of a package in a single pass over a {@link ZipInputStream}.
+ * <p>
+ * Metadata entries are parsed as they arrive. A worksheet is parsed while it
+ * is inflated if all the metadata has already been parsed; otherwise it is
+ * spooled to a temporary file and parsed once the stream is exhausted.
+ */
+public final class RowStreamer implements Closeable {
+
+    public static void stream(@lombok.NonNull InputStream stream, @lombok.NonNull XlsxReader reader, @lombok.NonNull XlsxRowConsumer consumer) throws IOException {
+        try (RowStreamer streamer = new RowStreamer(reader, consumer, reader.getEntryParser().create())) {
+            streamer.read(stream);
+        }
+    }
+
+    private final XlsxReader reader;
+    private final XlsxRowConsumer consumer;
+    private final XlsxEntryParser parser;
+    private final Map<String, Path> spooledSheets;
+    private XlsxBook.WorkbookData workbook;
+    private Map<String, String> relationships;
+    private List<String> sharedStrings;
+    private boolean[] dateFormats;
+    private Map<String, Integer> sheetIndexes;
+
+    private RowStreamer(XlsxReader reader, XlsxRowConsumer consumer, XlsxEntryParser parser) {
+        this.reader = reader;
+        this.consumer = consumer;
+        this.parser = parser;
+        this.spooledSheets = new LinkedHashMap<>();
+    }
+
+    private void read(InputStream stream) throws IOException {
+        ZipInputStream zip = new ZipInputStream(stream);
+        InputStream entryContent = new EntryInputStream(zip);
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            String name = entry.getName();
+            switch (name) {
+                case ZipPackage.WORKBOOK_ENTRY_NAME:
+                    workbook = XlsxBook.parseWorkbook(() -> entryContent, parser);
+                    break;
+                case ZipPackage.RELATIONSHIPS_ENTRY_NAME:
+                    relationships = ZipPackage.parseRelationships(() -> entryContent);
+                    break;
+                case ZipPackage.SHARED_STRINGS_ENTRY_NAME:
+                    sharedStrings = XlsxBook.parseSharedStrings(() -> entryContent, parser, reader.getSharedStringsCacheSize());
+                    break;
+                case ZipPackage.STYLES_ENTRY_NAME:
+                    dateFormats = XlsxBook.parseStyles(reader.getNumberingFormat().of(), () -> entryContent, parser);
+                    break;
+                default:
+                    if (isWorksheet(name)) {
+                        if (isMetadataComplete()) {
+                            parseSheet(name, entryContent);
+                        } else {
+                            spoolSheet(name, entryContent);
+                        }
+                    }
+                    break;
+            }
+        }
+
+        checkEntry(workbook, ZipPackage.WORKBOOK_ENTRY_NAME);
+        checkEntry(relationships, ZipPackage.RELATIONSHIPS_ENTRY_NAME);
+        checkEntry(sharedStrings, ZipPackage.SHARED_STRINGS_ENTRY_NAME);
+        checkEntry(dateFormats, ZipPackage.STYLES_ENTRY_NAME);
+
+        for (Map.Entry<String, Path> spooledSheet : spooledSheets.entrySet()) {
+            try (InputStream content = Files.newInputStream(spooledSheet.getValue())) {
+                parseSheet(spooledSheet.getKey(), content);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (Path file : spooledSheets.values()) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                if (failure == null) {
+                    failure = ex;
+                } else {
+                    failure.addSuppressed(ex);
+                }
+            }
+        }
+        XlsxBook.closeAll(failure, parser);
+    }
+
+    private boolean isMetadataComplete() {
+        return workbook != null && relationships != null && sharedStrings != null && dateFormats != null;
+    }
+
+    private void spoolSheet(String name, InputStream content) throws IOException {
+        Path file = Files.createTempFile("spreadsheet-xl", ".xml");
+        spooledSheets.put(name, file);
+        Files.copy(content, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void parseSheet(String name, InputStream content) throws IOException {
+        Integer index = getSheetIndexes().get(name);
+        if (index == null) {
+            // not referenced by the workbook
+            return;
+        }
+        consumer.onSheet(index, workbook.getSheets().get(index).getName());
+        XlsxValueFactory valueFactory = new XlsxValueFactory(reader.getDateSystem().of(workbook.isDate1904()), o -> dateFormats[o]);
+        RowVisitor visitor = new RowVisitor(valueFactory, sharedStrings, consumer);
+        parser.visitSheet(content, visitor);
+        visitor.flush();
+    }
+
+    private Map<String, Integer> getSheetIndexes() {
+        if (sheetIndexes == null) {
+            sheetIndexes = new HashMap<>();
+            List<XlsxBook.SheetMeta> sheets = workbook.getSheets();
+            for (int i = 0; i < sheets.size(); i++) {
+                String target = relationships.get(sheets.get(i).getRelationId());
+                if (target != null) {
+                    sheetIndexes.put("xl/" + target, i);
+                }
+            }
+        }
+        return sheetIndexes;
+    }
+
+    private static boolean isWorksheet(String name) {
+        return name.startsWith("xl/worksheets/") && ZipPackage.isUsefulEntryName(name);
+    }
+
+    private static void checkEntry(Object entry, String name) throws IOException {
+        if (entry == null) {
+            throw new IOException("Missing entry '" + name + "'");
+        }
+    }
+
+    /**
+     * Content of the current entry that is not closed by the entry parsers.
+     */
+    private static final class EntryInputStream extends FilterInputStream {
+
+        EntryInputStream(ZipInputStream zip) {
+            super(zip);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class RowVisitor implements XlsxEntryParser.SheetVisitor, XlsxValueFactory.Callback {
+
+        private final XlsxValueFactory valueFactory;
+        private final List<String> sharedStrings;
+        private final XlsxRowConsumer consumer;
+        private final CellRefHelper refHelper;
+        private Object[] values;
+        private int size;
+        private int row;
+        private int column;
+
+        RowVisitor(XlsxValueFactory valueFactory, List<String> sharedStrings, XlsxRowConsumer consumer) {
+            this.valueFactory = valueFactory;
+            this.sharedStrings = sharedStrings;
+            this.consumer = consumer;
+            this.refHelper = new CellRefHelper();
+            this.values = new Object[16];
+            this.size = 0;
+            this.row = -1;
+        }
+
+        @Override
+        public void onSheetData(String sheetBounds) {
+        }
+
+        @Override
+        public void onCell(@NonNull String ref, @NonNull CharSequence value, @NonNull XlsxDataType dataType, int styleIndex) {
+            if (refHelper.parse(ref)) {
+                onCell(refHelper.getRowIndex(), refHelper.getColumnIndex(), value, dataType, styleIndex);
+            }
+        }
+
+        @Override
+        public void onCell(int row, int column, @NonNull CharSequence value, @NonNull XlsxDataType dataType, int styleIndex) {
+            if (row != this.row) {
+                flush();
+                this.row = row;
+            }
+            this.column = column;
+            valueFactory.parse(this, value, dataType, styleIndex);
+        }
+
+        void flush() {
+            if (size > 0) {
+                consumer.onRow(row, Arrays.copyOf(values, size));
+                Arrays.fill(values, 0, size, null);
+                size = 0;
+            }
+        }
+
+        private void set(Object value) {
+            if (column >= values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, column + 1));
+            }
+            values[column] = value;
+            size = Math.max(size, column + 1);
+        }
+
+        @Override
+        public void onNumber(double number) {
+            set(number);
+        }
+
+        @Override
+        public void onDate(long date) {
+            set(new Date(date));
+        }
+
+        @Override
+        public void onSharedString(int index) {
+            set(sharedStrings.get(index));
+        }
+
+        @Override
+        public void onString(CharSequence string) {
+            set(string.toString());
+        }
+
+        @Override
+        public void onNull() {
+        }
+    }
+}
@@ -16,6 +16,7 @@
  */
 package spreadsheet.xlsx.internal;
 
+import ec.util.spreadsheet.helpers.CellRefHelper;
 import lombok.NonNull;
 import nbbrd.design.VisibleForTesting;
 import nbbrd.io.function.IOSupplier;
@@ -62,7 +63,13 @@ public final class SaxEntryParser implements XlsxEntryParser {
 
     @Override
     public void visitSheet(InputStream stream, SheetVisitor visitor) throws IOException {
-        visit(new SheetSaxEventHandler(visitor), stream);
+        try {
+            visit(new SheetSaxEventHandler(visitor), stream);
+        } catch (IOException ex) {
+            if (!isEndOfRequiredRows(ex)) {
+                throw ex;
+            }
+        }
     }
 
     @Override
@@ -75,14 +82,95 @@ public final class SaxEntryParser implements XlsxEntryParser {
 
     private static final IOSupplier<?> VOID = IOSupplier.of(null);
 
+    /**
+     * Decodes the {@code _xHHHH_} escape sequences of a shared string or of
+     * a string cell value. A literal sequence is escaped by writing its
+     * underscore as {@code _x005F_}.
+     */
+    static String decodeEscapes(String text) {
+        int i = text.indexOf("_x");
+        if (i == -1) {
+            return text;
+        }
+        StringBuilder result = new StringBuilder(text.length());
+        int start = 0;
+        for (; i != -1; i = text.indexOf("_x", i)) {
+            if (isEscapeSequence(text, i)) {
+                result.append(text, start, i).append((char) Integer.parseInt(text.substring(i + 2, i + 6), 16));
+                i += ESCAPE_SEQUENCE_LENGTH;
+                start = i;
+            } else {
+                i++;
+            }
+        }
+        return result.append(text, start, text.length()).toString();
+    }
+
+    /**
+     * Decodes the {@code _xHHHH_} escape sequences of a cell value if it is an
+     * inline or a formula string. Other values and strings without escape
+     * sequences are returned as is, so that the common case doesn't allocate.
+     */
+    static CharSequence decodeEscapes(CharSequence value, XlsxDataType dataType) {
+        if (dataType == XlsxDataType.STRING || dataType == XlsxDataType.INLINE_STRING) {
+            for (int i = 0; i < value.length(); i++) {
+                if (isEscapeSequence(value, i)) {
+                    return decodeEscapes(value.toString());
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Checks if a text contains an {@code _xHHHH_} escape sequence at some
+     * index.
+     */
+    static boolean isEscapeSequence(CharSequence text, int index) {
+        if (index + ESCAPE_SEQUENCE_LENGTH > text.length()
+                || text.charAt(index) != '_' || text.charAt(index + 1) != 'x' || text.charAt(index + 6) != '_') {
+            return false;
+        }
+        for (int i = index + 2; i < index + 6; i++) {
+            char c = text.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'A' && c <= 'F' || c >= 'a' && c <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final int ESCAPE_SEQUENCE_LENGTH = 7;
+
+    private static boolean isEndOfRequiredRows(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof EndOfRequiredRowsException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stops the parsing of a sheet once its visitor no longer requires rows.
+     */
+    private static final class EndOfRequiredRowsException extends SAXException {
+
+        EndOfRequiredRowsException() {
+            super("End of required rows");
+        }
+    }
+
     @lombok.RequiredArgsConstructor
     private static final class SheetSaxEventHandler extends DefaultHandler {
 
         private final SheetVisitor visitor;
         private final SaxStringBuilder stringBuilder = new SaxStringBuilder();
+        private final CellRefHelper refHelper = new CellRefHelper();
         private int level = 0;
         private String sheetBounds = null;
         private String ref = null;
+        private boolean validRef = false;
         private String rawDataType = null;
         private String rawStyleIndex = null;
 
@@ -105,6 +193,10 @@ public final class SaxEntryParser implements XlsxEntryParser {
                     }
                     break;
                 case 4:
+                    if (ref == null) {
+                        // skipped cell -> no text accumulation
+                        break;
+                    }
                     if (isChar(name)) {
                         if (name.charAt(0) == CELL_VALUE_TAG) {
                             stringBuilder.enable().clear();
@@ -148,11 +240,16 @@ public final class SaxEntryParser implements XlsxEntryParser {
                 int styleIndex = XlsxValueFactory.isStyleRequired(dataType)
                         ? XlsxValueFactory.parseStyleIndex(rawStyleIndex)
                         : XlsxValueFactory.NULL_STYLE_INDEX;
-                visitor.onCell(ref, stringBuilder.disable().build(), dataType, styleIndex);
+                CharSequence value = decodeEscapes(stringBuilder.disable(), dataType);
+                if (validRef) {
+                    visitor.onCell(refHelper.getRowIndex(), refHelper.getColumnIndex(), value, dataType, styleIndex);
+                } else {
+                    visitor.onCell(ref, value, dataType, styleIndex);
+                }
             }
         }
 
-        private void parseCellAttributes(Attributes attributes) {
+        private void parseCellAttributes(Attributes attributes) throws SAXException {
             ref = null;
             rawDataType = null;
             rawStyleIndex = null;
@@ -172,6 +269,15 @@ public final class SaxEntryParser implements XlsxEntryParser {
                     }
                 }
             }
+            validRef = ref != null && refHelper.parse(ref);
+            if (validRef) {
+                if (visitor.isAfterLastRow(refHelper.getRowIndex())) {
+                    throw new EndOfRequiredRowsException();
+                }
+                if (!visitor.isCellRequired(refHelper.getRowIndex(), refHelper.getColumnIndex())) {
+                    ref = null;
+                }
+            }
         }
 
         private static final char CELL_TAG = 'c';
@@ -280,7 +386,7 @@ public final class SaxEntryParser implements XlsxEntryParser {
                     stringBuilder.disable();
                     break;
                 case SHARED_STRING_ITEM_TAG:
-                    visitor.onSharedString(stringBuilder.build());
+                    visitor.onSharedString(decodeEscapes(stringBuilder.build()));
                     break;
             }
         }
@@ -338,7 +444,11 @@ public final class SaxEntryParser implements XlsxEntryParser {
         private static final int DEFAULT_NUMBER_FORMAT_ID = 0;
     }
 
-    private static final class SaxStringBuilder {
+    /**
+     * Reusable character buffer exposed as a CharSequence. Its content is only
+     * valid until the next clear.
+     */
+    private static final class SaxStringBuilder implements CharSequence {
 
         private boolean enabled = false;
         private char[] buffer = new char[64];
@@ -367,6 +477,29 @@ public final class SaxEntryParser implements XlsxEntryParser {
             return new String(buffer, 0, bufferLength);
         }
 
+        @Override
+        public int length() {
+            return bufferLength;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index >= bufferLength) {
+                throw new IndexOutOfBoundsException();
+            }
+            return buffer[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(buffer, start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return build();
+        }
+
         public SaxStringBuilder appendIfNeeded(char[] ch, int start, int length) {
             if (isEnabled()) {
                 int expectedLength = bufferLength + length;
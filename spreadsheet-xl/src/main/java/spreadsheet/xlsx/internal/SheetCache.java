@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import ec.util.spreadsheet.Sheet;
+import lombok.NonNull;
+import nbbrd.design.VisibleForTesting;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Cache of parsed sheets bounded by their estimated size.
+ * <p>
+ * Sheets are evicted in least-recently-used order once the total estimated
+ * size exceeds the maximum size; a sheet bigger than the maximum size is not
+ * cached. Sheets may also be held by soft references so that the garbage
+ * collector can reclaim them under memory pressure; reclaimed sheets no
+ * longer count toward the total size. This class is thread-safe.
+ */
+final class SheetCache {
+
+    private final long maxSize;
+    private final boolean soft;
+    private final LinkedHashMap<Integer, Entry> entries;
+    private final ReferenceQueue<Sheet> reclaimed;
+    private long size;
+    private long hitCount;
+    private long missCount;
+
+    SheetCache(long maxSize, boolean soft) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Invalid cache size: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.soft = soft;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.reclaimed = new ReferenceQueue<>();
+        this.size = 0;
+        this.hitCount = 0;
+        this.missCount = 0;
+    }
+
+    synchronized Sheet get(int index) {
+        Entry entry = entries.get(index);
+        Sheet result = entry != null ? entry.get() : null;
+        if (result != null) {
+            hitCount++;
+            return result;
+        }
+        if (entry != null) {
+            // reclaimed by the garbage collector
+            remove(index);
+        }
+        missCount++;
+        return null;
+    }
+
+    synchronized void put(int index, @NonNull Sheet sheet) {
+        long sheetSize = estimateSize(sheet);
+        if (sheetSize > maxSize) {
+            return;
+        }
+        purgeReclaimed();
+        remove(index);
+        entries.put(index, soft ? new SoftEntry(index, sheet, sheetSize, reclaimed) : new StrongEntry(sheet, sheetSize));
+        size += sheetSize;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().getSize();
+            iterator.remove();
+        }
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    synchronized long getMissCount() {
+        return missCount;
+    }
+
+    synchronized long getSize() {
+        purgeReclaimed();
+        return size;
+    }
+
+    /**
+     * Clears the soft references of the cached sheets, as done by the garbage
+     * collector under memory pressure.
+     */
+    @VisibleForTesting
+    synchronized void clearReferences() {
+        for (Entry entry : entries.values()) {
+            if (entry instanceof SoftEntry) {
+                ((SoftEntry) entry).clear();
+                ((SoftEntry) entry).enqueue();
+            }
+        }
+    }
+
+    private void remove(int index) {
+        Entry old = entries.remove(index);
+        if (old != null) {
+            size -= old.getSize();
+        }
+    }
+
+    private void purgeReclaimed() {
+        Reference<? extends Sheet> reference;
+        while ((reference = reclaimed.poll()) != null) {
+            SoftEntry entry = (SoftEntry) reference;
+            // the entry might have been replaced or evicted since then
+            if (entries.remove(entry.index, entry)) {
+                size -= entry.size;
+            }
+        }
+    }
+
+    static long estimateSize(@NonNull Sheet sheet) {
+        if (sheet instanceof CompactSheet) {
+            return ((CompactSheet) sheet).estimateSize();
+        }
+        if (sheet instanceof SparseSheet) {
+            return ((SparseSheet) sheet).estimateSize();
+        }
+        if (sheet instanceof ColumnarSheet) {
+            return ((ColumnarSheet) sheet).estimateSize();
+        }
+        // unknown layout -> one boxed value per cell
+        return (long) sheet.getRowCount() * sheet.getColumnCount() * UNKNOWN_CELL_BYTES;
+    }
+
+    static long estimateSize(@NonNull List<String> strings) {
+        long result = 0;
+        for (String o : strings) {
+            result += STRING_OVERHEAD_BYTES + (long) o.length() * Character.BYTES;
+        }
+        return result;
+    }
+
+    private static final int UNKNOWN_CELL_BYTES = 24;
+    private static final int STRING_OVERHEAD_BYTES = 56;
+
+    private interface Entry {
+
+        Sheet get();
+
+        long getSize();
+    }
+
+    @lombok.AllArgsConstructor
+    private static final class StrongEntry implements Entry {
+
+        final Sheet sheet;
+        final long size;
+
+        @Override
+        public Sheet get() {
+            return sheet;
+        }
+
+        @Override
+        public long getSize() {
+            return size;
+        }
+    }
+
+    private static final class SoftEntry extends SoftReference<Sheet> implements Entry {
+
+        final int index;
+        final long size;
+
+        SoftEntry(int index, Sheet sheet, long size, ReferenceQueue<Sheet> queue) {
+            super(sheet, queue);
+            this.index = index;
+            this.size = size;
+        }
+
+        @Override
+        public long getSize() {
+            return size;
+        }
+    }
+}
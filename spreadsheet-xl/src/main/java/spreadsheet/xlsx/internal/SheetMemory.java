@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import lombok.NonNull;
+import nbbrd.design.NonNegative;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Allocator of compact sheet storage.
+ * <p>
+ * Sheets whose cells fit in the heap budget are stored on the heap; bigger
+ * sheets are stored in memory-mapped temporary files. Closing this allocator
+ * unmaps and deletes all the files it created, invalidating the sheets that
+ * use them: these sheets must not be used afterward nor while closing, on any
+ * thread.
+ * This class is thread-safe.
+ *
+ * @since 2.7.0
+ */
+public final class SheetMemory implements Closeable {
+
+    /**
+     * Default heap budget: a quarter of the maximum heap size.
+     */
+    public static final long DEFAULT_HEAP_BUDGET = Runtime.getRuntime().maxMemory() / 4;
+
+    /**
+     * Creates an allocator with a heap budget.
+     *
+     * @param heapBudget the maximum number of bytes of a sheet stored on the heap
+     * @return a non-null allocator
+     */
+    @NonNull
+    public static SheetMemory of(@NonNegative long heapBudget) {
+        if (heapBudget < 0) {
+            throw new IllegalArgumentException("Invalid heap budget: " + heapBudget);
+        }
+        return new SheetMemory(heapBudget);
+    }
+
+    private final long heapBudget;
+    private final List<CellStorage> mapped;
+
+    private SheetMemory(long heapBudget) {
+        this.heapBudget = heapBudget;
+        this.mapped = new ArrayList<>();
+    }
+
+    public long getHeapBudget() {
+        return heapBudget;
+    }
+
+    CellStorage allocate(long cellCount) throws UncheckedIOException {
+        if (cellCount <= Math.min(heapBudget, Integer.MAX_VALUE) / CellStorage.CELL_BYTES) {
+            return CellStorage.onHeap(cellCount);
+        }
+        try {
+            CellStorage result = CellStorage.inTempFile(cellCount);
+            synchronized (mapped) {
+                mapped.add(result);
+            }
+            return result;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        CellStorage[] closeables;
+        synchronized (mapped) {
+            closeables = mapped.toArray(new CellStorage[0]);
+            mapped.clear();
+        }
+        XlsxBook.closeAll(null, closeables);
+    }
+}
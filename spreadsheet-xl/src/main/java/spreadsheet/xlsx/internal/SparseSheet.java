@@ -0,0 +1,417 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import ec.util.spreadsheet.Cell;
+import ec.util.spreadsheet.Sheet;
+import ec.util.spreadsheet.SheetConsumer;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import nbbrd.design.NonNegative;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Sheet that only stores its non-null cells, in compressed sparse rows: the
+ * indexes of non-empty rows, their offsets in the cell arrays, and the sorted
+ * column indexes, types and payloads of their cells.
+ */
+@lombok.RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SparseSheet extends Sheet {
+
+    private static final byte NUMBER = 1;
+    private static final byte DATE = 2;
+    private static final byte SHARED_STRING = 3;
+    private static final byte LOCAL_STRING = 4;
+
+    private final int rowCount;
+    private final int columnCount;
+    private final String name;
+    private final int[] rowIndexes;
+    private final int[] rowStarts;
+    private final int[] columns;
+    private final byte[] types;
+    private final long[] values;
+    private final List<String> sharedStrings;
+    private final List<String> localStrings;
+
+    @Deprecated
+    private final FlyweightCell flyweightCell = new FlyweightCell();
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    @Override
+    public Cell getCell(int rowIdx, int columnIdx) throws IndexOutOfBoundsException {
+        Object value = getCellValue(rowIdx, columnIdx);
+        return value != null ? flyweightCell.withValue(value) : null;
+    }
+
+    @Override
+    public Object getCellValue(int rowIdx, int columnIdx) throws IndexOutOfBoundsException {
+        if (rowIdx < 0 || rowIdx >= rowCount || columnIdx < 0 || columnIdx >= columnCount) {
+            throw new IndexOutOfBoundsException();
+        }
+        int row = Arrays.binarySearch(rowIndexes, rowIdx);
+        if (row < 0) {
+            return null;
+        }
+        int index = Arrays.binarySearch(columns, rowStarts[row], rowStarts[row + 1], columnIdx);
+        return index >= 0 ? getValueAt(index) : null;
+    }
+
+    @Override
+    public void forEachValue(@org.jspecify.annotations.NonNull SheetConsumer<? super Object> action) {
+        for (int row = 0; row < rowIndexes.length; row++) {
+            for (int index = rowStarts[row]; index < rowStarts[row + 1]; index++) {
+                action.accept(rowIndexes[row], columns[index], getValueAt(index));
+            }
+        }
+    }
+
+    @Override
+    public @org.jspecify.annotations.NonNull String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "SparseSheet[" + rowCount + "x" + columnCount + "]";
+    }
+
+    /**
+     * Returns the number of non-null cells.
+     *
+     * @return a non-negative number of cells
+     */
+    public int getCellCount() {
+        return columns.length;
+    }
+
+    /**
+     * Estimates the number of heap bytes used by this sheet.
+     */
+    long estimateSize() {
+        long rows = (long) rowIndexes.length * Integer.BYTES * 2;
+        long cells = (long) columns.length * (Integer.BYTES + Byte.BYTES + Long.BYTES);
+        return rows + cells + SheetCache.estimateSize(localStrings);
+    }
+
+    private Object getValueAt(int index) {
+        long value = values[index];
+        switch (types[index]) {
+            case NUMBER:
+                return Double.longBitsToDouble(value);
+            case DATE:
+                return new Date(value);
+            case SHARED_STRING:
+                return sharedStrings.get((int) value);
+            case LOCAL_STRING:
+                return localStrings.get((int) value);
+            default:
+                throw new RuntimeException();
+        }
+    }
+
+    /**
+     * Creates a builder of sheet whose size is known in advance.
+     */
+    @NonNull
+    public static Builder builder(
+            @NonNegative int rowCount, @NonNegative int columnCount,
+            @NonNull String name, @NonNull List<String> sharedStrings) {
+        return new Builder(rowCount, columnCount, name, sharedStrings);
+    }
+
+    /**
+     * Creates a builder of sheet whose size is computed from its cells.
+     */
+    @NonNull
+    public static Builder builder(@NonNull String name, @NonNull List<String> sharedStrings) {
+        return new Builder(-1, -1, name, sharedStrings);
+    }
+
+    @Deprecated
+    private static final class FlyweightCell extends Cell implements Serializable {
+
+        private Object value = null;
+
+        @NonNull
+        FlyweightCell withValue(@NonNull Object value) {
+            this.value = value;
+            return this;
+        }
+
+        @Override
+        public boolean isDate() {
+            return value instanceof Date;
+        }
+
+        @Override
+        public boolean isNumber() {
+            return value instanceof Number;
+        }
+
+        @Override
+        public boolean isString() {
+            return value instanceof String;
+        }
+
+        @Override
+        public Date getDate() {
+            if (!isDate()) {
+                throw new UnsupportedOperationException();
+            }
+            return (Date) value;
+        }
+
+        @Override
+        public Number getNumber() {
+            if (!isNumber()) {
+                throw new UnsupportedOperationException();
+            }
+            return (Number) value;
+        }
+
+        @Override
+        public String getString() {
+            if (!isString()) {
+                throw new UnsupportedOperationException();
+            }
+            return (String) value;
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(value);
+        }
+    }
+
+    public static final class Builder {
+
+        private final int rowCount;
+        private final int columnCount;
+        private final String name;
+        private final List<String> sharedStrings;
+        private List<String> localStrings;
+
+        private int[] rows = new int[16];
+        private int[] columns = new int[16];
+        private byte[] types = new byte[16];
+        private long[] values = new long[16];
+        private int size = 0;
+        private boolean sorted = true;
+        private int maxRow = -1;
+        private int maxColumn = -1;
+
+        private Builder(int rowCount, int columnCount, String name, List<String> sharedStrings) {
+            this.rowCount = rowCount;
+            this.columnCount = columnCount;
+            this.name = Objects.requireNonNull(name);
+            this.sharedStrings = Objects.requireNonNull(sharedStrings);
+            this.localStrings = null;
+        }
+
+        /**
+         * Returns the number of cells put so far.
+         *
+         * @return a non-negative number of cells
+         */
+        public int size() {
+            return size;
+        }
+
+        public Builder putNumber(int i, int j, double number) {
+            put(i, j, NUMBER, Double.doubleToRawLongBits(number));
+            return this;
+        }
+
+        public Builder putDate(int i, int j, long date) {
+            put(i, j, DATE, date);
+            return this;
+        }
+
+        public Builder putSharedString(int i, int j, int stringIndex) {
+            put(i, j, SHARED_STRING, stringIndex);
+            return this;
+        }
+
+        public Builder putString(int i, int j, String string) {
+            if (localStrings == null) {
+                localStrings = new ArrayList<>();
+            }
+            put(i, j, LOCAL_STRING, localStrings.size());
+            localStrings.add(string);
+            return this;
+        }
+
+        /**
+         * Copies the cells put so far into a compact sheet builder.
+         *
+         * @param target a non-null builder
+         */
+        public void copyTo(@NonNull CompactSheet.Builder target) {
+            for (int index = 0; index < size; index++) {
+                long value = values[index];
+                switch (types[index]) {
+                    case NUMBER:
+                        target.putNumber(rows[index], columns[index], Double.longBitsToDouble(value));
+                        break;
+                    case DATE:
+                        target.putDate(rows[index], columns[index], value);
+                        break;
+                    case SHARED_STRING:
+                        target.putSharedString(rows[index], columns[index], (int) value);
+                        break;
+                    case LOCAL_STRING:
+                        target.putString(rows[index], columns[index], localStrings.get((int) value));
+                        break;
+                }
+            }
+        }
+
+        public SparseSheet build() {
+            int[] order = getOrder();
+
+            int[] rowIndexes = new int[16];
+            int[] rowStarts = new int[17];
+            int rowSize = 0;
+            int[] sparseColumns = new int[order.length];
+            byte[] sparseTypes = new byte[order.length];
+            long[] sparseValues = new long[order.length];
+            int cellCount = 0;
+
+            for (int k = 0; k < order.length; k++) {
+                int index = order[k];
+                if (k + 1 < order.length && compare(index, order[k + 1]) == 0) {
+                    // duplicated cell -> last one wins
+                    continue;
+                }
+                if (rowSize == 0 || rowIndexes[rowSize - 1] != rows[index]) {
+                    if (rowSize + 1 >= rowIndexes.length) {
+                        rowIndexes = Arrays.copyOf(rowIndexes, rowIndexes.length * 2);
+                        rowStarts = Arrays.copyOf(rowStarts, rowStarts.length * 2);
+                    }
+                    rowIndexes[rowSize] = rows[index];
+                    rowStarts[rowSize] = cellCount;
+                    rowSize++;
+                }
+                sparseColumns[cellCount] = columns[index];
+                sparseTypes[cellCount] = types[index];
+                sparseValues[cellCount] = values[index];
+                cellCount++;
+            }
+            rowStarts[rowSize] = cellCount;
+
+            return new SparseSheet(
+                    rowCount != -1 ? rowCount : maxRow + 1,
+                    columnCount != -1 ? columnCount : maxColumn + 1,
+                    name,
+                    Arrays.copyOf(rowIndexes, rowSize),
+                    Arrays.copyOf(rowStarts, rowSize + 1),
+                    Arrays.copyOf(sparseColumns, cellCount),
+                    Arrays.copyOf(sparseTypes, cellCount),
+                    Arrays.copyOf(sparseValues, cellCount),
+                    sharedStrings,
+                    localStrings != null ? localStrings : Collections.emptyList());
+        }
+
+        private void put(int i, int j, byte type, long value) {
+            if (i < 0 || j < 0 || (rowCount != -1 && i >= rowCount) || (columnCount != -1 && j >= columnCount)) {
+                throw new IndexOutOfBoundsException();
+            }
+            if (size == rows.length) {
+                int capacity = size * 2;
+                rows = Arrays.copyOf(rows, capacity);
+                columns = Arrays.copyOf(columns, capacity);
+                types = Arrays.copyOf(types, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            if (sorted && size > 0 && (i < rows[size - 1] || (i == rows[size - 1] && j <= columns[size - 1]))) {
+                sorted = false;
+            }
+            rows[size] = i;
+            columns[size] = j;
+            types[size] = type;
+            values[size] = value;
+            size++;
+            maxRow = Math.max(maxRow, i);
+            maxColumn = Math.max(maxColumn, j);
+        }
+
+        private int compare(int x, int y) {
+            int result = Integer.compare(rows[x], rows[y]);
+            return result != 0 ? result : Integer.compare(columns[x], columns[y]);
+        }
+
+        private int[] getOrder() {
+            if (sorted) {
+                int[] result = new int[size];
+                Arrays.setAll(result, i -> i);
+                return result;
+            }
+            // stable sort -> insertion order is kept for duplicated cells
+            int[] result = new int[size];
+            Arrays.setAll(result, i -> i);
+            int[] buffer = new int[size];
+            for (int width = 1; width < size; width *= 2) {
+                for (int low = 0; low < size - width; low += width * 2) {
+                    merge(result, buffer, low, low + width, Math.min(low + width * 2, size));
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Merges two adjacent sorted ranges of indexes, the left one first on
+         * ties.
+         */
+        private void merge(int[] order, int[] buffer, int low, int middle, int high) {
+            if (compare(order[middle - 1], order[middle]) <= 0) {
+                return;
+            }
+            System.arraycopy(order, low, buffer, low, high - low);
+            int left = low;
+            int right = middle;
+            for (int k = low; k < high; k++) {
+                if (right == high || (left < middle && compare(buffer[left], buffer[right]) <= 0)) {
+                    order[k] = buffer[left++];
+                } else {
+                    order[k] = buffer[right++];
+                }
+            }
+        }
+    }
+}
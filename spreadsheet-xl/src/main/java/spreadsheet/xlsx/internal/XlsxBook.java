@@ -18,8 +18,10 @@ package spreadsheet.xlsx.internal;
 
 import ec.util.spreadsheet.Book;
 import ec.util.spreadsheet.Sheet;
+import ec.util.spreadsheet.SheetInfo;
+import ec.util.spreadsheet.helpers.CellRefHelper;
+import nbbrd.io.function.IOFunction;
 import nbbrd.io.function.IOSupplier;
-import nbbrd.io.xml.Sax;
 import nbbrd.design.NonNegative;
 import lombok.NonNull;
 import spreadsheet.xlsx.*;
@@ -27,11 +29,11 @@ import spreadsheet.xlsx.*;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.function.ObjIntConsumer;
 import java.util.function.Supplier;
-import java.util.stream.IntStream;
 
 /**
  * @author Philippe Charles
@@ -39,37 +41,99 @@ import java.util.stream.IntStream;
 @lombok.RequiredArgsConstructor
 public final class XlsxBook extends Book {
 
+    private static final boolean MULTI_CORE = Runtime.getRuntime().availableProcessors() > 1;
+
+    /**
+     * Default sheet builder of {@link XlsxReader}; its dense sheets are
+     * allocated according to {@link XlsxReader#getSheetHeapBudget()}.
+     *
+     * @since 2.7.0
+     */
+    public static final XlsxSheetBuilder.Factory DEFAULT_SHEET_BUILDER = MULTI_CORE ? MultiSheetBuilder::of : DefaultSheetBuilder::of;
+
+    /**
+     * Default value of {@link XlsxReader#getSharedStringsCacheSize()}.
+     *
+     * @since 2.7.0
+     */
+    public static final int DEFAULT_SHARED_STRINGS_CACHE_SIZE = 256;
+
     @NonNull
     public static XlsxBook create(@NonNull XlsxPackage pkg, @NonNull XlsxReader reader) throws IOException {
+        SheetMemory sheetMemory = SheetMemory.of(reader.getSheetHeapBudget());
         XlsxEntryParser mainEntryParser = null;
+        MetadataLoader metadata = reader.isConcurrentMetadata() ? MetadataLoader.concurrent() : MetadataLoader.sequential();
 
         try {
             mainEntryParser = reader.getEntryParser().create();
 
-            WorkbookData data = parseWorkbook(pkg::getWorkbook, mainEntryParser);
+            IOSupplier<List<String>> sharedStrings = metadata.part(MetadataLoader.SHARED_STRINGS,
+                    reader.isLazySharedStrings()
+                            ? lazySharedStringsOf(pkg, reader.getEntryParser())
+                            : sharedStringsOf(pkg, metadata.isConcurrent() ? null : mainEntryParser, reader.getEntryParser(), reader.getSharedStringsCacheSize()));
+            IOSupplier<boolean[]> dateFormats = metadata.part(MetadataLoader.STYLES,
+                    dateFormatsOf(pkg, metadata.isConcurrent() ? null : mainEntryParser, reader.getEntryParser(), reader.getNumberingFormat()));
+            if (metadata.isConcurrent() && pkg instanceof ZipPackage) {
+                metadata.part(MetadataLoader.RELATIONSHIPS, ((ZipPackage) pkg)::loadRelationships);
+            }
+
+            XlsxEntryParser workbookParser = mainEntryParser;
+            WorkbookData data = metadata.load(MetadataLoader.WORKBOOK, () -> parseWorkbook(pkg::getWorkbook, workbookParser));
 
             return new XlsxBook(pkg, data.sheets,
                     dateSystemOf(reader.getDateSystem(), data.date1904),
-                    sharedStringsOf(pkg, mainEntryParser),
-                    dateFormatsOf(pkg, mainEntryParser, reader.getNumberingFormat()),
+                    sharedStrings,
+                    dateFormats,
                     mainEntryParser,
-                    reader.getSheetBuilder());
+                    reader.getEntryParser(),
+                    sheetBuilderOf(reader.getSheetBuilder(), sheetMemory),
+                    reader.getSheetParallelism(),
+                    reader.getSheetCacheSize() > 0 ? new SheetCache(reader.getSheetCacheSize(), reader.isSoftSheetCache()) : null,
+                    reader.getParallelExecutor(),
+                    reader.getMaxParallelism(),
+                    metadata,
+                    reader.getProjection(),
+                    sheetMemory);
         } catch (IOException ex) {
-            closeAll(ex, mainEntryParser);
+            closeAll(ex, metadata, mainEntryParser, sheetMemory);
             throw ex;
         }
     }
 
+    private static XlsxSheetBuilder.Factory sheetBuilderOf(XlsxSheetBuilder.Factory sheetBuilder, SheetMemory memory) {
+        if (sheetBuilder != DEFAULT_SHEET_BUILDER) {
+            return sheetBuilder;
+        }
+        // default builder -> dense sheets allocated in the memory of the book
+        return MULTI_CORE
+                ? (x, y, z) -> MultiSheetBuilder.of(x, y, z, memory)
+                : (x, y, z) -> DefaultSheetBuilder.of(x, y, z, memory);
+    }
+
     private static Supplier<XlsxDateSystem> dateSystemOf(XlsxDateSystem.Factory dateSystem, boolean date1904) {
         return () -> dateSystem.of(date1904);
     }
 
-    private static IOSupplier<List<String>> sharedStringsOf(XlsxPackage pkg, XlsxEntryParser entryParser) {
-        return () -> parseSharedStrings(pkg::getSharedStrings, entryParser);
+    private static IOSupplier<List<String>> sharedStringsOf(XlsxPackage pkg, XlsxEntryParser entryParser, XlsxEntryParser.Factory entryParserFactory, int cacheSize) {
+        return () -> withEntryParser(entryParser, entryParserFactory, o -> parseSharedStrings(pkg::getSharedStrings, o, cacheSize));
+    }
+
+    private static IOSupplier<List<String>> lazySharedStringsOf(XlsxPackage pkg, XlsxEntryParser.Factory entryParser) {
+        return () -> LazyStringList.parse(pkg::getSharedStrings, entryParser);
     }
 
-    private static IOSupplier<boolean[]> dateFormatsOf(XlsxPackage pkg, XlsxEntryParser entryParser, XlsxNumberingFormat.Factory numberingFormat) {
-        return () -> parseStyles(numberingFormat.of(), pkg::getStyles, entryParser);
+    private static IOSupplier<boolean[]> dateFormatsOf(XlsxPackage pkg, XlsxEntryParser entryParser, XlsxEntryParser.Factory entryParserFactory, XlsxNumberingFormat.Factory numberingFormat) {
+        return () -> withEntryParser(entryParser, entryParserFactory, o -> parseStyles(numberingFormat.of(), pkg::getStyles, o));
+    }
+
+    private static <T> T withEntryParser(XlsxEntryParser entryParser, XlsxEntryParser.Factory entryParserFactory, IOFunction<XlsxEntryParser, T> function) throws IOException {
+        if (entryParser != null) {
+            return function.applyWithIO(entryParser);
+        }
+        // concurrent loading -> own parser
+        try (XlsxEntryParser ownParser = entryParserFactory.create()) {
+            return function.applyWithIO(ownParser);
+        }
     }
 
     private final XlsxPackage pkg;
@@ -78,12 +142,34 @@ public final class XlsxBook extends Book {
     private final IOSupplier<List<String>> sharedStrings;
     private final IOSupplier<boolean[]> dateFormats;
     private final XlsxEntryParser mainEntryParser;
+    private final XlsxEntryParser.Factory entryParserFactory;
     private final XlsxSheetBuilder.Factory mainSheetBuilderFactory;
+    private final int sheetParallelism;
+    private final SheetCache sheetCache;
+    private final Executor parallelExecutor;
+    private final int maxParallelism;
+    private final MetadataLoader metadata;
+    private final XlsxProjection projection;
+    private final SheetMemory sheetMemory;
     private XlsxSheetBuilder mainSheetBuilder = null;
-
+    private ParallelSheetParser parallelSheetParser = null;
+    private List<String> loadedSharedStrings = null;
+    private boolean[] loadedDateFormats = null;
+
+    /**
+     * Closes this book. Dense sheets bigger than the heap budget of the reader
+     * are stored in temporary files that are deleted here: these sheets must
+     * not be used afterward nor while closing, on any thread.
+     *
+     * @throws IOException if the book cannot be closed
+     */
     @Override
     public void close() throws IOException {
-        closeAll(null, pkg, mainEntryParser, mainSheetBuilder);
+        if (sheetCache != null) {
+            sheetCache.clear();
+        }
+        closeAll(null, metadata, pkg, mainEntryParser, mainSheetBuilder, parallelSheetParser, sheetMemory,
+                loadedSharedStrings instanceof Closeable ? (Closeable) loadedSharedStrings : null);
     }
 
     @Override
@@ -93,12 +179,98 @@ public final class XlsxBook extends Book {
 
     @Override
     public @NonNull Sheet getSheet(int index) throws IOException {
+        if (sheetCache == null) {
+            return loadSheet(index);
+        }
+        Sheet result = sheetCache.get(index);
+        if (result == null) {
+            result = loadSheet(index);
+            sheetCache.put(index, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of sheets found in the cache.
+     *
+     * @return a non-negative number, zero if the cache is disabled
+     * @since 2.7.0
+     */
+    public long getSheetCacheHitCount() {
+        return sheetCache != null ? sheetCache.getHitCount() : 0;
+    }
+
+    /**
+     * Returns the number of sheets not found in the cache.
+     *
+     * @return a non-negative number, zero if the cache is disabled
+     * @since 2.7.0
+     */
+    public long getSheetCacheMissCount() {
+        return sheetCache != null ? sheetCache.getMissCount() : 0;
+    }
+
+    /**
+     * Returns the loading times of the metadata parts loaded so far, by part
+     * name ("workbook", "sharedStrings", "styles" and "relationships").
+     *
+     * @return a non-null map
+     * @since 2.7.0
+     */
+    @NonNull
+    public Map<String, Duration> getMetadataTimings() {
+        return metadata.getTimings();
+    }
+
+    private Sheet loadSheet(int index) throws IOException {
+        if (sheetParallelism > 1 && projection.isAll()) {
+            return getSheetInParallel(index);
+        }
         if (mainSheetBuilder == null) {
-            mainSheetBuilder = mainSheetBuilderFactory.create(dateSystem.get(), sharedStrings.getWithIO(), dateFormats.getWithIO());
+            mainSheetBuilder = mainSheetBuilderFactory.create(dateSystem.get(), getSharedStrings(), getDateFormats());
         }
         return getSheet(index, mainSheetBuilder, mainEntryParser);
     }
 
+    private List<String> getSharedStrings() throws IOException {
+        if (loadedSharedStrings == null) {
+            loadedSharedStrings = sharedStrings.getWithIO();
+        }
+        return loadedSharedStrings;
+    }
+
+    private boolean[] getDateFormats() throws IOException {
+        if (loadedDateFormats == null) {
+            loadedDateFormats = dateFormats.getWithIO();
+        }
+        return loadedDateFormats;
+    }
+
+    private Sheet getSheetInParallel(int index) throws IOException {
+        if (parallelSheetParser == null) {
+            parallelSheetParser = new ParallelSheetParser(sheetParallelism, sheetMemory);
+        }
+        SheetMeta meta = sheets.get(index);
+        return parallelSheetParser.parse(meta.name, () -> pkg.getSheet(meta.relationId), pkg.getSheetSize(meta.relationId),
+                dateSystem.get(), getSharedStrings(), getDateFormats(), mainEntryParser);
+    }
+
+    @Override
+    public @NonNull SheetInfo getSheetInfo(@NonNegative int index) throws IOException {
+        SheetMeta meta = sheets.get(index);
+        DimensionVisitor dimension = new DimensionVisitor();
+        try (InputStream stream = pkg.getSheet(meta.relationId)) {
+            mainEntryParser.visitSheet(stream, dimension);
+        }
+        return SheetInfo
+                .builder()
+                .name(meta.name)
+                .rowCount(dimension.rowCount)
+                .columnCount(dimension.columnCount)
+                .contentSize(pkg.getSheetSize(meta.relationId))
+                .build();
+    }
+
     @Override
     public @NonNull String getSheetName(@NonNegative int index) {
         return sheets.get(index).getName();
@@ -106,29 +278,25 @@ public final class XlsxBook extends Book {
 
     @Override
     public void parallelForEach(@NonNull ObjIntConsumer<? super Sheet> action) throws IOException {
-        XlsxDateSystem x = dateSystem.get();
-        List<String> y = sharedStrings.getWithIO();
-        boolean[] z = dateFormats.getWithIO();
+        parallelForEach(action, parallelExecutor, maxParallelism);
+    }
 
-        try {
-            IntStream.range(0, getSheetCount2())
-                    .parallel()
-                    .forEach(index -> {
-                        try {
-                            Sheet sheet = getSheet(index, DefaultSheetBuilder.of(x, y, z), new SaxEntryParser(Sax.createReader()));
-                            action.accept(sheet, index);
-                        } catch (IOException ex) {
-                            throw new UncheckedIOException(ex);
-                        }
-                    });
-        } catch (UncheckedIOException ex) {
-            throw ex.getCause();
-        }
+    @Override
+    public void parallelForEach(@NonNull ObjIntConsumer<? super Sheet> action, @NonNull Executor executor, int maxParallelism) throws IOException {
+        XlsxDateSystem x = dateSystem.get();
+        List<String> y = getSharedStrings();
+        boolean[] z = getDateFormats();
+        ParallelForEach.run(getSheetCount2(), executor, maxParallelism, index -> {
+            try (XlsxEntryParser entryParser = entryParserFactory.create()) {
+                Sheet sheet = getSheet(index, DefaultSheetBuilder.of(x, y, z, sheetMemory), entryParser);
+                action.accept(sheet, index);
+            }
+        });
     }
 
     private Sheet getSheet(int index, XlsxSheetBuilder sheetBuilder, XlsxEntryParser entryParser) throws IOException {
         SheetMeta meta = sheets.get(index);
-        return parseSheet(meta.name, sheetBuilder, () -> pkg.getSheet(meta.relationId), entryParser);
+        return parseSheet(meta.name, sheetBuilder, () -> pkg.getSheet(meta.relationId), entryParser, projection);
     }
 
     static void closeAll(IOException initial, Closeable... closeables) throws IOException {
@@ -195,11 +363,15 @@ public final class XlsxBook extends Book {
     }
 
     static List<String> parseSharedStrings(IOSupplier<? extends InputStream> byteSource, XlsxEntryParser parser) throws IOException {
-        List<String> result = new ArrayList<>();
+        return parseSharedStrings(byteSource, parser, DEFAULT_SHARED_STRINGS_CACHE_SIZE);
+    }
+
+    static List<String> parseSharedStrings(IOSupplier<? extends InputStream> byteSource, XlsxEntryParser parser, int cacheSize) throws IOException {
+        CompactStringList.Builder result = CompactStringList.builder().cacheSize(cacheSize);
         try (InputStream stream = byteSource.getWithIO()) {
             parser.visitSharedStrings(stream, o -> result.add(Objects.requireNonNull(o)));
         }
-        return result;
+        return result.build();
     }
 
     static boolean[] parseStyles(XlsxNumberingFormat dateFormat, IOSupplier<? extends InputStream> byteSource, XlsxEntryParser parser) throws IOException {
@@ -242,22 +414,31 @@ public final class XlsxBook extends Book {
     }
 
     static Sheet parseSheet(String name, XlsxSheetBuilder sheetBuilder, IOSupplier<? extends InputStream> byteSource, XlsxEntryParser parser) throws IOException {
-        SheetVisitorImpl result = new SheetVisitorImpl(name, sheetBuilder);
+        return parseSheet(name, sheetBuilder, byteSource, parser, XlsxProjection.ALL);
+    }
+
+    static Sheet parseSheet(String name, XlsxSheetBuilder sheetBuilder, IOSupplier<? extends InputStream> byteSource, XlsxEntryParser parser, XlsxProjection projection) throws IOException {
+        SheetVisitorImpl result = projection.isAll()
+                ? new SheetVisitorImpl(name, sheetBuilder)
+                : new ProjectedSheetVisitor(name, sheetBuilder, projection);
         try (InputStream stream = byteSource.getWithIO()) {
             parser.visitSheet(stream, result);
         }
         return result.build();
     }
 
-    private static final class SheetVisitorImpl implements XlsxEntryParser.SheetVisitor {
+    private static class SheetVisitorImpl implements XlsxEntryParser.SheetVisitor {
 
         private final String sheetName;
         private final XlsxSheetBuilder sheetBuilder;
+        // other builders may keep the values -> reused buffers must be copied
+        private final boolean copyValues;
         private boolean inData;
 
         SheetVisitorImpl(String sheetName, XlsxSheetBuilder sheetBuilder) {
             this.sheetName = sheetName;
             this.sheetBuilder = sheetBuilder;
+            this.copyValues = !(sheetBuilder instanceof BufferSafeSheetBuilder);
             this.inData = false;
         }
 
@@ -275,11 +456,112 @@ public final class XlsxBook extends Book {
             if (!inData) {
                 throw new IllegalStateException();
             }
-            sheetBuilder.put(ref, value, dataType, styleIndex);
+            sheetBuilder.put(ref, copyValues ? value.toString() : value, dataType, styleIndex);
+        }
+
+        @Override
+        public void onCell(int row, int column, @org.jspecify.annotations.NonNull CharSequence value, @org.jspecify.annotations.NonNull XlsxDataType dataType, int styleIndex) {
+            if (!inData) {
+                throw new IllegalStateException();
+            }
+            sheetBuilder.put(row, column, copyValues ? value.toString() : value, dataType, styleIndex);
         }
 
         public Sheet build() {
             return sheetBuilder.build();
         }
     }
+
+    /**
+     * Sheet visitor that only reads the declared dimension; entry parsers stop
+     * at the first cell.
+     */
+    private static final class DimensionVisitor implements XlsxEntryParser.SheetVisitor {
+
+        private final CellRefHelper refHelper = new CellRefHelper();
+        private int rowCount = SheetInfo.UNKNOWN;
+        private int columnCount = SheetInfo.UNKNOWN;
+
+        @Override
+        public void onSheetData(String sheetBounds) {
+            if (refHelper.parseEnd(sheetBounds) || refHelper.parse(sheetBounds)) {
+                rowCount = refHelper.getRowIndex() + 1;
+                columnCount = refHelper.getColumnIndex() + 1;
+            }
+        }
+
+        @Override
+        public void onCell(@org.jspecify.annotations.NonNull String ref, @org.jspecify.annotations.NonNull CharSequence value, @org.jspecify.annotations.NonNull XlsxDataType dataType, int styleIndex) {
+        }
+
+        @Override
+        public void onCell(int row, int column, @org.jspecify.annotations.NonNull CharSequence value, @org.jspecify.annotations.NonNull XlsxDataType dataType, int styleIndex) {
+        }
+
+        @Override
+        public boolean isCellRequired(int row, int column) {
+            return false;
+        }
+
+        @Override
+        public boolean isAfterLastRow(int row) {
+            return true;
+        }
+    }
+
+    /**
+     * Sheet visitor that drops the cells outside of a projection and clips
+     * the sheet bounds to it. Cells are also filtered here since entry
+     * parsers are free to ignore the hints.
+     */
+    private static final class ProjectedSheetVisitor extends SheetVisitorImpl {
+
+        private final XlsxProjection projection;
+        private final CellRefHelper refHelper = new CellRefHelper();
+
+        ProjectedSheetVisitor(String sheetName, XlsxSheetBuilder sheetBuilder, XlsxProjection projection) {
+            super(sheetName, sheetBuilder);
+            this.projection = projection;
+        }
+
+        @Override
+        public void onSheetData(String sheetBounds) {
+            super.onSheetData(clip(sheetBounds));
+        }
+
+        @Override
+        public void onCell(@org.jspecify.annotations.NonNull String ref, @org.jspecify.annotations.NonNull CharSequence value, @org.jspecify.annotations.NonNull XlsxDataType dataType, int styleIndex) {
+            if (!refHelper.parse(ref)) {
+                super.onCell(ref, value, dataType, styleIndex);
+            } else if (projection.contains(refHelper.getRowIndex(), refHelper.getColumnIndex())) {
+                super.onCell(refHelper.getRowIndex(), refHelper.getColumnIndex(), value, dataType, styleIndex);
+            }
+        }
+
+        @Override
+        public void onCell(int row, int column, @org.jspecify.annotations.NonNull CharSequence value, @org.jspecify.annotations.NonNull XlsxDataType dataType, int styleIndex) {
+            if (projection.contains(row, column)) {
+                super.onCell(row, column, value, dataType, styleIndex);
+            }
+        }
+
+        @Override
+        public boolean isCellRequired(int row, int column) {
+            return projection.contains(row, column);
+        }
+
+        @Override
+        public boolean isAfterLastRow(int row) {
+            return projection.isAfterLastRow(row);
+        }
+
+        private String clip(String sheetBounds) {
+            if (!refHelper.parseEnd(sheetBounds)) {
+                return sheetBounds;
+            }
+            int rowCount = Math.min(refHelper.getRowIndex() + 1, projection.getRowEnd());
+            int columnCount = Math.min(refHelper.getColumnIndex() + 1, projection.getColumnEnd());
+            return sheetBounds.substring(0, sheetBounds.indexOf(':') + 1) + CellRefHelper.getCellRef(rowCount - 1, columnCount - 1);
+        }
+    }
 }
@@ -24,7 +24,6 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.Calendar;
 import java.util.GregorianCalendar;
 import java.util.Locale;
 import java.util.TimeZone;
@@ -56,7 +55,7 @@ final class XlsxValueFactory {
     private final Parser date;
 
     XlsxValueFactory(XlsxDateSystem dateSystem, IntPredicate dateFormats) {
-        this.numberOrDate = new NumberOrDateParser(dateSystem, dateFormats, NumberOrDateParser.newCalendar());
+        this.numberOrDate = new NumberOrDateParser(dateSystem, dateFormats, ZoneId.systemDefault());
         this.sharedString = new SharedStringParser();
         this.date = new DateParser();
     }
@@ -64,22 +63,22 @@ final class XlsxValueFactory {
     public void parse(Callback callback, CharSequence value, XlsxDataType dataType, int styleIndex) {
         switch (dataType) {
             case UNDEFINED:
-                numberOrDate.parse(callback, value.toString(), styleIndex);
+                numberOrDate.parse(callback, value, styleIndex);
                 break;
             case NUMBER:
-                numberOrDate.parse(callback, value.toString(), styleIndex);
+                numberOrDate.parse(callback, value, styleIndex);
                 break;
             case SHARED_STRING:
-                sharedString.parse(callback, value.toString());
+                sharedString.parse(callback, value);
                 break;
             case DATE:
-                date.parse(callback, value.toString());
+                date.parse(callback, value);
                 break;
             case STRING:
-                callback.onString(value.toString());
+                callback.onString(value);
                 break;
             case INLINE_STRING:
-                callback.onString(value.toString());
+                callback.onString(value);
                 break;
             default:
                 // BOOLEAN or ERROR or UNKNOWN
@@ -108,7 +107,7 @@ final class XlsxValueFactory {
         private final XlsxDateSystem dateSystem;
         private final IntPredicate dateFormats;
         // using default time-zone
-        private final Calendar calendar;
+        private final ZoneId zoneId;
 
         private boolean isDate(double number, int styleIndex) throws IndexOutOfBoundsException {
             return dateFormats.test(styleIndex) && dateSystem.isValidExcelDate(number);
@@ -117,7 +116,7 @@ final class XlsxValueFactory {
         @Override
         public void parse(Callback callback, CharSequence rawValue, int styleIndex) {
             try {
-                double number = Double.parseDouble(rawValue.toString());
+                double number = NumberParser.parseDouble(rawValue);
                 switch (styleIndex) {
                     case NULL_STYLE_INDEX:
                         callback.onNumber(number);
@@ -127,7 +126,7 @@ final class XlsxValueFactory {
                         break;
                     default:
                         if (isDate(number, styleIndex)) {
-                            callback.onDate(dateSystem.getJavaDateInMillis(calendar, number));
+                            callback.onDate(dateSystem.getJavaDateInMillis(zoneId, number));
                         } else {
                             callback.onNumber(number);
                         }
@@ -144,7 +143,7 @@ final class XlsxValueFactory {
         @Override
         public void parse(Callback callback, CharSequence rawValue) {
             try {
-                callback.onSharedString(Integer.parseInt(rawValue.toString()));
+                callback.onSharedString(NumberParser.parseInt(rawValue));
 //            return sharedStrings.apply(Integer.parseInt(rawValue));
             } catch (NumberFormatException | IndexOutOfBoundsException ex) {
                 callback.onNull();
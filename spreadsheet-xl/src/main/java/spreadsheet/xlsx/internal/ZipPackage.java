@@ -26,9 +26,12 @@ import org.xml.sax.SAXException;
 import org.xml.sax.helpers.DefaultHandler;
 import spreadsheet.xlsx.XlsxPackage;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
@@ -37,30 +40,45 @@ import java.util.Optional;
 import java.util.function.BiConsumer;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
 
 /**
  * @author Philippe Charles
  */
-@lombok.RequiredArgsConstructor
 public final class ZipPackage implements XlsxPackage {
 
-    @lombok.NonNull
     private final Resource.Loader<String> resource;
+    private final EntrySizes entrySizes;
+    private final Layout layout;
     private Map<String, String> relationships = null;
 
+    public ZipPackage(@lombok.NonNull Resource.Loader<String> resource) {
+        this(resource, EntrySizes.UNKNOWN);
+    }
+
+    ZipPackage(@lombok.NonNull Resource.Loader<String> resource, @lombok.NonNull EntrySizes entrySizes) {
+        this(resource, entrySizes, Layout.XML);
+    }
+
+    ZipPackage(@lombok.NonNull Resource.Loader<String> resource, @lombok.NonNull EntrySizes entrySizes, @lombok.NonNull Layout layout) {
+        this.resource = resource;
+        this.entrySizes = entrySizes;
+        this.layout = layout;
+    }
+
     @Override
     public @NonNull InputStream getWorkbook() throws IOException {
-        return resource.load(WORKBOOK_ENTRY_NAME);
+        return resource.load(layout.workbook);
     }
 
     @Override
     public @NonNull InputStream getSharedStrings() throws IOException {
-        return resource.load(SHARED_STRINGS_ENTRY_NAME);
+        return resource.load(layout.sharedStrings);
     }
 
     @Override
     public @NonNull InputStream getStyles() throws IOException {
-        return resource.load(STYLES_ENTRY_NAME);
+        return resource.load(layout.styles);
     }
 
     @Override
@@ -68,28 +86,112 @@ public final class ZipPackage implements XlsxPackage {
         return resource.load("xl/" + getRelationShipPath(relationId));
     }
 
+    @Override
+    public long getSheetSize(@NonNull String relationId) throws IOException {
+        return entrySizes.getSize("xl/" + getRelationShipPath(relationId));
+    }
+
     @Override
     public void close() throws IOException {
         resource.close();
     }
 
-    private String getRelationShipPath(String relationId) throws IOException {
+    /**
+     * Provides the uncompressed size of entries.
+     */
+    @FunctionalInterface
+    interface EntrySizes {
+
+        EntrySizes UNKNOWN = name -> -1;
+
+        long getSize(String name) throws IOException;
+
+        /**
+         * Counts the bytes of entries that are already held in memory.
+         */
+        static EntrySizes counting(Resource.Loader<String> resource) {
+            return name -> {
+                long result = 0;
+                try (InputStream stream = resource.load(name)) {
+                    long n;
+                    while ((n = stream.skip(Long.MAX_VALUE)) > 0 || stream.read() != -1) {
+                        result += n > 0 ? n : 1;
+                    }
+                }
+                return result;
+            };
+        }
+
+        /**
+         * Reads the sizes from the central directory of a file on first use.
+         */
+        static EntrySizes of(File file) {
+            Map<String, Long> sizes = new HashMap<>();
+            return name -> {
+                synchronized (sizes) {
+                    if (sizes.isEmpty()) {
+                        try (ZipFile zip = new ZipFile(file)) {
+                            zip.stream()
+                                    .filter(entry -> isUsefulEntryName(entry.getName()))
+                                    .forEach(entry -> sizes.put(entry.getName(), entry.getSize()));
+                        }
+                    }
+                    return sizes.getOrDefault(name, -1L);
+                }
+            };
+        }
+    }
+
+    /**
+     * Names of the main entries, that only differ by their extension between
+     * XML and binary workbooks. Relationships are XML in both cases.
+     */
+    enum Layout {
+
+        XML(RELATIONSHIPS_ENTRY_NAME, WORKBOOK_ENTRY_NAME, SHARED_STRINGS_ENTRY_NAME, STYLES_ENTRY_NAME),
+        BINARY(BINARY_RELATIONSHIPS_ENTRY_NAME, BINARY_WORKBOOK_ENTRY_NAME, BINARY_SHARED_STRINGS_ENTRY_NAME, BINARY_STYLES_ENTRY_NAME);
+
+        final String relationships;
+        final String workbook;
+        final String sharedStrings;
+        final String styles;
+
+        Layout(String relationships, String workbook, String sharedStrings, String styles) {
+            this.relationships = relationships;
+            this.workbook = workbook;
+            this.sharedStrings = sharedStrings;
+            this.styles = styles;
+        }
+    }
+
+    /**
+     * Parses the workbook relationships if they haven't been parsed yet.
+     */
+    synchronized Map<String, String> loadRelationships() throws IOException {
         if (relationships == null) {
-            relationships = parseRelationships(() -> resource.load(RELATIONSHIPS_ENTRY_NAME));
+            relationships = parseRelationships(() -> resource.load(layout.relationships));
         }
-        String result = relationships.get(relationId);
+        return relationships;
+    }
+
+    private String getRelationShipPath(String relationId) throws IOException {
+        String result = loadRelationships().get(relationId);
         if (result == null) {
             throw new IOException("Cannot find target for '" + relationId + "'");
         }
         return result;
     }
 
-    private static final String RELATIONSHIPS_ENTRY_NAME = "xl/_rels/workbook.xml.rels";
-    private static final String WORKBOOK_ENTRY_NAME = "xl/workbook.xml";
-    private static final String SHARED_STRINGS_ENTRY_NAME = "xl/sharedStrings.xml";
-    private static final String STYLES_ENTRY_NAME = "xl/styles.xml";
+    static final String RELATIONSHIPS_ENTRY_NAME = "xl/_rels/workbook.xml.rels";
+    static final String WORKBOOK_ENTRY_NAME = "xl/workbook.xml";
+    static final String SHARED_STRINGS_ENTRY_NAME = "xl/sharedStrings.xml";
+    static final String STYLES_ENTRY_NAME = "xl/styles.xml";
+    static final String BINARY_RELATIONSHIPS_ENTRY_NAME = "xl/_rels/workbook.bin.rels";
+    static final String BINARY_WORKBOOK_ENTRY_NAME = "xl/workbook.bin";
+    static final String BINARY_SHARED_STRINGS_ENTRY_NAME = "xl/sharedStrings.bin";
+    static final String BINARY_STYLES_ENTRY_NAME = "xl/styles.bin";
 
-    private static Map<String, String> parseRelationships(IOSupplier<? extends InputStream> byteSource) throws IOException {
+    static Map<String, String> parseRelationships(IOSupplier<? extends InputStream> byteSource) throws IOException {
         Map<String, String> result = new HashMap<>();
         return Sax.Parser.<Map<String, String>>builder()
                 .factory(() -> SaxEntryParser.disableNamespaces(Sax.createReader()))
@@ -124,21 +226,66 @@ public final class ZipPackage implements XlsxPackage {
             case WORKBOOK_ENTRY_NAME:
             case SHARED_STRINGS_ENTRY_NAME:
             case STYLES_ENTRY_NAME:
+            case BINARY_RELATIONSHIPS_ENTRY_NAME:
+            case BINARY_WORKBOOK_ENTRY_NAME:
+            case BINARY_SHARED_STRINGS_ENTRY_NAME:
+            case BINARY_STYLES_ENTRY_NAME:
                 return true;
             default:
                 return name.startsWith("xl/worksheets/") && !name.endsWith(".rels");
         }
     }
 
-    public static final XlsxPackage.Factory FACTORY = ZipPackageFactory.INSTANCE;
+    public static final XlsxPackage.Factory FACTORY = ZipPackageFactory.XML;
+
+    /**
+     * Factory of packages of binary workbooks (xlsb), whose main entries are
+     * sequences of BIFF12 records; use it with {@link BinaryEntryParser}.
+     *
+     * @since 2.7.0
+     */
+    public static final XlsxPackage.Factory BINARY_FACTORY = ZipPackageFactory.BINARY;
+
+    /**
+     * Creates a factory that copies small input streams in memory and spools
+     * the bigger ones to a temporary file that is read by random access and
+     * deleted when the package is closed. Files and paths are opened as by
+     * {@link #FACTORY}.
+     *
+     * @param memoryThreshold the maximum number of bytes of a stream copied in memory
+     * @return a non-null factory
+     * @since 2.7.0
+     */
+    public static XlsxPackage.@NonNull Factory spooling(long memoryThreshold) {
+        if (memoryThreshold < 0) {
+            throw new IllegalArgumentException("Invalid memory threshold: " + memoryThreshold);
+        }
+        return new SpoolingZipPackageFactory((int) Math.min(memoryThreshold, MAX_MEMORY_THRESHOLD));
+    }
 
+    private static final int MAX_MEMORY_THRESHOLD = Integer.MAX_VALUE - 8;
+
+    /**
+     * Factory that memory-maps files and reads their central directory once so
+     * that entries can be inflated concurrently without sharing a lock.
+     * Streams, ZIP64 archives and archives bigger than 2<sup>31</sup> bytes are
+     * opened as by {@link #FACTORY}.
+     *
+     * @since 2.7.0
+     */
+    public static final XlsxPackage.Factory MAPPED_FACTORY = MappedZipPackageFactory.INSTANCE;
+
+    @lombok.AllArgsConstructor
     private enum ZipPackageFactory implements XlsxPackage.Factory {
 
-        INSTANCE;
+        XML(Layout.XML), BINARY(Layout.BINARY);
+
+        private final Layout layout;
 
         @Override
         public @NonNull XlsxPackage open(@NonNull InputStream stream) throws IOException {
-            return open(() -> Zip.loaderCopyOf(stream, ZipPackageFactory::isUsefulEntry));
+            Resource.Loader<String> resource = Zip.loaderCopyOf(stream, ZipPackageFactory::isUsefulEntry);
+            return new ZipPackage(resource, EntrySizes.counting(resource), layout);
         }
 
         @Override
@@ -152,7 +299,7 @@ public final class ZipPackage implements XlsxPackage {
         @Override
         public @NonNull XlsxPackage open(@NonNull File file) throws IOException {
             try {
-                return open(() -> Zip.loaderOf(file));
+                return new ZipPackage(Zip.loaderOf(file), EntrySizes.of(file), layout);
             } catch (ZipException ex) {
                 if (!ex.getMessage().contains(file.getPath())) {
                     ZipException ex2 = new ZipException(ex.getMessage() + ": " + file.getPath());
@@ -163,12 +310,123 @@ public final class ZipPackage implements XlsxPackage {
             }
         }
 
-        private XlsxPackage open(IOSupplier<Resource.Loader<String>> source) throws IOException {
-            return new ZipPackage(source.getWithIO());
-        }
-
         private static boolean isUsefulEntry(ZipEntry entry) {
             return ZipPackage.isUsefulEntryName(entry.getName());
         }
     }
+
+    private enum MappedZipPackageFactory implements XlsxPackage.Factory {
+
+        INSTANCE;
+
+        @Override
+        public @NonNull XlsxPackage open(@NonNull InputStream stream) throws IOException {
+            return FACTORY.open(stream);
+        }
+
+        @Override
+        public @NonNull XlsxPackage open(@NonNull Path path) throws IOException {
+            Optional<File> file = Resource.getFile(path);
+            return file.isPresent()
+                    ? open(file.get())
+                    : FACTORY.open(path);
+        }
+
+        @Override
+        public @NonNull XlsxPackage open(@NonNull File file) throws IOException {
+            MappedZip result;
+            try {
+                result = MappedZip.of(file, ZipPackage::isUsefulEntryName);
+            } catch (ZipException ex) {
+                ZipException ex2 = new ZipException(ex.getMessage() + ": " + file.getPath());
+                ex2.addSuppressed(ex);
+                throw ex2;
+            }
+            return result != null ? new ZipPackage(result, result::getSize) : FACTORY.open(file);
+        }
+    }
+
+    @lombok.AllArgsConstructor
+    private static final class SpoolingZipPackageFactory implements XlsxPackage.Factory {
+
+        private final int memoryThreshold;
+
+        @Override
+        public @NonNull XlsxPackage open(@NonNull InputStream stream) throws IOException {
+            ByteArrayOutputStream head = new ByteArrayOutputStream(Math.min(memoryThreshold + 1, BUFFER_SIZE));
+            if (!copy(stream, head, memoryThreshold + 1L)) {
+                return FACTORY.open(new ByteArrayInputStream(head.toByteArray()));
+            }
+            Path file = Files.createTempFile("spreadsheet-xl", ".zip");
+            try {
+                try (OutputStream output = Files.newOutputStream(file)) {
+                    head.writeTo(output);
+                    copy(stream, output, Long.MAX_VALUE);
+                }
+                return new ZipPackage(new TempFileLoader(Zip.loaderOf(file.toFile()), file), EntrySizes.of(file.toFile()));
+            } catch (IOException | RuntimeException ex) {
+                deleteTempFile(ex, file);
+                throw ex;
+            }
+        }
+
+        @Override
+        public @NonNull XlsxPackage open(@NonNull Path path) throws IOException {
+            return FACTORY.open(path);
+        }
+
+        @Override
+        public @NonNull XlsxPackage open(@NonNull File file) throws IOException {
+            return FACTORY.open(file);
+        }
+
+        /**
+         * Copies at most the specified number of bytes.
+         *
+         * @return true if the limit has been reached
+         */
+        private static boolean copy(InputStream input, OutputStream output, long limit) throws IOException {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long count = 0;
+            int n;
+            while (count < limit && (n = input.read(buffer, 0, (int) Math.min(buffer.length, limit - count))) != -1) {
+                output.write(buffer, 0, n);
+                count += n;
+            }
+            return count == limit;
+        }
+
+        private static final int BUFFER_SIZE = 8192;
+    }
+
+    @lombok.AllArgsConstructor
+    private static final class TempFileLoader implements Resource.Loader<String> {
+
+        private final Resource.Loader<String> delegate;
+        private final Path file;
+
+        @Override
+        public InputStream load(String key) throws IOException {
+            return delegate.load(key);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                delegate.close();
+            } catch (IOException ex) {
+                deleteTempFile(ex, file);
+                throw ex;
+            }
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void deleteTempFile(Exception ex, Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException other) {
+            ex.addSuppressed(other);
+        }
+    }
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package _benchmark;
+
+import ec.util.spreadsheet.helpers.ArrayBook;
+import ec.util.spreadsheet.helpers.ArraySheet;
+import ec.util.spreadsheet.poi.ExcelBookFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import spreadsheet.xlsx.XlsxBookFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.Random;
+
+/**
+ * Compares the storing of a book of one million cells (numbers, strings and
+ * dates) by {@link XlsxBookFactory} with the streaming writer of POI. The GC
+ * profiler reports the allocation rate (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+public class BookWriterBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(BookWriterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(5))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(5))
+                .forks(1)
+                .warmupForks(1)
+                .build();
+        new Runner(options).run();
+    }
+
+    private static final int ROW_COUNT = 100_000;
+    private static final int COLUMN_COUNT = 10;
+
+    private ArrayBook book;
+    private XlsxBookFactory xlsx;
+    private ExcelBookFactory poi;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        ArraySheet.Builder sheet = ArraySheet.builder(ROW_COUNT, COLUMN_COUNT).name("data");
+        for (int i = 0; i < ROW_COUNT; i++) {
+            for (int j = 0; j < COLUMN_COUNT; j++) {
+                switch (j % 3) {
+                    case 0:
+                        sheet.value(i, j, random.nextDouble() * 1000);
+                        break;
+                    case 1:
+                        sheet.value(i, j, "text" + random.nextInt(5000));
+                        break;
+                    default:
+                        sheet.value(i, j, new Date(1600000000000L + random.nextInt(1_000_000) * 1000L));
+                        break;
+                }
+            }
+        }
+        book = ArrayBook.builder().sheet(sheet.build()).build();
+
+        xlsx = new XlsxBookFactory();
+
+        poi = new ExcelBookFactory();
+    }
+
+    @Benchmark
+    public long xlsx() throws IOException {
+        CountingOutputStream result = new CountingOutputStream();
+        xlsx.store(result, book);
+        return result.count;
+    }
+
+    @Benchmark
+    public long poi() throws IOException {
+        CountingOutputStream result = new CountingOutputStream();
+        poi.store(result, book);
+        return result.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count = 0;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
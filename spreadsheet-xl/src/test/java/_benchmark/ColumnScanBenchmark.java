@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package _benchmark;
+
+import ec.util.spreadsheet.Sheet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import spreadsheet.xlsx.internal.ColumnarSheet;
+import spreadsheet.xlsx.internal.CompactSheet;
+
+import java.util.Collections;
+
+/**
+ * Reads 3 columns out of 200 from row-major and columnar sheets.
+ */
+@State(Scope.Benchmark)
+public class ColumnScanBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(ColumnScanBenchmark.class.getSimpleName())
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(3))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(3))
+                .forks(1)
+                .warmupForks(1)
+                .build();
+        new Runner(options).run();
+    }
+
+    private static final int ROWS = 20_000;
+    private static final int COLUMNS = 200;
+    private static final int[] SELECTION = {3, 97, 181};
+
+    private CompactSheet compact;
+    private ColumnarSheet columnar;
+
+    @Setup
+    public void setup() {
+        CompactSheet.Builder x = CompactSheet.builder(ROWS, COLUMNS, "compact", Collections.emptyList());
+        ColumnarSheet.Builder y = ColumnarSheet.builder(ROWS, COLUMNS, "columnar", Collections.emptyList());
+        for (int i = 0; i < ROWS; i++) {
+            for (int j = 0; j < COLUMNS; j++) {
+                x.putNumber(i, j, i * 0.5 + j);
+                y.putNumber(i, j, i * 0.5 + j);
+            }
+        }
+        compact = x.build();
+        columnar = y.build();
+    }
+
+    @Benchmark
+    public void compactByCell(Blackhole o) {
+        scanByCell(compact, o);
+    }
+
+    @Benchmark
+    public void columnarByCell(Blackhole o) {
+        scanByCell(columnar, o);
+    }
+
+    @Benchmark
+    public void columnarByColumn(Blackhole o) {
+        for (int j : SELECTION) {
+            o.consume(columnar.getColumnNumbers(j, Double.NaN));
+        }
+    }
+
+    private static void scanByCell(Sheet sheet, Blackhole o) {
+        for (int j : SELECTION) {
+            for (int i = 0; i < sheet.getRowCount(); i++) {
+                o.consume(sheet.getCellValue(i, j));
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package _benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import spreadsheet.xlsx.internal.NumberParser;
+
+import java.util.Random;
+
+/**
+ * Compares the parsing of cell values from a reused buffer by
+ * {@link NumberParser} with the JDK parsers. The GC profiler reports the
+ * allocation rate (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+public class NumberParserBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(NumberParserBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(3))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(3))
+                .forks(1)
+                .warmupForks(1)
+                .build();
+        new Runner(options).run();
+    }
+
+    private StringBuilder[] doubles;
+    private StringBuilder[] ints;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        doubles = new StringBuilder[1024];
+        ints = new StringBuilder[1024];
+        for (int i = 0; i < doubles.length; i++) {
+            doubles[i] = new StringBuilder(i % 2 == 0
+                    ? Double.toString(random.nextDouble() * 1000)
+                    : random.nextInt(100_000) + "." + random.nextInt(100));
+            ints[i] = new StringBuilder(Integer.toString(random.nextInt(100_000)));
+        }
+    }
+
+    @Benchmark
+    public void jdkDouble(Blackhole o) {
+        for (CharSequence value : doubles) {
+            o.consume(Double.parseDouble(value.toString()));
+        }
+    }
+
+    @Benchmark
+    public void fastDouble(Blackhole o) {
+        for (CharSequence value : doubles) {
+            o.consume(NumberParser.parseDouble(value));
+        }
+    }
+
+    @Benchmark
+    public void jdkInt(Blackhole o) {
+        for (CharSequence value : ints) {
+            o.consume(Integer.parseInt(value.toString()));
+        }
+    }
+
+    @Benchmark
+    public void fastInt(Blackhole o) {
+        for (CharSequence value : ints) {
+            o.consume(NumberParser.parseInt(value));
+        }
+    }
+}
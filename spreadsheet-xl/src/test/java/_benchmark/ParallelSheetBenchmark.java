@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package _benchmark;
+
+import _test.XlSamples;
+import ec.util.spreadsheet.Book;
+import ec.util.spreadsheet.Sheet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import spreadsheet.xlsx.XlsxReader;
+import spreadsheet.xlsx.internal.ByteEntryParser;
+import spreadsheet.xlsx.internal.DefaultSheetBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+/**
+ * Compares intra-sheet parallel parsing of a large sheet with the sequential
+ * {@link DefaultSheetBuilder}.
+ */
+@State(Scope.Benchmark)
+public class ParallelSheetBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(ParallelSheetBenchmark.class.getSimpleName())
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(3))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(3))
+                .forks(1)
+                .warmupForks(1)
+                .build();
+        new Runner(options).run();
+    }
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    private byte[] large;
+    private XlsxReader single;
+    private XlsxReader parallel;
+
+    @Setup
+    public void setup() throws IOException {
+        large = XlSamples.generateXlsx(200_000, 10);
+        single = new XlsxReader().withSheetBuilder(DefaultSheetBuilder::of);
+        parallel = new XlsxReader().withEntryParser(ByteEntryParser.FACTORY).withSheetParallelism(threads);
+    }
+
+    @Benchmark
+    public void single(Blackhole o) throws IOException {
+        try (Book book = single.read(new ByteArrayInputStream(large))) {
+            consume(book.getSheet(0), o);
+        }
+    }
+
+    @Benchmark
+    public void parallel(Blackhole o) throws IOException {
+        try (Book book = parallel.read(new ByteArrayInputStream(large))) {
+            consume(book.getSheet(0), o);
+        }
+    }
+
+    private static void consume(Sheet s, Blackhole o) {
+        for (int i = 0; i < s.getRowCount(); i++) {
+            for (int j = 0; j < s.getColumnCount(); j++) {
+                o.consume(s.getCellValue(i, j));
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package _benchmark;
+
+import ec.util.spreadsheet.Book;
+import ec.util.spreadsheet.helpers.ArrayBook;
+import ec.util.spreadsheet.helpers.ArraySheet;
+import ec.util.spreadsheet.poi.ExcelBookFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Date;
+import java.util.Random;
+
+/**
+ * Compares the loading of a book of one million cells (numbers, strings and
+ * dates) by {@link ExcelBookFactory} with a XSSFWorkbook and with the event
+ * model of POI. The GC profiler reports the allocation rate
+ * (gc.alloc.rate.norm); see {@link PoiStreamingFootprint} for the retained
+ * heap.
+ */
+@State(Scope.Benchmark)
+public class PoiStreamingBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(PoiStreamingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(5))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(5))
+                .forks(1)
+                .warmupForks(1)
+                .build();
+        new Runner(options).run();
+    }
+
+    private byte[] xlsx;
+    private ExcelBookFactory dom;
+    private ExcelBookFactory streaming;
+
+    @Setup
+    public void setup() throws IOException {
+        xlsx = generateXlsx(100_000, 10);
+
+        dom = new ExcelBookFactory();
+        dom.setFast(false);
+
+        streaming = new ExcelBookFactory();
+        streaming.setFast(true);
+    }
+
+    @Benchmark
+    public long dom() throws IOException {
+        return countValues(dom);
+    }
+
+    @Benchmark
+    public long streaming() throws IOException {
+        return countValues(streaming);
+    }
+
+    private long countValues(ExcelBookFactory factory) throws IOException {
+        long[] result = {0};
+        try (Book book = factory.load(new ByteArrayInputStream(xlsx))) {
+            book.getSheet(0).forEachValue((i, j, value) -> result[0]++);
+        }
+        return result[0];
+    }
+
+    static byte[] generateXlsx(int rowCount, int columnCount) throws IOException {
+        Random random = new Random(0);
+        ArraySheet.Builder sheet = ArraySheet.builder(rowCount, columnCount).name("data");
+        for (int i = 0; i < rowCount; i++) {
+            for (int j = 0; j < columnCount; j++) {
+                switch (j % 3) {
+                    case 0:
+                        sheet.value(i, j, random.nextDouble() * 1000);
+                        break;
+                    case 1:
+                        sheet.value(i, j, "text" + random.nextInt(5000));
+                        break;
+                    default:
+                        sheet.value(i, j, new Date(1600000000000L + random.nextInt(1_000_000) * 1000L));
+                        break;
+                }
+            }
+        }
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        new ExcelBookFactory().store(result, ArrayBook.builder().sheet(sheet.build()).build());
+        return result.toByteArray();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package _benchmark;
+
+import ec.util.spreadsheet.Book;
+import ec.util.spreadsheet.poi.ExcelBookFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+/**
+ * Reports the retained heap of a book loaded by {@link ExcelBookFactory} with
+ * a XSSFWorkbook and with the event model of POI.
+ */
+public final class PoiStreamingFootprint {
+
+    public static void main(String[] args) throws IOException {
+        int rowCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        byte[] xlsx = PoiStreamingBenchmark.generateXlsx(rowCount, 10);
+
+        System.out.printf("%,d rows, %,d compressed bytes%n", rowCount, xlsx.length);
+        report("dom", false, xlsx);
+        report("streaming", true, xlsx);
+    }
+
+    private static void report(String label, boolean fast, byte[] xlsx) throws IOException {
+        ExcelBookFactory factory = new ExcelBookFactory();
+        factory.setFast(fast);
+        long before = usedHeap();
+        long start = System.nanoTime();
+        try (Book book = factory.load(new ByteArrayInputStream(xlsx))) {
+            Object value = book.getSheet(0).getCellValue(0, 0);
+            long duration = System.nanoTime() - start;
+            long after = usedHeap();
+            System.out.printf("%-10s %,15d bytes %,6d ms (%s)%n", label, after - before, duration / 1_000_000, value);
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
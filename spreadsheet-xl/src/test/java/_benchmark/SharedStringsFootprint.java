@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package _benchmark;
+
+import spreadsheet.xlsx.internal.CompactStringList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Reports the retained heap of a strings-heavy shared strings table stored as
+ * an {@link ArrayList} and as a {@link CompactStringList}.
+ */
+public final class SharedStringsFootprint {
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        IntFunction<String> generator = i -> "Product #" + i + " - " + (i % 2 == 0 ? "ref" : "réf") + " " + Integer.toHexString(i * 31);
+
+        System.out.printf("%,d strings%n", count);
+        report("ArrayList<String>", () -> {
+            List<String> result = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                result.add(generator.apply(i));
+            }
+            return result;
+        });
+        report("CompactStringList", () -> {
+            CompactStringList.Builder result = CompactStringList.builder().cacheSize(256);
+            for (int i = 0; i < count; i++) {
+                result.add(generator.apply(i));
+            }
+            return result.build();
+        });
+    }
+
+    private static void report(String label, Supplier<List<String>> factory) {
+        long before = usedHeap();
+        List<String> list = factory.get();
+        long after = usedHeap();
+        System.out.printf("%-20s %,15d bytes (%d)%n", label, after - before, list.get(list.size() - 1).length());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -29,9 +29,11 @@ import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 import org.openjdk.jmh.runner.options.TimeValue;
 import spreadsheet.xlsx.XlsxReader;
+import spreadsheet.xlsx.internal.ByteEntryParser;
 import spreadsheet.xlsx.internal.DefaultSheetBuilder;
 import spreadsheet.xlsx.internal.DisruptorSheetBuilder;
 import spreadsheet.xlsx.internal.MultiSheetBuilder;
+import spreadsheet.xlsx.internal.PipelineSheetBuilder;
 
 /**
  *
@@ -57,6 +59,8 @@ public class SheetBuilderBenchmark {
     private XlsxReader single;
     private XlsxReader multi;
     private XlsxReader disruptor;
+    private XlsxReader pipeline;
+    private XlsxReader bytes;
 
     @Setup
     public void setup() throws IOException {
@@ -64,6 +68,8 @@ public class SheetBuilderBenchmark {
         single = new XlsxReader().withSheetBuilder(DefaultSheetBuilder::of);
         multi = new XlsxReader().withSheetBuilder(MultiSheetBuilder::of);
         disruptor = new XlsxReader().withSheetBuilder(DisruptorSheetBuilder::of);
+        pipeline = new XlsxReader().withSheetBuilder(PipelineSheetBuilder::of);
+        bytes = new XlsxReader().withSheetBuilder(DefaultSheetBuilder::of).withEntryParser(ByteEntryParser.FACTORY);
     }
 
     @Benchmark
@@ -104,4 +110,30 @@ public class SheetBuilderBenchmark {
             });
         }
     }
+
+    @Benchmark
+    public void pipeline(Blackhole o) throws IOException {
+        try (Book book = pipeline.read(new ByteArrayInputStream(top5))) {
+            book.forEach((s, index) -> {
+                for (int i = 0; i < s.getRowCount(); i++) {
+                    for (int j = 0; j < s.getColumnCount(); j++) {
+                        o.consume(s.getCellValue(i, j));
+                    }
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public void bytes(Blackhole o) throws IOException {
+        try (Book book = bytes.read(new ByteArrayInputStream(top5))) {
+            book.forEach((s, index) -> {
+                for (int i = 0; i < s.getRowCount(); i++) {
+                    for (int j = 0; j < s.getColumnCount(); j++) {
+                        o.consume(s.getCellValue(i, j));
+                    }
+                }
+            });
+        }
+    }
 }
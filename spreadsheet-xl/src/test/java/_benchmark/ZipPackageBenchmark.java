@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package _benchmark;
+
+import _test.XlSamples;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import spreadsheet.xlsx.XlsxPackage;
+import spreadsheet.xlsx.internal.ZipPackage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compares the concurrent inflation of worksheets from a file opened by
+ * {@link ZipPackage#FACTORY} and by {@link ZipPackage#MAPPED_FACTORY}.
+ */
+@State(Scope.Benchmark)
+public class ZipPackageBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(ZipPackageBenchmark.class.getSimpleName())
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(3))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(3))
+                .forks(1)
+                .warmupForks(1)
+                .build();
+        new Runner(options).run();
+    }
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private Path file;
+    private ExecutorService executor;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Files.createTempFile("benchmark", ".xlsx");
+        Files.write(file, XlSamples.generateXlsx(100_000, 10));
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        executor.shutdown();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long zipFile() throws Exception {
+        return inflate(ZipPackage.FACTORY);
+    }
+
+    @Benchmark
+    public long mapped() throws Exception {
+        return inflate(ZipPackage.MAPPED_FACTORY);
+    }
+
+    private long inflate(XlsxPackage.Factory factory) throws IOException, InterruptedException, ExecutionException {
+        try (XlsxPackage pkg = factory.open(file)) {
+            List<Future<Long>> tasks = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                tasks.add(executor.submit(() -> drain(pkg)));
+            }
+            long result = 0;
+            for (Future<Long> task : tasks) {
+                result += task.get();
+            }
+            return result;
+        }
+    }
+
+    private static long drain(XlsxPackage pkg) {
+        byte[] buffer = new byte[8192];
+        long result = 0;
+        try (InputStream stream = pkg.getSheet("rId1")) {
+            int n;
+            while ((n = stream.read(buffer)) != -1) {
+                result += n;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package _benchmark;
+
+import _test.XlSamples;
+import spreadsheet.xlsx.XlsxPackage;
+import spreadsheet.xlsx.internal.ZipPackage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reports the retained heap of a package opened from a stream by copying its
+ * entries in memory and by spooling it to a temporary file.
+ */
+public final class ZipPackageFootprint {
+
+    public static void main(String[] args) throws IOException {
+        int rowCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        byte[] xlsx = XlSamples.generateXlsx(rowCount, 10);
+
+        System.out.printf("%,d rows, %,d compressed bytes%n", rowCount, xlsx.length);
+        report("copy", ZipPackage.FACTORY, xlsx);
+        report("spooling", ZipPackage.spooling(1024 * 1024), xlsx);
+    }
+
+    private static void report(String label, XlsxPackage.Factory factory, byte[] xlsx) throws IOException {
+        long before = usedHeap();
+        long start = System.nanoTime();
+        try (XlsxPackage pkg = factory.open(new ByteArrayInputStream(xlsx))) {
+            long duration = System.nanoTime() - start;
+            long after = usedHeap();
+            try (InputStream sheet = pkg.getSheet("rId1")) {
+                System.out.printf("%-10s %,15d bytes %,6d ms (%d)%n", label, after - before, duration / 1_000_000, sheet.read());
+            }
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
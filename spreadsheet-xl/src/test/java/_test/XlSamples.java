@@ -18,13 +18,21 @@ package _test;
 
 import ec.util.spreadsheet.Book;
 import ec.util.spreadsheet.Sheet;
+import ec.util.spreadsheet.helpers.CellRefHelper;
 import ec.util.spreadsheet.tck.BookAssert;
 import ec.util.spreadsheet.tck.Sample;
 import ec.util.spreadsheet.tck.SampleSet;
 import ec.util.spreadsheet.tck.SheetAssert;
 import org.assertj.core.util.DateUtil;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import static org.assertj.core.api.Assertions.atIndex;
 
@@ -50,6 +58,32 @@ public final class XlSamples {
             .badExtension(Sample.of("badExtension.xml", XLSX_BYTES))
             .build();
 
+    private static final byte[] XLSB_BYTES = Sample.bytesOf(XlSamples.class, "/Top5Browsers.xlsb");
+
+    public static final SampleSet XLSB_TOP5 = SampleSet
+            .builder()
+            .valid(Sample.of("valid.xlsb", XLSB_BYTES))
+            .validWithTail(Sample.of("validWithTail.xlsb", Sample.concat(XLSB_BYTES, (byte) '\0')))
+            .invalidContent(null)
+            .invalidFormat(Sample.of("invalidFormat.xlsb", "..."))
+            .empty(Sample.of("empty.xlsb", new byte[0]))
+            .missing(Sample.of("missing.xlsb"))
+            .badExtension(Sample.of("badExtension.xml", XLSB_BYTES))
+            .build();
+
+    private static final byte[] XLS_BYTES = Sample.bytesOf(XlSamples.class, "/Top5Browsers.xls");
+
+    public static final SampleSet XLS_TOP5 = SampleSet
+            .builder()
+            .valid(Sample.of("valid.xls", XLS_BYTES))
+            .validWithTail(Sample.of("validWithTail.xls", Sample.concat(XLS_BYTES, (byte) '\0')))
+            .invalidContent(null)
+            .invalidFormat(Sample.of("invalidFormat.xls", "..."))
+            .empty(Sample.of("empty.xls", new byte[0]))
+            .missing(Sample.of("missing.xls"))
+            .badExtension(Sample.of("badExtension.xml", XLS_BYTES))
+            .build();
+
     public static void assertTop5Book(Book book) throws IOException {
         BookAssert
                 .assertThat(book)
@@ -68,4 +102,71 @@ public final class XlSamples {
                 .hasCellValue(1, 0, DateUtil.parse("2008-07-01"))
                 .hasCellValue(41, 6, 0.93);
     }
+
+    /**
+     * Generates a workbook with a single sheet of the specified size. The
+     * first column contains dates, the second one shared strings, the third
+     * one inline strings and the others numbers.
+     */
+    public static byte[] generateXlsx(int rowCount, int columnCount) {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(result)) {
+            Writer writer = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+            putEntry(zip, writer, "xl/workbook.xml", "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                    + "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">"
+                    + "<sheets><sheet name=\"generated\" sheetId=\"1\" r:id=\"rId1\"/></sheets></workbook>");
+            putEntry(zip, writer, "xl/_rels/workbook.xml.rels", "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                    + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                    + "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/sheet1.xml\"/>"
+                    + "</Relationships>");
+            putEntry(zip, writer, "xl/sharedStrings.xml", "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                    + "<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><si><t>even</t></si><si><t>odd</t></si></sst>");
+            putEntry(zip, writer, "xl/styles.xml", "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                    + "<styleSheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+                    + "<cellXfs count=\"2\"><xf numFmtId=\"0\"/><xf numFmtId=\"14\"/></cellXfs></styleSheet>");
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+            writeSheet(writer, rowCount, columnCount);
+            writer.flush();
+            zip.closeEntry();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return result.toByteArray();
+    }
+
+    private static void putEntry(ZipOutputStream zip, Writer writer, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        writer.write(content);
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private static void writeSheet(Writer writer, int rowCount, int columnCount) throws IOException {
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>");
+        writer.write("<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">");
+        writer.write("<dimension ref=\"A1:" + CellRefHelper.getCellRef(rowCount - 1, columnCount - 1) + "\"/>");
+        writer.write("<sheetData>");
+        for (int i = 0; i < rowCount; i++) {
+            writer.write("<row r=\"" + (i + 1) + "\">");
+            for (int j = 0; j < columnCount; j++) {
+                String ref = CellRefHelper.getCellRef(i, j);
+                switch (j) {
+                    case 0:
+                        writer.write("<c r=\"" + ref + "\" s=\"1\"><v>" + (40000 + i % 1000) + "</v></c>");
+                        break;
+                    case 1:
+                        writer.write("<c r=\"" + ref + "\" t=\"s\"><v>" + (i % 2) + "</v></c>");
+                        break;
+                    case 2:
+                        writer.write("<c r=\"" + ref + "\" t=\"inlineStr\"><is><t>row " + i + "</t></is></c>");
+                        break;
+                    default:
+                        writer.write("<c r=\"" + ref + "\"><v>" + (i * 0.5 + j) + "</v></c>");
+                        break;
+                }
+            }
+            writer.write("</row>");
+        }
+        writer.write("</sheetData></worksheet>");
+    }
 }
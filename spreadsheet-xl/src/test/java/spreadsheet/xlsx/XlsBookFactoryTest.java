@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx;
+
+import _test.XlSamples;
+import ec.util.spreadsheet.Book;
+import ec.util.spreadsheet.helpers.ArrayBook;
+import ec.util.spreadsheet.tck.BookFactoryAssert;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import spreadsheet.xlsx.internal.BiffFormatException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static _test.XlSamples.XLS_TOP5;
+import static ec.util.spreadsheet.tck.Conditions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Only covers what differs from {@link XlsxBookFactoryTest}: the format
+ * specific acceptance and reading.
+ */
+public class XlsBookFactoryTest {
+
+    @Test
+    public void testCompliance(@TempDir Path temp) throws IOException {
+        BookFactoryAssert.assertThat(new XlsBookFactory())
+                .isCompliant(XLS_TOP5, temp);
+    }
+
+    @Test
+    public void testContent() {
+        assertThat(new XlsBookFactory())
+                .is(ableToLoadContent())
+                .isNot(ableToStoreContent());
+    }
+
+    @Test
+    public void testAcceptPath(@TempDir Path temp) {
+        assertThat(new XlsBookFactory())
+                .is(acceptingPath(XLS_TOP5.getValid().path(temp)))
+                .is(acceptingPath(XLS_TOP5.getMissing().path(temp)))
+                .isNot(acceptingPath(XLS_TOP5.getBadExtension().path(temp)))
+                .isNot(acceptingPath(XLS_TOP5.getInvalidFormat().path(temp)));
+    }
+
+    @Test
+    public void testLoad(@TempDir Path temp) throws IOException {
+        XlsBookFactory x = new XlsBookFactory();
+
+        try (Book book = x.load(XLS_TOP5.getValid().path(temp))) {
+            XlSamples.assertTop5Book(book);
+        }
+        try (ArrayBook book = XLS_TOP5.getValidWithTail().loadStream(x)) {
+            XlSamples.assertTop5Book(book);
+        }
+        assertThatIOException().isThrownBy(() -> XLS_TOP5.getInvalidFormat().loadStream(x));
+    }
+
+    @Test
+    public void testFallback(@TempDir Path temp) throws IOException {
+        XlsBookFactory x = new XlsBookFactory();
+
+        byte[] content = withXorObfuscation(Files.readAllBytes(XLS_TOP5.getValid().path(temp)));
+        Path file = Files.write(temp.resolve("xor.xls"), content);
+
+        // XOR obfuscation is only supported by the next factory, which rejects the bogus verifier
+        assertThatThrownBy(() -> x.load(file))
+                .isNotInstanceOf(BiffFormatException.class)
+                .satisfies(ex -> assertThat(ex.getSuppressed()).hasAtLeastOneElementOfType(BiffFormatException.class));
+        assertThatThrownBy(() -> x.load(new ByteArrayInputStream(content)))
+                .isNotInstanceOf(BiffFormatException.class)
+                .satisfies(ex -> assertThat(ex.getSuppressed()).hasAtLeastOneElementOfType(BiffFormatException.class));
+    }
+
+    /**
+     * Replaces the records that follow the BOF record of the globals
+     * substream (INTERFACEHDR, MMS and INTERFACEEND) by a FILEPASS record of
+     * XOR obfuscation and an INTERFACEHDR record of the same total size.
+     */
+    private static byte[] withXorObfuscation(byte[] file) {
+        byte[] bof = {0x09, 0x08, 0x10, 0x00, 0x00, 0x06, 0x05, 0x00};
+        byte[] records = {
+                0x2F, 0x00, 0x06, 0x00, 0x00, 0x00, 0x34, 0x12, 0x78, 0x56,
+                (byte) 0xE1, 0x00, 0x02, 0x00, (byte) 0xB0, 0x04
+        };
+        for (int i = 0; i < file.length - bof.length; i++) {
+            if (Arrays.equals(Arrays.copyOfRange(file, i, i + bof.length), bof)) {
+                // after the header and the 16 bytes of the BOF record
+                System.arraycopy(records, 0, file, i + 4 + 16, records.length);
+                return file;
+            }
+        }
+        throw new IllegalArgumentException("Missing globals substream");
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx;
+
+import _test.XlSamples;
+import ec.util.spreadsheet.Book;
+import ec.util.spreadsheet.helpers.ArrayBook;
+import ec.util.spreadsheet.tck.BookFactoryAssert;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static _test.XlSamples.XLSB_TOP5;
+import static ec.util.spreadsheet.tck.Conditions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+/**
+ * Only covers what differs from {@link XlsxBookFactoryTest}: the format
+ * specific acceptance and reading.
+ */
+public class XlsbBookFactoryTest {
+
+    @Test
+    public void testCompliance(@TempDir Path temp) throws IOException {
+        BookFactoryAssert.assertThat(new XlsbBookFactory())
+                .isCompliant(XLSB_TOP5, temp);
+    }
+
+    @Test
+    public void testContent() {
+        assertThat(new XlsbBookFactory())
+                .is(ableToLoadContent())
+                .isNot(ableToStoreContent());
+    }
+
+    @Test
+    public void testAcceptPath(@TempDir Path temp) {
+        assertThat(new XlsbBookFactory())
+                .is(acceptingPath(XLSB_TOP5.getValid().path(temp)))
+                .is(acceptingPath(XLSB_TOP5.getMissing().path(temp)))
+                .isNot(acceptingPath(XLSB_TOP5.getBadExtension().path(temp)))
+                .isNot(acceptingPath(XLSB_TOP5.getInvalidFormat().path(temp)));
+    }
+
+    @Test
+    public void testLoad(@TempDir Path temp) throws IOException {
+        XlsbBookFactory x = new XlsbBookFactory();
+
+        try (Book book = x.load(XLSB_TOP5.getValid().path(temp))) {
+            XlSamples.assertTop5Book(book);
+        }
+        try (ArrayBook book = XLSB_TOP5.getValidWithTail().loadStream(x)) {
+            XlSamples.assertTop5Book(book);
+        }
+        assertThatIOException().isThrownBy(() -> XLSB_TOP5.getInvalidFormat().loadStream(x));
+    }
+}
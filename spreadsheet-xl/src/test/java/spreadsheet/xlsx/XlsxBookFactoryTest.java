@@ -25,6 +25,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.Comparator;
@@ -50,7 +51,13 @@ public class XlsxBookFactoryTest {
     public void testContent(@TempDir Path temp) throws IOException {
         assertThat(new XlsxBookFactory())
                 .is(ableToLoadContent())
-                .isNot(ableToStoreContent());
+                .is(ableToStoreContent());
+
+        Book.Factory x = new XlsxBookFactory();
+        BookFactoryAssert.assertReadWrite(x, x,
+                XLSX_TOP5.getValid().file(temp),
+                Files.createTempFile(temp, "output", ".xlsx").toFile()
+        );
     }
 
     @Test
@@ -122,9 +129,11 @@ public class XlsxBookFactoryTest {
     @Test
     public void testRank() {
         assertThat(BookFactoryLoader.load())
-                .hasSize(4)
+                .hasSize(6)
                 .isSortedAccordingTo(Comparator.comparingInt(Book.Factory::getRank).reversed())
                 .extracting(factory -> factory.getClass().getSimpleName())
-                .containsExactly("XlsxBookFactory", "ExcelBinaryBookFactory", "ExcelBookFactory", "ExcelClassicBookFactory");
+                .containsSubsequence("XlsxBookFactory", "ExcelBinaryBookFactory", "ExcelBookFactory", "ExcelClassicBookFactory")
+                .containsSubsequence("XlsbBookFactory", "ExcelBinaryBookFactory")
+                .containsSubsequence("XlsBookFactory", "ExcelClassicBookFactory");
     }
 }
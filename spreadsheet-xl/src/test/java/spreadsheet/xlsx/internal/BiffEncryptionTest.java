@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import nbbrd.io.Resource;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class BiffEncryptionTest {
+
+    @Test
+    public void testRc4() throws Exception {
+        byte[] salt = newBytes(16, 1);
+        byte[] passwordHash = Arrays.copyOf(digest("MD5", password(BiffEncryption.DEFAULT_PASSWORD)), 5);
+        byte[] intermediate = new byte[0];
+        for (int i = 0; i < 16; i++) {
+            intermediate = concat(intermediate, passwordHash, salt);
+        }
+        byte[] baseKey = Arrays.copyOf(digest("MD5", intermediate), 5);
+        IntFunction<byte[]> keys = block -> digest("MD5", concat(baseKey, int32(block)));
+
+        byte[] verifier = newBytes(16, 2);
+        byte[] filePass = concat(int16(1), int16(1), int16(1), salt,
+                rc4(keys.apply(0), concat(verifier, digest("MD5", verifier))));
+
+        assertDecryption(filePass, keys);
+    }
+
+    @Test
+    public void testCryptoApi() throws Exception {
+        for (int keyBits : new int[]{40, 128}) {
+            byte[] salt = newBytes(16, 3);
+            byte[] baseKey = digest("SHA-1", concat(salt, password(BiffEncryption.DEFAULT_PASSWORD)));
+            IntFunction<byte[]> keys = block -> {
+                byte[] result = Arrays.copyOf(digest("SHA-1", concat(baseKey, int32(block))), keyBits / 8);
+                return keyBits == 40 ? Arrays.copyOf(result, 16) : result;
+            };
+
+            byte[] verifier = newBytes(16, 4);
+            byte[] header = concat(int32(0x04), int32(0), int32(0x6801), int32(0x8004), int32(keyBits), int32(1), int32(0), int32(0), password("CSP\0"));
+            byte[] encryptedVerifier = rc4(keys.apply(0), concat(verifier, digest("SHA-1", verifier)));
+            byte[] filePass = concat(int16(1), int16(4), int16(2), int32(0x04), int32(header.length), header,
+                    int32(salt.length), salt,
+                    Arrays.copyOf(encryptedVerifier, 16), int32(20), Arrays.copyOfRange(encryptedVerifier, 16, 36));
+
+            assertDecryption(filePass, keys);
+        }
+    }
+
+    @Test
+    public void testUnsupported() throws Exception {
+        byte[] salt = newBytes(16, 5);
+        byte[] passwordHash = Arrays.copyOf(digest("MD5", password("secret")), 5);
+        byte[] intermediate = new byte[0];
+        for (int i = 0; i < 16; i++) {
+            intermediate = concat(intermediate, passwordHash, salt);
+        }
+        byte[] baseKey = Arrays.copyOf(digest("MD5", intermediate), 5);
+        byte[] verifier = newBytes(16, 6);
+        byte[] filePass = concat(int16(1), int16(1), int16(1), salt,
+                rc4(digest("MD5", concat(baseKey, int32(0))), concat(verifier, digest("MD5", verifier))));
+
+        assertThatThrownBy(() -> BiffEncryption.decrypt(withFilePass(readWorkbook(), filePass)))
+                .isInstanceOf(BiffFormatException.class)
+                .hasMessageContaining("password");
+
+        assertThatThrownBy(() -> BiffEncryption.decrypt(withFilePass(readWorkbook(), concat(int16(0), int16(0x1234), int16(0x5678)))))
+                .isInstanceOf(BiffFormatException.class)
+                .hasMessageContaining("XOR");
+
+        assertThatThrownBy(() -> BiffEncryption.decrypt(withFilePass(readWorkbook(), concat(int16(1), int16(4), int16(4)))))
+                .isInstanceOf(BiffFormatException.class)
+                .hasMessageContaining("version");
+
+        assertThatThrownBy(() -> BiffEncryption.decrypt(withFilePass(readWorkbook(), concat(int16(1), int16(1), int16(1), salt))))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("FILEPASS");
+    }
+
+    private static void assertDecryption(byte[] filePass, IntFunction<byte[]> keys) throws Exception {
+        byte[] expected = withFilePass(readWorkbook(), filePass);
+        byte[] stream = encrypt(expected, keys);
+        assertThat(stream).isNotEqualTo(expected);
+
+        BiffEncryption.decrypt(stream);
+        assertThat(stream).isEqualTo(expected);
+
+        XlsxBook.WorkbookData data = XlsxBook.parseWorkbook(() -> new ByteArrayInputStream(stream), new BiffEntryParser());
+        assertThat(data.getSheets()).isNotEmpty();
+    }
+
+    /**
+     * Inserts a FILEPASS record after the first BOF record and moves the
+     * offsets of the sheet substreams accordingly.
+     */
+    private static byte[] withFilePass(byte[] workbook, byte[] filePass) {
+        int bofEnd = HEADER_SIZE + getUnsignedShort(workbook, 2);
+        byte[] result = concat(Arrays.copyOf(workbook, bofEnd), int16(FILE_PASS), int16(filePass.length), filePass,
+                Arrays.copyOfRange(workbook, bofEnd, workbook.length));
+        int delta = HEADER_SIZE + filePass.length;
+        ByteBuffer buffer = ByteBuffer.wrap(result).order(ByteOrder.LITTLE_ENDIAN);
+        for (int offset = 0; offset + HEADER_SIZE <= result.length; offset += HEADER_SIZE + getUnsignedShort(result, offset + 2)) {
+            if (getUnsignedShort(result, offset) == BOUND_SHEET) {
+                buffer.putInt(offset + HEADER_SIZE, buffer.getInt(offset + HEADER_SIZE) + delta);
+            }
+        }
+        return result;
+    }
+
+    private static byte[] encrypt(byte[] workbook, IntFunction<byte[]> keys) throws GeneralSecurityException {
+        byte[] keyStream = new byte[workbook.length];
+        for (int block = 0; block * BiffEncryption.BLOCK_SIZE < workbook.length; block++) {
+            int from = block * BiffEncryption.BLOCK_SIZE;
+            byte[] bytes = rc4(keys.apply(block), new byte[Math.min(BiffEncryption.BLOCK_SIZE, workbook.length - from)]);
+            System.arraycopy(bytes, 0, keyStream, from, bytes.length);
+        }
+        byte[] result = workbook.clone();
+        int offset = HEADER_SIZE + getUnsignedShort(workbook, 2);
+        // FILEPASS
+        offset += HEADER_SIZE + getUnsignedShort(workbook, offset + 2);
+        while (offset + HEADER_SIZE <= workbook.length) {
+            int type = getUnsignedShort(workbook, offset);
+            int start = offset + HEADER_SIZE;
+            int end = start + getUnsignedShort(workbook, offset + 2);
+            for (int i = PLAIN_RECORDS.contains(type) ? end : type == BOUND_SHEET ? start + 4 : start; i < end; i++) {
+                result[i] ^= keyStream[i];
+            }
+            offset = end;
+        }
+        return result;
+    }
+
+    private static byte[] readWorkbook() throws IOException {
+        try (InputStream stream = Resource.newInputStream(BiffEncryptionTest.class, "/Top5Browsers.xls")) {
+            return CompoundFile.readStream(ByteBuffer.wrap(IOHelper.readAllBytes(stream)), "Workbook");
+        }
+    }
+
+    private static byte[] rc4(byte[] key, byte[] input) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance("RC4");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "RC4"));
+        return cipher.doFinal(input);
+    }
+
+    private static byte[] digest(String algorithm, byte[] input) {
+        try {
+            return MessageDigest.getInstance(algorithm).digest(input);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static byte[] password(String password) {
+        return password.getBytes(StandardCharsets.UTF_16LE);
+    }
+
+    private static byte[] newBytes(int length, int seed) {
+        byte[] result = new byte[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = (byte) (seed * 31 + i * 7);
+        }
+        return result;
+    }
+
+    private static byte[] int16(int value) {
+        return new byte[]{(byte) value, (byte) (value >>> 8)};
+    }
+
+    private static byte[] int32(int value) {
+        return ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(value).array();
+    }
+
+    private static byte[] concat(byte[]... arrays) {
+        byte[] result = new byte[Arrays.stream(arrays).mapToInt(o -> o.length).sum()];
+        int offset = 0;
+        for (byte[] array : arrays) {
+            System.arraycopy(array, 0, result, offset, array.length);
+            offset += array.length;
+        }
+        return result;
+    }
+
+    private static int getUnsignedShort(byte[] bytes, int index) {
+        return (bytes[index] & 0xFF) | (bytes[index + 1] & 0xFF) << 8;
+    }
+
+    private static final int HEADER_SIZE = 4;
+    private static final int FILE_PASS = 0x002F;
+    private static final int BOUND_SHEET = 0x0085;
+    // [MS-XLS] 2.2.10 records that are never encrypted, besides FILEPASS
+    private static final List<Integer> PLAIN_RECORDS = Arrays.asList(0x0809, 0x00E1, 0x0138, 0x0194, 0x0195, 0x0196);
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import ec.util.spreadsheet.Sheet;
+import org.junit.jupiter.api.Test;
+import spreadsheet.xlsx.XlsxProjection;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class BiffEntryParserTest {
+
+    @Test
+    public void testWorkbook() throws IOException {
+        byte[] workbook = new Records()
+                .add(0x0809, bof())
+                .add(0x0022, new Payload().int16(1))
+                .add(0x0085, new Payload().int32(1000).int8(0).int8(0).int8(5).int8(0).chars("first"))
+                .add(0x0085, new Payload().int32(2000).int8(0).int8(6).int8(6).int8(0).chars("module"))
+                .add(0x0085, new Payload().int32(3000).int8(0).int8(2).int8(5).int8(0).chars("chart"))
+                .add(0x0085, new Payload().int32(4000).int8(0).int8(1).int8(5).int8(0).chars("macro"))
+                .add(0x0085, new Payload().int32(5000).int8(1).int8(0).int8(6).int8(1).wideChars("second"))
+                .add(0x000A, new Payload())
+                .add(0x0085, new Payload().int32(6000).int8(0).int8(0).int8(5).int8(0).chars("after"))
+                .toByteArray();
+
+        XlsxBook.WorkbookData data = XlsxBook.parseWorkbook(() -> new ByteArrayInputStream(workbook), new BiffEntryParser());
+        assertThat(data.getSheets())
+                .extracting("name", "relationId")
+                .containsExactly(tuple("first", "1000"), tuple("second", "5000"));
+        assertThat(data.isDate1904()).isTrue();
+
+        assertThatThrownBy(() -> XlsxBook.parseWorkbook(() -> new ByteArrayInputStream(new byte[0]), new BiffEntryParser()))
+                .isInstanceOf(EOFException.class);
+
+        byte[] biff5 = new Records()
+                .add(0x0809, new Payload().int16(0x0500).int16(5))
+                .add(0x000A, new Payload())
+                .toByteArray();
+        assertThatExceptionOfType(BiffFormatException.class)
+                .isThrownBy(() -> XlsxBook.parseWorkbook(() -> new ByteArrayInputStream(biff5), new BiffEntryParser()))
+                .withMessageContaining("Unsupported BIFF version 0x500");
+    }
+
+    @Test
+    public void testSharedStrings() throws IOException {
+        byte[] sharedStrings = new Records()
+                .add(0x0809, bof())
+                .add(0x00FC, new Payload().int32(4).int32(4)
+                        .int16(5).int8(0).chars("hello")
+                        .int16(4).int8(0x8).int16(1).chars("rich").int32(0)
+                        .int16(7).int8(0).chars("spl"))
+                // characters continued with other option flags
+                .add(0x003C, new Payload().int8(1).wideChars("itté")
+                        .int16(2).int8(0x4).int32(3))
+                .add(0x003C, new Payload().int8(0).chars("ok").int8(1).int8(2).int8(3))
+                .add(0x000A, new Payload())
+                .toByteArray();
+
+        assertThat(XlsxBook.parseSharedStrings(() -> new ByteArrayInputStream(sharedStrings), new BiffEntryParser()))
+                .containsExactly("hello", "rich", "splitté", "ok");
+    }
+
+    @Test
+    public void testStyles() throws IOException {
+        byte[] styles = new Records()
+                .add(0x0809, bof())
+                .add(0x041E, new Payload().int16(164).int16(10).int8(0).chars("yyyy-mm-dd"))
+                .add(0x00E0, xf(0))
+                .add(0x00E0, xf(14))
+                .add(0x00E0, xf(164))
+                .add(0x000A, new Payload())
+                .toByteArray();
+
+        assertThat(XlsxBook.parseStyles(DefaultNumberingFormat.INSTANCE, () -> new ByteArrayInputStream(styles), new BiffEntryParser()))
+                .containsExactly(false, true, true);
+    }
+
+    @Test
+    public void testSheet() throws IOException {
+        Sheet sheet = parseSheet(XlsxProjection.ALL);
+
+        assertThat(sheet.getRowCount()).isEqualTo(4);
+        assertThat(sheet.getColumnCount()).isEqualTo(4);
+        assertThat(sheet.getCellValue(0, 0)).isEqualTo(42.0);
+        assertThat(sheet.getCellValue(0, 1)).isEqualTo(-12.34);
+        assertThat(sheet.getCellValue(0, 2)).isEqualTo(0.1);
+        assertThat(sheet.getCellValue(0, 3)).isEqualTo(3.14);
+        assertThat(sheet.getCellValue(1, 0)).isEqualTo("world");
+        assertThat(sheet.getCellValue(1, 1)).isEqualTo("label");
+        assertThat(sheet.getCellValue(1, 2)).isNull();
+        assertThat(sheet.getCellValue(1, 3)).isNull();
+        assertThat(sheet.getCellValue(2, 0)).isEqualTo(new Date(DefaultDateSystem.X1900.getJavaDateInMillis(ZoneId.systemDefault(), 40000)));
+        assertThat(sheet.getCellValue(2, 1)).isEqualTo("formula");
+        assertThat(sheet.getCellValue(2, 2)).isEqualTo(1e300);
+        assertThat(sheet.getCellValue(2, 3)).isNull();
+        assertThat(sheet.getCellValue(3, 0)).isEqualTo("rich");
+    }
+
+    @Test
+    public void testProjection() throws IOException {
+        Sheet sheet = parseSheet(XlsxProjection.ofRows(0, 1));
+
+        assertThat(sheet.getRowCount()).isEqualTo(1);
+        assertThat(sheet.getCellValue(0, 0)).isEqualTo(42.0);
+        assertThat(sheet.getCellValue(0, 3)).isEqualTo(3.14);
+    }
+
+    @Test
+    public void testEmptySheet() throws IOException {
+        byte[] sheet = new Records()
+                .add(0x0809, bof())
+                .add(0x0200, new Payload().int32(0).int32(0).int16(0).int16(0).int16(0))
+                .add(0x000A, new Payload())
+                .toByteArray();
+
+        try (DefaultSheetBuilder builder = DefaultSheetBuilder.of(DefaultDateSystem.X1900, Arrays.asList(), new boolean[0])) {
+            Sheet result = XlsxBook.parseSheet("sheet", builder, () -> new ByteArrayInputStream(sheet), new BiffEntryParser());
+            assertThat(result.getName()).isEqualTo("sheet");
+            assertThat(result.getRowCount()).isZero();
+            assertThat(result.getColumnCount()).isZero();
+        }
+    }
+
+    private static Sheet parseSheet(XlsxProjection projection) throws IOException {
+        byte[] sheet = new Records()
+                .add(0x0809, bof())
+                .add(0x0200, new Payload().int32(0).int32(4).int16(0).int16(4).int16(0))
+                // integer RK, integer RK divided by 100 and double RK divided by 100
+                .add(0x00BD, new Payload().int16(0).int16(0)
+                        .int16(0).int32(42 << 2 | 0x2)
+                        .int16(0).int32(-1234 << 2 | 0x3)
+                        .int16(0).int32((int) (Double.doubleToLongBits(10.0) >>> 32) | 0x1)
+                        .int16(2))
+                .add(0x0203, cell(0, 3, 0).float64(3.14))
+                .add(0x00FD, cell(1, 0, 0).int32(1))
+                .add(0x0204, cell(1, 1, 0).int16(5).int8(0).chars("label"))
+                .add(0x0205, cell(1, 2, 0).int8(1).int8(0))
+                .add(0x0205, cell(1, 3, 0).int8(0x07).int8(1))
+                .add(0x027E, cell(2, 0, 1).int32(40000 << 2 | 0x2))
+                .add(0x0006, cell(2, 1, 0).int8(0).int8(0).int8(0).int8(0).int8(0).int8(0).int16(0xFFFF).int16(0).int32(0).int16(0))
+                .add(0x0207, new Payload().int16(7).int8(0).chars("formula"))
+                .add(0x0006, cell(2, 2, 0).float64(1e300).int16(0).int32(0).int16(0))
+                .add(0x0201, cell(2, 3, 0))
+                .add(0x00D6, cell(3, 0, 0).int16(4).int8(0).chars("rich").int16(1).int32(0))
+                .add(0x000A, new Payload())
+                .toByteArray();
+
+        try (DefaultSheetBuilder builder = DefaultSheetBuilder.of(DefaultDateSystem.X1900, Arrays.asList("hello", "world"), new boolean[]{false, true})) {
+            return XlsxBook.parseSheet("sheet", builder, () -> new ByteArrayInputStream(sheet), new BiffEntryParser(), projection);
+        }
+    }
+
+    private static Payload bof() {
+        return new Payload().int16(0x0600).int16(0x0005).int32(0).int32(0).int32(0);
+    }
+
+    private static Payload xf(int formatId) {
+        return new Payload().int16(0).int16(formatId).int32(0).int32(0).int32(0).int32(0);
+    }
+
+    private static Payload cell(int row, int column, int styleIndex) {
+        return new Payload().int16(row).int16(column).int16(styleIndex);
+    }
+
+    private static final class Payload {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        Payload int8(int value) {
+            bytes.write(value);
+            return this;
+        }
+
+        Payload int16(int value) {
+            return int8(value).int8(value >> 8);
+        }
+
+        Payload int32(int value) {
+            return int16(value).int16(value >> 16);
+        }
+
+        Payload float64(double value) {
+            long bits = Double.doubleToLongBits(value);
+            return int32((int) bits).int32((int) (bits >>> 32));
+        }
+
+        Payload chars(String value) {
+            for (char c : value.toCharArray()) {
+                int8(c);
+            }
+            return this;
+        }
+
+        Payload wideChars(String value) {
+            for (char c : value.toCharArray()) {
+                int16(c);
+            }
+            return this;
+        }
+    }
+
+    private static final class Records {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        Records add(int type, Payload payload) {
+            byte[] content = payload.bytes.toByteArray();
+            bytes.write(type);
+            bytes.write(type >> 8);
+            bytes.write(content.length);
+            bytes.write(content.length >> 8);
+            bytes.write(content, 0, content.length);
+            return this;
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import ec.util.spreadsheet.Sheet;
+import org.junit.jupiter.api.Test;
+import spreadsheet.xlsx.XlsxEntryParser;
+import spreadsheet.xlsx.XlsxProjection;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class BinaryEntryParserTest {
+
+    @Test
+    public void testWorkbook() throws IOException {
+        byte[] workbook = new Records()
+                .add(153, new Payload().int32(1).int32(0))
+                .add(156, new Payload().int32(0).int32(1).string("rId1").string("first"))
+                .add(156, new Payload().int32(0).int32(2).string("rId2").string("second"))
+                .toByteArray();
+
+        XlsxBook.WorkbookData data = XlsxBook.parseWorkbook(() -> new ByteArrayInputStream(workbook), new BinaryEntryParser());
+        assertThat(data.getSheets())
+                .extracting("name", "relationId")
+                .containsExactly(tuple("first", "rId1"), tuple("second", "rId2"));
+        assertThat(data.isDate1904()).isTrue();
+
+        assertThatThrownBy(() -> XlsxBook.parseWorkbook(() -> new ByteArrayInputStream(new byte[0]), new BinaryEntryParser()))
+                .isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    public void testSharedStrings() throws IOException {
+        byte[] sharedStrings = new Records()
+                .add(159, new Payload().int32(2).int32(2))
+                .add(19, new Payload().int8(0).string("hello"))
+                .add(19, new Payload().int8(1).string("rich").int32(0))
+                .add(160, new Payload())
+                .toByteArray();
+
+        assertThat(XlsxBook.parseSharedStrings(() -> new ByteArrayInputStream(sharedStrings), new BinaryEntryParser()))
+                .containsExactly("hello", "rich");
+    }
+
+    @Test
+    public void testStyles() throws IOException {
+        byte[] styles = new Records()
+                .add(44, new Payload().int16(164).string("yyyy-mm-dd"))
+                .add(626, new Payload().int32(1))
+                .add(47, new Payload().int16(0xFFFF).int16(14))
+                .add(627, new Payload())
+                .add(617, new Payload().int32(3))
+                .add(47, new Payload().int16(0).int16(0))
+                .add(47, new Payload().int16(0).int16(14))
+                .add(47, new Payload().int16(0).int16(164))
+                .add(618, new Payload())
+                .toByteArray();
+
+        assertThat(XlsxBook.parseStyles(DefaultNumberingFormat.INSTANCE, () -> new ByteArrayInputStream(styles), new BinaryEntryParser()))
+                .containsExactly(false, true, true);
+    }
+
+    @Test
+    public void testSheet() throws IOException {
+        Sheet sheet = parseSheet(XlsxProjection.ALL);
+
+        assertThat(sheet.getRowCount()).isEqualTo(3);
+        assertThat(sheet.getColumnCount()).isEqualTo(4);
+        assertThat(sheet.getCellValue(0, 0)).isEqualTo(42.0);
+        assertThat(sheet.getCellValue(0, 1)).isEqualTo(-12.34);
+        assertThat(sheet.getCellValue(0, 2)).isEqualTo(0.1);
+        assertThat(sheet.getCellValue(0, 3)).isEqualTo(3.14);
+        assertThat(sheet.getCellValue(1, 0)).isEqualTo("world");
+        assertThat(sheet.getCellValue(1, 1)).isEqualTo("inline");
+        assertThat(sheet.getCellValue(1, 2)).isNull();
+        assertThat(sheet.getCellValue(1, 3)).isNull();
+        assertThat(sheet.getCellValue(2, 0)).isEqualTo(new Date(DefaultDateSystem.X1900.getJavaDateInMillis(ZoneId.systemDefault(), 40000)));
+        assertThat(sheet.getCellValue(2, 1)).isEqualTo("formula");
+        assertThat(sheet.getCellValue(2, 2)).isEqualTo(1e300);
+        assertThat(sheet.getCellValue(2, 3)).isNull();
+    }
+
+    @Test
+    public void testProjection() throws IOException {
+        Sheet sheet = parseSheet(XlsxProjection.ofRows(0, 1));
+
+        assertThat(sheet.getRowCount()).isEqualTo(1);
+        assertThat(sheet.getCellValue(0, 0)).isEqualTo(42.0);
+    }
+
+    private static Sheet parseSheet(XlsxProjection projection) throws IOException {
+        byte[] sheet = new Records()
+                .add(129, new Payload())
+                .add(148, new Payload().int32(0).int32(2).int32(0).int32(3))
+                .add(145, new Payload())
+                .add(0, new Payload().int32(0))
+                // integer RK
+                .add(2, cell(0, 0).int32(42 << 2 | 0x2))
+                // integer RK divided by 100
+                .add(2, cell(1, 0).int32(-1234 << 2 | 0x3))
+                // double RK divided by 100
+                .add(2, cell(2, 0).int32((int) (Double.doubleToLongBits(10.0) >>> 32) | 0x1))
+                .add(5, cell(3, 0).float64(3.14))
+                .add(0, new Payload().int32(1))
+                .add(7, cell(0, 0).int32(1))
+                .add(6, cell(1, 0).string("inline"))
+                .add(4, cell(2, 0).int8(1))
+                .add(3, cell(3, 0).int8(0x07))
+                .add(0, new Payload().int32(2))
+                .add(2, cell(0, 1).int32(40000 << 2 | 0x2))
+                .add(8, cell(1, 0).string("formula").int16(0))
+                .add(9, cell(2, 0).float64(1e300).int16(0))
+                .add(1, cell(3, 0))
+                .add(146, new Payload())
+                .add(130, new Payload())
+                .toByteArray();
+
+        try (DefaultSheetBuilder builder = DefaultSheetBuilder.of(DefaultDateSystem.X1900, Arrays.asList("hello", "world"), new boolean[]{false, true})) {
+            return XlsxBook.parseSheet("sheet", builder, () -> new ByteArrayInputStream(sheet), new BinaryEntryParser(), projection);
+        }
+    }
+
+    private static Payload cell(int column, int styleIndex) {
+        return new Payload().int32(column).int32(styleIndex);
+    }
+
+    private static final class Payload {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        Payload int8(int value) {
+            bytes.write(value);
+            return this;
+        }
+
+        Payload int16(int value) {
+            return int8(value).int8(value >> 8);
+        }
+
+        Payload int32(int value) {
+            return int16(value).int16(value >> 16);
+        }
+
+        Payload float64(double value) {
+            long bits = Double.doubleToLongBits(value);
+            return int32((int) bits).int32((int) (bits >>> 32));
+        }
+
+        Payload string(String value) {
+            int32(value.length());
+            for (char c : value.toCharArray()) {
+                int16(c);
+            }
+            return this;
+        }
+    }
+
+    private static final class Records {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        Records add(int type, Payload payload) {
+            writeVarInt(type);
+            writeVarInt(payload.bytes.size());
+            byte[] content = payload.bytes.toByteArray();
+            bytes.write(content, 0, content.length);
+            return this;
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+
+        private void writeVarInt(int value) {
+            do {
+                int low = value & 0x7F;
+                value >>>= 7;
+                bytes.write(value != 0 ? low | 0x80 : low);
+            } while (value != 0);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import _test.EmptyInputStream;
+import ec.util.spreadsheet.tck.SheetAssert;
+import nbbrd.io.Resource;
+import nbbrd.io.function.IOFunction;
+import nbbrd.io.function.IOSupplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import spreadsheet.xlsx.XlsxDataType;
+import spreadsheet.xlsx.XlsxEntryParser;
+import spreadsheet.xlsx.XlsxSheetBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ByteEntryParserTest {
+
+    private final IOFunction<String, InputStream> files = name -> Resource.newInputStream(ByteEntryParserTest.class, name);
+    private final IOSupplier<InputStream> empty = EmptyInputStream::new;
+    private final IOSupplier<InputStream> throwing = () -> {
+        throw new CustomIOException();
+    };
+
+    @Test
+    public void testSheet() throws IOException {
+        XlsxEntryParser parser = ByteEntryParser.FACTORY.create();
+
+        XlsxSheetBuilder b = DefaultSheetBuilder.of(
+                DefaultDateSystem.X1904,
+                Arrays.asList("1", "2", "3", "4", "5", "6", "7"),
+                new boolean[]{false, true}
+        );
+
+        SheetAssert.assertThat(XlsxBook.parseSheet("regular", b, () -> files.applyWithIO("/RegularXlsxSheet.xml"), parser))
+                .hasName("regular")
+                .hasColumnCount(7)
+                .hasRowCount(42);
+
+        SheetAssert.assertThat(XlsxBook.parseSheet("formulas", b, () -> files.applyWithIO("/FormulasXlsxSheet.xml"), parser))
+                .hasName("formulas")
+                .hasColumnCount(7)
+                .hasRowCount(42);
+
+        SheetAssert.assertThat(XlsxBook.parseSheet("inlineStrings", b, () -> files.applyWithIO("/InlineStrings.xml"), parser))
+                .hasName("inlineStrings")
+                .hasColumnCount(1)
+                .hasRowCount(1)
+                .hasCellValue(0, 0, "hello world");
+
+        assertThatThrownBy(() -> XlsxBook.parseSheet("empty", b, empty, parser))
+                .isInstanceOf(EOFException.class)
+                .hasNoCause();
+
+        assertThatThrownBy(() -> XlsxBook.parseSheet("missing", b, throwing, parser))
+                .isInstanceOf(CustomIOException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/RegularXlsxSheet.xml", "/FormulasXlsxSheet.xml", "/InlineStrings.xml"})
+    public void testSameEventsAsSax(String resource) throws IOException {
+        assertThat(eventsOf(ByteEntryParser.FACTORY.create(), () -> files.applyWithIO(resource)))
+                .containsExactlyElementsOf(eventsOf(SaxEntryParser.FACTORY.create(), () -> files.applyWithIO(resource)));
+    }
+
+    @Test
+    public void testXmlSyntax() throws IOException {
+        String sheet = "<?xml version='1.0' encoding='UTF-8'?><!-- comment -->"
+                + "<worksheet><dimension ref='A1:B3'/><sheetData><row r='1'>"
+                + "<c r=\"A1\" t=\"inlineStr\"><is><r><t>a &amp; b</t></r><r><t xml:space='preserve'> &lt;&#233;&#x41;&gt;</t></r></is></c>"
+                + "<c r='B1' s='1'><v><![CDATA[3.14]]></v></c>"
+                + "</row><row r='2'>"
+                + "<c r='A2' t='str'><f>CONCAT(\"x\",\"y\")</f><v>x\r\ny</v></c>"
+                + "<c r = 'B2' s='oops' ><v>1</v ></c>"
+                + "<c r='A3' t='b'><v>1</v></c><c r='B3'/>"
+                + "</row></sheetData></worksheet>";
+
+        assertThat(eventsOf(ByteEntryParser.FACTORY.create(), () -> asStream(sheet)))
+                .containsExactly(
+                        "A1:B3",
+                        "A1|a & b <éA>|INLINE_STRING|" + XlsxValueFactory.NULL_STYLE_INDEX,
+                        "B1|3.14|UNDEFINED|1",
+                        "A2|x\ny|STRING|" + XlsxValueFactory.NULL_STYLE_INDEX,
+                        "B2|1|UNDEFINED|" + XlsxValueFactory.INVALID_STYLE_INDEX,
+                        "A3|1|BOOLEAN|" + XlsxValueFactory.NULL_STYLE_INDEX
+                )
+                .containsExactlyElementsOf(eventsOf(SaxEntryParser.FACTORY.create(), () -> asStream(sheet)));
+    }
+
+    @Test
+    public void testEscapes() throws IOException {
+        String sheet = "<worksheet><sheetData><row r='1'>"
+                + "<c r='A1' t='inlineStr'><is><t>a_x0009_b</t></is></c>"
+                + "<c r='B1' t='str'><f>\"_x005F_x0041_\"</f><v>_x005F_x0041_</v></c>"
+                + "<c r='C1' t='e'><v>#_x0041_</v></c>"
+                + "</row></sheetData></worksheet>";
+
+        assertThat(eventsOf(ByteEntryParser.FACTORY.create(), () -> asStream(sheet)))
+                .containsExactly(
+                        "null",
+                        "A1|a\tb|INLINE_STRING|" + XlsxValueFactory.NULL_STYLE_INDEX,
+                        "B1|_x0041_|STRING|" + XlsxValueFactory.NULL_STYLE_INDEX,
+                        "C1|#_x0041_|ERROR|" + XlsxValueFactory.NULL_STYLE_INDEX
+                )
+                .containsExactlyElementsOf(eventsOf(SaxEntryParser.FACTORY.create(), () -> asStream(sheet)));
+    }
+
+    @Test
+    public void testEncoding() throws IOException {
+        String sheet = "<worksheet><sheetData><row><c r='A1' t='str'><v>héllo €</v></c></row></sheetData></worksheet>";
+
+        assertThat(eventsOf(ByteEntryParser.FACTORY.create(), () -> new ByteArrayInputStream(sheet.getBytes(StandardCharsets.UTF_8))))
+                .containsExactly("null", "A1|héllo €|STRING|" + XlsxValueFactory.NULL_STYLE_INDEX);
+
+        assertThat(eventsOf(ByteEntryParser.FACTORY.create(), () -> new ByteArrayInputStream(sheet.getBytes(StandardCharsets.UTF_16))))
+                .as("Must fallback on delegate")
+                .containsExactly("null", "A1|héllo €|STRING|" + XlsxValueFactory.NULL_STYLE_INDEX);
+    }
+
+    @Test
+    public void testTruncated() throws IOException {
+        XlsxEntryParser parser = ByteEntryParser.FACTORY.create();
+
+        assertThatThrownBy(() -> eventsOf(parser, () -> asStream("<worksheet><sheetData><row><c r='A1'><v>1")))
+                .isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    public void testProjection() throws IOException {
+        String sheet = "<worksheet><dimension ref='A1:C9'/><sheetData>"
+                + "<row r='1'><c r='A1' t='str'><v>a1</v></c><c r='B1' t='inlineStr'><is><t>b1</t></is></c><c r='C1' t='str'><v>c1</v></c></row>"
+                + "<row r='2'><c r='A2' t='str'><v>a2</v></c><c r='B2' t='str'><v>b2</v></c></row>"
+                + "<row r='3'><c r='A3' t='str'><v>a3";
+        XlsxEntryParser.SheetVisitor projection = new XlsxEntryParser.SheetVisitor() {
+            @Override
+            public void onSheetData(String sheetBounds) {
+            }
+
+            @Override
+            public void onCell(String ref, CharSequence value, XlsxDataType dataType, int styleIndex) {
+            }
+
+            @Override
+            public boolean isCellRequired(int row, int column) {
+                return column != 1;
+            }
+
+            @Override
+            public boolean isAfterLastRow(int row) {
+                return row >= 2;
+            }
+        };
+
+        assertThat(eventsOf(ByteEntryParser.FACTORY.create(), () -> new ByteArrayInputStream(sheet.getBytes(StandardCharsets.UTF_8)), projection))
+                .containsExactly("A1:C9", "A1|a1|STRING|" + XlsxValueFactory.NULL_STYLE_INDEX, "C1|c1|STRING|" + XlsxValueFactory.NULL_STYLE_INDEX, "A2|a2|STRING|" + XlsxValueFactory.NULL_STYLE_INDEX);
+
+        assertThat(eventsOf(ByteEntryParser.FACTORY.create(), () -> new ByteArrayInputStream(sheet.getBytes(StandardCharsets.UTF_16)), projection))
+                .as("Must fallback on delegate")
+                .containsExactly("A1:C9", "A1|a1|STRING|" + XlsxValueFactory.NULL_STYLE_INDEX, "C1|c1|STRING|" + XlsxValueFactory.NULL_STYLE_INDEX, "A2|a2|STRING|" + XlsxValueFactory.NULL_STYLE_INDEX);
+
+        assertThatThrownBy(() -> eventsOf(ByteEntryParser.FACTORY.create(), () -> asStream(sheet)))
+                .as("Must read the whole entry without projection")
+                .isInstanceOf(EOFException.class);
+    }
+
+    private static InputStream asStream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> eventsOf(XlsxEntryParser parser, IOSupplier<InputStream> source) throws IOException {
+        return eventsOf(parser, source, null);
+    }
+
+    private static List<String> eventsOf(XlsxEntryParser parser, IOSupplier<InputStream> source, XlsxEntryParser.SheetVisitor hints) throws IOException {
+        List<String> result = new ArrayList<>();
+        try (InputStream stream = source.getWithIO()) {
+            parser.visitSheet(stream, new XlsxEntryParser.SheetVisitor() {
+                @Override
+                public void onSheetData(String sheetBounds) {
+                    result.add(String.valueOf(sheetBounds));
+                }
+
+                @Override
+                public void onCell(String ref, CharSequence value, XlsxDataType dataType, int styleIndex) {
+                    result.add(ref + "|" + value + "|" + dataType + "|" + styleIndex);
+                }
+
+                @Override
+                public boolean isCellRequired(int row, int column) {
+                    return hints == null || hints.isCellRequired(row, column);
+                }
+
+                @Override
+                public boolean isAfterLastRow(int row) {
+                    return hints != null && hints.isAfterLastRow(row);
+                }
+            });
+        }
+        return result;
+    }
+
+    private static final class CustomIOException extends IOException {
+
+    }
+}
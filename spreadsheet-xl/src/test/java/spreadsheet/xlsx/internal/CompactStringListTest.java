@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class CompactStringListTest {
+
+    private static final List<String> SAMPLE = Arrays.asList(
+            "", "hello", "héllo", "€uro", "😀 smile", "\uD800 lonely", "x"
+    );
+
+    @Test
+    public void testGet() {
+        for (int cacheSize : new int[]{0, 1, 3, 256}) {
+            CompactStringList list = of(cacheSize, SAMPLE);
+            assertThat(list)
+                    .as("cacheSize=%s", cacheSize)
+                    .hasSize(SAMPLE.size())
+                    .containsExactlyElementsOf(SAMPLE)
+                    .containsExactly(list.toArray(new String[0]));
+        }
+
+        assertThatIndexOutOfBoundsException().isThrownBy(() -> of(0, SAMPLE).get(-1));
+        assertThatIndexOutOfBoundsException().isThrownBy(() -> of(0, SAMPLE).get(SAMPLE.size()));
+        assertThat(of(0, Arrays.asList())).isEmpty();
+    }
+
+    @Test
+    public void testCache() {
+        CompactStringList list = of(2, SAMPLE);
+        assertThat(list.get(1)).isSameAs(list.get(1));
+        assertThat(list.get(2)).isSameAs(list.get(2));
+        assertThat(of(0, SAMPLE).get(1)).isEqualTo("hello");
+    }
+
+    @Test
+    public void testGetContentSize() {
+        // lone surrogate on 3 bytes instead of '?'
+        assertThat(of(0, SAMPLE).getContentSize())
+                .isEqualTo(String.join("", SAMPLE).getBytes(StandardCharsets.UTF_8).length + 2);
+    }
+
+    @Test
+    @SuppressWarnings("null")
+    public void testBuilder() {
+        assertThatNullPointerException().isThrownBy(() -> CompactStringList.builder().add(null));
+        assertThatIllegalArgumentException().isThrownBy(() -> CompactStringList.builder().cacheSize(-1));
+
+        CompactStringList.Builder builder = CompactStringList.builder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            builder.add("item" + i);
+            expected.append("item").append(i);
+        }
+        CompactStringList list = builder.build();
+        assertThat(list).hasSize(10_000);
+        assertThat(list.get(9_999)).isEqualTo("item9999");
+        assertThat(list.getContentSize()).isEqualTo(expected.length());
+    }
+
+    @Test
+    public void testOverflow() {
+        CompactStringList.Builder builder = new CompactStringList.Builder(16).cacheSize(2);
+        SAMPLE.forEach(builder::add);
+        CompactStringList list = builder.build();
+        assertThat(list)
+                .hasSize(SAMPLE.size())
+                .containsExactlyElementsOf(SAMPLE);
+        assertThat(list.getContentSize()).isEqualTo("hello".length());
+    }
+
+    private static CompactStringList of(int cacheSize, List<String> values) {
+        CompactStringList.Builder result = CompactStringList.builder().cacheSize(cacheSize);
+        values.forEach(result::add);
+        return result.build();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import nbbrd.io.Resource;
+import org.junit.jupiter.api.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class CompoundFileTest {
+
+    @Test
+    public void testReadStream() throws IOException {
+        byte[] file = readTop5();
+
+        assertThat(CompoundFile.hasSignature(ByteBuffer.wrap(file))).isTrue();
+
+        byte[] workbook = CompoundFile.readStream(ByteBuffer.wrap(file), "Workbook");
+        assertThat(workbook.length).isGreaterThan(4096);
+        // BOF record of BIFF8
+        assertThat(Arrays.copyOf(workbook, 6)).isEqualTo(new byte[]{0x09, 0x08, 0x10, 0x00, 0x00, 0x06});
+
+        assertThat(CompoundFile.readStream(ByteBuffer.wrap(file), "Book", "WORKBOOK"))
+                .isEqualTo(workbook);
+
+        assertThatIOException()
+                .isThrownBy(() -> CompoundFile.readStream(ByteBuffer.wrap(file), "Book"))
+                .withMessageContaining("Missing stream");
+    }
+
+    @Test
+    public void testInvalidFile() throws IOException {
+        byte[] invalid = "...".getBytes(StandardCharsets.UTF_8);
+        assertThat(CompoundFile.hasSignature(ByteBuffer.wrap(invalid))).isFalse();
+        assertThatIOException()
+                .isThrownBy(() -> CompoundFile.readStream(ByteBuffer.wrap(invalid), "Workbook"));
+
+        assertThatExceptionOfType(EOFException.class)
+                .isThrownBy(() -> CompoundFile.readStream(ByteBuffer.allocate(0), "Workbook"));
+
+        byte[] truncated = Arrays.copyOf(readTop5(), 2048);
+        assertThatIOException()
+                .isThrownBy(() -> CompoundFile.readStream(ByteBuffer.wrap(truncated), "Workbook"));
+    }
+
+    @Test
+    public void testRootChildrenOnly() throws IOException {
+        byte[] workbook = CompoundFile.readStream(ByteBuffer.wrap(newFile(false)), "Workbook");
+        assertThat(workbook.length).isEqualTo(4096);
+        assertThat(Arrays.copyOf(workbook, 3)).isEqualTo(new byte[]{1, 2, 3});
+
+        assertThatIOException()
+                .isThrownBy(() -> CompoundFile.readStream(ByteBuffer.wrap(newFile(true)), "Workbook"))
+                .withMessageContaining("Missing stream");
+    }
+
+    private static byte[] newFile(boolean embedded) {
+        // sector 0: FAT, sector 1: directory, sectors 2 to 9: stream
+        ByteBuffer result = ByteBuffer.allocate(512 * 11).order(ByteOrder.LITTLE_ENDIAN);
+        result.putLong(0, 0xE11AB1A1E011CFD0L);
+        result.putShort(0x1E, (short) 9);
+        result.putShort(0x20, (short) 6);
+        result.putInt(0x2C, 1);
+        result.putInt(0x30, 1);
+        result.putInt(0x38, 4096);
+        result.putInt(0x3C, -2);
+        result.putInt(0x44, -2);
+        result.putInt(0x4C, 0);
+        for (int i = 1; i < 109; i++) {
+            result.putInt(0x4C + i * 4, -1);
+        }
+        int fat = 512;
+        for (int i = 0; i < 128; i++) {
+            result.putInt(fat + i * 4, -1);
+        }
+        result.putInt(fat, -3);
+        result.putInt(fat + 4, -2);
+        for (int i = 2; i < 10; i++) {
+            result.putInt(fat + i * 4, i == 9 ? -2 : i + 1);
+        }
+        int directory = 1024;
+        putEntry(result, directory, "Root Entry", 5, embedded ? 1 : 2, -2, 0);
+        putEntry(result, directory + 128, "Embedded", 1, embedded ? 2 : -1, -2, 0);
+        putEntry(result, directory + 256, "Workbook", 2, -1, 2, 4096);
+        if (!embedded) {
+            // sibling of the stream in the tree of root children
+            result.putInt(directory + 256 + 68, 1);
+        }
+        result.put(512 * 3, (byte) 1).put(512 * 3 + 1, (byte) 2).put(512 * 3 + 2, (byte) 3);
+        return result.array();
+    }
+
+    private static void putEntry(ByteBuffer buffer, int offset, String name, int type, int child, int start, int size) {
+        for (int i = 0; i < name.length(); i++) {
+            buffer.putChar(offset + i * 2, name.charAt(i));
+        }
+        buffer.putShort(offset + 64, (short) ((name.length() + 1) * 2));
+        buffer.put(offset + 66, (byte) type);
+        buffer.putInt(offset + 68, -1);
+        buffer.putInt(offset + 72, -1);
+        buffer.putInt(offset + 76, child);
+        buffer.putInt(offset + 116, start);
+        buffer.putInt(offset + 120, size);
+    }
+
+    private static byte[] readTop5() throws IOException {
+        try (InputStream stream = Resource.newInputStream(CompoundFileTest.class, "/Top5Browsers.xls")) {
+            return IOHelper.readAllBytes(stream);
+        }
+    }
+}
@@ -19,7 +19,16 @@ package spreadsheet.xlsx.internal;
 import org.junit.jupiter.api.Test;
 import spreadsheet.xlsx.XlsxDateSystem;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -37,6 +46,9 @@ public class DefaultDateSystemTest {
     private final double EARLIEST_DATE_1904_PLUS_1_SECOND = 1.1574074074074073E-5;
     private final double EARLIEST_DATE_1904_PLUS_1_YEAR = 366;
 
+    private static final double FROM_1970 = 25569;
+    private static final double TO_2030 = 47484;
+
     @Test
     public void testGetJavaDate() {
         Calendar cal = XlsxValueFactory.NumberOrDateParser.newCalendar();
@@ -51,4 +63,119 @@ public class DefaultDateSystemTest {
         assertThat(x1904.getJavaDate(cal, EARLIEST_DATE_1904_PLUS_1_SECOND)).isEqualTo("1904-01-01T00:00:01.000");
         assertThat(x1904.getJavaDate(cal, EARLIEST_DATE_1904_PLUS_1_YEAR)).isEqualTo("1905-01-01T00:00:00.000");
     }
+
+    @Test
+    public void testGetJavaDateInMillis() {
+        ZoneId zoneId = ZoneId.systemDefault();
+
+        XlsxDateSystem x1900 = DefaultDateSystem.X1900;
+        assertThat(x1900.getJavaDateInMillis(zoneId, EARLIEST_DATE_1900)).isEqualTo(toMillis("1900-01-01T00:00:00", zoneId));
+        assertThat(x1900.getJavaDateInMillis(zoneId, EARLIEST_DATE_1900_PLUS_1_SECOND)).isEqualTo(toMillis("1900-01-01T00:00:01", zoneId));
+        assertThat(x1900.getJavaDateInMillis(zoneId, EARLIEST_DATE_1900_PLUS_1_YEAR)).isEqualTo(toMillis("1901-01-01T00:00:00", zoneId));
+
+        XlsxDateSystem x1904 = DefaultDateSystem.X1904;
+        assertThat(x1904.getJavaDateInMillis(zoneId, EARLIEST_DATE_1904)).isEqualTo(toMillis("1904-01-01T00:00:00", zoneId));
+        assertThat(x1904.getJavaDateInMillis(zoneId, EARLIEST_DATE_1904_PLUS_1_SECOND)).isEqualTo(toMillis("1904-01-01T00:00:01", zoneId));
+        assertThat(x1904.getJavaDateInMillis(zoneId, EARLIEST_DATE_1904_PLUS_1_YEAR)).isEqualTo(toMillis("1905-01-01T00:00:00", zoneId));
+    }
+
+    @Test
+    public void testGetExcelDate() {
+        ZoneId zoneId = ZoneId.systemDefault();
+
+        DefaultDateSystem x1900 = DefaultDateSystem.X1900;
+        assertThat(x1900.getExcelDate(zoneId, toMillis("1900-01-01T00:00:00", zoneId))).isEqualTo(EARLIEST_DATE_1900);
+        assertThat(x1900.getExcelDate(zoneId, toMillis("1901-01-01T00:00:00", zoneId))).isEqualTo(EARLIEST_DATE_1900_PLUS_1_YEAR);
+        assertThat(x1900.getExcelDate(zoneId, toMillis("1900-02-28T00:00:00", zoneId))).isEqualTo(59.0);
+        assertThat(x1900.getExcelDate(zoneId, toMillis("1900-03-01T00:00:00", zoneId))).isEqualTo(61.0);
+
+        DefaultDateSystem x1904 = DefaultDateSystem.X1904;
+        assertThat(x1904.getExcelDate(zoneId, toMillis("1904-01-01T00:00:00", zoneId))).isEqualTo(EARLIEST_DATE_1904);
+        assertThat(x1904.getExcelDate(zoneId, toMillis("1905-01-01T00:00:00", zoneId))).isEqualTo(EARLIEST_DATE_1904_PLUS_1_YEAR);
+
+        for (DefaultDateSystem x : DefaultDateSystem.values()) {
+            for (double date = 1000; date < 100000; date += 123.456) {
+                double excelDate = x.getExcelDate(zoneId, x.getJavaDateInMillis(zoneId, date));
+                assertThat(x.getJavaDateInMillis(zoneId, excelDate)).isEqualTo(x.getJavaDateInMillis(zoneId, date));
+            }
+        }
+    }
+
+    @Test
+    public void testLeapYear1900() {
+        ZoneId zoneId = ZoneId.of("UTC");
+        XlsxDateSystem x1900 = DefaultDateSystem.X1900;
+
+        assertThat(x1900.getJavaDateInMillis(zoneId, 59)).isEqualTo(toMillis("1900-02-28T00:00:00", zoneId));
+        // 1900-02-29 does not exist but Excel considers it does
+        assertThat(x1900.getJavaDateInMillis(zoneId, 60)).isEqualTo(toMillis("1900-03-01T00:00:00", zoneId));
+        assertThat(x1900.getJavaDateInMillis(zoneId, 61)).isEqualTo(toMillis("1900-03-01T00:00:00", zoneId));
+        assertThat(x1900.getJavaDateInMillis(zoneId, 43831.5)).isEqualTo(toMillis("2020-01-01T12:00:00", zoneId));
+
+        assertThat(DefaultDateSystem.X1904.getJavaDateInMillis(zoneId, 43831.5 - 1462)).isEqualTo(toMillis("2020-01-01T12:00:00", zoneId));
+    }
+
+    @Test
+    public void testSameAsCalendar() {
+        for (String id : new String[]{"UTC", "Europe/Brussels", "America/New_York", "Asia/Tokyo", "Australia/Lord_Howe"}) {
+            ZoneId zoneId = ZoneId.of(id);
+            Calendar cal = new GregorianCalendar(TimeZone.getTimeZone(zoneId));
+            for (double date = FROM_1970; date < TO_2030; date += 0.7) {
+                assertThat(DefaultDateSystem.X1900.getJavaDate(cal, date))
+                        .isEqualTo(legacyJavaDate(zoneId, date));
+                assertThat(DefaultDateSystem.X1900.getJavaDateInMillis(zoneId, date))
+                        .isEqualTo(legacyJavaDate(zoneId, date).getTime());
+            }
+        }
+    }
+
+    @Test
+    public void testDaylightSavingTime() {
+        ZoneId zoneId = ZoneId.of("Europe/Brussels");
+        XlsxDateSystem x1900 = DefaultDateSystem.X1900;
+
+        // the time of day is an elapsed time since midnight
+        double lastSundayOfMarch2021 = LocalDate.of(2021, 3, 28).toEpochDay() - LocalDate.of(1899, 12, 30).toEpochDay();
+        assertThat(x1900.getJavaDateInMillis(zoneId, lastSundayOfMarch2021)).isEqualTo(toMillis("2021-03-28T00:00:00", zoneId));
+        assertThat(x1900.getJavaDateInMillis(zoneId, lastSundayOfMarch2021 + 0.5)).isEqualTo(toMillis("2021-03-28T13:00:00", zoneId));
+        assertThat(x1900.getJavaDateInMillis(zoneId, lastSundayOfMarch2021 + 1)).isEqualTo(toMillis("2021-03-29T00:00:00", zoneId));
+    }
+
+    @Test
+    public void testConcurrency() throws Exception {
+        ZoneId[] zoneIds = {ZoneId.of("Europe/Brussels"), ZoneId.of("America/New_York")};
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[8];
+            for (int i = 0; i < futures.length; i++) {
+                ZoneId zoneId = zoneIds[i % zoneIds.length];
+                futures[i] = executor.submit(() -> {
+                    for (double date = FROM_1970; date < TO_2030; date += 1.25) {
+                        assertThat(new Date(DefaultDateSystem.X1900.getJavaDateInMillis(zoneId, date)))
+                                .isEqualTo(legacyJavaDate(zoneId, date));
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static long toMillis(String dateTime, ZoneId zoneId) {
+        return LocalDateTime.parse(dateTime).atZone(zoneId).toInstant().toEpochMilli();
+    }
+
+    private static Date legacyJavaDate(ZoneId zoneId, double date) {
+        int datePart = (int) Math.floor(date);
+        int timePart = (int) Math.round((date - datePart) * 60 * 60 * 24);
+        Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone(zoneId));
+        calendar.clear();
+        calendar.set(1900, 0, 1, 0, 0, 0);
+        calendar.add(Calendar.DAY_OF_MONTH, (datePart < 61 ? datePart : datePart - 1) - 1);
+        calendar.add(Calendar.SECOND, timePart);
+        return calendar.getTime();
+    }
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IOHelperTest {
+
+    @Test
+    public void testReadAllBytes() throws IOException {
+        byte[] content = "hello world".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(IOHelper.readAllBytes(new ByteArrayInputStream(content)))
+                .isEqualTo(content);
+
+        assertThat(IOHelper.readAllBytes(new ByteArrayInputStream(new byte[0])))
+                .isEmpty();
+
+        for (long size : new long[]{-1, 0, 5, content.length, 100}) {
+            assertThat(IOHelper.readAllBytes(new ByteArrayInputStream(content), size))
+                    .as("Size %s", size)
+                    .isEqualTo(content);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import _test.EmptyInputStream;
+import _test.XlSamples;
+import ec.util.spreadsheet.Book;
+import nbbrd.io.Resource;
+import nbbrd.io.function.IOFunction;
+import org.junit.jupiter.api.Test;
+import spreadsheet.xlsx.XlsxReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class LazyStringListTest {
+
+    private final IOFunction<String, InputStream> files = name -> Resource.newInputStream(LazyStringListTest.class, name);
+
+    @Test
+    public void testParse() throws IOException {
+        List<String> expected = XlsxBook.parseSharedStrings(() -> files.applyWithIO("/Sst.xml"), SaxEntryParser.FACTORY.create());
+
+        assertThat(LazyStringList.parse(() -> files.applyWithIO("/Sst.xml"), SaxEntryParser.FACTORY))
+                .isInstanceOf(LazyStringList.class)
+                .containsExactlyElementsOf(expected);
+
+        assertThatThrownBy(() -> LazyStringList.parse(EmptyInputStream::new, SaxEntryParser.FACTORY))
+                .isInstanceOf(EOFException.class);
+
+        assertThatThrownBy(() -> LazyStringList.parse(() -> asStream("<sst><si><t>abc</t>", StandardCharsets.UTF_8), SaxEntryParser.FACTORY))
+                .isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    public void testSyntax() throws IOException {
+        String sst = "<?xml version='1.0' encoding='UTF-8'?><sst count='4'>"
+                + "<si><t>a &amp; b</t></si>"
+                + "<si/>"
+                + "<si ><r><t>x</t></r><r><t xml:space='preserve'> y</t></r></si>"
+                + "<si><t>héllo €</t></si>"
+                + "</sst>";
+
+        List<String> list = LazyStringList.parse(() -> asStream(sst, StandardCharsets.UTF_8), SaxEntryParser.FACTORY);
+        assertThat(list)
+                .isInstanceOf(LazyStringList.class)
+                .containsExactly("a & b", "", "x y", "héllo €");
+
+        assertThat(list.get(0)).isSameAs(list.get(0));
+        assertThatIndexOutOfBoundsException().isThrownBy(() -> list.get(-1));
+        assertThatIndexOutOfBoundsException().isThrownBy(() -> list.get(4));
+    }
+
+    @Test
+    public void testDecoding() throws IOException {
+        String sst = "<sst uniqueCount='5'>"
+                + "<si><t>&lt;&gt;&quot;&apos;&#65;&#x42;&#x1F600;</t></si>"
+                + "<si><t><![CDATA[a<b>&amp;]]></t><!-- <t>hidden</t> --><?pi <t>?></si>"
+                + "<si><t>line\r\nbreak\rend</t></si>"
+                + "<si><r><rPr><rFont val='a>b'/></rPr><t>x</t></r><t/><rPh sb='0' eb='1'><t>y</t></rPh><phoneticPr fontId='1'/></si>"
+                + "<si><t>\uD83D\uDE00 \u00E9</t></si>"
+                + "</sst>";
+
+        assertThat(LazyStringList.parse(() -> asStream(sst, StandardCharsets.UTF_8), SaxEntryParser.FACTORY))
+                .isInstanceOf(LazyStringList.class)
+                .containsExactlyElementsOf(XlsxBook.parseSharedStrings(() -> asStream(sst, StandardCharsets.UTF_8), SaxEntryParser.FACTORY.create()))
+                .containsExactly("<>\"'AB\uD83D\uDE00", "a<b>&amp;", "line\nbreak\nend", "xy", "\uD83D\uDE00 \u00E9");
+
+        List<String> invalid = LazyStringList.parse(() -> asStream("<sst><si><t>&unknown;</t></si></sst>", StandardCharsets.UTF_8), SaxEntryParser.FACTORY);
+        assertThatThrownBy(() -> invalid.get(0))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("index 0");
+    }
+
+    @Test
+    public void testItemCount() throws IOException {
+        String prefixed = "<x:sst xmlns:x='http://schemas.openxmlformats.org/spreadsheetml/2006/main' uniqueCount='2'>"
+                + "<x:si><x:t>a</x:t></x:si><x:si><x:t>b</x:t></x:si>"
+                + "</x:sst>";
+
+        assertThat(LazyStringList.parse(() -> asStream(prefixed, StandardCharsets.UTF_8), SaxEntryParser.FACTORY))
+                .as("Must fallback on eager parsing")
+                .isNotInstanceOf(LazyStringList.class)
+                .containsExactlyElementsOf(XlsxBook.parseSharedStrings(() -> asStream(prefixed, StandardCharsets.UTF_8), SaxEntryParser.FACTORY.create()));
+
+        String mismatch = "<sst uniqueCount='3'><si><t>a</t></si><si><t>b</t></si></sst>";
+
+        assertThat(LazyStringList.parse(() -> asStream(mismatch, StandardCharsets.UTF_8), SaxEntryParser.FACTORY))
+                .as("Must fallback on eager parsing")
+                .isNotInstanceOf(LazyStringList.class)
+                .containsExactly("a", "b");
+
+        String noCount = "<?xml version='1.0'?><!-- comment --><sst><si><t>a</t></si></sst>";
+
+        assertThat(LazyStringList.parse(() -> asStream(noCount, StandardCharsets.UTF_8), SaxEntryParser.FACTORY))
+                .isInstanceOf(LazyStringList.class)
+                .containsExactly("a");
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        int count = 10_000;
+        StringBuilder sst = new StringBuilder("<sst uniqueCount='" + count + "'>");
+        for (int i = 0; i < count; i++) {
+            sst.append("<si><t>").append(i).append("</t></si>");
+        }
+        sst.append("</sst>");
+
+        List<String> list = LazyStringList.parse(() -> asStream(sst.toString(), StandardCharsets.UTF_8), SaxEntryParser.FACTORY);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int offset = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < count; i++) {
+                        int index = (i * 7 + offset) % count;
+                        assertThat(list.get(index)).isEqualTo(Integer.toString(index));
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testEncoding() throws IOException {
+        String sst = "<sst><si><t>héllo €</t></si></sst>";
+
+        assertThat(LazyStringList.parse(() -> asStream(sst, StandardCharsets.UTF_16), SaxEntryParser.FACTORY))
+                .as("Must fallback on eager parsing")
+                .isNotInstanceOf(LazyStringList.class)
+                .containsExactly("héllo €");
+    }
+
+    @Test
+    public void testReader() throws IOException {
+        XlsxReader reader = new XlsxReader().withLazySharedStrings(true);
+
+        try (InputStream stream = files.applyWithIO("/Top5Browsers.xlsx"); Book book = reader.read(stream)) {
+            XlSamples.assertTop5Book(book);
+        }
+    }
+
+    private static InputStream asStream(String text, Charset charset) {
+        return new ByteArrayInputStream(text.getBytes(charset));
+    }
+}
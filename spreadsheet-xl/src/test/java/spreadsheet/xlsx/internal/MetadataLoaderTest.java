@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import _test.XlSamples;
+import nbbrd.io.Resource;
+import nbbrd.io.function.IOSupplier;
+import org.junit.jupiter.api.Test;
+import spreadsheet.xlsx.XlsxReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MetadataLoaderTest {
+
+    @Test
+    public void testSequential() throws IOException {
+        try (MetadataLoader loader = MetadataLoader.sequential()) {
+            assertThat(loader.isConcurrent()).isFalse();
+
+            IOSupplier<String> part = loader.part(MetadataLoader.STYLES, () -> "hello");
+            assertThat(loader.getTimings()).isEmpty();
+            assertThat(part.getWithIO()).isEqualTo("hello");
+            assertThat(loader.getTimings()).containsOnlyKeys(MetadataLoader.STYLES);
+        }
+    }
+
+    @Test
+    public void testConcurrent() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean(false);
+        IOException error = new IOException("boom");
+
+        try (MetadataLoader loader = MetadataLoader.concurrent()) {
+            assertThat(loader.isConcurrent()).isTrue();
+
+            IOSupplier<String> part = loader.part(MetadataLoader.SHARED_STRINGS, () -> "hello");
+            IOSupplier<String> failure = loader.part(MetadataLoader.STYLES, () -> {
+                throw error;
+            });
+            loader.part(MetadataLoader.RELATIONSHIPS, () -> (Closeable) () -> closed.set(true));
+
+            assertThat(part.getWithIO()).isEqualTo("hello");
+            assertThatThrownBy(failure::getWithIO).isSameAs(error);
+        }
+
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    public void testReader() throws IOException {
+        XlsxReader reader = new XlsxReader().withConcurrentMetadata(true);
+
+        try (InputStream stream = Resource.newInputStream(MetadataLoaderTest.class, "/Top5Browsers.xlsx");
+             XlsxBook book = (XlsxBook) reader.read(stream)) {
+            XlSamples.assertTop5Book(book);
+            assertThat(book.getMetadataTimings())
+                    .containsOnlyKeys(MetadataLoader.WORKBOOK, MetadataLoader.SHARED_STRINGS, MetadataLoader.STYLES, MetadataLoader.RELATIONSHIPS);
+        }
+
+        try (InputStream stream = Resource.newInputStream(MetadataLoaderTest.class, "/Top5Browsers.xlsx");
+             XlsxBook book = (XlsxBook) reader.withConcurrentMetadata(false).read(stream)) {
+            assertThat(book.getMetadataTimings()).containsOnlyKeys(MetadataLoader.WORKBOOK);
+            XlSamples.assertTop5Book(book);
+            assertThat(book.getMetadataTimings())
+                    .containsOnlyKeys(MetadataLoader.WORKBOOK, MetadataLoader.SHARED_STRINGS, MetadataLoader.STYLES);
+        }
+    }
+}
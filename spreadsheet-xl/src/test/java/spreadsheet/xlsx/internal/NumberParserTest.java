@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class NumberParserTest {
+
+    @Test
+    public void testParseDouble() {
+        for (String value : new String[]{
+                "0", "-0", "+0", "1", "-1", "3.14", "1.", ".5", "00012.50",
+                "1e5", "1E-5", "-2.5e+3", "44561.5", "0.41666666666666669",
+                "9007199254740993", "1e23", "8.41e21",
+                "4.9e-324", "2.4703282292062327e-324", "2.4703282292062328e-324",
+                "2.2250738585072011e-308", "2.2250738585072012e-308",
+                "1.7976931348623157e308", "1.7976931348623159e308",
+                "1e-400", "1e400", "1e-99999999999", "123456789012345678901234",
+                "NaN", "-Infinity", " 1 ", "0x1p3", "1d"
+        }) {
+            assertSameDouble(value);
+        }
+    }
+
+    @Test
+    public void testParseDoubleRandom() {
+        Random random = new Random(0);
+        for (int i = 0; i < 100_000; i++) {
+            double value = Double.longBitsToDouble(random.nextLong());
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                continue;
+            }
+            assertSameDouble(Double.toString(value));
+            assertSameDouble(new BigDecimal(value).round(new MathContext(1 + random.nextInt(19))).toString());
+            // halfway between two doubles
+            BigDecimal halfUlp = new BigDecimal(Math.ulp(value)).divide(BigDecimal.valueOf(2));
+            assertSameDouble(new BigDecimal(value).add(halfUlp).round(new MathContext(19)).toString());
+        }
+    }
+
+    @Test
+    public void testParseDoubleInvalid() {
+        for (String value : new String[]{"", "-", "+", ".", "e5", "1e", "1e+", "1ex", "1.2.3", "one"}) {
+            assertThatExceptionOfType(NumberFormatException.class)
+                    .as(value)
+                    .isThrownBy(() -> NumberParser.parseDouble(new StringBuilder(value)));
+        }
+    }
+
+    @Test
+    public void testParseInt() {
+        Random random = new Random(0);
+        for (int i = 0; i < 100_000; i++) {
+            String value = Integer.toString(random.nextInt());
+            assertThat(NumberParser.parseInt(new StringBuilder(value))).isEqualTo(Integer.parseInt(value));
+        }
+        assertThat(NumberParser.parseInt("+12")).isEqualTo(12);
+        assertThat(NumberParser.parseInt("-0")).isEqualTo(0);
+        assertThat(NumberParser.parseInt("0000000000012")).isEqualTo(12);
+        assertThat(NumberParser.parseInt("2147483647")).isEqualTo(Integer.MAX_VALUE);
+        assertThat(NumberParser.parseInt("-2147483648")).isEqualTo(Integer.MIN_VALUE);
+        for (String value : new String[]{"", "-", "+", "12a", "2147483648", "-2147483649", "99999999999", "1.0"}) {
+            assertThatExceptionOfType(NumberFormatException.class)
+                    .as(value)
+                    .isThrownBy(() -> NumberParser.parseInt(new StringBuilder(value)));
+        }
+    }
+
+    private static void assertSameDouble(String value) {
+        assertThat(Double.doubleToRawLongBits(NumberParser.parseDouble(new StringBuilder(value))))
+                .as(value)
+                .isEqualTo(Double.doubleToRawLongBits(Double.parseDouble(value)));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import ec.util.spreadsheet.Book;
+import nbbrd.io.Resource;
+import org.junit.jupiter.api.Test;
+import spreadsheet.xlsx.XlsxReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ParallelForEachTest {
+
+    @Test
+    public void testRun() throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            AtomicIntegerArray calls = new AtomicIntegerArray(100);
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            ParallelForEach.run(100, executor, 2, index -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                calls.incrementAndGet(index);
+                running.decrementAndGet();
+            });
+            for (int i = 0; i < 100; i++) {
+                assertThat(calls.get(i)).isEqualTo(1);
+            }
+            assertThat(maxRunning.get()).isBetween(1, 2);
+
+            IOException error = new IOException("boom");
+            assertThatThrownBy(() -> ParallelForEach.run(100, executor, 4, index -> {
+                if (index == 10) {
+                    throw error;
+                }
+            })).isSameAs(error);
+
+            IllegalStateException unchecked = new IllegalStateException();
+            assertThatThrownBy(() -> ParallelForEach.run(100, executor, 4, index -> {
+                throw unchecked;
+            })).isSameAs(unchecked);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> ParallelForEach.run(1, Runnable::run, 0, index -> {
+                }));
+    }
+
+    @Test
+    public void testSaturatedExecutor() throws IOException {
+        int[] calls = new int[10];
+        ParallelForEach.run(calls.length, command -> {
+        }, 4, index -> calls[index]++);
+        assertThat(calls).containsOnly(1);
+    }
+
+    @Test
+    public void testInterruption() {
+        AtomicInteger calls = new AtomicInteger();
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(() -> ParallelForEach.run(10, command -> {
+            }, 1, index -> calls.incrementAndGet()))
+                    .isInstanceOf(InterruptedIOException.class);
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+            assertThat(calls.get()).isZero();
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void testBook() throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (InputStream stream = Resource.newInputStream(ParallelForEachTest.class, "/Top5Browsers.xlsx");
+             Book book = new XlsxReader().withParallelExecutor(executor).withMaxParallelism(2).read(stream)) {
+            String[] names = new String[book.getSheetCount2()];
+            book.parallelForEach((sheet, index) -> names[index] = sheet.getName());
+            assertThat(names).containsExactly("Top 5 Browsers - Monthly", "Top 5 Browsers - Quarterly", "DataTest");
+
+            Arrays.fill(names, null);
+            book.parallelForEach((sheet, index) -> names[index] = sheet.getName(), Runnable::run, 1);
+            assertThat(names).containsExactly("Top 5 Browsers - Monthly", "Top 5 Browsers - Quarterly", "DataTest");
+
+            RuntimeException error = new RuntimeException();
+            assertThatThrownBy(() -> book.parallelForEach((sheet, index) -> {
+                throw error;
+            })).isSameAs(error);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
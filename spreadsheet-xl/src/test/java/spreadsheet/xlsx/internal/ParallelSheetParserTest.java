@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import _test.XlSamples;
+import ec.util.spreadsheet.Book;
+import ec.util.spreadsheet.Sheet;
+import ec.util.spreadsheet.tck.SheetAssert;
+import nbbrd.io.Resource;
+import org.junit.jupiter.api.Test;
+import spreadsheet.xlsx.XlsxReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ParallelSheetParserTest {
+
+    @Test
+    public void testSameValuesAsSequential() throws IOException {
+        byte[] xlsx = XlSamples.generateXlsx(20_000, 8);
+
+        XlsxReader sequential = new XlsxReader().withSheetBuilder(DefaultSheetBuilder::of);
+        XlsxReader parallel = sequential.withSheetParallelism(4);
+
+        try (Book expected = sequential.read(new ByteArrayInputStream(xlsx));
+             Book actual = parallel.read(new ByteArrayInputStream(xlsx))) {
+            assertSameValues(actual.getSheet(0), expected.getSheet(0));
+        }
+    }
+
+    @Test
+    public void testFallbackOnSmallSheet() throws IOException {
+        XlsxReader parallel = new XlsxReader().withSheetParallelism(4);
+
+        try (Book book = parallel.read(new ByteArrayInputStream(XlSamples.generateXlsx(10, 4)))) {
+            SheetAssert.assertThat(book.getSheet(0))
+                    .hasName("generated")
+                    .hasRowCount(10)
+                    .hasColumnCount(4)
+                    .hasCellValue(0, 1, "even")
+                    .hasCellValue(1, 2, "row 1")
+                    .hasCellValue(2, 3, 4.0);
+        }
+
+        try (InputStream stream = Resource.newInputStream(ParallelSheetParserTest.class, "/Top5Browsers.xlsx");
+             Book book = parallel.read(stream)) {
+            XlSamples.assertTop5Book(book);
+        }
+    }
+
+    @Test
+    public void testParse() throws IOException {
+        try (SheetMemory memory = SheetMemory.of(SheetMemory.DEFAULT_HEAP_BUDGET);
+             ParallelSheetParser parser = new ParallelSheetParser(2, memory)) {
+            StringBuilder sheet = new StringBuilder("<worksheet><dimension ref='A1:A5000'/><sheetData>");
+            for (int i = 0; i < 5000; i++) {
+                sheet.append("<row r='").append(i + 1).append("'>")
+                        .append("<c r='A").append(i + 1).append("' t='str'><v>padding padding padding ").append(i).append("</v></c>")
+                        .append("</row>");
+            }
+            sheet.append("</sheetData></worksheet>");
+            byte[] content = sheet.toString().getBytes(StandardCharsets.UTF_8);
+            assertThat(content.length).isGreaterThan(ParallelSheetParser.MIN_CHUNK_SIZE * 2);
+
+            SheetAssert.assertThat(parse(parser, content))
+                    .hasRowCount(5000)
+                    .hasColumnCount(1)
+                    .hasCellValue(0, 0, "padding padding padding 0")
+                    .hasCellValue(4999, 0, "padding padding padding 4999");
+
+            assertThatThrownBy(() -> parse(parser, new byte[0]))
+                    .isInstanceOf(EOFException.class);
+        }
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new ParallelSheetParser(0, SheetMemory.of(0)));
+    }
+
+    @Test
+    public void testSparseSheet() throws IOException {
+        try (SheetMemory memory = SheetMemory.of(SheetMemory.DEFAULT_HEAP_BUDGET);
+             ParallelSheetParser parser = new ParallelSheetParser(2, memory)) {
+            StringBuilder sheet = new StringBuilder("<worksheet><dimension ref='A1:Z100000'/><sheetData>");
+            for (int i = 0; i < 5000; i++) {
+                sheet.append("<row r='").append(i * 20 + 1).append("'>")
+                        .append("<c r='A").append(i * 20 + 1).append("' t='str'><v>padding padding padding ").append(i).append("</v></c>")
+                        .append("</row>");
+            }
+            sheet.append("</sheetData></worksheet>");
+            byte[] content = sheet.toString().getBytes(StandardCharsets.UTF_8);
+            assertThat(content.length).isGreaterThan(ParallelSheetParser.MIN_CHUNK_SIZE * 2);
+
+            assertThat(parse(parser, content))
+                    .as("Mostly empty sheets must be stored sparsely as in DefaultSheetBuilder")
+                    .isInstanceOf(SparseSheet.class)
+                    .satisfies(o -> SheetAssert.assertThat(o)
+                            .hasRowCount(100_000)
+                            .hasColumnCount(26)
+                            .hasCellValue(99_980, 0, "padding padding padding 4999"));
+        }
+    }
+
+    private static Sheet parse(ParallelSheetParser parser, byte[] content) throws IOException {
+        return parser.parse("test", () -> new ByteArrayInputStream(content), content.length,
+                DefaultDateSystem.X1900, Collections.emptyList(), new boolean[0], SaxEntryParser.FACTORY.create());
+    }
+
+    private static void assertSameValues(Sheet actual, Sheet expected) {
+        assertThat(actual.getName()).isEqualTo(expected.getName());
+        assertThat(actual.getRowCount()).isEqualTo(expected.getRowCount());
+        assertThat(actual.getColumnCount()).isEqualTo(expected.getColumnCount());
+        for (int i = 0; i < expected.getRowCount(); i++) {
+            Object[] expectedRow = new Object[expected.getColumnCount()];
+            Object[] actualRow = new Object[actual.getColumnCount()];
+            for (int j = 0; j < expected.getColumnCount(); j++) {
+                expectedRow[j] = expected.getCellValue(i, j);
+                actualRow[j] = actual.getCellValue(i, j);
+            }
+            assertThat(actualRow).as("Row %s", i).isEqualTo(expectedRow);
+        }
+    }
+}
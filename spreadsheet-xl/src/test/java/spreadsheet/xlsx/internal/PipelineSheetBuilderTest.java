@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import ec.util.spreadsheet.Sheet;
+import org.junit.jupiter.api.Test;
+import spreadsheet.xlsx.XlsxDataType;
+import spreadsheet.xlsx.XlsxSheetBuilder;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PipelineSheetBuilderTest {
+
+    @Test
+    public void testSameAsDefault() throws IOException {
+        try (XlsxSheetBuilder expected = DefaultSheetBuilder.of(DefaultDateSystem.X1900, SHARED_STRINGS, DATE_FORMATS);
+             XlsxSheetBuilder actual = PipelineSheetBuilder.of(DefaultDateSystem.X1900, SHARED_STRINGS, DATE_FORMATS)) {
+            for (int rowCount : new int[]{0, 1, 100, 1024, 5000}) {
+                Sheet x = fill(expected, rowCount);
+                Sheet y = fill(actual, rowCount);
+                assertThat(y.getName()).isEqualTo(x.getName());
+                assertThat(y.getRowCount()).isEqualTo(x.getRowCount());
+                assertThat(y.getColumnCount()).isEqualTo(x.getColumnCount());
+                for (int i = 0; i < x.getRowCount(); i++) {
+                    for (int j = 0; j < x.getColumnCount(); j++) {
+                        assertThat(y.getCellValue(i, j)).as("%s:%s", i, j).isEqualTo(x.getCellValue(i, j));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPutByRef() throws IOException {
+        try (XlsxSheetBuilder b = PipelineSheetBuilder.of(DefaultDateSystem.X1900, SHARED_STRINGS, DATE_FORMATS)) {
+            b.reset("refs", null);
+            b.put("B3", "3.14", XlsxDataType.NUMBER, XlsxValueFactory.NULL_STYLE_INDEX);
+            b.put("bogus", "1", XlsxDataType.NUMBER, XlsxValueFactory.NULL_STYLE_INDEX);
+            Sheet sheet = b.build();
+            assertThat(sheet.getRowCount()).isEqualTo(3);
+            assertThat(sheet.getColumnCount()).isEqualTo(2);
+            assertThat(sheet.getCellValue(2, 1)).isEqualTo(3.14);
+        }
+    }
+
+    @Test
+    public void testDecodingError() throws IOException {
+        try (SheetMemory memory = SheetMemory.of(0);
+             XlsxSheetBuilder b = new PipelineSheetBuilder(DefaultSheetBuilder.of(DefaultDateSystem.X1900, SHARED_STRINGS, DATE_FORMATS, memory))) {
+            b.reset("invalid", "A1:A1");
+            // cells of a closed storage cannot be written
+            memory.close();
+            b.put(0, 0, "1", XlsxDataType.NUMBER, XlsxValueFactory.NULL_STYLE_INDEX);
+            assertThatIllegalStateException().isThrownBy(b::build);
+            // the error is sticky until the builder is reset
+            assertThatIllegalStateException().isThrownBy(b::build);
+
+            Sheet sheet = fill(b, 2000);
+            assertThat(sheet.getRowCount()).isEqualTo(2000);
+            assertThat(sheet.getCellValue(1999, 3)).isEqualTo("text1999");
+        }
+    }
+
+    @Test
+    public void testClose() throws IOException {
+        XlsxSheetBuilder b = PipelineSheetBuilder.of(DefaultDateSystem.X1900, SHARED_STRINGS, DATE_FORMATS);
+        fill(b, 10);
+        b.close();
+        assertThatCode(b::close).doesNotThrowAnyException();
+    }
+
+    private static Sheet fill(XlsxSheetBuilder builder, int rowCount) {
+        builder.reset("sheet" + rowCount, rowCount > 0 ? "A1:D" + rowCount : null);
+        // values are reused buffers
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < rowCount; i++) {
+            value.setLength(0);
+            builder.put(i, 0, value.append(i % 2), XlsxDataType.SHARED_STRING, XlsxValueFactory.NULL_STYLE_INDEX);
+            value.setLength(0);
+            builder.put(i, 1, value.append(i).append(".5"), XlsxDataType.NUMBER, 0);
+            value.setLength(0);
+            builder.put(i, 2, value.append(40000 + i), XlsxDataType.NUMBER, 1);
+            value.setLength(0);
+            builder.put(i, 3, value.append("text").append(i), XlsxDataType.STRING, XlsxValueFactory.NULL_STYLE_INDEX);
+        }
+        return builder.build();
+    }
+
+    private static final List<String> SHARED_STRINGS = Arrays.asList("hello", "world");
+    private static final boolean[] DATE_FORMATS = {false, true};
+}
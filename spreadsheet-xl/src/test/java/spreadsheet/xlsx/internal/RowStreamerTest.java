@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import _test.XlSamples;
+import ec.util.spreadsheet.Book;
+import ec.util.spreadsheet.Sheet;
+import ec.util.spreadsheet.tck.Sample;
+import org.junit.jupiter.api.Test;
+import spreadsheet.xlsx.XlsxReader;
+import spreadsheet.xlsx.XlsxRowConsumer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+public class RowStreamerTest {
+
+    @Test
+    public void testFavorableOrder() throws IOException {
+        byte[] xlsx = XlSamples.generateXlsx(1_000, 5);
+
+        RowCollector rows = readRows(xlsx);
+        assertThat(rows.sheets).containsExactly("0:generated");
+        assertSameRows(rows, xlsx);
+    }
+
+    @Test
+    public void testUnfavorableOrder() throws IOException {
+        // styles and shared strings come after the worksheets
+        byte[] xlsx = Sample.bytesOf(RowStreamerTest.class, "/Top5Browsers.xlsx");
+
+        RowCollector rows = readRows(xlsx);
+        assertThat(rows.sheets).containsExactlyInAnyOrder("0:Top 5 Browsers - Monthly", "1:Top 5 Browsers - Quarterly", "2:DataTest");
+        assertSameRows(rows, xlsx);
+    }
+
+    @Test
+    public void testInvalidPackage() {
+        assertThatIOException()
+                .isThrownBy(() -> readRows("...".getBytes()))
+                .withMessageContaining("xl/workbook.xml");
+    }
+
+    private static RowCollector readRows(byte[] xlsx) throws IOException {
+        RowCollector result = new RowCollector();
+        new XlsxReader().readRows(new ByteArrayInputStream(xlsx), result);
+        return result;
+    }
+
+    private static void assertSameRows(RowCollector actual, byte[] xlsx) throws IOException {
+        try (Book book = new XlsxReader().read(new ByteArrayInputStream(xlsx))) {
+            for (int index = 0; index < book.getSheetCount(); index++) {
+                Sheet sheet = book.getSheet(index);
+                Map<Integer, Object[]> rows = actual.rows.get(index);
+                for (int i = 0; i < sheet.getRowCount(); i++) {
+                    Object[] expected = new Object[sheet.getColumnCount()];
+                    for (int j = 0; j < expected.length; j++) {
+                        expected[j] = sheet.getCellValue(i, j);
+                    }
+                    Object[] row = rows.getOrDefault(i, new Object[0]);
+                    assertThat(Arrays.copyOf(row, expected.length)).as("Sheet %s, row %s", index, i).isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    private static final class RowCollector implements XlsxRowConsumer {
+
+        final List<String> sheets = new ArrayList<>();
+        final Map<Integer, Map<Integer, Object[]>> rows = new LinkedHashMap<>();
+        Map<Integer, Object[]> current;
+
+        @Override
+        public void onSheet(int index, String name) {
+            sheets.add(index + ":" + name);
+            current = new LinkedHashMap<>();
+            rows.put(index, current);
+        }
+
+        @Override
+        public void onRow(int row, Object[] values) {
+            current.put(row, values);
+        }
+    }
+}
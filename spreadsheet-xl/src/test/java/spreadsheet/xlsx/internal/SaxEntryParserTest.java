@@ -24,6 +24,7 @@ import nbbrd.io.function.IOSupplier;
 import nbbrd.io.xml.Sax;
 import org.junit.jupiter.api.Test;
 import org.xml.sax.SAXException;
+import spreadsheet.xlsx.XlsxDataType;
 import spreadsheet.xlsx.XlsxEntryParser;
 import spreadsheet.xlsx.XlsxNumberingFormat;
 import spreadsheet.xlsx.XlsxSheetBuilder;
@@ -155,6 +156,24 @@ public class SaxEntryParserTest {
                 .hasCauseInstanceOf(NumberFormatException.class);
     }
 
+    @Test
+    public void testDecodeEscapes() {
+        assertThat(SaxEntryParser.decodeEscapes("abc")).isEqualTo("abc");
+        assertThat(SaxEntryParser.decodeEscapes("a_x0009_b")).isEqualTo("a\tb");
+        assertThat(SaxEntryParser.decodeEscapes("_x005F_x0041_")).isEqualTo("_x0041_");
+        assertThat(SaxEntryParser.decodeEscapes("_x00e9__x00E9_")).isEqualTo("\u00e9\u00e9");
+        assertThat(SaxEntryParser.decodeEscapes("_x_x12_x0041")).isEqualTo("_x_x12_x0041");
+        assertThat(SaxEntryParser.decodeEscapes("_xZZZZ_")).isEqualTo("_xZZZZ_");
+
+        StringBuilder buffer = new StringBuilder("a_x0009_b");
+        assertThat(SaxEntryParser.decodeEscapes(buffer, XlsxDataType.INLINE_STRING)).hasToString("a\tb");
+        assertThat(SaxEntryParser.decodeEscapes(buffer, XlsxDataType.STRING)).hasToString("a\tb");
+        assertThat(SaxEntryParser.decodeEscapes(buffer, XlsxDataType.SHARED_STRING)).isSameAs(buffer);
+        assertThat(SaxEntryParser.decodeEscapes(buffer, XlsxDataType.ERROR)).isSameAs(buffer);
+        StringBuilder plain = new StringBuilder("a_x09_b");
+        assertThat(SaxEntryParser.decodeEscapes(plain, XlsxDataType.STRING)).isSameAs(plain);
+    }
+
     private static final class CustomIOException extends IOException {
 
     }
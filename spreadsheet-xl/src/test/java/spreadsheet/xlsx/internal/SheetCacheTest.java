@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import ec.util.spreadsheet.Book;
+import ec.util.spreadsheet.Sheet;
+import nbbrd.io.Resource;
+import org.junit.jupiter.api.Test;
+import spreadsheet.xlsx.XlsxReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class SheetCacheTest {
+
+    @Test
+    public void testEviction() {
+        Sheet first = sheetOf(10);
+        Sheet second = sheetOf(10);
+        Sheet third = sheetOf(10);
+        long sheetSize = SheetCache.estimateSize(first);
+
+        SheetCache cache = new SheetCache(sheetSize * 2, false);
+        cache.put(0, first);
+        cache.put(1, second);
+        assertThat(cache.get(0)).isSameAs(first);
+
+        cache.put(2, third);
+        assertThat(cache.getSize()).isEqualTo(sheetSize * 2);
+        assertThat(cache.get(1)).isNull();
+        assertThat(cache.get(0)).isSameAs(first);
+        assertThat(cache.get(2)).isSameAs(third);
+
+        cache.put(3, sheetOf(100));
+        assertThat(cache.get(3)).isNull();
+
+        assertThat(cache.getHitCount()).isEqualTo(3);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+
+        cache.clear();
+        assertThat(cache.getSize()).isZero();
+        assertThat(cache.get(0)).isNull();
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new SheetCache(-1, false));
+    }
+
+    @Test
+    public void testSoftReferences() {
+        Sheet sheet = sheetOf(10);
+
+        SheetCache cache = new SheetCache(Long.MAX_VALUE, true);
+        cache.put(0, sheet);
+        assertThat(cache.get(0)).isSameAs(sheet);
+    }
+
+    @Test
+    public void testReclaimedSheets() {
+        Sheet first = sheetOf(10);
+        Sheet second = sheetOf(10);
+        Sheet third = sheetOf(10);
+        long sheetSize = SheetCache.estimateSize(first);
+
+        SheetCache cache = new SheetCache(sheetSize * 2, true);
+        cache.put(0, first);
+        cache.put(1, second);
+        cache.clearReferences();
+
+        cache.put(2, third);
+        assertThat(cache.getSize()).isEqualTo(sheetSize);
+        assertThat(cache.get(2)).isSameAs(third);
+        assertThat(cache.get(0)).isNull();
+        assertThat(cache.get(1)).isNull();
+        assertThat(cache.getSize()).isEqualTo(sheetSize);
+    }
+
+    @Test
+    public void testReader() throws IOException {
+        XlsxReader reader = new XlsxReader().withSheetCacheSize(1024 * 1024);
+
+        try (InputStream stream = Resource.newInputStream(SheetCacheTest.class, "/Top5Browsers.xlsx");
+             XlsxBook book = (XlsxBook) reader.read(stream)) {
+            Sheet sheet = book.getSheet(0);
+            assertThat(book.getSheet(0)).isSameAs(sheet);
+            assertThat(book.getSheet(1)).isNotSameAs(sheet);
+            assertThat(book.getSheetCacheHitCount()).isEqualTo(1);
+            assertThat(book.getSheetCacheMissCount()).isEqualTo(2);
+        }
+
+        try (InputStream stream = Resource.newInputStream(SheetCacheTest.class, "/Top5Browsers.xlsx");
+             XlsxBook book = (XlsxBook) new XlsxReader().read(stream)) {
+            assertThat(book.getSheet(0)).isNotSameAs(book.getSheet(0));
+            assertThat(book.getSheetCacheHitCount()).isZero();
+            assertThat(book.getSheetCacheMissCount()).isZero();
+        }
+    }
+
+    private static Sheet sheetOf(int rowCount) {
+        return CompactSheet.builder(rowCount, 2, "", Collections.emptyList()).build();
+    }
+}
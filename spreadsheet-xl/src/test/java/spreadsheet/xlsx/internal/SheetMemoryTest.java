@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import _test.XlSamples;
+import ec.util.spreadsheet.Book;
+import ec.util.spreadsheet.Sheet;
+import ec.util.spreadsheet.tck.SheetAssert;
+import nbbrd.io.Resource;
+import org.junit.jupiter.api.Test;
+import spreadsheet.xlsx.XlsxReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SheetMemoryTest {
+
+    @Test
+    public void testFactory() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> SheetMemory.of(-1));
+
+        assertThat(SheetMemory.of(123).getHeapBudget()).isEqualTo(123);
+    }
+
+    @Test
+    public void testAllocate() throws IOException {
+        try (SheetMemory memory = SheetMemory.of(CellStorage.CELL_BYTES * 100)) {
+            try (CellStorage storage = memory.allocate(100)) {
+                assertThat(storage.isMapped()).isFalse();
+            }
+            try (CellStorage storage = memory.allocate(101)) {
+                assertThat(storage.isMapped()).isTrue();
+            }
+        }
+    }
+
+    @Test
+    public void testMappedSheet() throws IOException {
+        CompactSheet sheet;
+        try (SheetMemory memory = SheetMemory.of(0)) {
+            sheet = CompactSheet.builder(2, 3, "my_sheet", SHARED_STRINGS, memory)
+                    .putDate(0, 0, NOW.getTime())
+                    .putNumber(0, 1, 3.14)
+                    .putSharedString(0, 2, 1)
+                    .putString(1, 2, "local")
+                    .build();
+
+            SheetAssert.assertThat(sheet)
+                    .hasName("my_sheet")
+                    .hasRowCount(2)
+                    .hasColumnCount(3)
+                    .hasCellValue(0, 0, NOW)
+                    .hasCellValue(0, 1, 3.14)
+                    .hasCellValue(0, 2, "world")
+                    .hasCellValue(1, 0, null)
+                    .hasCellValue(1, 2, "local");
+
+            assertThatIndexOutOfBoundsException()
+                    .isThrownBy(() -> sheet.getCellValue(2, 0));
+            assertThatIndexOutOfBoundsException()
+                    .isThrownBy(() -> sheet.getCellValue(-1, 0));
+        }
+
+        assertThatIllegalStateException()
+                .isThrownBy(() -> sheet.getCellValue(0, 0));
+    }
+
+    @Test
+    public void testReader() throws IOException {
+        XlsxReader reader = new XlsxReader().withSheetBuilder(DefaultSheetBuilder.factory(0));
+
+        Sheet sheet;
+        try (InputStream stream = Resource.newInputStream(SheetMemoryTest.class, "/Top5Browsers.xlsx");
+             Book book = reader.read(stream)) {
+            XlSamples.assertTop5Book(book);
+            sheet = book.getSheet(0);
+        }
+
+        assertThatIllegalStateException()
+                .isThrownBy(() -> sheet.getCellValue(0, 0));
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> DefaultSheetBuilder.factory(-1));
+    }
+
+    @Test
+    public void testHeapBudget() throws IOException {
+        XlsxReader reader = new XlsxReader().withSheetHeapBudget(0);
+
+        Sheet sheet;
+        List<Sheet> parallelSheets = new ArrayList<>();
+        try (InputStream stream = Resource.newInputStream(SheetMemoryTest.class, "/Top5Browsers.xlsx");
+             Book book = reader.read(stream)) {
+            XlSamples.assertTop5Book(book);
+            sheet = book.getSheet(0);
+            book.parallelForEach((o, i) -> {
+                synchronized (parallelSheets) {
+                    parallelSheets.add(o);
+                }
+            });
+        }
+
+        assertThatIllegalStateException()
+                .as("Sheets of the default builder must follow the heap budget of the reader")
+                .isThrownBy(() -> sheet.getCellValue(0, 0));
+        assertThat(parallelSheets)
+                .isNotEmpty()
+                .allSatisfy(o -> assertThatIllegalStateException()
+                        .as("Sheets of parallelForEach must follow the heap budget of the reader")
+                        .isThrownBy(() -> o.getCellValue(0, 0)));
+
+        try (InputStream stream = Resource.newInputStream(SheetMemoryTest.class, "/Top5Browsers.xlsx")) {
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> reader.withSheetHeapBudget(-1).read(stream));
+        }
+    }
+
+    private static final List<String> SHARED_STRINGS = Arrays.asList("hello", "world");
+    private static final Date NOW = new Date();
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import ec.util.spreadsheet.Sheet;
+import ec.util.spreadsheet.tck.CellAssert;
+import ec.util.spreadsheet.tck.SheetAssert;
+import org.junit.jupiter.api.Test;
+import spreadsheet.xlsx.XlsxDataType;
+import spreadsheet.xlsx.XlsxSheetBuilder;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SparseSheetTest {
+
+    @Test
+    @SuppressWarnings("null")
+    public void testBuilder() {
+        assertThatNullPointerException()
+                .isThrownBy(() -> SparseSheet.builder(0, 0, null, Collections.emptyList()));
+        assertThatNullPointerException()
+                .isThrownBy(() -> SparseSheet.builder(0, 0, "", null));
+        assertThatNullPointerException()
+                .isThrownBy(() -> SparseSheet.builder(null, Collections.emptyList()));
+
+        SparseSheet.Builder b = SparseSheet.builder(2, 3, "my_sheet", SHARED_STRINGS);
+        assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> b.putNumber(-1, 0, 1));
+        assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> b.putNumber(2, 0, 1));
+        assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> b.putNumber(0, 3, 1));
+    }
+
+    @Test
+    public void testGetCellValue() {
+        SparseSheet sample = getSample().build();
+
+        SheetAssert.assertThat(sample)
+                .hasName("my_sheet")
+                .hasRowCount(2)
+                .hasColumnCount(3)
+                .hasCellValue(0, 0, NOW)
+                .hasCellValue(0, 1, 3.14)
+                .hasCellValue(0, 2, SHARED_STRINGS.get(1))
+                .hasCellValue(1, 0, null)
+                .hasCellValue(1, 1, null)
+                .hasCellValue(1, 2, LOCAL_STRING);
+
+        assertThat(sample.getCellCount()).isEqualTo(4);
+
+        assertThatExceptionOfType(IndexOutOfBoundsException.class)
+                .isThrownBy(() -> sample.getCellValue(-1, 0));
+
+        assertThatExceptionOfType(IndexOutOfBoundsException.class)
+                .isThrownBy(() -> sample.getCellValue(0, -1));
+
+        assertThatExceptionOfType(IndexOutOfBoundsException.class)
+                .isThrownBy(() -> sample.getCellValue(2, 0));
+
+        assertThatExceptionOfType(IndexOutOfBoundsException.class)
+                .isThrownBy(() -> sample.getCellValue(0, 3));
+    }
+
+    @Test
+    public void testGetCell() {
+        SparseSheet sample = getSample().build();
+
+        CellAssert.assertThat(sample.getCell(0, 0)).isDate().hasDate(NOW);
+        CellAssert.assertThat(sample.getCell(0, 1)).isNumber().hasNumber(3.14);
+        CellAssert.assertThat(sample.getCell(0, 2)).isString().hasString(SHARED_STRINGS.get(1));
+        CellAssert.assertThat(sample.getCell(1, 0)).isNull();
+        CellAssert.assertThat(sample.getCell(1, 2)).isString().hasString(LOCAL_STRING);
+    }
+
+    @Test
+    public void testForEachValue() {
+        Object[][] values = new Object[2][3];
+        getSample().build().forEachValue((i, j, t) -> values[i][j] = t);
+        assertThat(Arrays.deepEquals(values, EXPECTED_VALUES)).isTrue();
+    }
+
+    @Test
+    public void testUnsortedAndDuplicatedCells() {
+        SparseSheet sheet = SparseSheet.builder(2, 3, "my_sheet", SHARED_STRINGS)
+                .putString(1, 2, "first")
+                .putNumber(0, 1, 3.14)
+                .putString(1, 2, LOCAL_STRING)
+                .putDate(0, 0, NOW.getTime())
+                .putSharedString(0, 2, 1)
+                .build();
+
+        assertThat(sheet.getCellCount()).isEqualTo(4);
+        Object[][] values = new Object[2][3];
+        sheet.forEachValue((i, j, t) -> values[i][j] = t);
+        assertThat(Arrays.deepEquals(values, EXPECTED_VALUES)).isTrue();
+    }
+
+    @Test
+    public void testManyUnsortedCells() {
+        Random random = new Random(42);
+        double[][] expected = new double[100][50];
+        SparseSheet.Builder builder = SparseSheet.builder(100, 50, "random", SHARED_STRINGS);
+        for (int k = 0; k < 10_000; k++) {
+            int i = random.nextInt(100);
+            int j = random.nextInt(50);
+            // duplicated cells -> last one wins
+            expected[i][j] = k + 1;
+            builder.putNumber(i, j, k + 1);
+        }
+        SparseSheet sheet = builder.build();
+        for (int i = 0; i < 100; i++) {
+            for (int j = 0; j < 50; j++) {
+                assertThat(sheet.getCellValue(i, j)).isEqualTo(expected[i][j] != 0 ? expected[i][j] : null);
+            }
+        }
+    }
+
+    @Test
+    public void testUnbounded() {
+        SheetAssert.assertThat(SparseSheet.builder("empty", SHARED_STRINGS).build())
+                .hasRowCount(0)
+                .hasColumnCount(0);
+
+        SheetAssert.assertThat(SparseSheet.builder("unbounded", SHARED_STRINGS).putNumber(9, 4, 1).build())
+                .hasRowCount(10)
+                .hasColumnCount(5)
+                .hasCellValue(9, 4, 1.0)
+                .hasCellValue(0, 0, null);
+    }
+
+    @Test
+    public void testDefaultSheetBuilder() {
+        XlsxSheetBuilder b = DefaultSheetBuilder.of(DefaultDateSystem.X1900, SHARED_STRINGS, new boolean[0]);
+
+        b.reset("bogus", "A1:XFD1048576");
+        b.put(4, 2, "1", XlsxDataType.SHARED_STRING, XlsxValueFactory.NULL_STYLE_INDEX);
+        assertThat(b.build())
+                .as("Overflowing bounds must be replaced by content bounds")
+                .isInstanceOf(SparseSheet.class)
+                .satisfies(o -> SheetAssert.assertThat(o).hasRowCount(5).hasColumnCount(3).hasCellValue(4, 2, "world"));
+
+        b.reset("sparse", "A1:Z100000");
+        b.put(99_999, 25, "3.14", XlsxDataType.NUMBER, XlsxValueFactory.NULL_STYLE_INDEX);
+        assertThat(b.build())
+                .isInstanceOf(SparseSheet.class)
+                .satisfies(o -> SheetAssert.assertThat(o).hasRowCount(100_000).hasColumnCount(26).hasCellValue(99_999, 25, 3.14));
+
+        b.reset("dense", "A1:Z100000");
+        for (int i = 0; i < 100_000; i++) {
+            for (int j = 0; j < 26; j++) {
+                b.put(i, j, i == 0 && j == 0 ? "local" : String.valueOf(i + j), i == 0 && j == 0 ? XlsxDataType.STRING : XlsxDataType.NUMBER, XlsxValueFactory.NULL_STYLE_INDEX);
+            }
+        }
+        assertThat(b.build())
+                .as("Sheet must switch to dense storage once filled")
+                .isInstanceOf(CompactSheet.class)
+                .satisfies(o -> SheetAssert.assertThat(o).hasCellValue(0, 0, "local").hasCellValue(99_999, 25, 100_024.0));
+
+        b.reset("sparse first rows", "A1:Z100000");
+        for (int i = 0; i < 100_000; i++) {
+            b.put(i, 0, String.valueOf(i), XlsxDataType.NUMBER, XlsxValueFactory.NULL_STYLE_INDEX);
+        }
+        assertThat(b.build())
+                .as("Sheet must stay sparse if its first rows are mostly empty")
+                .isInstanceOf(SparseSheet.class)
+                .satisfies(o -> SheetAssert.assertThat(o).hasCellValue(99_999, 0, 99_999.0).hasCellValue(99_999, 1, null));
+
+        b.reset("dense after sparse first rows", "A1:Z100000");
+        for (int i = 0; i < 100_000; i++) {
+            for (int j = 0; j < (i < 1_000 ? 1 : 26); j++) {
+                b.put(i, j, String.valueOf(i + j), XlsxDataType.NUMBER, XlsxValueFactory.NULL_STYLE_INDEX);
+            }
+        }
+        assertThat(b.build())
+                .as("Sheet must switch to dense storage once its fill ratio is exceeded")
+                .isInstanceOf(CompactSheet.class)
+                .satisfies(o -> SheetAssert.assertThat(o).hasCellValue(0, 0, 0.0).hasCellValue(0, 1, null).hasCellValue(99_999, 25, 100_024.0));
+
+        b.reset("dense after empty first rows", "A1:Z100000");
+        for (int i = 50_000; i < 100_000; i++) {
+            for (int j = 0; j < 26; j++) {
+                b.put(i, j, String.valueOf(i + j), XlsxDataType.NUMBER, XlsxValueFactory.NULL_STYLE_INDEX);
+            }
+        }
+        assertThat(b.build())
+                .as("Fill ratio must be computed from the first non-empty row")
+                .isInstanceOf(CompactSheet.class)
+                .satisfies(o -> SheetAssert.assertThat(o).hasCellValue(49_999, 0, null).hasCellValue(99_999, 25, 100_024.0));
+
+        b.reset("small", "A1:C2");
+        assertThat(b.build()).isInstanceOf(CompactSheet.class);
+
+        b.reset("unknown", null);
+        b.put(1, 1, "3.14", XlsxDataType.NUMBER, XlsxValueFactory.NULL_STYLE_INDEX);
+        assertThat(b.build())
+                .isInstanceOf(SparseSheet.class)
+                .satisfies(o -> SheetAssert.assertThat(o).hasRowCount(2).hasColumnCount(2));
+    }
+
+    private static SparseSheet.Builder getSample() {
+        return SparseSheet.builder(2, 3, "my_sheet", SHARED_STRINGS)
+                .putDate(0, 0, NOW.getTime())
+                .putNumber(0, 1, 3.14)
+                .putSharedString(0, 2, 1)
+                .putString(1, 2, LOCAL_STRING);
+    }
+
+    private static final List<String> SHARED_STRINGS = Arrays.asList("hello", "world");
+    private static final String LOCAL_STRING = "other";
+    private static final Date NOW = new Date();
+    private static final Object[][] EXPECTED_VALUES = {
+            {NOW, 3.14, SHARED_STRINGS.get(1)},
+            {null, null, "other"}
+    };
+}
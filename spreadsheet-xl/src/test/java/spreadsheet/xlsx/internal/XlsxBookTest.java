@@ -17,21 +17,33 @@
 package spreadsheet.xlsx.internal;
 
 import _test.EmptyInputStream;
+import ec.util.spreadsheet.Book;
+import ec.util.spreadsheet.Sheet;
+import ec.util.spreadsheet.SheetInfo;
+import ec.util.spreadsheet.helpers.ArraySheet;
 import ec.util.spreadsheet.tck.SheetAssert;
+import nbbrd.io.Resource;
 import nbbrd.io.function.IOConsumer;
 import nbbrd.io.function.IOSupplier;
 import org.junit.jupiter.api.Test;
 import spreadsheet.xlsx.XlsxDataType;
 import spreadsheet.xlsx.XlsxEntryParser;
 import spreadsheet.xlsx.XlsxNumberingFormat;
+import spreadsheet.xlsx.XlsxPackage;
+import spreadsheet.xlsx.XlsxProjection;
+import spreadsheet.xlsx.XlsxReader;
 import spreadsheet.xlsx.XlsxSheetBuilder;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
@@ -94,6 +106,118 @@ public class XlsxBookTest {
             o.onSheetData(null);
             o.onCell("A1", "hello", XlsxDataType.STRING, XlsxValueFactory.NULL_STYLE_INDEX);
         }))).hasName("").hasRowCount(1).hasColumnCount(1).hasCellValue(0, 0, "hello");
+
+        assertThatThrownBy(() -> XlsxBook.parseSheet("", builder, empty, parserOnSheet(o -> {
+            o.onCell(0, 0, "hello", XlsxDataType.STRING, XlsxValueFactory.NULL_STYLE_INDEX);
+        }))).as("Must follow call order").isInstanceOf(IllegalStateException.class);
+
+        SheetAssert.assertThat(XlsxBook.parseSheet("", builder, empty, parserOnSheet(o -> {
+            o.onSheetData("A1:B2");
+            o.onCell(0, 1, "1", XlsxDataType.SHARED_STRING, XlsxValueFactory.NULL_STYLE_INDEX);
+            o.onCell(1, 0, "3.14", XlsxDataType.NUMBER, 0);
+            o.onCell("B2", "hello", XlsxDataType.STRING, XlsxValueFactory.NULL_STYLE_INDEX);
+        }))).hasRowCount(2).hasColumnCount(2)
+                .hasCellValue(0, 0, null)
+                .hasCellValue(0, 1, "world")
+                .hasCellValue(1, 0, 3.14)
+                .hasCellValue(1, 1, "hello");
+    }
+
+    @Test
+    public void testParseSheetWithReusedBuffer() throws IOException {
+        List<CharSequence> values = new ArrayList<>();
+        XlsxSheetBuilder builder = new XlsxSheetBuilder() {
+            @Override
+            public XlsxSheetBuilder reset(String sheetName, String sheetBounds) {
+                return this;
+            }
+
+            @Override
+            public XlsxSheetBuilder put(String ref, CharSequence value, XlsxDataType dataType, int styleIndex) {
+                values.add(value);
+                return this;
+            }
+
+            @Override
+            public Sheet build() {
+                return ArraySheet.builder().name("").build();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        StringBuilder buffer = new StringBuilder();
+        XlsxBook.parseSheet("", builder, empty, parserOnSheet(o -> {
+            o.onSheetData(null);
+            o.onCell("A1", buffer.append("hello"), XlsxDataType.STRING, XlsxValueFactory.NULL_STYLE_INDEX);
+            buffer.setLength(0);
+            o.onCell(0, 1, buffer.append("world"), XlsxDataType.STRING, XlsxValueFactory.NULL_STYLE_INDEX);
+            buffer.setLength(0);
+        }));
+        assertThat(values).containsExactly("hello", "world");
+    }
+
+    @Test
+    public void testParseSheetWithProjection() throws IOException {
+        XlsxSheetBuilder builder = DefaultSheetBuilder.of(
+                DefaultDateSystem.X1904,
+                Arrays.asList("1", "2", "3", "4", "5", "6", "7"),
+                new boolean[]{false, true}
+        );
+        XlsxProjection projection = XlsxProjection.ofRows(1, 2).withColumns(0, 2);
+
+        SheetAssert.assertThat(XlsxBook.parseSheet("regular", builder, () -> Resource.newInputStream(XlsxBookTest.class, "/RegularXlsxSheet.xml"), SaxEntryParser.FACTORY.create(), projection))
+                .hasName("regular")
+                .hasRowCount(3)
+                .hasColumnCount(3)
+                .hasCellValue(0, 0, null)
+                .hasCellValue(1, 1, null)
+                .hasCellValue(1, 2, 26.14)
+                .hasCellValue(2, 2, 26.08);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> XlsxProjection.ofRows(-1, 1));
+        assertThatIllegalArgumentException().isThrownBy(() -> XlsxProjection.ofRows(0, 0));
+        assertThatIllegalArgumentException().isThrownBy(() -> XlsxProjection.ALL.withColumns());
+    }
+
+    @Test
+    public void testGetSheetInfo() throws IOException, URISyntaxException {
+        for (XlsxPackage.Factory packager : new XlsxPackage.Factory[]{ZipPackage.FACTORY, ZipPackage.MAPPED_FACTORY}) {
+            XlsxReader reader = new XlsxReader().withPackager(packager);
+
+            try (Book book = reader.read(Paths.get(XlsxBookTest.class.getResource("/Top5Browsers.xlsx").toURI()))) {
+                assertThat(book.getSheetInfo(0))
+                        .isEqualTo(SheetInfo.builder().name("Top 5 Browsers - Monthly").rowCount(42).columnCount(7).contentSize(10463).build());
+                assertThat(book.getSheetInfo(1))
+                        .isEqualTo(SheetInfo.builder().name("Top 5 Browsers - Quarterly").rowCount(7).columnCount(42).contentSize(4061).build());
+            }
+
+            try (InputStream stream = Resource.newInputStream(XlsxBookTest.class, "/Top5Browsers.xlsx");
+                 Book book = reader.read(stream)) {
+                assertThat(book.getSheetInfo(2))
+                        .isEqualTo(SheetInfo.builder().name("DataTest").rowCount(11).columnCount(6).contentSize(2522).build());
+            }
+        }
+    }
+
+    @Test
+    public void testSheetVisitorDefaultOnCell() {
+        List<String> refs = new ArrayList<>();
+        XlsxEntryParser.SheetVisitor visitor = new XlsxEntryParser.SheetVisitor() {
+            @Override
+            public void onSheetData(String sheetBounds) {
+            }
+
+            @Override
+            public void onCell(String ref, CharSequence value, XlsxDataType dataType, int styleIndex) {
+                refs.add(ref);
+            }
+        };
+        visitor.onCell(0, 0, "", XlsxDataType.STRING, XlsxValueFactory.NULL_STYLE_INDEX);
+        visitor.onCell(9, 27, "", XlsxDataType.STRING, XlsxValueFactory.NULL_STYLE_INDEX);
+        assertThat(refs).containsExactly("A1", "AB10");
     }
 
     @Test
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package spreadsheet.xlsx.internal;
+
+import ec.util.spreadsheet.Book;
+import ec.util.spreadsheet.Sheet;
+import ec.util.spreadsheet.helpers.ArrayBook;
+import ec.util.spreadsheet.helpers.ArraySheet;
+import org.junit.jupiter.api.Test;
+import spreadsheet.xlsx.XlsxBookFactory;
+import spreadsheet.xlsx.XlsxReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class XlsxBookWriterTest {
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Date date = new Date(1234567890000L);
+        ArrayBook book = ArrayBook.builder()
+                .sheet(ArraySheet.builder().name("first")
+                        .value(0, 0, "hello").value(0, 1, 3.14).value(0, 2, 42)
+                        .value(2, 0, date).value(2, 1, "hello").value(2, 3, "world")
+                        .build())
+                .sheet(ArraySheet.builder().name("empty").build())
+                .build();
+
+        try (Book result = new XlsxBookFactory().load(new ByteArrayInputStream(write(book)))) {
+            assertThat(result.getSheetCount2()).isEqualTo(2);
+
+            Sheet first = result.getSheet(0);
+            assertThat(first.getName()).isEqualTo("first");
+            assertThat(first.getRowCount()).isEqualTo(3);
+            assertThat(first.getColumnCount()).isEqualTo(4);
+            assertThat(first.getCellValue(0, 0)).isEqualTo("hello");
+            assertThat(first.getCellValue(0, 1)).isEqualTo(3.14);
+            assertThat(first.getCellValue(0, 2)).isEqualTo(42.0);
+            assertThat(first.getCellValue(1, 0)).isNull();
+            assertThat(first.getCellValue(2, 0)).isEqualTo(date);
+            assertThat(first.getCellValue(2, 1)).isEqualTo("hello");
+            assertThat(first.getCellValue(2, 2)).isNull();
+            assertThat(first.getCellValue(2, 3)).isEqualTo("world");
+
+            Sheet empty = result.getSheet(1);
+            assertThat(empty.getName()).isEqualTo("empty");
+            assertThat(empty.getRowCount()).isEqualTo(0);
+            assertThat(empty.getColumnCount()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    public void testDimension() throws IOException {
+        ArrayBook book = ArrayBook.builder()
+                .sheet(ArraySheet.builder().name("x").value(9, 27, 1).build())
+                .build();
+
+        assertThat(readEntry(write(book), "xl/worksheets/sheet1.xml"))
+                .contains("<dimension ref=\"A1:AB10\"/>");
+    }
+
+    @Test
+    public void testSharedStrings() throws IOException {
+        ArrayBook book = ArrayBook.builder()
+                .sheet(ArraySheet.builder().name("x").value(0, 0, "a").value(0, 1, "b").value(1, 0, "a").build())
+                .build();
+
+        assertThat(readEntry(write(book), "xl/sharedStrings.xml"))
+                .contains("count=\"3\" uniqueCount=\"2\"")
+                .contains("<si><t>a</t></si><si><t>b</t></si>");
+    }
+
+    @Test
+    public void testEscaping() throws IOException {
+        ArrayBook book = ArrayBook.builder()
+                .sheet(ArraySheet.builder().name("a&b").value(0, 0, "<\"x\">").value(0, 1, " y ").value(0, 2, "z\u0001").build())
+                .build();
+
+        byte[] content = write(book);
+        assertThat(readEntry(content, "xl/workbook.xml")).contains("name=\"a&amp;b\"");
+        assertThat(readEntry(content, "xl/sharedStrings.xml"))
+                .contains("<t>&lt;&quot;x&quot;&gt;</t>")
+                .contains("<t xml:space=\"preserve\"> y </t>")
+                .contains("<t>z_x0001_</t>");
+
+        try (Book result = new XlsxBookFactory().load(new ByteArrayInputStream(content))) {
+            Sheet sheet = result.getSheet(0);
+            assertThat(sheet.getName()).isEqualTo("a&b");
+            assertThat(sheet.getCellValue(0, 0)).isEqualTo("<\"x\">");
+            assertThat(sheet.getCellValue(0, 1)).isEqualTo(" y ");
+        }
+    }
+
+    @Test
+    public void testRoundTripOfEscapeSequences() throws IOException {
+        ArrayBook book = ArrayBook.builder()
+                .sheet(ArraySheet.builder().name("x")
+                        .value(0, 0, "_x0041_").value(0, 1, "z\u0001").value(0, 2, "a_b_x12_")
+                        .value(1, 0, "_x005F_").value(1, 1, "\ttab\r\nline")
+                        .build())
+                .build();
+
+        byte[] content = write(book);
+        assertThat(readEntry(content, "xl/sharedStrings.xml"))
+                .contains("<t>_x005F_x0041_</t>")
+                .contains("<t>a_b_x12_</t>")
+                .contains("<t>_x005F_x005F_</t>");
+
+        for (XlsxReader reader : new XlsxReader[]{new XlsxReader(), new XlsxReader().withLazySharedStrings(true)}) {
+            try (Book result = reader.read(new ByteArrayInputStream(content))) {
+                Sheet sheet = result.getSheet(0);
+                assertThat(sheet.getCellValue(0, 0)).isEqualTo("_x0041_");
+                assertThat(sheet.getCellValue(0, 1)).isEqualTo("z\u0001");
+                assertThat(sheet.getCellValue(0, 2)).isEqualTo("a_b_x12_");
+                assertThat(sheet.getCellValue(1, 0)).isEqualTo("_x005F_");
+                assertThat(sheet.getCellValue(1, 1)).isEqualTo("\ttab\r\nline");
+            }
+        }
+    }
+
+    @Test
+    public void testSheetNames() throws IOException {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> write(ArrayBook.builder().sheet(ArraySheet.builder().name("").build()).build()));
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> write(ArrayBook.builder().sheet(ArraySheet.builder().name("12345678901234567890123456789012").build()).build()));
+
+        for (String name : new String[]{"a[b", "a]b", "a:b", "a*b", "a?b", "a/b", "a\\b"}) {
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> write(ArrayBook.builder().sheet(ArraySheet.builder().name(name).build()).build()));
+        }
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> write(ArrayBook.builder()
+                        .sheet(ArraySheet.builder().name("Data").build())
+                        .sheet(ArraySheet.builder().name("DATA").build())
+                        .build()));
+
+        ArrayBook book = ArrayBook.builder()
+                .sheet(ArraySheet.builder().name("1234567890123456789012345678901").value(0, 0, 1).build())
+                .sheet(ArraySheet.builder().name("it's (a) sheet!").value(0, 0, 2).build())
+                .build();
+
+        try (Book result = new XlsxBookFactory().load(new ByteArrayInputStream(write(book)))) {
+            assertThat(result.getSheetName(0)).isEqualTo("1234567890123456789012345678901");
+            assertThat(result.getSheetName(1)).isEqualTo("it's (a) sheet!");
+            assertThat(result.getSheet(1).getCellValue(0, 0)).isEqualTo(2.0);
+        }
+    }
+
+    @Test
+    public void testNonFiniteNumbers() throws IOException {
+        ArrayBook book = ArrayBook.builder()
+                .sheet(ArraySheet.builder().name("x").value(0, 0, Double.NaN).value(0, 1, Double.POSITIVE_INFINITY).build())
+                .build();
+
+        assertThat(readEntry(write(book), "xl/worksheets/sheet1.xml"))
+                .contains("<c r=\"A1\" t=\"e\"><v>#NUM!</v></c>")
+                .contains("<c r=\"B1\" t=\"e\"><v>#NUM!</v></c>");
+    }
+
+    @Test
+    public void testStreamNotClosed() throws IOException {
+        boolean[] closed = {false};
+        ByteArrayOutputStream stream = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        XlsxBookWriter.write(ArrayBook.builder().build(), stream);
+        assertThat(closed[0]).isFalse();
+        assertThat(stream.size()).isGreaterThan(0);
+    }
+
+    private static byte[] write(Book book) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        XlsxBookWriter.write(book, result);
+        return result.toByteArray();
+    }
+
+    private static String readEntry(byte[] content, String name) throws IOException {
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(content))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.getName().equals(name)) {
+                    return new String(IOHelper.readAllBytes(zip), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        throw new IOException("Missing entry " + name);
+    }
+}
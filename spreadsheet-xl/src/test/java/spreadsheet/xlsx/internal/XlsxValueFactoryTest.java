@@ -18,6 +18,7 @@ package spreadsheet.xlsx.internal;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
@@ -40,7 +41,7 @@ public class XlsxValueFactoryTest {
 
     @Test
     public void testGetNumberOrDate() {
-        XlsxValueFactory.ParserWithStyle f = new XlsxValueFactory.NumberOrDateParser(DefaultDateSystem.X1904, DATE_FORMATS, XlsxValueFactory.NumberOrDateParser.newCalendar());
+        XlsxValueFactory.ParserWithStyle f = new XlsxValueFactory.NumberOrDateParser(DefaultDateSystem.X1904, DATE_FORMATS, ZoneId.systemDefault());
         CustomCallback c = new CustomCallback();
         Calendar cal = XlsxValueFactory.NumberOrDateParser.newCalendar();
 
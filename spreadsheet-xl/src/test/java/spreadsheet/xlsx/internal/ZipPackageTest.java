@@ -19,6 +19,7 @@ package spreadsheet.xlsx.internal;
 import ec.util.spreadsheet.tck.SheetAssert;
 import nbbrd.io.xml.Sax;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import spreadsheet.xlsx.XlsxEntryParser;
 import spreadsheet.xlsx.XlsxPackage;
 import spreadsheet.xlsx.XlsxSheetBuilder;
@@ -27,11 +28,17 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.api.Assertions.atIndex;
 
 /**
@@ -58,6 +65,66 @@ public class ZipPackageTest {
         }
     }
 
+    @Test
+    public void testMapped() throws IOException, URISyntaxException {
+        Path path = Paths.get(TOP5.toURI());
+        try (XlsxPackage pkg = ZipPackage.MAPPED_FACTORY.open(path)) {
+            assertPackageContent(pkg);
+        }
+
+        try (XlsxPackage expected = ZipPackage.FACTORY.open(path);
+             XlsxPackage actual = ZipPackage.MAPPED_FACTORY.open(path)) {
+            for (String relationId : new String[]{"rId1", "rId2", "rId3"}) {
+                assertThat(actual.getSheet(relationId)).hasSameContentAs(expected.getSheet(relationId));
+            }
+            assertThat(actual.getStyles()).hasSameContentAs(expected.getStyles());
+        }
+
+        try (InputStream stream = TOP5.openStream();
+             XlsxPackage pkg = ZipPackage.MAPPED_FACTORY.open(stream)) {
+            assertPackageContent(pkg);
+        }
+    }
+
+    @Test
+    public void testMappedInvalidFile(@TempDir Path temp) throws IOException {
+        Path file = temp.resolve("invalid.xlsx");
+        Files.write(file, "...".getBytes(StandardCharsets.UTF_8));
+        assertThatExceptionOfType(ZipException.class)
+                .isThrownBy(() -> ZipPackage.MAPPED_FACTORY.open(file))
+                .withMessageContaining(file.toString());
+    }
+
+    @Test
+    public void testSpooling() throws IOException {
+        try (InputStream stream = TOP5.openStream()) {
+            try (XlsxPackage pkg = ZipPackage.spooling(Long.MAX_VALUE).open(stream)) {
+                assertPackageContent(pkg);
+            }
+        }
+
+        long tempFiles = countTempFiles();
+        try (InputStream stream = TOP5.openStream()) {
+            try (XlsxPackage pkg = ZipPackage.spooling(0).open(stream)) {
+                assertThat(countTempFiles()).isEqualTo(tempFiles + 1);
+                assertPackageContent(pkg);
+            }
+        }
+        assertThat(countTempFiles()).isEqualTo(tempFiles);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> ZipPackage.spooling(-1));
+    }
+
+    private static long countTempFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+            return files
+                    .map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith("spreadsheet-xl") && name.endsWith(".zip"))
+                    .count();
+        }
+    }
+
     private void assertPackageContent(XlsxPackage pkg) throws IOException {
         XlsxEntryParser parser = new SaxEntryParser(Sax.createReader());
 